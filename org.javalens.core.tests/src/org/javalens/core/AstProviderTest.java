@@ -0,0 +1,151 @@
+package org.javalens.core;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.javalens.core.fixtures.TestProjectHelper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the shared AST cache: repeated requests reuse one AST per unit and
+ * parse flavor, a disk-sync repair drops the repaired file's syntax AST and
+ * every binding-resolved one, and the byte budget bounds what is retained.
+ * The measurement times repeated binding-resolved requests parsed vs cached;
+ * timings are LOGGED, not asserted.
+ */
+class AstProviderTest {
+
+    private static final String CALCULATOR = "src/main/java/com/example/Calculator.java";
+    private static final String POINT = "src/main/java/com/example/Point.java";
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> stats(JdtServiceImpl service, String cache) {
+        Map<String, Object> stats = (Map<String, Object>) service.getMetrics().get("astCache");
+        return cache == null ? stats : (Map<String, Object>) stats.get(cache);
+    }
+
+    private static long count(Map<String, Object> stats, String key) {
+        return ((Number) stats.get(key)).longValue();
+    }
+
+    @Test
+    @DisplayName("repeated requests return the cached AST per parse flavor")
+    void repeatedRequests_hit() throws Exception {
+        JdtServiceImpl service = helper.loadProject("simple-maven");
+        ICompilationUnit cu = service.getCompilationUnit(Path.of(CALCULATOR));
+        AstProvider asts = service.getAstProvider();
+
+        CompilationUnit syntax = asts.ast(cu, AstProvider.Parse.SYNTAX);
+        CompilationUnit bound = asts.ast(cu, AstProvider.Parse.BINDINGS);
+        CompilationUnit recovered = asts.ast(cu, AstProvider.Parse.RECOVERED_BINDINGS);
+
+        assertSame(syntax, asts.ast(cu, AstProvider.Parse.SYNTAX));
+        assertSame(bound, asts.ast(cu, AstProvider.Parse.BINDINGS));
+        assertSame(recovered, asts.ast(cu, AstProvider.Parse.RECOVERED_BINDINGS));
+        assertNotSame(syntax, bound);
+        assertNotSame(bound, recovered);
+        assertNull(syntax.getPackage().getName().resolveBinding());
+        assertNotNull(bound.getPackage().getName().resolveBinding());
+
+        assertEquals(1, count(stats(service, "syntax"), "hits"));
+        assertEquals(2, count(stats(service, "bindings"), "hits"));
+        assertEquals(true, stats(service, "bindings").get("cached"));
+        assertTrue(count(stats(service, null), "retainedBytes") > 0);
+    }
+
+    @Test
+    @DisplayName("a repair drops the repaired file's syntax AST and every binding-resolved AST")
+    void repair_invalidates() throws Exception {
+        Path project = helper.copyFixture("simple-maven");
+        JdtServiceImpl service = new JdtServiceImpl();
+        service.loadProject(project);
+        AstProvider asts = service.getAstProvider();
+        ICompilationUnit calculator = service.getCompilationUnit(Path.of(CALCULATOR));
+        ICompilationUnit point = service.getCompilationUnit(Path.of(POINT));
+
+        CompilationUnit calculatorSyntax = asts.ast(calculator, AstProvider.Parse.SYNTAX);
+        CompilationUnit pointSyntax = asts.ast(point, AstProvider.Parse.SYNTAX);
+        CompilationUnit pointBound = asts.ast(point, AstProvider.Parse.BINDINGS);
+
+        Path file = project.resolve(CALCULATOR);
+        Files.writeString(file, Files.readString(file) + "\n// edited\n");
+        service.ensureFresh();
+
+        calculator = service.getCompilationUnit(Path.of(CALCULATOR));
+        CompilationUnit reparsed = asts.ast(calculator, AstProvider.Parse.SYNTAX);
+        assertNotSame(calculatorSyntax, reparsed);
+        assertTrue(reparsed.getCommentList().size() > calculatorSyntax.getCommentList().size());
+        assertSame(pointSyntax, asts.ast(point, AstProvider.Parse.SYNTAX));
+        assertNotSame(pointBound, asts.ast(point, AstProvider.Parse.BINDINGS));
+    }
+
+    @Test
+    @DisplayName("the budget bounds retained ASTs, evicting binding-resolved ones first; 0 turns caching off")
+    void budget_bounded() throws Exception {
+        JdtServiceImpl service = helper.loadProject("simple-maven");
+        AstProvider asts = service.getAstProvider();
+        ICompilationUnit cu = service.getCompilationUnit(Path.of(CALCULATOR));
+        long length = cu.getBuffer().getLength();
+
+        // Room for the syntax AST and one binding-resolved AST, not two.
+        service.setAstCacheBudget(length * (AstProvider.SYNTAX_BYTES_PER_CHAR + AstProvider.BINDINGS_BYTES_PER_CHAR));
+        CompilationUnit syntax = asts.ast(cu, AstProvider.Parse.SYNTAX);
+        asts.ast(cu, AstProvider.Parse.BINDINGS);
+        asts.ast(cu, AstProvider.Parse.RECOVERED_BINDINGS);
+        assertSame(syntax, asts.ast(cu, AstProvider.Parse.SYNTAX));
+        assertEquals(1, count(stats(service, "bindings"), "entries"));
+        assertTrue(count(stats(service, null), "evicted") >= 1);
+        assertTrue(count(stats(service, null), "retainedBytes") <= count(stats(service, null), "budgetBytes"));
+
+        service.setAstCacheBudget(0);
+        assertEquals(0, count(stats(service, null), "retainedBytes"));
+        assertNotSame(asts.ast(cu, AstProvider.Parse.SYNTAX), asts.ast(cu, AstProvider.Parse.SYNTAX));
+    }
+
+    @Test
+    @DisplayName("JAVALENS_AST_CACHE_MB: megabytes, 0 or false for off, default when unset or invalid")
+    void budgetFromEnvironment() {
+        assertEquals(AstProvider.DEFAULT_BUDGET_BYTES, AstProvider.budgetFromEnvironment(null));
+        assertEquals(AstProvider.DEFAULT_BUDGET_BYTES, AstProvider.budgetFromEnvironment(" "));
+        assertEquals(AstProvider.DEFAULT_BUDGET_BYTES, AstProvider.budgetFromEnvironment("lots"));
+        assertEquals(16L * 1024 * 1024, AstProvider.budgetFromEnvironment("16"));
+        assertEquals(0, AstProvider.budgetFromEnvironment("0"));
+        assertEquals(0, AstProvider.budgetFromEnvironment("FALSE"));
+    }
+
+    @Test
+    @DisplayName("measurement: 20 binding-resolved requests for one file, parsed vs cached")
+    void measurement_repeatedRequests() throws Exception {
+        JdtServiceImpl service = helper.loadProject("simple-maven");
+        ICompilationUnit cu = service.getCompilationUnit(Path.of(CALCULATOR));
+        AstProvider uncached = AstProvider.uncached();
+        AstProvider cached = service.getAstProvider();
+        uncached.ast(cu, AstProvider.Parse.BINDINGS); // warm the compiler
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            uncached.ast(cu, AstProvider.Parse.BINDINGS);
+        }
+        long parseNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            cached.ast(cu, AstProvider.Parse.BINDINGS);
+        }
+        long cacheNanos = System.nanoTime() - start;
+
+        assertEquals(19, count(stats(service, "bindings"), "hits"));
+        System.out.printf("[ast-provider] 20 binding-resolved requests: parsed %d us, cached %d us%n",
+            parseNanos / 1_000, cacheNanos / 1_000);
+    }
+}
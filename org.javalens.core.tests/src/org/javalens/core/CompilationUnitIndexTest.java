@@ -0,0 +1,91 @@
+package org.javalens.core;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.javalens.core.fixtures.TestProjectHelper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the path-to-unit index behind {@code getCompilationUnit}: files under
+ * a non-conventional source root resolve to exactly their own unit, adds and
+ * deletes found by disk sync keep the index current, and hits and misses are
+ * counted in the service metrics.
+ */
+class CompilationUnitIndexTest {
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    private static long stat(JdtServiceImpl service, String key) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> stats = (Map<String, Object>) service.getMetrics().get("compilationUnitIndex");
+        return ((Number) stats.get(key)).longValue();
+    }
+
+    private static Path location(ICompilationUnit cu) {
+        return Path.of(cu.getResource().getLocation().toOSString()).toAbsolutePath().normalize();
+    }
+
+    @Test
+    @DisplayName("a generated-source file resolves to its own unit, also when its qualified name is shadowed")
+    void nonConventionalRoot_resolvesExactly() throws Exception {
+        Path project = helper.copyFixture("with-generated-sources-maven");
+        Path generated = Files.createDirectories(project.resolve("target/generated-sources/annotations/com/example"));
+        Files.writeString(generated.resolve("Generated.java"),
+            "package com.example;\npublic final class Generated { public static final String HELLO = \"hello\"; }\n");
+        Files.writeString(generated.resolve("Manual.java"), "package com.example;\nclass Manual {}\n");
+        JdtServiceImpl service = new JdtServiceImpl();
+        service.loadProject(project);
+
+        Path generatedFile = generated.resolve("Generated.java");
+        ICompilationUnit cu = service.getCompilationUnit(generatedFile);
+        assertNotNull(cu);
+        assertEquals(generatedFile.toAbsolutePath().normalize(), location(cu));
+
+        // Same qualified name in two roots: each path answers its own file.
+        Path handWritten = project.resolve("src/main/java/com/example/Manual.java");
+        assertEquals(handWritten.toAbsolutePath().normalize(), location(service.getCompilationUnit(handWritten)));
+        assertEquals(generated.resolve("Manual.java").toAbsolutePath().normalize(),
+            location(service.getCompilationUnit(generated.resolve("Manual.java"))));
+
+        // A project-relative path resolves against the project root.
+        assertEquals(location(cu),
+            location(service.getCompilationUnit(Path.of("target/generated-sources/annotations/com/example/Generated.java"))));
+
+        assertEquals(4, stat(service, "hits"));
+        assertEquals(0, stat(service, "fallbackHits"));
+        assertNull(service.getCompilationUnit(generated.resolve("Missing.java")));
+        assertEquals(1, stat(service, "unresolved"));
+    }
+
+    @Test
+    @DisplayName("disk-sync adds and deletes update the index")
+    void diskSync_updatesIndex() throws Exception {
+        Path project = helper.copyFixture("simple-maven");
+        JdtServiceImpl service = new JdtServiceImpl();
+        service.loadProject(project);
+        long files = stat(service, "files");
+        assertTrue(files > 0);
+
+        Path added = project.resolve("src/main/java/com/example/Added.java");
+        Files.writeString(added, "package com.example;\npublic class Added {}\n");
+        service.ensureFresh();
+        assertEquals(files + 1, stat(service, "files"));
+        ICompilationUnit cu = service.getCompilationUnit(added);
+        assertNotNull(cu);
+        assertEquals("Added.java", cu.getElementName());
+        assertEquals(0, stat(service, "fallbackHits"), "the added file is an index hit");
+
+        Files.delete(added);
+        service.ensureFresh();
+        assertEquals(files, stat(service, "files"));
+        assertNull(service.getCompilationUnit(added));
+    }
+}
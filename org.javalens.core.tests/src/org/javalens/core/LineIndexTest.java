@@ -0,0 +1,137 @@
+package org.javalens.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the line-start index behind the position conversions: every
+ * conversion agrees with the character scans it replaced, on LF, CRLF, empty,
+ * and long lines, and at the ends of the text. The measurement formats 10k
+ * matches in a 5k-line file both ways; timings are LOGGED, not asserted.
+ */
+class LineIndexTest {
+
+    // ========== The scans LineIndex replaced, kept as the reference ==========
+
+    private static int scanLine(String source, int offset) {
+        int line = 0;
+        for (int i = 0; i < offset && i < source.length(); i++) {
+            if (source.charAt(i) == '\n') {
+                line++;
+            }
+        }
+        return line;
+    }
+
+    private static int scanColumn(String source, int offset) {
+        int column = 0;
+        for (int i = offset - 1; i >= 0; i--) {
+            if (source.charAt(i) == '\n') {
+                break;
+            }
+            column++;
+        }
+        return column;
+    }
+
+    private static int scanOffset(String source, int line, int column) {
+        int offset = 0;
+        int currentLine = 0;
+        while (currentLine < line && offset < source.length()) {
+            if (source.charAt(offset) == '\n') {
+                currentLine++;
+            }
+            offset++;
+        }
+        return Math.min(offset + column, source.length());
+    }
+
+    private static String scanContext(String source, int offset) {
+        int lineStart = offset;
+        while (lineStart > 0 && source.charAt(lineStart - 1) != '\n') {
+            lineStart--;
+        }
+        int lineEnd = offset;
+        while (lineEnd < source.length() && source.charAt(lineEnd) != '\n' && source.charAt(lineEnd) != '\r') {
+            lineEnd++;
+        }
+        return source.substring(lineStart, Math.min(lineEnd, lineStart + 200)).trim();
+    }
+
+    private static void assertAgrees(String source) {
+        LineIndex index = LineIndex.of(source.toCharArray());
+        for (int offset = 0; offset <= source.length(); offset++) {
+            int at = offset;
+            assertEquals(scanLine(source, offset), index.lineOf(offset), () -> "line at " + at);
+            assertEquals(scanColumn(source, offset), index.columnOf(offset), () -> "column at " + at);
+            assertEquals(scanContext(source, offset), index.contextLine(offset), () -> "context at " + at);
+        }
+        for (int line = -1; line <= index.lineCount() + 1; line++) {
+            for (int column = 0; column < 5; column++) {
+                assertEquals(scanOffset(source, line, column), index.offsetOf(line, column),
+                    "offset of " + line + ":" + column);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("conversions agree with the character scans on LF, CRLF, empty, and long lines")
+    void agreesWithScans() {
+        assertAgrees("");
+        assertAgrees("\n");
+        assertAgrees("class A {}");
+        assertAgrees("package p;\n\nclass A {\n    int x;\n}\n");
+        assertAgrees("package p;\r\n\r\nclass A {\r\n    int x;\r\n}");
+        assertAgrees("  " + "x".repeat(450) + "  \nshort\n\n\n");
+        assertAgrees("a\rb\r\nc\n\rd");
+    }
+
+    @Test
+    @DisplayName("conversions agree with the scans on random text")
+    void agreesOnRandomText() {
+        Random random = new Random(20);
+        String alphabet = "ab \t\n\n\r{}";
+        for (int round = 0; round < 50; round++) {
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(300);
+            for (int i = 0; i < length; i++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            assertAgrees(text.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("measurement: formatting 10k matches in a 5k-line file, scanned vs indexed")
+    void measurement_formatting() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            text.append("        reference").append(i).append(".call(value, other);\n");
+        }
+        String source = text.toString();
+        int[] offsets = new Random(5).ints(10_000, 0, source.length()).toArray();
+
+        long start = System.nanoTime();
+        long scanned = 0;
+        for (int offset : offsets) {
+            scanned += scanLine(source, offset) + scanColumn(source, offset) + scanContext(source, offset).length();
+        }
+        long scanNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        LineIndex index = LineIndex.of(source.toCharArray());
+        long indexed = 0;
+        for (int offset : offsets) {
+            indexed += index.lineOf(offset) + index.columnOf(offset) + index.contextLine(offset).length();
+        }
+        long indexNanos = System.nanoTime() - start;
+
+        assertEquals(scanned, indexed);
+        System.out.printf("[line-index] 10k matches, 5k lines: scanned %d ms, indexed %d ms%n",
+            scanNanos / 1_000_000, indexNanos / 1_000_000);
+    }
+}
@@ -0,0 +1,139 @@
+package org.javalens.core;
+
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CharacterLiteral;
+import org.eclipse.jdt.core.dom.Comment;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.NodeFinder;
+import org.eclipse.jdt.core.dom.StringLiteral;
+import org.eclipse.jdt.core.dom.TextBlock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the scanned comment/literal spans behind position classification:
+ * every offset is classified as the per-query DOM parse it replaced
+ * classified it, across comment kinds, literals, text blocks, CRLF line
+ * ends, and adjacent tokens. The measurement classifies 1k cursor positions
+ * both ways; timings are LOGGED, not asserted.
+ */
+class TokenRangesTest {
+
+    private static final String LEVEL = "21";
+
+    // ========== The DOM classification TokenRanges replaced, kept as the reference ==========
+
+    private static CompilationUnit parse(String source) {
+        ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+        parser.setKind(ASTParser.K_COMPILATION_UNIT);
+        Map<String, String> options = JavaCore.getOptions();
+        JavaCore.setComplianceOptions(LEVEL, options);
+        parser.setCompilerOptions(options);
+        parser.setSource(source.toCharArray());
+        return (CompilationUnit) parser.createAST(null);
+    }
+
+    private static boolean parsedInside(CompilationUnit ast, String source, int offset) {
+        if (offset < 0 || offset >= source.length()) {
+            return false;
+        }
+        for (Object o : ast.getCommentList()) {
+            Comment c = (Comment) o;
+            if (offset >= c.getStartPosition() && offset < c.getStartPosition() + c.getLength()) {
+                return true;
+            }
+        }
+        ASTNode covering = new NodeFinder(ast, offset, 0).getCoveringNode();
+        return covering instanceof StringLiteral || covering instanceof CharacterLiteral
+            || covering instanceof TextBlock;
+    }
+
+    private static void assertAgrees(String source) {
+        CompilationUnit ast = parse(source);
+        TokenRanges ranges = TokenRanges.scan(source.toCharArray(), LEVEL, false);
+        for (int offset = -1; offset <= source.length(); offset++) {
+            int at = offset;
+            assertEquals(parsedInside(ast, source, offset), ranges.inCommentOrLiteral(offset),
+                () -> "offset " + at + " in:\n" + source);
+        }
+    }
+
+    @Test
+    @DisplayName("classification agrees with the DOM on comments, literals, and text blocks")
+    void agreesWithParse() {
+        assertAgrees("""
+            package p;
+            // Empty catch
+            /** Javadoc {@link Object} */
+            class A {
+                /* block */ String s = "a" + 'c' + "b".length();
+                String t = \"""
+                    text block
+                    \""";
+                char q = '\\'';
+                String e = "esc\\"aped";
+                int x = 1; // trailing
+            }
+            """);
+        assertAgrees("class B {\r\n  // crlf comment\r\n  String s = \"x\";/*adj*/int y;\r\n}\r\n");
+        assertAgrees("class C { String s = \"a\"+\"b\"; }");
+        assertAgrees("// only a comment");
+        assertAgrees("");
+    }
+
+    @Test
+    @DisplayName("unterminated literals are skipped, and the rest of the file still classifies")
+    void invalidText_skipped() {
+        String source = "class D {\n String s = \"open;\n // after\n}\n";
+        TokenRanges ranges = TokenRanges.scan(source.toCharArray(), LEVEL, false);
+        assertTrue(ranges.inCommentOrLiteral(source.indexOf("// after") + 3));
+        assertFalse(ranges.inCommentOrLiteral(source.indexOf("class")));
+    }
+
+    @Test
+    @DisplayName("measurement: classifying 1k positions in a 2k-line file, parsed vs scanned")
+    void measurement_classification() {
+        StringBuilder text = new StringBuilder("class Big {\n");
+        for (int i = 0; i < 2_000; i++) {
+            text.append("    String f").append(i).append(" = \"value ").append(i).append("\"; // note\n");
+        }
+        String source = text.append("}\n").toString();
+        int[] offsets = new java.util.Random(23).ints(1_000, 0, source.length()).toArray();
+
+        long start = System.nanoTime();
+        int parsedHits = 0;
+        for (int i = 0; i < 50; i++) { // every position request parsed the file
+            if (parsedInside(parse(source), source, offsets[i])) {
+                parsedHits++;
+            }
+        }
+        long parseNanos = (System.nanoTime() - start) / 50;
+
+        start = System.nanoTime();
+        TokenRanges ranges = TokenRanges.scan(source.toCharArray(), LEVEL, false);
+        int scannedHits = 0;
+        for (int i = 0; i < 50; i++) {
+            if (ranges.inCommentOrLiteral(offsets[i])) {
+                scannedHits++;
+            }
+        }
+        long scanNanos = System.nanoTime() - start;
+        assertEquals(parsedHits, scannedHits);
+
+        start = System.nanoTime();
+        for (int offset : offsets) {
+            ranges.inCommentOrLiteral(offset);
+        }
+        long lookupNanos = System.nanoTime() - start;
+
+        System.out.printf("[token-ranges] 2k lines: parse per query %d us; one scan + 50 lookups %d us;"
+            + " 1k cached lookups %d us%n", parseNanos / 1_000, scanNanos / 1_000, lookupNanos / 1_000);
+    }
+}
@@ -0,0 +1,141 @@
+package org.javalens.core;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.javalens.core.fixtures.TestProjectHelper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the simple-name type index behind {@code findType}: ambiguous names
+ * come back ranked (source before binary, top-level before member types, then
+ * by qualified name), disk-sync adds and deletes reach the next lookup, and
+ * library types are candidates only when asked for. The measurement compares
+ * the compilation-unit walk it replaced; timings are LOGGED, not asserted.
+ */
+class TypeNameIndexTest {
+
+    private static final int SYNTHESIZED = 1_500;
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    private static List<String> names(List<IType> types) {
+        return types.stream().map(t -> t.getFullyQualifiedName('.')).toList();
+    }
+
+    @Test
+    @DisplayName("an ambiguous simple name returns ranked candidates; repairs reach the next lookup")
+    void ambiguousName_rankedAndRepaired() throws Exception {
+        Path project = helper.copyFixture("simple-maven");
+        Path main = project.resolve("src/main/java/com/example");
+        Files.createDirectories(main.resolve("zeta"));
+        Files.createDirectories(main.resolve("alpha"));
+        Files.writeString(main.resolve("zeta/Widget.java"), "package com.example.zeta;\npublic class Widget {}\n");
+        Files.writeString(main.resolve("alpha/Holder.java"),
+            "package com.example.alpha;\npublic class Holder {\n    public static class Widget {}\n}\n");
+        JdtServiceImpl service = new JdtServiceImpl();
+        service.loadProject(project);
+
+        assertEquals(List.of("com.example.zeta.Widget", "com.example.alpha.Holder.Widget"),
+            names(service.findTypeCandidates("Widget", false)));
+        assertEquals("com.example.zeta.Widget", service.findType("Widget").getFullyQualifiedName('.'));
+
+        Files.writeString(main.resolve("alpha/Widget.java"), "package com.example.alpha;\npublic class Widget {}\n");
+        service.ensureFresh();
+        assertEquals(List.of("com.example.alpha.Widget", "com.example.zeta.Widget", "com.example.alpha.Holder.Widget"),
+            names(service.findTypeCandidates("Widget", false)));
+
+        Files.delete(main.resolve("alpha/Widget.java"));
+        Files.delete(main.resolve("zeta/Widget.java"));
+        service.ensureFresh();
+        assertEquals(List.of("com.example.alpha.Holder.Widget"), names(service.findTypeCandidates("Widget", false)));
+
+        assertNull(service.findType("NoSuchTypeAnywhere"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> stats = (Map<String, Object>) service.getMetrics().get("typeNameIndex");
+        assertTrue(((Number) stats.get("filesReread")).longValue() >= 2);
+    }
+
+    @Test
+    @DisplayName("library types are candidates only when asked for, after every source type")
+    void binaryTypes_optional() throws Exception {
+        JdtServiceImpl service = helper.loadProject("simple-maven");
+
+        assertTrue(service.findTypeCandidates("ArrayList", false).isEmpty());
+        List<String> withBinary = names(service.findTypeCandidates("ArrayList", true));
+        assertTrue(withBinary.contains("java.util.ArrayList"), "got " + withBinary);
+
+        // A source type named like a JDK type ranks first.
+        List<String> labels = names(service.findTypeCandidates("Label", true));
+        assertEquals("com.example.Label", labels.get(0), "got " + labels);
+    }
+
+    @Test
+    @DisplayName("measurement: simple-name lookups, compilation-unit walk vs index")
+    void measurement_lookups() throws Exception {
+        Path project = helper.copyFixture("simple-maven");
+        Path pkg = Files.createDirectories(project.resolve("src/main/java/com/example/many"));
+        for (int i = 0; i < SYNTHESIZED; i++) {
+            Files.writeString(pkg.resolve("Many" + i + ".java"),
+                "package com.example.many;\npublic class Many" + i + " {}\n");
+        }
+        JdtServiceImpl service = new JdtServiceImpl();
+        service.loadProject(project);
+        String[] names = {"Many0", "Many" + (SYNTHESIZED / 2), "Many" + (SYNTHESIZED - 1), "Calculator"};
+
+        IType[] walked = new IType[names.length];
+        long start = System.nanoTime();
+        for (int i = 0; i < names.length; i++) {
+            walked[i] = walk(service, names[i]);
+        }
+        long walkNanos = System.nanoTime() - start;
+
+        service.findType(names[0]); // builds the index
+        IType[] indexed = new IType[names.length];
+        start = System.nanoTime();
+        for (int i = 0; i < names.length; i++) {
+            indexed[i] = service.findType(names[i]);
+        }
+        long indexNanos = System.nanoTime() - start;
+
+        for (int i = 0; i < names.length; i++) {
+            assertNotNull(walked[i], names[i]);
+            assertEquals(walked[i], indexed[i]);
+        }
+        System.out.printf("[type-name-index] %d lookups over %d types: walk %d us, index %d us%n",
+            names.length, SYNTHESIZED, walkNanos / 1_000, indexNanos / 1_000);
+    }
+
+    /** The compilation-unit walk {@code findType} used before the index, kept as the reference. */
+    private static IType walk(JdtServiceImpl service, String simpleName) throws Exception {
+        for (IPackageFragmentRoot root : service.getJavaProject().getPackageFragmentRoots()) {
+            if (root.getKind() != IPackageFragmentRoot.K_SOURCE) {
+                continue;
+            }
+            for (IJavaElement child : root.getChildren()) {
+                if (child instanceof IPackageFragment pkg) {
+                    for (ICompilationUnit cu : pkg.getCompilationUnits()) {
+                        for (IType t : cu.getTypes()) {
+                            if (t.getElementName().equals(simpleName)) {
+                                return t;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
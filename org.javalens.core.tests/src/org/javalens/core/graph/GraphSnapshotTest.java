@@ -0,0 +1,161 @@
+package org.javalens.core.graph;
+
+import org.javalens.core.JdtServiceImpl;
+import org.javalens.core.fixtures.TestProjectHelper;
+import org.javalens.core.graph.ProjectGraph.EdgeKind;
+import org.javalens.core.graph.ProjectGraph.GraphNode;
+import org.javalens.core.graph.ProjectGraph.NodeKind;
+import org.javalens.core.sync.DiskStampService.ContentHash;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins graph snapshots: the format round-trips every part of a file's
+ * contribution, a corrupt or foreign snapshot loads as absent, and a new
+ * session seeded from a snapshot re-parses only the files whose content hash
+ * moved - ending with the graph a full build produces.
+ */
+class GraphSnapshotTest {
+
+    private static final byte[] ENVIRONMENT = GraphSnapshot.digest("classpath");
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    @TempDir
+    Path cacheDir;
+
+    private static FileGraph sampleFile(String path) {
+        FileGraph file = new FileGraph(path);
+        file.nodes.put("a.A", new GraphNode("a.A", NodeKind.TYPE, null, "A", 1, path, 2));
+        file.nodes.put("a.A#run()", new GraphNode("a.A#run()", NodeKind.METHOD, "a.A", "run", 9, path, 4));
+        file.addEdge("a.A#run()", "b.B#go(int)", EdgeKind.CALLS);
+        file.addEdge("a.A", "a.A#count", EdgeKind.WRITES);
+        file.overrides.put("a.A#run()", Set.of("java.lang.Runnable#run()"));
+        file.mains.add("a.A#run()");
+        file.supertypes.put("a.A", Set.of("java.lang.Runnable"));
+        file.signatures.put("a.A#run()", "La/A;.run()V|V|");
+        file.unresolved = true;
+        file.freeze(new HashMap<>());
+        return file;
+    }
+
+    // ========== Format ==========
+
+    @Test
+    @DisplayName("save then load round-trips nodes, edges, overrides, mains, supertypes, signatures, and hashes")
+    void roundTrip() throws IOException {
+        GraphSnapshot snapshot = GraphSnapshot.forProject(cacheDir, Path.of("/work/project"));
+        FileGraph file = sampleFile("/src/a/A.java");
+        FileGraph unhashed = sampleFile("/src/a/Unstamped.java");
+        snapshot.save(ENVIRONMENT, List.of(file, unhashed),
+            Map.of(file.filePath, new ContentHash(0x0123456789abcdefL, -1L)));
+
+        GraphSnapshot.Contents contents = snapshot.load(ENVIRONMENT);
+        assertEquals(Set.of(file.filePath), contents.files().keySet(), "files without a hash are left out");
+        assertEquals(new ContentHash(0x0123456789abcdefL, -1L), contents.hashes().get(file.filePath));
+        FileGraph loaded = contents.files().get(file.filePath);
+        assertEquals(file.nodes, loaded.nodes);
+        assertEquals(file.overrides, loaded.overrides);
+        assertEquals(file.mains, loaded.mains);
+        assertEquals(file.supertypes, loaded.supertypes);
+        assertEquals(file.signatures, loaded.signatures);
+        assertTrue(loaded.unresolved);
+        assertEquals(edges(file), edges(loaded));
+    }
+
+    private static Set<String> edges(FileGraph file) {
+        Set<String> edges = new HashSet<>();
+        for (int i = 0; i < file.edgeCount(); i++) {
+            edges.add(file.edgeFrom(i) + ">" + file.edgeTo(i) + ":" + file.edgeKind(i));
+        }
+        return edges;
+    }
+
+    @Test
+    @DisplayName("a missing, truncated, or foreign snapshot loads as absent")
+    void corruptOrForeign_loadsAbsent() throws IOException {
+        GraphSnapshot snapshot = GraphSnapshot.forProject(cacheDir, Path.of("/work/project"));
+        assertNull(snapshot.load(ENVIRONMENT), "missing");
+
+        FileGraph file = sampleFile("/src/a/A.java");
+        snapshot.save(ENVIRONMENT, List.of(file), Map.of(file.filePath, new ContentHash(1, 2)));
+        assertNull(snapshot.load(GraphSnapshot.digest("another classpath")), "other environment");
+
+        byte[] bytes = Files.readAllBytes(snapshot.file());
+        Files.write(snapshot.file(), Arrays.copyOf(bytes, bytes.length - 7));
+        assertNull(snapshot.load(ENVIRONMENT), "truncated");
+
+        Files.writeString(snapshot.file(), "not a snapshot");
+        assertNull(snapshot.load(ENVIRONMENT), "foreign");
+    }
+
+    // ========== Sessions ==========
+
+    private JdtServiceImpl session(Path project) throws Exception {
+        JdtServiceImpl service = new JdtServiceImpl();
+        service.setStampStoreSetting(cacheDir.toString());
+        service.setGraphSnapshotSetting(cacheDir.toString());
+        service.loadProject(project);
+        return service;
+    }
+
+    private static void assertMatchesFullBuild(JdtServiceImpl service) throws Exception {
+        ProjectGraph restored = service.getProjectGraphService().getGraph();
+        ProjectGraph full = GraphBuilder.build(service.getJavaProject());
+        for (NodeKind kind : NodeKind.values()) {
+            assertEquals(new HashSet<>(full.nodes(kind)), new HashSet<>(restored.nodes(kind)), kind.name());
+        }
+        assertEquals(new HashSet<>(full.edges()), new HashSet<>(restored.edges()));
+        assertEquals(full.overrides(), restored.overrides());
+        assertEquals(full.mainMethodKeys(), restored.mainMethodKeys());
+    }
+
+    @Test
+    @DisplayName("an unchanged project is restored from the snapshot without parsing")
+    void unchangedProject_restoredWithoutParsing() throws Exception {
+        Path project = helper.copyFixture("reachability-maven");
+        session(project).getProjectGraphService().getGraph();
+
+        JdtServiceImpl second = session(project);
+        ProjectGraphService graphs = second.getProjectGraphService();
+        graphs.getGraph();
+        assertEquals(new ProjectGraphService.UpdateStats(0, 0, false), graphs.lastRestore());
+        assertEquals(0L, graphs.stats().get("fullBuilds"));
+        assertMatchesFullBuild(second);
+    }
+
+    @Test
+    @DisplayName("edits between sessions re-parse only the moved files and their dependents")
+    void editedBetweenSessions_reparsesMovedFiles() throws Exception {
+        Path project = helper.copyFixture("reachability-maven");
+        session(project).getProjectGraphService().getGraph();
+
+        Path pkg = project.resolve("src/main/java/com/reach");
+        Path orphan = pkg.resolve("Orphan.java");
+        Files.writeString(orphan, Files.readString(orphan)
+            .replace("        deadChain();\n", "        deadChain();\n        new Widget().compute(1);\n"));
+        Files.delete(pkg.resolve("TestedOnly.java"));
+
+        JdtServiceImpl second = session(project);
+        ProjectGraphService graphs = second.getProjectGraphService();
+        graphs.getGraph();
+        assertEquals(2, graphs.lastRestore().changed(), "the edited and the deleted file");
+        assertNull(graphs.getGraph().node("com.reach.TestedOnly"));
+        assertMatchesFullBuild(second);
+    }
+}
@@ -0,0 +1,148 @@
+package org.javalens.core.graph;
+
+import org.javalens.core.JdtServiceImpl;
+import org.javalens.core.fixtures.TestProjectHelper;
+import org.javalens.core.graph.ProjectGraph.EdgeKind;
+import org.javalens.core.graph.ProjectGraph.GraphEdge;
+import org.javalens.core.graph.ProjectGraphService.GraphState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins graph warm-up (JAVALENS_GRAPH_WARMUP=true): load schedules a background
+ * build that reaches READY without any caller asking for the graph, a change
+ * that drops the graph schedules another, and a repair racing the build is
+ * still reflected in the graph callers finally see. Stats never wait for the
+ * build monitor, and a replaced service's queued build never runs.
+ */
+class GraphWarmUpTest {
+
+    private static final long READY_TIMEOUT_MS = 60_000;
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    private JdtServiceImpl service;
+    private ProjectGraphService graphs;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path project = helper.copyFixture("reachability-maven");
+        service = new JdtServiceImpl();
+        service.setGraphWarmUp(true);
+        service.loadProject(project);
+        graphs = service.getProjectGraphService();
+    }
+
+    private void awaitReady() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + READY_TIMEOUT_MS;
+        while (graphs.state() != GraphState.READY) {
+            assertTrue(System.currentTimeMillis() < deadline, () -> "graph state: " + graphs.stats());
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    @DisplayName("load builds the graph in the background and reports it ready with its build time")
+    void load_warmsGraph() throws Exception {
+        awaitReady();
+
+        Map<String, Object> stats = graphs.stats();
+        assertEquals("ready", stats.get("state"));
+        assertEquals(true, stats.get("warmUp"));
+        assertEquals(1L, stats.get("fullBuilds"));
+        assertTrue(stats.containsKey("lastBuildMs"), stats::toString);
+        assertNotNull(graphs.getGraph().node("com.reach.Main"));
+        assertEquals(1L, graphs.stats().get("fullBuilds"), "the caller reused the warmed graph");
+    }
+
+    @Test
+    @DisplayName("an invalidating change schedules another background build")
+    void invalidation_rewarms() throws Exception {
+        awaitReady();
+        graphs.update(Set.of(service.getProjectRoot().resolve("pom.xml")));
+
+        awaitReady();
+        assertEquals(2L, graphs.stats().get("fullBuilds"));
+    }
+
+    @Test
+    @DisplayName("a repair racing the background build is applied to the graph callers see")
+    void repairDuringBuild_applied() throws Exception {
+        Path orphan = service.getProjectRoot().resolve("src/main/java/com/reach/Orphan.java");
+        Files.writeString(orphan, Files.readString(orphan)
+            .replace("        deadChain();\n", "        deadChain();\n        new Widget().compute(1);\n"));
+        service.ensureFresh(); // whether or not the build is still running
+
+        ProjectGraph graph = graphs.getGraph();
+        assertTrue(graph.edges().contains(new GraphEdge(
+            "com.reach.Orphan#deadMethod()", "com.reach.Widget#compute(int)", EdgeKind.CALLS)));
+        ProjectGraph full = GraphBuilder.build(service.getJavaProject());
+        assertEquals(new HashSet<>(full.edges()), new HashSet<>(graph.edges()));
+    }
+
+    @Test
+    @DisplayName("stats answer while another thread holds the build monitor")
+    void stats_neverWaitForMonitor() throws Exception {
+        awaitReady();
+        CountDownLatch held = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            synchronized (graphs) {
+                held.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        holder.start();
+        try {
+            held.await();
+            Map<String, Object> stats = assertTimeoutPreemptively(Duration.ofSeconds(5), graphs::stats);
+            assertEquals(1L, stats.get("fullBuilds"));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    @Test
+    @DisplayName("a cancelled service's queued warm-up never builds")
+    void cancelWarmUp_dropsQueuedBuild() throws Exception {
+        awaitReady();
+        ProjectGraphService replaced = new ProjectGraphService(service.getJavaProject());
+        synchronized (graphs) {
+            // The shared warm-up thread blocks on this monitor, so the next build stays queued.
+            graphs.invalidate();
+            graphs.scheduleWarmUp();
+            replaced.setWarmUp(true);
+            replaced.cancelWarmUp();
+        }
+        awaitReady();
+        ProjectGraphService next = new ProjectGraphService(service.getJavaProject());
+        next.setWarmUp(true);
+        long deadline = System.currentTimeMillis() + READY_TIMEOUT_MS;
+        while (next.state() != GraphState.READY) {
+            assertTrue(System.currentTimeMillis() < deadline, () -> "graph state: " + next.stats());
+            Thread.sleep(20);
+        }
+
+        // The warm-up thread runs in order, so the cancelled build would have run by now.
+        assertEquals(GraphState.ABSENT, replaced.state());
+        assertEquals(0L, replaced.stats().get("fullBuilds"));
+    }
+}
@@ -0,0 +1,149 @@
+package org.javalens.core.graph;
+
+import org.javalens.core.JdtServiceImpl;
+import org.javalens.core.fixtures.TestProjectHelper;
+import org.javalens.core.graph.ProjectGraph.GraphEdge;
+import org.javalens.core.graph.ProjectGraph.GraphNode;
+import org.javalens.core.graph.ProjectGraph.NodeKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins incremental graph maintenance: after every repair driven by
+ * ensureFresh, the spliced graph equals a from-scratch build of the same
+ * sources, while a body-only edit re-parses just the edited file and a
+ * signature change re-parses its dependents too.
+ */
+class IncrementalGraphUpdateTest {
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    private JdtServiceImpl service;
+    private ProjectGraphService graphs;
+    private Path pkg;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = helper.loadProjectCopy("reachability-maven");
+        graphs = service.getProjectGraphService();
+        pkg = service.getProjectRoot().resolve("src/main/java/com/reach");
+        graphs.getGraph();
+    }
+
+    private void assertMatchesFullBuild() throws Exception {
+        ProjectGraph incremental = graphs.getGraph();
+        ProjectGraph full = GraphBuilder.build(service.getJavaProject());
+        for (NodeKind kind : NodeKind.values()) {
+            assertEquals(new HashSet<>(full.nodes(kind)), new HashSet<>(incremental.nodes(kind)), kind.name());
+        }
+        assertEquals(new HashSet<>(full.edges()), new HashSet<>(incremental.edges()));
+        assertEquals(full.overrides(), incremental.overrides());
+        assertEquals(full.mainMethodKeys(), incremental.mainMethodKeys());
+    }
+
+    private void edit(String file, String from, String to) throws Exception {
+        Path path = pkg.resolve(file);
+        String source = Files.readString(path);
+        assertTrue(source.contains(from), from);
+        Files.writeString(path, source.replace(from, to));
+    }
+
+    @Test
+    @DisplayName("a body-only edit re-parses exactly the edited file")
+    void bodyEdit_reparsesOneFile() throws Exception {
+        edit("Orphan.java", "        deadChain();\n", "        deadChain();\n        new Widget().compute(1);\n");
+        service.ensureFresh();
+
+        assertEquals(new ProjectGraphService.UpdateStats(1, 1, false), graphs.lastUpdate());
+        assertTrue(graphs.getGraph().edges().contains(new GraphEdge(
+            "com.reach.Orphan#deadMethod()", "com.reach.Widget#compute(int)", ProjectGraph.EdgeKind.CALLS)));
+        assertMatchesFullBuild();
+    }
+
+    @Test
+    @DisplayName("a signature change re-parses callers and overriders of the old declaration")
+    void signatureChange_reparsesDependents() throws Exception {
+        edit("Base.java", "public String hook() {", "public String hook(int depth) {");
+        service.ensureFresh();
+
+        assertTrue(graphs.lastUpdate().reparsed() > 1, () -> "dependents re-parsed: " + graphs.lastUpdate());
+        assertFalse(graphs.getGraph().overrides().containsKey("com.reach.Child#hook()"),
+            "Child.hook() no longer overrides anything");
+        assertMatchesFullBuild();
+    }
+
+    @Test
+    @DisplayName("a changed return type retargets the calls chained through it")
+    void returnTypeChange_retargetsCaller() throws Exception {
+        Files.writeString(pkg.resolve("Red.java"),
+            "package com.reach;\n\npublic class Red {\n    public int run() {\n        return 1;\n    }\n}\n");
+        Files.writeString(pkg.resolve("Blue.java"),
+            "package com.reach;\n\npublic class Blue {\n    public int run() {\n        return 2;\n    }\n}\n");
+        Files.writeString(pkg.resolve("Source.java"),
+            "package com.reach;\n\npublic class Source {\n    public Red make() {\n        return null;\n    }\n}\n");
+        Files.writeString(pkg.resolve("User.java"),
+            "package com.reach;\n\npublic class User {\n    public int use() {\n"
+                + "        return new Source().make().run();\n    }\n}\n");
+        service.ensureFresh();
+        assertTrue(graphs.getGraph().edges().contains(new GraphEdge(
+            "com.reach.User#use()", "com.reach.Red#run()", ProjectGraph.EdgeKind.CALLS)));
+
+        edit("Source.java", "public Red make()", "public Blue make()");
+        service.ensureFresh();
+
+        assertEquals(2, graphs.lastUpdate().reparsed(), () -> "caller re-parsed: " + graphs.lastUpdate());
+        Set<GraphEdge> edges = new HashSet<>(graphs.getGraph().edges());
+        assertTrue(edges.contains(new GraphEdge(
+            "com.reach.User#use()", "com.reach.Blue#run()", ProjectGraph.EdgeKind.CALLS)));
+        assertFalse(edges.contains(new GraphEdge(
+            "com.reach.User#use()", "com.reach.Red#run()", ProjectGraph.EdgeKind.CALLS)));
+        assertMatchesFullBuild();
+    }
+
+    @Test
+    @DisplayName("deleting a file drops its nodes and every edge it owned")
+    void delete_dropsContribution() throws Exception {
+        Files.delete(pkg.resolve("Orphan.java"));
+        service.ensureFresh();
+
+        assertNull(graphs.getGraph().node("com.reach.Orphan"));
+        assertMatchesFullBuild();
+    }
+
+    @Test
+    @DisplayName("a type created after its caller resolves the caller's dangling reference")
+    void typeAppears_resolvesUnresolvedCaller() throws Exception {
+        Files.writeString(pkg.resolve("Early.java"),
+            "package com.reach;\n\npublic class Early {\n    public int use() {\n"
+                + "        return new Later().value();\n    }\n}\n");
+        service.ensureFresh();
+        Files.writeString(pkg.resolve("Later.java"),
+            "package com.reach;\n\npublic class Later {\n    public int value() {\n        return 1;\n    }\n}\n");
+        service.ensureFresh();
+
+        assertTrue(graphs.getGraph().edges().contains(new GraphEdge(
+            "com.reach.Early#use()", "com.reach.Later#value()", ProjectGraph.EdgeKind.CALLS)));
+        assertMatchesFullBuild();
+    }
+
+    @Test
+    @DisplayName("a non-source path drops the cached graph for a full rebuild")
+    void nonSourcePath_rebuilds() throws Exception {
+        graphs.update(Set.of(service.getProjectRoot().resolve("pom.xml")));
+        assertTrue(graphs.lastUpdate().rebuilt());
+
+        GraphNode main = graphs.getGraph().node("com.reach.Main");
+        assertNotNull(main);
+        assertEquals(2L, graphs.stats().get("fullBuilds"));
+    }
+}
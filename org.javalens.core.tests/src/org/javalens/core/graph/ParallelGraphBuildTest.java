@@ -0,0 +1,121 @@
+package org.javalens.core.graph;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.javalens.core.JdtServiceImpl;
+import org.javalens.core.fixtures.TestProjectHelper;
+import org.javalens.core.graph.ProjectGraph.NodeKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the parallel graph build: package-aligned batches parsed on separate
+ * parsers produce the same per-file contributions, in the same order, and the
+ * same assembled graph as the single pass - including edges and overrides that
+ * cross batch boundaries.
+ */
+class ParallelGraphBuildTest {
+
+    private static final int PACKAGES = 6;
+    private static final int TYPES_PER_PACKAGE = 20;
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    private JdtServiceImpl service;
+    private ICompilationUnit[] units;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path project = helper.copyFixture("reachability-maven");
+        Path src = project.resolve("src/main/java/com/gen");
+        for (int p = 0; p < PACKAGES; p++) {
+            Path pkg = Files.createDirectories(src.resolve("p" + p));
+            for (int t = 0; t < TYPES_PER_PACKAGE; t++) {
+                // Each type extends and calls into the previous package, so bindings cross batches.
+                String parent = p == 0 ? "com.reach.Base" : "com.gen.p" + (p - 1) + ".T" + t;
+                Files.writeString(pkg.resolve("T" + t + ".java"),
+                    "package com.gen.p" + p + ";\n\n"
+                        + "public class T" + t + " extends " + parent + " {\n"
+                        + "    public String hook() {\n"
+                        + "        return new " + parent + "().hook() + step(" + t + ");\n"
+                        + "    }\n"
+                        + "    int step(int n) {\n"
+                        + "        return n > 0 ? new T" + ((t + 1) % TYPES_PER_PACKAGE) + "().step(n - 1) : 0;\n"
+                        + "    }\n"
+                        + "}\n");
+            }
+        }
+        service = new JdtServiceImpl();
+        service.loadProject(project);
+        units = GraphBuilder.collectSourceUnits(service.getJavaProject());
+    }
+
+    @Test
+    @DisplayName("batches cover every unit in order and are cut only between packages")
+    void partition_packageAligned() {
+        List<ICompilationUnit[]> batches = GraphBuilder.partition(units, 4);
+        assertTrue(batches.size() > 1, () -> "batches: " + batches.size());
+
+        List<ICompilationUnit> joined = new ArrayList<>();
+        for (int i = 0; i < batches.size(); i++) {
+            ICompilationUnit[] batch = batches.get(i);
+            if (i > 0) {
+                ICompilationUnit[] previous = batches.get(i - 1);
+                assertNotEquals(previous[previous.length - 1].getParent(), batch[0].getParent());
+            }
+            joined.addAll(Arrays.asList(batch));
+        }
+        assertEquals(Arrays.asList(units), joined);
+        assertEquals(1, GraphBuilder.partition(units, 1).size(), "parallelism 1 is the single pass");
+    }
+
+    @Test
+    @DisplayName("the parallel build equals the single pass, file by file and as a graph")
+    void parallelBuild_matchesSinglePass() {
+        Map<String, FileGraph> sequential = GraphBuilder.collect(service.getJavaProject(), units);
+        Map<String, FileGraph> parallel = GraphBuilder.collect(service.getJavaProject(), units, 4);
+
+        assertEquals(List.copyOf(sequential.keySet()), List.copyOf(parallel.keySet()));
+        for (Map.Entry<String, FileGraph> entry : sequential.entrySet()) {
+            FileGraph other = parallel.get(entry.getKey());
+            assertEquals(entry.getValue().nodes, other.nodes, entry.getKey());
+            assertEquals(entry.getValue().overrides, other.overrides, entry.getKey());
+            assertEquals(entry.getValue().supertypes, other.supertypes, entry.getKey());
+            assertEquals(entry.getValue().signatures, other.signatures, entry.getKey());
+            assertEquals(entry.getValue().unresolved, other.unresolved, entry.getKey());
+        }
+
+        ProjectGraph one = GraphBuilder.assemble(sequential.values());
+        ProjectGraph many = GraphBuilder.assemble(parallel.values());
+        for (NodeKind kind : NodeKind.values()) {
+            assertEquals(new HashSet<>(one.nodes(kind)), new HashSet<>(many.nodes(kind)), kind.name());
+        }
+        assertEquals(new HashSet<>(one.edges()), new HashSet<>(many.edges()));
+        assertEquals(one.overrides(), many.overrides());
+        assertTrue(many.overrides().containsKey("com.gen.p3.T5#hook()"), "cross-batch override resolved");
+        assertEquals(one.mainMethodKeys(), many.mainMethodKeys());
+    }
+
+    @Test
+    @DisplayName("JAVALENS_GRAPH_PARALLELISM parses a count or auto; anything else is single-threaded")
+    void parallelism_fromEnvironment() {
+        assertEquals(1, ProjectGraphService.parallelismFromEnvironment(null));
+        assertEquals(1, ProjectGraphService.parallelismFromEnvironment("lots"));
+        assertEquals(1, ProjectGraphService.parallelismFromEnvironment("0"));
+        assertEquals(8, ProjectGraphService.parallelismFromEnvironment(" 8 "));
+        assertEquals(Runtime.getRuntime().availableProcessors(),
+            ProjectGraphService.parallelismFromEnvironment("AUTO"));
+    }
+}
@@ -0,0 +1,249 @@
+package org.javalens.core.graph;
+
+import org.javalens.core.graph.ProjectGraph.EdgeKind;
+import org.javalens.core.graph.ProjectGraph.GraphEdge;
+import org.javalens.core.graph.ProjectGraph.GraphNode;
+import org.javalens.core.graph.ProjectGraph.NodeKind;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the integer-indexed graph layout against the map-of-records layout it
+ * replaced: on random graphs (duplicate edges, dangling targets, override
+ * chains) both closures answer exactly as the old string-keyed walk did. The
+ * footprint and closure timings at scale are LOGGED, not asserted.
+ */
+class ProjectGraphLayoutTest {
+
+    /** Random graph: types with methods and fields, edges of every kind, some to unknown keys. */
+    record Sample(Map<String, GraphNode> nodes, List<GraphEdge> edges,
+                          Map<String, Set<String>> overrides, Set<String> mains) {
+
+        static Sample random(int types, int edgesPerMethod, long seed) {
+            Random random = new Random(seed);
+            Map<String, GraphNode> nodes = new LinkedHashMap<>();
+            List<String> methods = new ArrayList<>();
+            List<String> targets = new ArrayList<>();
+            for (int t = 0; t < types; t++) {
+                String type = "p" + (t % 50) + ".T" + t;
+                nodes.put(type, new GraphNode(type, NodeKind.TYPE, null, "T" + t, 1, "/src/T" + t + ".java", 0));
+                targets.add(type);
+                for (int m = 0; m < 4; m++) {
+                    String method = type + "#m" + m + "(int)";
+                    nodes.put(method, new GraphNode(method, NodeKind.METHOD, type, "m" + m, 1,
+                        "/src/T" + t + ".java", m + 1));
+                    methods.add(method);
+                    targets.add(method);
+                }
+                String field = type + "#f";
+                nodes.put(field, new GraphNode(field, NodeKind.FIELD, type, "f", 2, "/src/T" + t + ".java", 9));
+                targets.add(field);
+            }
+            List<GraphEdge> edges = new ArrayList<>();
+            EdgeKind[] kinds = EdgeKind.values();
+            for (String method : methods) {
+                for (int e = 0; e < edgesPerMethod; e++) {
+                    String target = random.nextInt(50) == 0
+                        ? "gone.Missing#x" + random.nextInt(10) + "()"
+                        : targets.get(random.nextInt(targets.size()));
+                    edges.add(new GraphEdge(method, target, kinds[random.nextInt(kinds.length)]));
+                }
+            }
+            edges.add(edges.get(0)); // a duplicate, as two same-named files would produce
+            Map<String, Set<String>> overrides = new HashMap<>();
+            for (int i = 0; i < methods.size() / 10; i++) {
+                overrides.computeIfAbsent(methods.get(random.nextInt(methods.size())), k -> new HashSet<>())
+                    .add(methods.get(random.nextInt(methods.size())));
+            }
+            Set<String> mains = Set.of(methods.get(0), methods.get(methods.size() / 2));
+            return new Sample(nodes, edges, overrides, mains);
+        }
+
+        ProjectGraph graph() {
+            ProjectGraph.Builder builder = new ProjectGraph.Builder();
+            nodes.values().forEach(builder::node);
+            edges.forEach(e -> builder.edge(e.fromKey(), e.toKey(), e.kind()));
+            overrides.forEach((method, overridden) -> overridden.forEach(o -> builder.override(method, o)));
+            mains.forEach(builder::main);
+            return builder.build();
+        }
+    }
+
+    /**
+     * The string-keyed layout and walks before the CSR layout, kept only as
+     * oracle and baseline. Its caller walk carries the same order fix as the
+     * CSR one: a method reached by the override climb before its call edge
+     * was once dropped, depending on edge order.
+     */
+    static final class LegacyGraph {
+
+        final Map<String, GraphNode> nodes;
+        final List<GraphEdge> edges;
+        final Map<String, List<GraphEdge>> outgoing;
+        final Map<String, List<GraphEdge>> incoming;
+        final Map<String, Set<String>> overrides;
+        final Map<String, Set<String>> overriddenBy = new HashMap<>();
+
+        LegacyGraph(Sample sample) {
+            nodes = Map.copyOf(sample.nodes());
+            // Fresh records: the old graph owned its edge records.
+            edges = List.copyOf(sample.edges().stream()
+                .map(e -> new GraphEdge(e.fromKey(), e.toKey(), e.kind()))
+                .collect(Collectors.toCollection(java.util.LinkedHashSet::new)));
+            outgoing = edges.stream().collect(Collectors.groupingBy(GraphEdge::fromKey));
+            incoming = edges.stream().collect(Collectors.groupingBy(GraphEdge::toKey));
+            overrides = sample.overrides();
+            overrides.forEach((m, os) -> os.forEach(o -> overriddenBy.computeIfAbsent(o, k -> new HashSet<>()).add(m)));
+        }
+
+        Set<String> reachableFrom(Set<String> roots) {
+            Set<String> reached = new HashSet<>();
+            Deque<String> work = new ArrayDeque<>();
+            for (String root : roots) {
+                GraphNode node = nodes.get(root);
+                if (node == null) continue;
+                enqueue(root, reached, work);
+                if (node.kind() == NodeKind.METHOD && node.ownerKey() != null) enqueue(node.ownerKey(), reached, work);
+            }
+            while (!work.isEmpty()) {
+                for (GraphEdge edge : outgoing.getOrDefault(work.pop(), List.of())) {
+                    GraphNode target = nodes.get(edge.toKey());
+                    if (target == null) continue;
+                    enqueue(edge.toKey(), reached, work);
+                    if (edge.kind() == EdgeKind.CREATES && target.kind() == NodeKind.METHOD
+                        && target.ownerKey() != null) enqueue(target.ownerKey(), reached, work);
+                }
+            }
+            return reached;
+        }
+
+        private void enqueue(String key, Set<String> reached, Deque<String> work) {
+            if (!reached.add(key)) return;
+            work.push(key);
+            GraphNode node = nodes.get(key);
+            if (node != null && node.kind() == NodeKind.METHOD) {
+                for (String override : overriddenBy.getOrDefault(key, Set.of())) enqueue(override, reached, work);
+            }
+        }
+
+        Set<String> transitiveCallers(String key) {
+            Set<String> result = new HashSet<>();
+            Set<String> visited = new HashSet<>();
+            Deque<String> work = new ArrayDeque<>();
+            if (!nodes.containsKey(key)) return result;
+            visited.add(key);
+            work.push(key);
+            while (!work.isEmpty()) {
+                String current = work.pop();
+                for (GraphEdge edge : incoming.getOrDefault(current, List.of())) {
+                    GraphNode from = nodes.get(edge.fromKey());
+                    if (from == null) continue;
+                    if (from.kind() == NodeKind.METHOD && !edge.fromKey().equals(key)) result.add(edge.fromKey());
+                    if (visited.add(edge.fromKey())) work.push(edge.fromKey());
+                }
+                GraphNode node = nodes.get(current);
+                if (node != null && node.kind() == NodeKind.METHOD) {
+                    for (String overridden : overrides.getOrDefault(current, Set.of())) {
+                        if (visited.add(overridden)) work.push(overridden);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    @Test
+    @DisplayName("closures over the CSR layout equal the string-keyed walks on random graphs")
+    void closures_matchLegacyLayout() {
+        for (long seed = 1; seed <= 5; seed++) {
+            Sample sample = Sample.random(300, 3, seed);
+            ProjectGraph graph = sample.graph();
+            LegacyGraph legacy = new LegacyGraph(sample);
+
+            assertEquals(legacy.reachableFrom(sample.mains()), graph.reachableFrom(sample.mains()));
+            assertEquals(Set.of(), graph.reachableFrom(Set.of("gone.Missing#x1()")));
+            for (String key : sample.nodes().keySet()) {
+                assertEquals(legacy.transitiveCallers(key), graph.transitiveCallers(key), key);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("accessors round-trip the input; duplicate edges collapse")
+    void accessors_roundTrip() {
+        Sample sample = Sample.random(40, 4, 42);
+        ProjectGraph graph = sample.graph();
+
+        assertEquals(new HashSet<>(sample.edges()), new HashSet<>(graph.edges()));
+        assertEquals(new HashSet<>(sample.edges()).size(), graph.edgeCount());
+        Map<String, Set<String>> overrides = new HashMap<>(sample.overrides());
+        assertEquals(overrides, graph.overrides());
+        assertEquals(sample.mains(), graph.mainMethodKeys());
+        for (NodeKind kind : NodeKind.values()) {
+            assertEquals(sample.nodes().values().stream().filter(n -> n.kind() == kind).collect(Collectors.toSet()),
+                new HashSet<>(graph.nodes(kind)));
+        }
+        assertNull(graph.node("gone.Missing#x1()"), "referenced-only keys are not nodes");
+    }
+
+    @Test
+    @DisplayName("a repeated node key keeps the later node")
+    void repeatedNode_laterWins() {
+        GraphNode first = new GraphNode("a.A", NodeKind.TYPE, null, "A", 0, "/one/A.java", 1);
+        GraphNode second = new GraphNode("a.A", NodeKind.TYPE, null, "A", 0, "/two/A.java", 3);
+        ProjectGraph graph = new ProjectGraph.Builder().node(first).node(second).build();
+        assertEquals(second, graph.node("a.A"));
+        assertEquals(1, graph.nodes(NodeKind.TYPE).size());
+    }
+
+    @Test
+    @DisplayName("measurement: heap and closure time at ~1M edges, CSR vs map-of-records")
+    void footprint_csrVersusLegacy() {
+        Sample sample = Sample.random(50_000, 5, 7); // 200k methods x 5 = 1M edges
+        long base = usedHeap();
+        LegacyGraph legacy = new LegacyGraph(sample);
+        long legacyBytes = usedHeap() - base;
+
+        base = usedHeap();
+        ProjectGraph graph = sample.graph();
+        long csrBytes = usedHeap() - base;
+        assertTrue(legacy.outgoing.size() > 0 && graph.edgeCount() > 0); // both reachable through the measurement
+
+        long t0 = System.nanoTime();
+        Set<String> legacyReached = legacy.reachableFrom(sample.mains());
+        long legacyMs = (System.nanoTime() - t0) / 1_000_000;
+        long t1 = System.nanoTime();
+        Set<String> reached = graph.reachableFrom(sample.mains());
+        long csrMs = (System.nanoTime() - t1) / 1_000_000;
+        assertEquals(legacyReached, reached);
+        long t2 = System.nanoTime();
+        graph.reachableFrom(sample.mains());
+        long warmMs = (System.nanoTime() - t2) / 1_000_000;
+
+        System.out.printf("[graph layout] edges=%d heap: legacy=%dMB csr=%dMB; "
+                + "reachableFrom: legacy=%dms csr=%dms (index build included), memoized=%dms%n",
+            graph.edgeCount(), legacyBytes >> 20, csrBytes >> 20, legacyMs, csrMs, warmMs);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,154 @@
+package org.javalens.core.graph;
+
+import org.javalens.core.graph.ProjectGraph.GraphNode;
+import org.javalens.core.graph.ProjectGraph.NodeKind;
+import org.javalens.core.graph.ProjectGraphLayoutTest.LegacyGraph;
+import org.javalens.core.graph.ProjectGraphLayoutTest.Sample;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the memoized closures: on random graphs, multi-root forward closures,
+ * per-key caller closures, and type-aware symbol closures equal the plain
+ * walks - cold, memoized, and under a memo budget so small that every entry
+ * is evicted - and a repeated question is answered from the memo.
+ */
+class ReachabilityIndexTest {
+
+    private static Set<String> legacySymbolCallers(LegacyGraph legacy, String typeKey) {
+        Set<String> members = new HashSet<>();
+        for (GraphNode node : legacy.nodes.values()) {
+            if (typeKey.equals(node.ownerKey())) {
+                members.add(node.key());
+            }
+        }
+        Set<String> result = new HashSet<>(legacy.transitiveCallers(typeKey));
+        for (String member : members) {
+            result.addAll(legacy.transitiveCallers(member));
+        }
+        result.removeAll(members);
+        return result;
+    }
+
+    private static Set<String> legacyGroupCallers(LegacyGraph legacy, Set<String> group) {
+        Set<String> seeds = new HashSet<>(group);
+        for (GraphNode node : legacy.nodes.values()) {
+            if (node.ownerKey() != null && group.contains(node.ownerKey())
+                    && legacy.nodes.get(node.ownerKey()).kind() == NodeKind.TYPE) {
+                seeds.add(node.key());
+            }
+        }
+        Set<String> result = new HashSet<>();
+        for (String seed : seeds) {
+            result.addAll(legacy.transitiveCallers(seed));
+        }
+        result.removeAll(seeds);
+        return result;
+    }
+
+    private static void assertClosuresMatch(Sample sample, ProjectGraph graph, long seed) {
+        LegacyGraph legacy = new LegacyGraph(sample);
+        List<String> keys = new ArrayList<>(sample.nodes().keySet());
+        Random random = new Random(seed);
+        for (int round = 0; round < 2; round++) { // the second round is answered from the memo
+            for (int i = 0; i < 20; i++) {
+                Set<String> roots = new HashSet<>();
+                for (int r = random.nextInt(4); r >= 0; r--) {
+                    roots.add(keys.get(random.nextInt(keys.size())));
+                }
+                assertEquals(legacy.reachableFrom(roots), graph.reachableFrom(roots), roots::toString);
+            }
+            for (String key : keys) {
+                assertEquals(legacy.transitiveCallers(key), graph.transitiveCallers(key), key);
+                if (sample.nodes().get(key).kind() == NodeKind.TYPE) {
+                    assertEquals(legacySymbolCallers(legacy, key), graph.transitiveCallersOfSymbol(key), key);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("memoized closures equal the plain walks on random graphs")
+    void closures_matchPlainWalks() {
+        for (long seed = 11; seed <= 13; seed++) {
+            Sample sample = Sample.random(120, 2, seed);
+            assertClosuresMatch(sample, sample.graph(), seed);
+        }
+    }
+
+    @Test
+    @DisplayName("a group closure equals the union of its members' walks, minus the group")
+    void groupClosure_matchesUnionOfWalks() {
+        Sample sample = Sample.random(120, 2, 31);
+        ProjectGraph graph = sample.graph();
+        LegacyGraph legacy = new LegacyGraph(sample);
+        List<String> keys = new ArrayList<>(sample.nodes().keySet());
+        Random random = new Random(31);
+        for (int i = 0; i < 40; i++) {
+            Set<String> group = new HashSet<>();
+            for (int r = random.nextInt(6); r >= 0; r--) {
+                group.add(keys.get(random.nextInt(keys.size())));
+            }
+            assertEquals(legacyGroupCallers(legacy, group), graph.transitiveCallersOfSymbols(group),
+                group::toString);
+        }
+        assertEquals(Set.of(), graph.transitiveCallersOfSymbols(List.of("no.Such#key()")));
+    }
+
+    @Test
+    @DisplayName("an exhausted memo budget evicts entries without changing answers")
+    void tinyBudget_sameAnswers() {
+        Sample sample = Sample.random(120, 2, 21);
+        ProjectGraph graph = sample.graph();
+        graph.setMemoBudget(1);
+        assertClosuresMatch(sample, graph, 21);
+        assertEquals(1, graph.reachabilityStats().get("memoized"), "only the newest entry survives");
+    }
+
+    @Test
+    @DisplayName("asking again is a memo hit")
+    void repeatedQuestion_hitsMemo() {
+        Sample sample = Sample.random(60, 3, 5);
+        ProjectGraph graph = sample.graph();
+        String target = sample.nodes().keySet().iterator().next();
+
+        Set<String> first = graph.transitiveCallers(target);
+        Map<String, Object> cold = graph.reachabilityStats();
+        Set<String> second = graph.transitiveCallers(target);
+        Map<String, Object> warm = graph.reachabilityStats();
+
+        assertEquals(first, second);
+        assertEquals(cold.get("misses"), warm.get("misses"));
+        assertEquals((Long) cold.get("hits") + 1, warm.get("hits"));
+        assertTrue((Integer) warm.get("reverseComponents") > 0);
+    }
+
+    @Test
+    @DisplayName("measurement: cold and memoized closure time at ~1M edges")
+    void measurement_coldVersusMemoized() {
+        Sample sample = Sample.random(50_000, 5, 7);
+        ProjectGraph graph = sample.graph();
+        String hot = sample.nodes().keySet().stream().skip(1_000).findFirst().orElseThrow();
+
+        long t0 = System.nanoTime();
+        Set<String> callers = graph.transitiveCallers(hot);
+        long coldMs = (System.nanoTime() - t0) / 1_000_000;
+        long t1 = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(callers.size(), graph.transitiveCallers(hot).size());
+        }
+        long warmMs = (System.nanoTime() - t1) / 10_000_000;
+
+        System.out.printf("[reachability] transitiveCallers: cold=%dms (index build included) memoized=%dms; %s%n",
+            coldMs, warmMs, graph.reachabilityStats());
+    }
+}
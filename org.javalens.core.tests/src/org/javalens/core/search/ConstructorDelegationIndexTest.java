@@ -0,0 +1,191 @@
+package org.javalens.core.search;
+
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.javalens.core.JdtServiceImpl;
+import org.javalens.core.fixtures.TestProjectHelper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the constructor delegation index behind flexible-body reference
+ * search: one parse of the project serves every later lookup, a repair
+ * re-parses only the repaired file and the files delegating into it, and a
+ * delegation rebound by a changed constructor in another file is found under
+ * its new target, as is one rebound through its arguments when another file's
+ * declarations change. A page that stopped early carries the delegations in
+ * the places the full answer has them.
+ */
+class ConstructorDelegationIndexTest {
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    private static long stat(SearchService search, String name) {
+        return ((Number) search.delegationIndexStats().get(name)).longValue();
+    }
+
+    @Test
+    @DisplayName("lookups reuse one parse; repairs re-parse the file and its delegating dependents")
+    void incrementalMaintenance() throws Exception {
+        Path project = helper.copyFixture("java25-maven");
+        JdtServiceImpl service = new JdtServiceImpl();
+        service.loadProject(project);
+        SearchService search = service.getSearchService();
+        IType base = service.getJavaProject().findType("com.example.ctor.Base");
+
+        IMethod baseInt = base.getMethod("Base", new String[]{"I"});
+        assertEquals(2, search.findAllReferences(baseInt, 100).totalEncountered(),
+            "Traditional's first-statement super(v) and Derived's flexible-body one");
+        long parsed = stat(search, "filesParsed");
+        search.findAllReferences(baseInt, 100);
+        assertEquals(1L, stat(search, "fullBuilds"));
+        assertEquals(parsed, stat(search, "filesParsed"), "a second lookup parses nothing");
+
+        // A body edit in a file nobody delegates into re-parses that file alone.
+        Path ctor = project.resolve("src/main/java/com/example/ctor");
+        Path traditional = ctor.resolve("Traditional.java");
+        Files.writeString(traditional, Files.readString(traditional).replace("super(v);", "super(v + 0);"));
+        service.ensureFresh();
+        search.findAllReferences(baseInt, 100);
+        assertEquals(parsed + 1, stat(search, "filesParsed"));
+        assertEquals(1L, stat(search, "fullBuilds"));
+
+        // Changing Base's constructor rebinds Derived's untouched flexible-body delegation.
+        Path basePath = ctor.resolve("Base.java");
+        Files.writeString(basePath, Files.readString(basePath).replace("Base(int x)", "Base(long x)"));
+        service.ensureFresh();
+        IMethod baseLong = service.getJavaProject().findType("com.example.ctor.Base")
+            .getMethod("Base", new String[]{"J"});
+        assertEquals(2, search.findAllReferences(baseLong, 100).totalEncountered());
+        Map<String, Object> stats = search.delegationIndexStats();
+        assertEquals(1L, stats.get("fullBuilds"));
+        assertTrue(service.getMetrics().containsKey("constructorDelegationIndex"));
+    }
+
+    @Test
+    @DisplayName("a changed return type rebinds a delegation whose argument resolves through it")
+    void argumentTypeChange_rebindsDelegation() throws Exception {
+        Path project = helper.copyFixture("java25-maven");
+        Path ctor = project.resolve("src/main/java/com/example/ctor");
+        Files.writeString(ctor.resolve("Maker.java"), """
+            package com.example.ctor;
+
+            public class Maker {
+                public static class Small {
+                }
+                public static class Big {
+                }
+                public static Small make() {
+                    return null;
+                }
+            }
+            """);
+        Files.writeString(ctor.resolve("Holder.java"), """
+            package com.example.ctor;
+
+            public class Holder {
+                public Holder(Maker.Small s) {
+                }
+                public Holder(Maker.Big b) {
+                }
+            }
+            """);
+        Files.writeString(ctor.resolve("SubHolder.java"), """
+            package com.example.ctor;
+
+            public class SubHolder extends Holder {
+                public SubHolder(int v) {
+                    if (v < 0) {
+                        throw new IllegalArgumentException();
+                    }
+                    super(Maker.make());
+                }
+            }
+            """);
+        JdtServiceImpl service = new JdtServiceImpl();
+        service.loadProject(project);
+        SearchService search = service.getSearchService();
+        assertEquals(1, search.findAllReferences(holderConstructor(service, "Small"), 100).totalEncountered());
+        assertEquals(0, search.findAllReferences(holderConstructor(service, "Big"), 100).totalEncountered());
+
+        // Only Maker changes; the delegation's target type Holder does not.
+        Path maker = ctor.resolve("Maker.java");
+        Files.writeString(maker, Files.readString(maker).replace("public static Small make()", "public static Big make()"));
+        service.ensureFresh();
+
+        assertEquals(0, search.findAllReferences(holderConstructor(service, "Small"), 100).totalEncountered());
+        assertEquals(1, search.findAllReferences(holderConstructor(service, "Big"), 100).totalEncountered());
+        assertEquals(1L, stat(search, "fullBuilds"));
+    }
+
+    @Test
+    @DisplayName("an early-stopped page places flexible-body delegations as the full answer does")
+    void earlyStoppedPage_includesDelegations() throws Exception {
+        Path project = helper.copyFixture("java25-maven");
+        Path hub = Files.createDirectories(project.resolve("src/main/java/com/example/hub"));
+        Files.writeString(hub.resolve("Hub.java"), """
+            package com.example.hub;
+
+            public class Hub {
+                public Hub(int v) {
+                }
+            }
+            """);
+        int users = 60;
+        for (int i = 0; i < users; i++) {
+            String guard = i % 10 == 0 ? "if (v < 0) {\n            throw new IllegalArgumentException();\n        }\n        " : "";
+            Files.writeString(hub.resolve("User" + i + ".java"), """
+                package com.example.hub;
+
+                public class User%d extends Hub {
+                    public User%d(int v) {
+                        %ssuper(v);
+                    }
+                }
+                """.formatted(i, i, guard));
+        }
+        JdtServiceImpl service = new JdtServiceImpl();
+        service.loadProject(project);
+        SearchService search = service.getSearchService();
+        IMethod hubInt = service.getJavaProject().findType("com.example.hub.Hub").getMethod("Hub", new String[]{"I"});
+
+        SearchResult full = search.findAllReferences(hubInt, 1_000, null, true);
+        assertEquals(users, full.totalEncountered());
+
+        SearchResult first = search.findAllReferences(hubInt, 5, null, false);
+        assertTrue(first.estimated(), "the search stopped at the page plus the overshoot");
+        assertTrue(first.matches().stream().anyMatch(m -> m.getResource().getName().equals("User0.java")),
+            "User0's flexible-body super(v) sorts first");
+        List<SearchMatch> walked = new ArrayList<>(first.matches());
+        SearchResult page = first;
+        while (page.nextCursor() != null) {
+            page = search.findAllReferences(hubInt, 50, page.nextCursor(), false);
+            walked.addAll(page.matches());
+        }
+        assertEquals(users, walked.size());
+        for (int i = 0; i < users; i++) {
+            assertEquals(full.matches().get(i).getResource(), walked.get(i).getResource());
+            assertEquals(full.matches().get(i).getOffset(), walked.get(i).getOffset());
+        }
+    }
+
+    private static IMethod holderConstructor(JdtServiceImpl service, String parameter) throws Exception {
+        for (IMethod method : service.getJavaProject().findType("com.example.ctor.Holder").getMethods()) {
+            if (method.getParameterTypes()[0].contains(parameter)) {
+                return method;
+            }
+        }
+        throw new AssertionError("no Holder(" + parameter + ")");
+    }
+}
@@ -0,0 +1,138 @@
+package org.javalens.core.search;
+
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.javalens.core.JdtServiceImpl;
+import org.javalens.core.fixtures.TestProjectHelper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins early-stopping reference search: a capped first page stops short of
+ * the full search and estimates its total, its cursor resumes with the exact
+ * answer in the same order until a repair invalidates it, and an exact count
+ * still counts everything. The unpaged overloads never stop early, keep
+ * exactly the matches asked for, and open no result set.
+ */
+class EarlyTerminatingSearchTest {
+
+    private static final int USERS = 40;
+    private static final int REFERENCES_PER_USER = 3;
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    private JdtServiceImpl service;
+
+    private SearchService hotProject() throws Exception {
+        Path project = helper.copyFixture("simple-maven");
+        Path pkg = Files.createDirectories(project.resolve("src/main/java/com/example/hot"));
+        Files.writeString(pkg.resolve("Hot.java"), "package com.example.hot;\npublic class Hot {}\n");
+        for (int i = 0; i < USERS; i++) {
+            Files.writeString(pkg.resolve("User" + i + ".java"), """
+                package com.example.hot;
+                public class User%d {
+                    Hot field;
+                    Hot use(Hot in) { return in; }
+                }
+                """.formatted(i));
+        }
+        service = new JdtServiceImpl();
+        service.loadProject(project);
+        return service.getSearchService();
+    }
+
+    @Test
+    @DisplayName("a capped page stops early with an estimate; its cursor resumes with the exact answer")
+    void cappedPage_estimatesAndResumes() throws Exception {
+        SearchService search = hotProject();
+        IType hot = search.getProject().findType("com.example.hot.Hot");
+        int exact = USERS * REFERENCES_PER_USER;
+
+        SearchResult full = search.findAllReferences(hot, 1_000, null, true);
+        assertEquals(exact, full.totalEncountered());
+        assertFalse(full.estimated());
+
+        SearchResult first = search.findAllReferences(hot, 5, null, false);
+        assertTrue(first.estimated(), "the search stopped at the page plus the overshoot");
+        assertEquals(5, first.matches().size());
+        assertTrue(first.truncated());
+        assertTrue(first.totalEncountered() >= 5 + SearchService.OVERSHOOT);
+        assertTrue(first.totalEncountered() < exact * 4, "estimate " + first.totalEncountered());
+
+        List<SearchMatch> walked = new ArrayList<>(first.matches());
+        SearchResult page = first;
+        while (page.nextCursor() != null) {
+            page = search.findAllReferences(hot, 50, page.nextCursor(), false);
+            assertNotNull(page, "a resume cursor does not expire while no repair happens");
+            assertFalse(page.estimated(), "later pages come from the full answer");
+            assertEquals(exact, page.totalEncountered());
+            walked.addAll(page.matches());
+        }
+        assertEquals(exact, walked.size());
+        for (int i = 0; i < exact; i++) {
+            assertEquals(full.matches().get(i).getOffset(), walked.get(i).getOffset());
+            assertEquals(full.matches().get(i).getResource(), walked.get(i).getResource());
+        }
+    }
+
+    @Test
+    @DisplayName("a repair between the first and second page rejects the resume cursor")
+    void repairBetweenPages_rejectsResumeCursor() throws Exception {
+        SearchService search = hotProject();
+        IType hot = search.getProject().findType("com.example.hot.Hot");
+        SearchResult first = search.findAllReferences(hot, 5, null, false);
+        assertTrue(first.estimated());
+
+        Path user = service.getProjectRoot().resolve("src/main/java/com/example/hot/User0.java");
+        Files.writeString(user, Files.readString(user).replace("Hot use(Hot in)", "Hot use(Hot in, Hot other)"));
+        service.ensureFresh();
+
+        assertNull(search.findAllReferences(hot, 5, first.nextCursor(), false),
+            "the full search would page through a different list");
+        assertEquals(USERS * REFERENCES_PER_USER + 1, search.findAllReferences(hot, 1_000, null, true).totalEncountered());
+    }
+
+    @Test
+    @DisplayName("an answer that fits under the cap is exact and unflagged")
+    void smallAnswer_isExact() throws Exception {
+        SearchService search = hotProject();
+        IType hot = search.getProject().findType("com.example.hot.Hot");
+
+        SearchResult result = search.findAllReferences(hot, 200, null, false);
+        assertFalse(result.estimated());
+        assertEquals(USERS * REFERENCES_PER_USER, result.totalEncountered());
+        assertNull(result.nextCursor());
+    }
+
+    @Test
+    @DisplayName("the unpaged overload keeps exactly its limit and opens no result set")
+    void unpagedOverload_clipsWithoutResultSet() throws Exception {
+        SearchService search = hotProject();
+        IType hot = search.getProject().findType("com.example.hot.Hot");
+        int exact = USERS * REFERENCES_PER_USER;
+
+        SearchResult clipped = search.findAllReferences(hot, 5);
+        assertEquals(5, clipped.matches().size());
+        assertEquals(exact, clipped.totalEncountered());
+        assertFalse(clipped.estimated());
+        assertNull(clipped.nextCursor());
+
+        SearchResult all = search.findAllReferences(hot, exact * 10);
+        assertEquals(exact, all.matches().size());
+        assertNull(all.nextCursor());
+        assertEquals(0L, search.resultSetStats().get("opened"));
+
+        SearchResult first = search.findAllReferences(hot, 5, null, true);
+        assertNotNull(first.nextCursor(), "the paged overload still keeps the rest behind a cursor");
+        assertEquals(1L, search.resultSetStats().get("opened"));
+    }
+}
@@ -0,0 +1,122 @@
+package org.javalens.core.search;
+
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the paginated result sets: cursors walk the full list in order, answer
+ * only the query that opened them, and stop resolving after a repair, an idle
+ * expiry, or eviction by the match budget; resume cursors likewise answer
+ * only their query and only until the next repair.
+ */
+class ResultSetStoreTest {
+
+    private static final SearchCache.Key QUERY = new SearchCache.Key("references", "=p/src<a{A.java[A", 0);
+
+    private final AtomicLong now = new AtomicLong();
+
+    private static SearchResult full(int count, int total) {
+        List<SearchMatch> matches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            matches.add(new SearchMatch(null, SearchMatch.A_ACCURATE, i, 1, null, null));
+        }
+        return new SearchResult(List.copyOf(matches), total);
+    }
+
+    private ResultSetStore store(int budget) {
+        return new ResultSetStore(budget, 100, now::get);
+    }
+
+    @Test
+    @DisplayName("cursors page through the full list in order at the requested size")
+    void pages_coverFullListInOrder() {
+        ResultSetStore store = store(1_000);
+        SearchResult full = full(7, 7);
+
+        SearchResult page = store.firstPage(QUERY, full, 3);
+        List<SearchMatch> walked = new ArrayList<>(page.matches());
+        while (page.nextCursor() != null) {
+            assertTrue(page.truncated());
+            page = store.page(page.nextCursor(), QUERY, 3);
+            assertEquals(walked.size(), page.offset());
+            walked.addAll(page.matches());
+        }
+        assertEquals(full.matches(), walked);
+        assertFalse(page.truncated());
+        assertEquals(7, page.totalEncountered());
+    }
+
+    @Test
+    @DisplayName("an answer that fits one page opens no set; one past the retain limit stays truncated")
+    void smallAndClippedAnswers() {
+        ResultSetStore store = store(1_000);
+        SearchResult small = full(2, 2);
+        assertSame(small, store.firstPage(QUERY, small, 5));
+
+        SearchResult page = store.firstPage(QUERY, full(4, 9), 2);
+        page = store.page(page.nextCursor(), QUERY, 2);
+        assertNull(page.nextCursor(), "only 4 were retained");
+        assertTrue(page.truncated(), "9 were encountered");
+        assertEquals(1L, store.stats().get("opened"));
+    }
+
+    @Test
+    @DisplayName("a cursor is rejected for another query, after a repair, when idle too long, or malformed")
+    void cursors_rejected() {
+        ResultSetStore store = store(1_000);
+        String cursor = store.firstPage(QUERY, full(5, 5), 1).nextCursor();
+
+        assertNull(store.page(cursor, new SearchCache.Key("references", "=p/src<a{B.java[B", 0), 1));
+        assertNotNull(store.page(cursor, QUERY, 1));
+        now.addAndGet(99);
+        assertNotNull(store.page(cursor, QUERY, 1), "each page renews the expiry");
+        now.addAndGet(101);
+        assertNull(store.page(cursor, QUERY, 1));
+
+        String fresh = store.firstPage(QUERY, full(5, 5), 1).nextCursor();
+        store.clear();
+        assertNull(store.page(fresh, QUERY, 1));
+        assertNull(store.page("not-a-cursor", QUERY, 1));
+        assertNull(store.page("1.-5", QUERY, 1));
+        assertEquals(5L, store.stats().get("cursorsRejected"));
+    }
+
+    @Test
+    @DisplayName("a resume cursor resolves only for its query and until the next repair")
+    void resumeCursor_boundToQueryAndGeneration() {
+        ResultSetStore store = store(1_000);
+        String resume = store.resumeCursor(QUERY, 5);
+        String setCursor = store.firstPage(QUERY, full(5, 5), 1).nextCursor();
+
+        assertTrue(ResultSetStore.isResumeCursor(resume));
+        assertFalse(ResultSetStore.isResumeCursor(setCursor));
+        assertFalse(ResultSetStore.isResumeCursor(null));
+        assertEquals(5, store.resumeOffset(resume, QUERY));
+        assertEquals(-1, store.resumeOffset(resume, new SearchCache.Key("references", "=p/src<a{B.java[B", 0)));
+        assertEquals(-1, store.resumeOffset("0.5.x.0", QUERY));
+        store.clear();
+        assertEquals(-1, store.resumeOffset(resume, QUERY), "a repair happened since it was issued");
+        assertEquals(5, store.resumeOffset(store.resumeCursor(QUERY, 5), QUERY));
+        assertEquals(3L, store.stats().get("cursorsRejected"));
+    }
+
+    @Test
+    @DisplayName("the least recently used sets go once the match budget is exceeded")
+    void eviction_byMatchBudget() {
+        ResultSetStore store = store(10);
+        String first = store.firstPage(QUERY, full(6, 6), 1).nextCursor();
+        String second = store.firstPage(QUERY, full(6, 6), 1).nextCursor();
+
+        assertNull(store.page(first, QUERY, 1));
+        assertNotNull(store.page(second, QUERY, 1));
+        assertNull(store.firstPage(QUERY, full(11, 11), 1).nextCursor(), "heavier than the whole budget");
+        assertEquals(6L, store.stats().get("retainedMatches"));
+    }
+}
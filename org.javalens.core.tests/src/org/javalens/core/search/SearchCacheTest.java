@@ -0,0 +1,174 @@
+package org.javalens.core.search;
+
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.javalens.core.JdtServiceImpl;
+import org.javalens.core.fixtures.TestProjectHelper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the search result cache: LRU eviction by weight, invalidation by
+ * dependent file and by a mentioned name, answers computed across an
+ * invalidation are not kept, and - in a live session - a repeated query is a
+ * hit until a repair that could change it, including one that rebinds
+ * references through a changed declaration in another file.
+ */
+class SearchCacheTest {
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    @TempDir
+    Path dir;
+
+    private static SearchCache.Key key(String handle) {
+        return new SearchCache.Key("references", handle, 0);
+    }
+
+    private static SearchCache.Entry entry(String value, int weight, Set<String> files, Set<String> names) {
+        return new SearchCache.Entry(value, weight, files, names);
+    }
+
+    // ========== Unit ==========
+
+    @Test
+    @DisplayName("the least recently used entries go first once the weight budget is exceeded")
+    void eviction_byWeight() {
+        SearchCache cache = new SearchCache(10);
+        cache.put(key("a"), entry("A", 4, Set.of(), Set.of()), cache.generation());
+        cache.put(key("b"), entry("B", 4, Set.of(), Set.of()), cache.generation());
+        assertEquals("A", cache.get(key("a"))); // b is now the eldest
+        cache.put(key("c"), entry("C", 4, Set.of(), Set.of()), cache.generation());
+
+        assertNull(cache.get(key("b")));
+        assertEquals("A", cache.get(key("a")));
+        assertEquals("C", cache.get(key("c")));
+        cache.put(key("huge"), entry("H", 11, Set.of(), Set.of()), cache.generation());
+        assertNull(cache.get(key("huge")), "heavier than the whole budget");
+    }
+
+    @Test
+    @DisplayName("an edit drops the entries depending on the file or mentioning their names")
+    void invalidation_byFileAndName() throws Exception {
+        Path edited = dir.resolve("Edited.java");
+        Files.writeString(edited, "class Edited { void run() { new Widget().compute(1); } }");
+        String editedPath = edited.toAbsolutePath().normalize().toString();
+
+        SearchCache cache = new SearchCache(100);
+        cache.put(key("dependsOnFile"), entry("1", 1, Set.of(editedPath), Set.of("Other")), cache.generation());
+        cache.put(key("mentioned"), entry("2", 1, Set.of("/elsewhere/A.java"), Set.of("compute")), cache.generation());
+        cache.put(key("untouched"), entry("3", 1, Set.of("/elsewhere/B.java"), Set.of("Gadget")), cache.generation());
+
+        cache.invalidate(List.of(edited), false);
+        assertNull(cache.get(key("dependsOnFile")));
+        assertNull(cache.get(key("mentioned")));
+        assertEquals("3", cache.get(key("untouched")));
+
+        cache.invalidate(List.of(), true);
+        assertNull(cache.get(key("untouched")), "adds, deletes, and classpath changes drop everything");
+        assertEquals(3L, cache.stats().get("invalidated"));
+    }
+
+    @Test
+    @DisplayName("an answer computed across an invalidation is not remembered")
+    void staleGeneration_notRemembered() {
+        SearchCache cache = new SearchCache(100);
+        long since = cache.generation();
+        cache.invalidate(List.of(), true);
+        cache.put(key("a"), entry("A", 1, Set.of(), Set.of()), since);
+        assertNull(cache.get(key("a")));
+    }
+
+    @Test
+    @DisplayName("JAVALENS_SEARCH_CACHE parses a budget, true, or off")
+    void budgetFromEnvironment() {
+        assertEquals(0, SearchCache.budgetFromEnvironment(null));
+        assertEquals(0, SearchCache.budgetFromEnvironment("no"));
+        assertEquals(SearchCache.DEFAULT_BUDGET, SearchCache.budgetFromEnvironment("true"));
+        assertEquals(5000, SearchCache.budgetFromEnvironment(" 5000 "));
+        assertEquals(0, SearchCache.budgetFromEnvironment("-3"));
+    }
+
+    // ========== Session ==========
+
+    @Test
+    @DisplayName("repeated queries hit until a repair that could change them")
+    void session_hitsUntilRepair() throws Exception {
+        Path project = helper.copyFixture("reachability-maven");
+        JdtServiceImpl service = new JdtServiceImpl();
+        service.setSearchCacheBudget(SearchCache.DEFAULT_BUDGET);
+        service.loadProject(project);
+        SearchService search = service.getSearchService();
+        IType testedOnly = service.getJavaProject().findType("com.reach.TestedOnly");
+        IMethod target = testedOnly.getMethod("onlyFromTest", new String[]{"I"});
+
+        assertEquals(2, search.findAllReferences(target, 100).totalEncountered());
+        assertSame(search.findAllReferences(target, 100), search.findAllReferences(target, 100));
+        search.getTypeHierarchy(testedOnly);
+        assertSame(search.getTypeHierarchy(testedOnly), search.getTypeHierarchy(testedOnly));
+
+        // An unrelated body edit keeps both answers.
+        Path pkg = project.resolve("src/main/java/com/reach");
+        Path widget = pkg.resolve("Widget.java");
+        Files.writeString(widget, Files.readString(widget).replace("x + 1", "x + 2"));
+        service.ensureFresh();
+        Map<String, Object> before = search.cacheStats();
+        search.findAllReferences(target, 100);
+        search.getTypeHierarchy(testedOnly);
+        assertEquals((Long) before.get("hits") + 2, search.cacheStats().get("hits"));
+
+        // An edit that adds a call drops the reference answer.
+        Path orphan = pkg.resolve("Orphan.java");
+        Files.writeString(orphan, Files.readString(orphan)
+            .replace("        deadChain();\n", "        deadChain();\n        new TestedOnly().onlyFromTest(1);\n"));
+        service.ensureFresh();
+        assertEquals(3, search.findAllReferences(target, 100).totalEncountered());
+
+        // A new file drops everything.
+        Files.writeString(pkg.resolve("Fresh.java"), "package com.reach;\n\nclass Fresh {\n}\n");
+        service.ensureFresh();
+        assertEquals(0, search.cacheStats().get("entries"));
+        assertTrue(service.getMetrics().containsKey("searchCache"));
+    }
+
+    @Test
+    @DisplayName("a changed return type in another file drops answers it may rebind")
+    void session_declarationChangeDropsAll() throws Exception {
+        Path project = helper.copyFixture("reachability-maven");
+        Path pkg = project.resolve("src/main/java/com/reach");
+        Files.writeString(pkg.resolve("Red.java"),
+            "package com.reach;\n\npublic class Red {\n    public int run() {\n        return 1;\n    }\n}\n");
+        Files.writeString(pkg.resolve("Blue.java"),
+            "package com.reach;\n\npublic class Blue {\n    public int run() {\n        return 2;\n    }\n}\n");
+        Files.writeString(pkg.resolve("Source.java"),
+            "package com.reach;\n\npublic class Source {\n    public Red make() {\n        return null;\n    }\n}\n");
+        Files.writeString(pkg.resolve("User.java"),
+            "package com.reach;\n\npublic class User {\n    public int use() {\n"
+                + "        return new Source().make().run();\n    }\n}\n");
+        JdtServiceImpl service = new JdtServiceImpl();
+        service.setSearchCacheBudget(SearchCache.DEFAULT_BUDGET);
+        service.loadProject(project);
+        SearchService search = service.getSearchService();
+        IMethod blueRun = service.getJavaProject().findType("com.reach.Blue").getMethod("run", new String[0]);
+        assertEquals(0, search.findAllReferences(blueRun, 100).totalEncountered());
+
+        // Source.java mentions neither run nor a file the answer depends on.
+        Path source = pkg.resolve("Source.java");
+        Files.writeString(source, Files.readString(source).replace("public Red make()", "public Blue make()"));
+        service.ensureFresh();
+
+        assertEquals(0, search.cacheStats().get("entries"));
+        assertEquals(1, search.findAllReferences(blueRun, 100).totalEncountered());
+    }
+}
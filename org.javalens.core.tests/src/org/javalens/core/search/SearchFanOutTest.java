@@ -0,0 +1,188 @@
+package org.javalens.core.search;
+
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.javalens.core.JdtServiceImpl;
+import org.javalens.core.fixtures.TestProjectHelper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the source-root fan-out: with parallelism on, sources-only searches
+ * over a 20-module project return exactly the single-threaded answer, in the
+ * same order, as does an early-stopped page and the pages its cursor
+ * resumes. The timings of both modes are LOGGED, not asserted - they depend
+ * on the machine's cores - and feed the CHANGELOG.
+ */
+class SearchFanOutTest {
+
+    private static final int MODULES = 20;
+    private static final int CLASSES_PER_MODULE = 60;
+    private static final int ROUNDS = 5;
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    /**
+     * A Maven reactor of {@link #MODULES} modules; every class in modules 1..n
+     * instantiates, casts to, and references {@code com.example.core.Shared}
+     * from module 0.
+     */
+    private Path twentyModules() throws Exception {
+        Path root = helper.getTempDirectory().resolve("twenty-modules");
+        StringBuilder modules = new StringBuilder();
+        for (int m = 0; m < MODULES; m++) {
+            modules.append("        <module>m").append(m).append("</module>\n");
+        }
+        Files.createDirectories(root);
+        Files.writeString(root.resolve("pom.xml"), """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <project xmlns="http://maven.apache.org/POM/4.0.0">
+                <modelVersion>4.0.0</modelVersion>
+                <groupId>com.example</groupId>
+                <artifactId>twenty-parent</artifactId>
+                <version>1.0.0</version>
+                <packaging>pom</packaging>
+                <modules>
+            %s    </modules>
+                <properties>
+                    <maven.compiler.source>21</maven.compiler.source>
+                    <maven.compiler.target>21</maven.compiler.target>
+                </properties>
+            </project>
+            """.formatted(modules));
+        for (int m = 0; m < MODULES; m++) {
+            Path module = root.resolve("m" + m);
+            Files.createDirectories(module);
+            Files.writeString(module.resolve("pom.xml"), """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0">
+                    <modelVersion>4.0.0</modelVersion>
+                    <parent>
+                        <groupId>com.example</groupId>
+                        <artifactId>twenty-parent</artifactId>
+                        <version>1.0.0</version>
+                    </parent>
+                    <artifactId>m%d</artifactId>
+                </project>
+                """.formatted(m));
+            if (m == 0) {
+                Path core = Files.createDirectories(module.resolve("src/main/java/com/example/core"));
+                Files.writeString(core.resolve("Shared.java"),
+                    "package com.example.core;\npublic class Shared {\n    public int value;\n}\n");
+                continue;
+            }
+            Path pkg = Files.createDirectories(module.resolve("src/main/java/com/example/m" + m));
+            for (int c = 0; c < CLASSES_PER_MODULE; c++) {
+                Files.writeString(pkg.resolve("C" + c + ".java"), """
+                    package com.example.m%d;
+                    import com.example.core.Shared;
+                    public class C%d {
+                        Shared held = new Shared();
+                        int read(Object o) { return ((Shared) o).value + held.value; }
+                    }
+                    """.formatted(m, c));
+            }
+        }
+        return root;
+    }
+
+    private static List<String> locations(SearchResult result) {
+        List<String> out = new ArrayList<>();
+        for (SearchMatch match : result.matches()) {
+            out.add(match.getResource().getFullPath() + ":" + match.getOffset());
+        }
+        return out;
+    }
+
+    @Test
+    @DisplayName("fan-out over 20 module roots returns the single-threaded answer in the same order")
+    void fanOut_matchesSequentialSearch() throws Exception {
+        JdtServiceImpl service = new JdtServiceImpl();
+        service.loadProject(twentyModules());
+        SearchService search = service.getSearchService();
+        IType shared = search.getProject().findType("com.example.core.Shared");
+        int users = (MODULES - 1) * CLASSES_PER_MODULE;
+
+        service.setSearchParallelism(1);
+        SearchResult sequentialRefs = search.findAllReferencesInSources(shared, 100_000);
+        SearchResult sequentialCasts = search.findReferences(shared, SearchService.ReferenceKind.CAST, 100_000);
+        long sequentialNanos = time(search, shared);
+
+        service.setSearchParallelism(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        SearchResult parallelRefs = search.findAllReferencesInSources(shared, 100_000);
+        SearchResult parallelCasts = search.findReferences(shared, SearchService.ReferenceKind.CAST, 100_000);
+        long parallelNanos = time(search, shared);
+
+        assertEquals(users, sequentialCasts.totalEncountered());
+        assertEquals(locations(sequentialRefs), locations(parallelRefs));
+        assertEquals(sequentialRefs.totalEncountered(), parallelRefs.totalEncountered());
+        assertEquals(locations(sequentialCasts), locations(parallelCasts));
+        assertTrue(((Number) search.fanOutStats().get("fanOuts")).longValue() > 0);
+
+        SearchResult clipped = search.findAllReferencesInSources(shared, 10);
+        assertEquals(locations(sequentialRefs).subList(0, 10), locations(clipped));
+        assertEquals(sequentialRefs.totalEncountered(), clipped.totalEncountered());
+
+        System.out.printf("[search-fan-out] %d modules, %d users: sequential %d ms, parallel (%s) %d ms%n",
+            MODULES, users, sequentialNanos / 1_000_000, search.fanOutStats().get("parallelism"),
+            parallelNanos / 1_000_000);
+    }
+
+    @Test
+    @DisplayName("an early-stopped page fanned out over 20 roots matches the single-threaded page")
+    void fanOut_earlyStopMatchesSequentialSearch() throws Exception {
+        JdtServiceImpl service = new JdtServiceImpl();
+        service.loadProject(twentyModules());
+        SearchService search = service.getSearchService();
+        IType shared = search.getProject().findType("com.example.core.Shared");
+        SearchService.ReferenceKind cast = SearchService.ReferenceKind.CAST;
+
+        service.setSearchParallelism(1);
+        SearchResult sequential = search.findReferences(shared, cast, 10, null, false);
+        SearchResult full = search.findReferences(shared, cast, 100_000, null, true);
+
+        service.setSearchParallelism(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        long fanOuts = stat(search, "fanOuts");
+        long roots = stat(search, "rootsSearched");
+        SearchResult parallel = search.findReferences(shared, cast, 10, null, false);
+
+        assertTrue(sequential.estimated());
+        assertTrue(parallel.estimated());
+        assertEquals(locations(sequential), locations(parallel));
+        assertTrue(parallel.totalEncountered() >= 10 + SearchService.OVERSHOOT);
+        assertEquals(fanOuts + 1, stat(search, "fanOuts"));
+        assertTrue(stat(search, "rootsSearched") - roots < MODULES,
+            "roots after the one that filled the page are cancelled");
+
+        List<String> walked = new ArrayList<>(locations(parallel));
+        SearchResult page = parallel;
+        while (page.nextCursor() != null) {
+            page = search.findReferences(shared, cast, 500, page.nextCursor(), false);
+            walked.addAll(locations(page));
+        }
+        assertEquals(locations(full), walked);
+    }
+
+    private static long stat(SearchService search, String name) {
+        return ((Number) search.fanOutStats().get(name)).longValue();
+    }
+
+    /** Nanoseconds per round of one sources-only reference search and one fine-grained search. */
+    private static long time(SearchService search, IType shared) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            search.findAllReferencesInSources(shared, 100_000);
+            search.findReferences(shared, SearchService.ReferenceKind.INSTANTIATION, 100_000);
+        }
+        return (System.nanoTime() - start) / ROUNDS;
+    }
+}
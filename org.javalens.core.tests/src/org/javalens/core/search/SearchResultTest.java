@@ -50,6 +50,16 @@ class SearchResultTest {
             "1 returned of 5 encountered must be truncated=true");
     }
 
+    @Test
+    @DisplayName("a page is truncated while matches exist past it, not merely before it")
+    void page_truncatedOnlyWhenMoreFollow() {
+        List<SearchMatch> two = Arrays.asList(null, null);
+        assertTrue(new SearchResult(two, 6, 2, "c").truncated(),
+            "matches 2..3 of 6: two more follow");
+        assertFalse(new SearchResult(two, 6, 4, null).truncated(),
+            "matches 4..5 of 6 is the last page even though earlier pages exist");
+    }
+
     @Test
     @DisplayName("Record accessors return the constructor arguments verbatim")
     void recordAccessors_returnConstructorArguments() {
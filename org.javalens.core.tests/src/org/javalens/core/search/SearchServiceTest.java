@@ -299,6 +299,22 @@ class SearchServiceTest {
             "IShape must have at least one IMPLEMENTORS-search hit; got: " + impls.size());
     }
 
+    @Test
+    @DisplayName("findImplementations clips to maxResults without opening a result set")
+    void findImplementations_clipsWithoutCursor() throws CoreException {
+        IType iShape = jdtService.findType("com.example.IShape");
+        int total = searchService.findImplementations(iShape, 100).totalEncountered();
+        assertTrue(total >= 2, "Square and Circle implement IShape; got: " + total);
+        Object opened = searchService.resultSetStats().get("opened");
+
+        SearchResult clipped = searchService.findImplementations(iShape, 1);
+        assertEquals(1, clipped.matches().size());
+        assertEquals(total, clipped.totalEncountered());
+        assertTrue(clipped.truncated());
+        assertNull(clipped.nextCursor());
+        assertEquals(opened, searchService.resultSetStats().get("opened"));
+    }
+
     @Test
     @DisplayName("findOverridingMethods on Animal.speak finds Dog's override")
     void findOverridingMethods_findsOverride() throws CoreException {
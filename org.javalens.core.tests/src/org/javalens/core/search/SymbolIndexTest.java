@@ -0,0 +1,156 @@
+package org.javalens.core.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the symbol index: fuzzy and camelCase scoring, ranking with a bounded
+ * result list and a true total, kind and classpath filters, and per-file
+ * replacement across tombstones and compaction.
+ */
+class SymbolIndexTest {
+
+    private static SymbolIndex.Declaration type(String name) {
+        return new SymbolIndex.Declaration(name, SymbolIndex.CLASS, 0);
+    }
+
+    private static List<String> names(SymbolIndex.Hits hits) {
+        return hits.hits().stream().map(SymbolIndex.Hit::name).toList();
+    }
+
+    private static boolean anyType(int kind) {
+        return kind != SymbolIndex.METHOD && kind != SymbolIndex.FIELD;
+    }
+
+    @Test
+    @DisplayName("fuzzy: exact > prefix > camelCase > substring > subsequence; non-subsequences score 0")
+    void fuzzyScore_tiers() {
+        char[] name = "UserServiceImpl".toCharArray();
+        assertEquals(1000, SymbolIndex.fuzzyScore("userserviceimpl".toCharArray(), name));
+        assertEquals(800, SymbolIndex.fuzzyScore("userS".toCharArray(), name));
+        assertEquals(600, SymbolIndex.fuzzyScore("USI".toCharArray(), name));
+        assertEquals(400, SymbolIndex.fuzzyScore("service".toCharArray(), name));
+        int subsequence = SymbolIndex.fuzzyScore("UsrSvcImpl".toCharArray(), name);
+        assertTrue(subsequence > 0 && subsequence < 400, "subsequence tier; got " + subsequence);
+        assertEquals(0, SymbolIndex.fuzzyScore("ImplUser".toCharArray(), name), "out of order");
+        assertTrue(SymbolIndex.fuzzyScore("UsSeIm".toCharArray(), name)
+                > SymbolIndex.fuzzyScore("sevim".toCharArray(), name),
+            "hump-aligned characters outrank scattered ones");
+    }
+
+    @Test
+    @DisplayName("camelCase follows JDT humps and prefers exact and prefix matches")
+    void camelCaseScore_humps() {
+        char[] name = "NullPointerException".toCharArray();
+        assertTrue(SymbolIndex.camelCaseScore("NPE".toCharArray(), name) > 0);
+        assertTrue(SymbolIndex.camelCaseScore("NuPoEx".toCharArray(), name) > 0);
+        assertEquals(0, SymbolIndex.camelCaseScore("npe".toCharArray(), name));
+        assertEquals(800, SymbolIndex.camelCaseScore("NullPo".toCharArray(), name));
+    }
+
+    @Test
+    @DisplayName("query keeps the best maxResults in rank order and counts every match")
+    void query_rankedAndBounded() {
+        SymbolIndex index = new SymbolIndex();
+        index.replaceFile("/p/A.java", "=p/A.java", List.of(type("UserServiceImpl"), type("UserService"),
+            type("UnusedServerImpl"), type("Order"),
+            new SymbolIndex.Declaration("userService", SymbolIndex.FIELD, 40)));
+
+        SymbolIndex.Hits hits = index.query("UsrSvc", false, SymbolIndexTest::anyType, false, 1);
+        assertEquals(2, hits.total(), "UserServiceImpl and UserService; not UnusedServerImpl or the field");
+        assertEquals(List.of("UserService"), names(hits), "shorter name breaks the tie");
+        assertEquals("=p/A.java", hits.hits().get(0).unit());
+
+        SymbolIndex.Hits fields = index.query("usersvc", false, kind -> kind == SymbolIndex.FIELD, false, 10);
+        assertEquals(List.of("userService"), names(fields));
+        assertEquals(40, fields.hits().get(0).offset());
+        assertEquals(0, index.query("*", false, SymbolIndexTest::anyType, false, 10).total());
+    }
+
+    @Test
+    @DisplayName("classpath types answer only when asked for")
+    void classpathTypes_optIn() {
+        SymbolIndex index = new SymbolIndex();
+        index.replaceFile("/p/A.java", "=p/A.java", List.of(type("ArrayLister")));
+        index.addClasspathType("ArrayList", "java.util.ArrayList", SymbolIndex.CLASS);
+        index.markClasspathLoaded();
+
+        assertEquals(List.of("ArrayLister"), names(index.query("ArrLis", false, SymbolIndexTest::anyType, false, 10)));
+        SymbolIndex.Hits all = index.query("ArrLis", false, SymbolIndexTest::anyType, true, 10);
+        assertEquals(List.of("ArrayList", "ArrayLister"), names(all));
+        assertEquals("java.util.ArrayList", all.hits().get(0).qualifiedName());
+        assertNull(all.hits().get(0).unit());
+
+        index.clearClasspath();
+        assertFalse(index.classpathLoaded());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("replacing files many times leaves exactly the latest declarations, through compaction")
+    void replaceFile_survivesCompaction() {
+        SymbolIndex index = new SymbolIndex();
+        Random random = new Random(3);
+        String[] latest = new String[50];
+        for (int round = 0; round < 200; round++) {
+            int file = random.nextInt(latest.length);
+            List<SymbolIndex.Declaration> declarations = new ArrayList<>();
+            for (int d = 0; d < 20; d++) {
+                declarations.add(type("Gen" + round + "Type" + d));
+            }
+            latest[file] = "Gen" + round + "Type";
+            index.replaceFile("/p/F" + file + ".java", "=p/F" + file, declarations);
+        }
+        index.removeFile("/p/F0.java");
+        latest[0] = null;
+
+        int live = 0;
+        for (String prefix : latest) {
+            if (prefix != null) {
+                live += 20;
+                assertEquals(20, index.query(prefix, true, SymbolIndexTest::anyType, false, 100).hits().stream()
+                    .filter(h -> h.name().startsWith(prefix)).count(), prefix);
+            }
+        }
+        assertEquals(live, index.size());
+    }
+
+    @Test
+    @DisplayName("measurement: fuzzy query over ~500k synthesized names")
+    void measurement_fuzzyQuery() {
+        SymbolIndex index = new SymbolIndex();
+        String[] parts = {"User", "Order", "Service", "Impl", "Repository", "Factory", "Handler", "Config",
+            "Event", "Cache", "Client", "Request", "Response", "Builder", "Util", "Manager"};
+        Random random = new Random(17);
+        for (int file = 0; file < 25_000; file++) {
+            List<SymbolIndex.Declaration> declarations = new ArrayList<>();
+            for (int d = 0; d < 20; d++) {
+                StringBuilder name = new StringBuilder();
+                for (int p = 2 + random.nextInt(3); p > 0; p--) {
+                    name.append(parts[random.nextInt(parts.length)]);
+                }
+                declarations.add(new SymbolIndex.Declaration(name.toString(),
+                    d == 0 ? SymbolIndex.CLASS : SymbolIndex.METHOD, d));
+            }
+            index.replaceFile("/p/F" + file + ".java", "=p/F" + file, declarations);
+        }
+        for (int i = 0; i < 50; i++) {
+            index.query("UsrSvcImpl", false, kind -> true, false, 50); // warm up
+        }
+
+        long t0 = System.nanoTime();
+        SymbolIndex.Hits hits = null;
+        for (int i = 0; i < 20; i++) {
+            hits = index.query(i % 2 == 0 ? "UsrSvcImpl" : "RepoFactory", false, kind -> true, false, 50);
+        }
+        long micros = (System.nanoTime() - t0) / 20_000;
+        assertFalse(hits.hits().isEmpty());
+        System.out.printf("[symbols] fuzzy query over %d names: %d us; %s%n", index.size(), micros, index.stats());
+    }
+}
@@ -0,0 +1,171 @@
+package org.javalens.core.sync;
+
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.javalens.core.JdtServiceImpl;
+import org.javalens.core.exceptions.ReloadRequiredException;
+import org.javalens.core.fixtures.TestProjectHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Pins classpath hot reload (JAVALENS_CLASSPATH_HOT_RELOAD=true): a build-file
+ * edit that only moves dependencies is applied in place - source entries
+ * untouched, only the moved library entries swapped - while edits a refresh
+ * cannot express still raise {@link ReloadRequiredException}. Maven is
+ * replaced by a script that writes a controlled classpath file, so the
+ * dependency list is exactly what each test says.
+ */
+class ClasspathHotReloadTest {
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    @TempDir
+    Path tools;
+
+    private String previousMaven;
+    private Path dependencies;
+    private Path jarA;
+    private Path jarB;
+    private JdtServiceImpl service;
+    private Path projectCopy;
+    private Path pom;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        assumeFalse(System.getProperty("os.name").toLowerCase().contains("win"),
+            "the stand-in Maven binary is a POSIX shell script");
+        jarA = emptyJar(tools.resolve("dep-a-1.0.jar"));
+        jarB = emptyJar(tools.resolve("dep-a-1.1.jar"));
+        dependencies = tools.resolve("dependencies.txt");
+        Files.writeString(dependencies, jarA.toString());
+
+        Path mvn = tools.resolve("mvn");
+        Files.writeString(mvn, "#!/bin/sh\n"
+            + "[ -f \"" + tools.resolve("fail") + "\" ] && exit 1\n"
+            + "mkdir -p target\n"
+            + "cat \"" + dependencies + "\" > target/javalens-classpath.txt\n");
+        Files.setPosixFilePermissions(mvn, PosixFilePermissions.fromString("rwxr-xr-x"));
+        previousMaven = System.getProperty("javalens.maven.binary");
+        System.setProperty("javalens.maven.binary", mvn.toString());
+
+        service = helper.loadProjectCopy("simple-maven");
+        service.setClasspathHotReload(true);
+        projectCopy = service.getProjectRoot();
+        pom = projectCopy.resolve("pom.xml");
+        assertEquals(List.of(jarA.toString()), libraries(), "load resolves through the stand-in");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (previousMaven == null) {
+            System.clearProperty("javalens.maven.binary");
+        } else {
+            System.setProperty("javalens.maven.binary", previousMaven);
+        }
+    }
+
+    private static Path emptyJar(Path path) throws IOException {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().putValue("Manifest-Version", "1.0");
+        try (OutputStream out = Files.newOutputStream(path);
+             JarOutputStream jar = new JarOutputStream(out, manifest)) {
+            jar.flush();
+        }
+        return path;
+    }
+
+    private void touchPom(String marker) throws IOException {
+        Files.writeString(pom, Files.readString(pom)
+            .replace("</project>", "    <!-- " + marker + " -->\n</project>"));
+    }
+
+    private List<String> libraries() throws Exception {
+        return Arrays.stream(service.getJavaProject().getRawClasspath())
+            .filter(e -> e.getEntryKind() == IClasspathEntry.CPE_LIBRARY)
+            .map(e -> e.getPath().toOSString())
+            .toList();
+    }
+
+    private List<IClasspathEntry> nonLibraries() throws Exception {
+        return Arrays.stream(service.getJavaProject().getRawClasspath())
+            .filter(e -> e.getEntryKind() != IClasspathEntry.CPE_LIBRARY)
+            .toList();
+    }
+
+    @Test
+    @DisplayName("a dependency bump swaps only the moved library entry and keeps the source entries")
+    @SuppressWarnings("unchecked")
+    void dependencyBump_appliedInPlace() throws Exception {
+        List<IClasspathEntry> sourcesBefore = nonLibraries();
+        Files.writeString(dependencies, jarB.toString());
+        touchPom("bumped");
+
+        List<Path> repaired = service.ensureFresh();
+        assertEquals(List.of(pom.toAbsolutePath().normalize()), repaired);
+        assertEquals(List.of(jarB.toString()), libraries());
+        assertEquals(sourcesBefore, nonLibraries(), "JRE container and source folders are untouched");
+
+        Map<String, Object> diskSync = (Map<String, Object>) service.getMetrics().get("diskSync");
+        assertEquals(1L, diskSync.get("classpathRefreshes"));
+        assertEquals(Map.of("added", 1, "removed", 1), diskSync.get("lastClasspathDelta"));
+        assertEquals(List.of(), service.ensureFresh(), "the build file was restamped");
+    }
+
+    @Test
+    @DisplayName("a build-file edit that resolves to the same classpath leaves it as it was")
+    void unchangedResolution_noClasspathWrite() throws Exception {
+        IClasspathEntry[] before = service.getJavaProject().getRawClasspath();
+        touchPom("comment only");
+
+        service.ensureFresh();
+        assertArrayEquals(before, service.getJavaProject().getRawClasspath());
+    }
+
+    @Test
+    @DisplayName("a new module needs new source folders, so it still requires a reload")
+    void newModule_reloadRequired() throws Exception {
+        Path module = projectCopy.resolve("extra");
+        Files.createDirectories(module.resolve("src/main/java/com/example/extra"));
+        Files.writeString(module.resolve("pom.xml"), Files.readString(pom)
+            .replace("<artifactId>simple-maven</artifactId>", "<artifactId>extra</artifactId>"));
+        Files.writeString(module.resolve("src/main/java/com/example/extra/Extra.java"),
+            "package com.example.extra;\npublic class Extra {}\n");
+        Files.writeString(pom, Files.readString(pom)
+            .replace("</project>", "    <modules>\n        <module>extra</module>\n    </modules>\n</project>"));
+
+        ReloadRequiredException e = assertThrows(ReloadRequiredException.class, service::ensureFresh);
+        assertEquals(List.of(pom.toAbsolutePath().normalize()), e.getChangedBuildFiles());
+        assertEquals(List.of(jarA.toString()), libraries(), "nothing was applied");
+    }
+
+    @Test
+    @DisplayName("a failed resolution never applies a partial classpath and keeps the load warnings")
+    void failedResolution_reloadRequired() throws Exception {
+        List<?> warningsBefore = List.copyOf(service.getWarnings());
+        Files.writeString(tools.resolve("fail"), "");
+        touchPom("broken");
+
+        assertThrows(ReloadRequiredException.class, service::ensureFresh);
+        assertEquals(List.of(jarA.toString()), libraries());
+        assertEquals(warningsBefore, service.getWarnings());
+    }
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.api.extension.RegisterExtension;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.util.Comparator;
 import java.util.List;
 
@@ -232,6 +233,152 @@ class DiskStampServiceTest {
         }
     }
 
+    // ========== Tiered verification ==========
+
+    private DiskStampService tiered(int auditSampleSize) throws IOException {
+        DiskStampService tiered = new DiskStampService(List.of(mainRoot, testRoot), List.of(pom),
+            DiskStampService.Verification.tiered(auditSampleSize));
+        tiered.stampAll();
+        return tiered;
+    }
+
+    @Test
+    @DisplayName("full hashing reports every known file as statted and hashed")
+    void fullHash_hashesEveryKnownFile() throws IOException {
+        service.verify();
+        DiskStampService.VerifyStats stats = service.lastVerifyStats();
+        assertEquals(service.stampedFileCount() - 1, stats.statted()); // minus the pom
+        assertEquals(service.stampedFileCount() - 1, stats.hashed());
+        assertEquals(0, stats.audited());
+    }
+
+    @Test
+    @DisplayName("tiered: an untouched tree stats every file and hashes none")
+    void tiered_noChange_hashesNothing() throws IOException {
+        DiskStampService tiered = tiered(0);
+
+        assertTrue(tiered.verify().isEmpty());
+        DiskStampService.VerifyStats stats = tiered.lastVerifyStats();
+        assertEquals(tiered.stampedFileCount() - 1, stats.statted());
+        assertEquals(0, stats.hashed());
+        assertEquals(0, stats.audited());
+    }
+
+    @Test
+    @DisplayName("tiered: an edit that moves metadata is hashed and detected")
+    void tiered_editWithMovedMetadata_detected() throws IOException {
+        DiskStampService tiered = tiered(0);
+        Files.writeString(calculator(), Files.readString(calculator()) + "// edited\n");
+
+        ChangeSet changes = tiered.verify();
+        assertEquals(List.of(calculator().toAbsolutePath().normalize()), changes.edited());
+        assertEquals(1, tiered.lastVerifyStats().hashed());
+    }
+
+    @Test
+    @DisplayName("tiered: a touch without content change is not an edit and is restamped")
+    void tiered_touchOnly_notAnEdit() throws IOException {
+        DiskStampService tiered = tiered(0);
+        Files.setLastModifiedTime(calculator(),
+            FileTime.fromMillis(Files.getLastModifiedTime(calculator()).toMillis() + 60_000));
+
+        assertTrue(tiered.verify().isEmpty(), "same bytes under a new mtime are not an edit");
+        assertEquals(1, tiered.lastVerifyStats().hashed());
+
+        assertTrue(tiered.verify().isEmpty());
+        assertEquals(0, tiered.lastVerifyStats().hashed(),
+            "the refreshed stamp must not be hashed again");
+    }
+
+    @Test
+    @DisplayName("tiered: an edit preserving size and mtime is caught by the rolling audit")
+    void tiered_metadataPreservingEdit_caughtByAudit() throws IOException {
+        int sample = 8;
+        DiskStampService tiered = tiered(sample);
+        FileTime mtime = Files.getLastModifiedTime(calculator());
+        String source = Files.readString(calculator());
+        Files.writeString(calculator(), source.replace("int add(", "int sum("));
+        Files.setLastModifiedTime(calculator(), mtime);
+
+        int knownSources = tiered.stampedFileCount() - 1;
+        int maxVerifies = (knownSources + sample - 1) / sample;
+        boolean caught = false;
+        for (int i = 0; i < maxVerifies && !caught; i++) {
+            ChangeSet changes = tiered.verify();
+            assertEquals(0, tiered.lastVerifyStats().hashed(), "no metadata moved");
+            assertEquals(sample, tiered.lastVerifyStats().audited());
+            caught = changes.edited().contains(calculator().toAbsolutePath().normalize());
+        }
+        assertTrue(caught, "the audit must cover every file within ceil(files / sample) verifies");
+    }
+
+    @Test
+    @DisplayName("tiered: adds and deletes are still found by the walk")
+    void tiered_addAndDelete_detected() throws IOException {
+        DiskStampService tiered = tiered(0);
+        Path added = mainRoot.resolve("com/example/Extra.java");
+        Files.writeString(added, "package com.example;\n\npublic class Extra {\n}\n");
+        Files.delete(calculator());
+
+        ChangeSet changes = tiered.verify();
+        assertEquals(List.of(added.toAbsolutePath().normalize()), changes.added());
+        assertEquals(List.of(calculator().toAbsolutePath().normalize()), changes.deleted());
+    }
+
+    @Test
+    @DisplayName("verification mode parses from the environment values")
+    void verification_fromEnvironment() {
+        assertFalse(DiskStampService.Verification.fromEnvironment(null, null).tiered());
+        assertFalse(DiskStampService.Verification.fromEnvironment("hash", "5").tiered());
+        DiskStampService.Verification tiered = DiskStampService.Verification.fromEnvironment(" Tiered ", "5");
+        assertTrue(tiered.tiered());
+        assertEquals(5, tiered.auditSampleSize());
+        assertEquals(DiskStampService.Verification.DEFAULT_AUDIT_SAMPLE,
+            DiskStampService.Verification.fromEnvironment("tiered", "lots").auditSampleSize());
+    }
+
+    // ========== Freshness window ==========
+
+    @Test
+    @DisplayName("freshness window parses from the environment; zero or garbage means none")
+    void freshnessWindow_fromEnvironment() {
+        assertFalse(VerificationEpoch.Window.fromEnvironment(null, null).enabled());
+        assertFalse(VerificationEpoch.Window.fromEnvironment("soon", "true").enabled());
+        assertFalse(VerificationEpoch.Window.fromEnvironment("-5", null).enabled());
+        VerificationEpoch.Window window = VerificationEpoch.Window.fromEnvironment(" 250 ", "TRUE");
+        assertEquals(250, window.windowMillis());
+        assertTrue(window.rootCheck());
+        assertFalse(VerificationEpoch.Window.fromEnvironment("250", "yes").rootCheck());
+    }
+
+    @Test
+    @DisplayName("a window covers only epochs younger than it, and never without a window")
+    void freshnessWindow_covers() {
+        VerificationEpoch now = new VerificationEpoch(1, System.nanoTime(), 0);
+        VerificationEpoch old = new VerificationEpoch(1, System.nanoTime() - 10_000_000_000L, 0);
+        assertTrue(new VerificationEpoch.Window(60_000, false).covers(now));
+        assertFalse(new VerificationEpoch.Window(60_000, false).covers(null));
+        assertFalse(new VerificationEpoch.Window(1_000, false).covers(old));
+        assertFalse(VerificationEpoch.Window.NONE.covers(now));
+    }
+
+    @Test
+    @DisplayName("root fingerprint moves on a build-file write or a root-level add, not on a nested edit")
+    void rootFingerprint_tracksRootsAndBuildFiles() throws IOException {
+        long before = service.rootFingerprint();
+        Files.writeString(calculator(), Files.readString(calculator()) + "// nested edit\n");
+        assertEquals(before, service.rootFingerprint(), "a nested edit is the window's accepted blind spot");
+
+        Files.writeString(pom, Files.readString(pom) + "<!-- edited -->\n");
+        Files.setLastModifiedTime(pom, FileTime.fromMillis(Files.getLastModifiedTime(pom).toMillis() + 5_000));
+        long afterPom = service.rootFingerprint();
+        assertNotEquals(before, afterPom);
+
+        Files.writeString(mainRoot.resolve("TopLevel.java"), "public class TopLevel {}\n");
+        Files.setLastModifiedTime(mainRoot, FileTime.fromMillis(Files.getLastModifiedTime(mainRoot).toMillis() + 5_000));
+        assertNotEquals(afterPom, service.rootFingerprint());
+    }
+
     // ========== Failure is loud ==========
 
     @Test
@@ -17,6 +17,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * single query pays for stampAll (load-time), verify with no changes (the
  * common per-query case), and verify with one edit. Timings are LOGGED, not
  * asserted — environments vary; the numbers feed the CHANGELOG and #26 notes.
+ * The footprint measurement compares the primitive stamp table against the
+ * previous map-of-records representation.
  */
 class DiskSyncTimingTest {
 
@@ -44,10 +46,118 @@ class DiskSyncTimingTest {
             }
         }
         measure("scale-10k (synthesized)", root);
+        measure("scale-10k (synthesized, tiered)", root,
+            DiskStampService.Verification.tiered(DiskStampService.Verification.DEFAULT_AUDIT_SAMPLE), false);
+        measure("scale-10k (synthesized, watched)", root, DiskStampService.Verification.fullHash(), true);
+    }
+
+    /** The stamp representation before the primitive table, kept here only as a measurement baseline. */
+    private record LegacyStamp(long size, long mtimeNanos, String hash) {
+    }
+
+    private static String legacyHashOf(Path file) throws IOException {
+        java.security.MessageDigest digest;
+        try {
+            digest = java.security.MessageDigest.getInstance("MD5");
+        } catch (java.security.NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (java.io.InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    @Test
+    @DisplayName("measurement: stamp table heap and per-file hashing allocation, primitive vs legacy")
+    void footprint_primitiveVersusLegacy() throws IOException {
+        // Table footprint at 100k entries. Paths are shared by both tables and excluded.
+        int entries = 100_000;
+        Path[] paths = new Path[entries];
+        for (int i = 0; i < entries; i++) {
+            paths[i] = Path.of("/repo/src/main/java/com/example/p" + (i % 500) + "/C" + i + ".java");
+        }
+        long base = usedHeap();
+        java.util.Map<Path, LegacyStamp> legacy = new java.util.HashMap<>();
+        for (int i = 0; i < entries; i++) {
+            legacy.put(paths[i], new LegacyStamp(i, i, String.format("%016x%016x", i * 31L, ~i)));
+        }
+        long legacyBytes = usedHeap() - base;
+        assertTrue(legacy.size() == entries); // keeps the map reachable through the measurement
+
+        base = usedHeap();
+        StampTable table = new StampTable();
+        for (int i = 0; i < entries; i++) {
+            table.put(paths[i], i, i, i * 31L, ~i);
+        }
+        long tableBytes = usedHeap() - base;
+        assertTrue(table.size() == entries && !legacy.isEmpty());
+
+        // Allocation while hashing 1k files on this thread.
+        Path root = tempDir.resolve("alloc/src");
+        Files.createDirectories(root);
+        List<Path> files = new java.util.ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            Path file = root.resolve("C" + i + ".java");
+            Files.writeString(file, "public class C" + i + " { int v = " + i + "; }\n");
+            files.add(file);
+        }
+        for (Path file : files) { // warm both paths
+            legacyHashOf(file);
+            DiskStampService.stampOf(file);
+        }
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+        long t0 = threads.getCurrentThreadAllocatedBytes();
+        for (Path file : files) {
+            legacyHashOf(file);
+        }
+        long legacyAlloc = threads.getCurrentThreadAllocatedBytes() - t0;
+        long t1 = threads.getCurrentThreadAllocatedBytes();
+        for (Path file : files) {
+            DiskStampService.stampOf(file);
+        }
+        long primitiveAlloc = threads.getCurrentThreadAllocatedBytes() - t1;
+
+        System.out.printf(
+            "[disk-sync footprint] table@%dk: legacy=%dB/entry primitive=%dB/entry;"
+                + " hashing alloc: legacy=%dB/file primitive=%dB/file%n",
+            entries / 1000, legacyBytes / entries, tableBytes / entries,
+            legacyAlloc / files.size(), primitiveAlloc / files.size());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
     }
 
     private void measure(String label, Path sourceRoot) throws IOException {
-        DiskStampService service = new DiskStampService(List.of(sourceRoot), List.of());
+        measure(label, sourceRoot, DiskStampService.Verification.fullHash(), false);
+    }
+
+    private void measure(String label, Path sourceRoot, DiskStampService.Verification verification,
+                         boolean watched) throws IOException {
+        DiskStampService service = new DiskStampService(List.of(sourceRoot), List.of(), verification);
+        if (watched) {
+            try {
+                service.watch();
+            } catch (IOException e) {
+                System.out.printf("[disk-sync timing] %s: skipped (%s)%n", label, e.getMessage());
+                return;
+            }
+        }
 
         long t0 = System.nanoTime();
         service.stampAll();
@@ -64,14 +174,21 @@ class DiskSyncTimingTest {
             victim = walk.filter(p -> p.toString().endsWith(".java")).findFirst().orElseThrow();
         }
         Files.writeString(victim, Files.readString(victim) + "// edited\n");
+        Files.setLastModifiedTime(victim, java.nio.file.attribute.FileTime.fromMillis(
+            Files.getLastModifiedTime(victim).toMillis() + 1_000));
 
         long t2 = System.nanoTime();
         DiskStampService.ChangeSet oneEdit = service.verify();
         long verifyOneEditMs = (System.nanoTime() - t2) / 1_000_000;
         assertTrue(oneEdit.edited().size() == 1);
 
+        DiskStampService.VerifyStats stats = service.lastVerifyStats();
+
         System.out.printf(
-            "[disk-sync timing] %s: files=%d stampAll=%dms verify(no-change)=%dms verify(1 edit)=%dms%n",
-            label, service.stampedFileCount(), stampMs, verifyNoChangeMs, verifyOneEditMs);
+            "[disk-sync timing] %s: files=%d stampAll=%dms verify(no-change)=%dms verify(1 edit)=%dms"
+                + " tiers(statted=%d hashed=%d audited=%d)%n",
+            label, service.stampedFileCount(), stampMs, verifyNoChangeMs, verifyOneEditMs,
+            stats.statted(), stats.hashed(), stats.audited());
+        service.stopWatching();
     }
 }
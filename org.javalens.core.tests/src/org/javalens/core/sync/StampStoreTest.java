@@ -0,0 +1,170 @@
+package org.javalens.core.sync;
+
+import org.javalens.core.fixtures.TestProjectHelper;
+import org.javalens.core.sync.DiskStampService.ChangeSet;
+import org.javalens.core.sync.DiskStampService.LoadStats;
+import org.javalens.core.sync.DiskStampService.Verification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the persisted stamp table: it round-trips exactly, a corrupt or
+ * foreign file loads as empty, and a new session seeded from it hashes only
+ * what changed since the previous session - while an edit made between
+ * sessions is still detected. Pure filesystem - no JDT involvement.
+ */
+class StampStoreTest {
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    @TempDir
+    Path cacheDir;
+
+    private Path projectCopy;
+    private Path mainRoot;
+    private Path testRoot;
+    private Path pom;
+    private StampStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        projectCopy = helper.copyFixture("simple-maven");
+        mainRoot = projectCopy.resolve("src/main/java");
+        testRoot = projectCopy.resolve("src/test/java");
+        pom = projectCopy.resolve("pom.xml");
+        store = StampStore.forProject(cacheDir, projectCopy);
+    }
+
+    private DiskStampService newSession() throws IOException {
+        DiskStampService service = new DiskStampService(List.of(mainRoot, testRoot), List.of(pom),
+            Verification.fullHash(), store);
+        service.stampAll();
+        return service;
+    }
+
+    private Path calculator() {
+        return mainRoot.resolve("com/example/Calculator.java").toAbsolutePath().normalize();
+    }
+
+    // ========== Table format ==========
+
+    @Test
+    @DisplayName("save then load round-trips every stamp exactly")
+    void roundTrip() throws IOException {
+        StampTable stamps = new StampTable();
+        stamps.put(Path.of("/src/a/A.java"), 12, 34_000_000_001L, 0x0123456789abcdefL, 0xfedcba9876543210L);
+        stamps.put(Path.of("/src/b/B.java"), 0, -5, -1L, 0L);
+        store.save(stamps);
+
+        StampTable loaded = store.load();
+        assertEquals(new java.util.HashSet<>(stamps.paths()), new java.util.HashSet<>(loaded.paths()));
+        for (Path path : stamps.paths()) {
+            assertEquals(stamps.get(path), loaded.get(path));
+        }
+    }
+
+    @Test
+    @DisplayName("a missing, truncated, or foreign file loads as empty")
+    void corruptTable_loadsEmpty() throws IOException {
+        assertTrue(store.load().isEmpty(), "no file yet");
+
+        StampTable one = new StampTable();
+        one.put(Path.of("/src/A.java"), 1, 1, 0, 1);
+        store.save(one);
+        byte[] bytes = Files.readAllBytes(store.file());
+        Files.write(store.file(), java.util.Arrays.copyOf(bytes, bytes.length - 3));
+        assertTrue(store.load().isEmpty(), "truncated table");
+
+        Files.writeString(store.file(), "not a stamp table at all");
+        assertTrue(store.load().isEmpty(), "foreign file");
+    }
+
+    @Test
+    @DisplayName("projects sharing a cache directory get distinct tables")
+    void forProject_distinctPerRoot() {
+        StampStore other = StampStore.forProject(cacheDir, projectCopy.resolveSibling("other-project"));
+        assertNotEquals(store.file(), other.file());
+        assertEquals(cacheDir.toAbsolutePath().normalize(), store.file().getParent());
+    }
+
+    // ========== Cross-session seeding ==========
+
+    @Test
+    @DisplayName("first session hashes everything and writes the table")
+    void firstSession_hashesAll() throws IOException {
+        DiskStampService service = newSession();
+        LoadStats load = service.lastLoadStats();
+        assertEquals(0, load.adopted());
+        assertTrue(Files.isRegularFile(store.file()));
+        // Source stamps only; the pom is re-hashed every load.
+        assertEquals(service.stampedFileCount() - 1, load.hashed());
+        assertEquals(load.hashed(), store.load().size());
+    }
+
+    @Test
+    @DisplayName("an unchanged tree is adopted from the table without hashing")
+    void secondSession_adoptsUnchanged() throws IOException {
+        int files = newSession().lastLoadStats().hashed();
+
+        DiskStampService second = newSession();
+        assertEquals(new LoadStats(files, 0), second.lastLoadStats());
+        assertTrue(second.verify().isEmpty());
+    }
+
+    @Test
+    @DisplayName("an edit between sessions is hashed at load and not reported as a change")
+    void editBetweenSessions_hashedAtLoad() throws IOException {
+        int files = newSession().lastLoadStats().hashed();
+        Files.writeString(calculator(), Files.readString(calculator()) + "// edited offline\n");
+
+        DiskStampService second = newSession();
+        assertEquals(new LoadStats(files - 1, 1), second.lastLoadStats());
+        assertTrue(second.verify().isEmpty(),
+            "the load already reflects the edit; nothing is pending");
+    }
+
+    @Test
+    @DisplayName("an edit that preserves size and mtime is still caught by full-hash verify")
+    void metadataPreservingEdit_caughtByVerify() throws IOException {
+        newSession();
+        FileTime mtime = Files.getLastModifiedTime(calculator());
+        String source = Files.readString(calculator());
+        Files.writeString(calculator(), source.replaceFirst("int", "Int"));
+        Files.setLastModifiedTime(calculator(), mtime);
+
+        DiskStampService second = newSession();
+        ChangeSet changes = second.verify();
+        assertEquals(List.of(calculator()), changes.edited());
+    }
+
+    @Test
+    @DisplayName("repairs are written back to the table on flush, not on every restamp")
+    void restamp_persists() throws IOException {
+        DiskStampService service = newSession();
+        Path added = mainRoot.resolve("com/example/Added.java").toAbsolutePath().normalize();
+        Files.writeString(added, "package com.example;\npublic class Added {}\n");
+
+        ChangeSet changes = service.verify();
+        service.restamp(changes.added());
+        assertFalse(store.load().contains(added), "a repair right after load must not rewrite the table");
+        service.flush();
+        assertTrue(store.load().contains(added));
+
+        Files.delete(added);
+        service.restamp(service.verify().deleted());
+        service.flush();
+        assertFalse(store.load().contains(added));
+    }
+}
@@ -0,0 +1,80 @@
+package org.javalens.core.sync;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the primitive stamp table: ids are stable while a path is stamped,
+ * recycled after removal, and the columns grow without losing entries.
+ */
+class StampTableTest {
+
+    private static Path file(int i) {
+        return Path.of("/src/p" + (i % 10) + "/C" + i + ".java");
+    }
+
+    @Test
+    @DisplayName("put reports new paths, overwrites known ones in place, and reads back exactly")
+    void putAndGet() {
+        StampTable table = new StampTable();
+        assertTrue(table.put(file(1), 10, 20, 30, 40));
+        int id = table.idOf(file(1));
+        assertFalse(table.put(file(1), 11, 21, 31, 41), "restamping a known path is not an add");
+        assertEquals(id, table.idOf(file(1)), "the id survives a restamp");
+        assertEquals(new DiskStampService.Stamp(11, 21, 31, 41), table.get(file(1)));
+        assertTrue(table.sameContent(id, new DiskStampService.Stamp(0, 0, 31, 41)));
+        assertFalse(table.sameContent(id, new DiskStampService.Stamp(11, 21, 31, 42)));
+        assertEquals(-1, table.idOf(file(2)));
+        assertNull(table.get(file(2)));
+    }
+
+    @Test
+    @DisplayName("removed ids are recycled, so churn does not grow the table")
+    void remove_recyclesIds() {
+        StampTable table = new StampTable();
+        for (int i = 0; i < 100; i++) {
+            table.put(file(i), i, i, i, i);
+        }
+        int limit = table.idLimit();
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                assertTrue(table.remove(file(i)));
+            }
+            assertFalse(table.remove(file(0)), "already gone");
+            for (int i = 0; i < 50; i++) {
+                table.put(file(i), round, round, round, round);
+            }
+        }
+        assertEquals(100, table.size());
+        assertEquals(limit, table.idLimit());
+    }
+
+    @Test
+    @DisplayName("growth past the initial capacity keeps every entry; clear empties the table")
+    void growthAndClear() {
+        StampTable table = new StampTable();
+        int count = 5_000;
+        for (int i = 0; i < count; i++) {
+            table.put(file(i), i, -i, (long) i << 32, ~i);
+        }
+        assertEquals(count, table.size());
+        Set<Integer> ids = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            int id = table.idOf(file(i));
+            assertTrue(ids.add(id), "ids are unique");
+            assertEquals(file(i), table.path(id));
+            assertEquals(new DiskStampService.Stamp(i, -i, (long) i << 32, ~i), table.get(file(i)));
+        }
+
+        table.clear();
+        assertTrue(table.isEmpty());
+        assertEquals(0, table.idLimit());
+        assertTrue(table.put(file(1), 1, 1, 1, 1));
+    }
+}
@@ -0,0 +1,162 @@
+package org.javalens.core.sync;
+
+import org.javalens.core.fixtures.TestProjectHelper;
+import org.javalens.core.sync.DiskStampService.ChangeSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Pins watched verification (JAVALENS_DISK_SYNC=watched): verify() reports
+ * exactly the changes a full walk would, while examining only the paths the
+ * watcher saw - and walks anyway whenever the watcher cannot vouch for
+ * completeness. Skipped where the platform has no native watch service.
+ */
+class WatchedVerificationTest {
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    private Path mainRoot;
+    private Path pom;
+    private DiskStampService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path projectCopy = helper.copyFixture("simple-maven");
+        mainRoot = projectCopy.resolve("src/main/java");
+        pom = projectCopy.resolve("pom.xml");
+        service = new DiskStampService(List.of(mainRoot, projectCopy.resolve("src/test/java")), List.of(pom));
+        try {
+            service.watch();
+        } catch (IOException e) {
+            assumeTrue(false, "no native file watching here: " + e.getMessage());
+        }
+        service.stampAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stopWatching();
+    }
+
+    private Path calculator() {
+        return mainRoot.resolve("com/example/Calculator.java").toAbsolutePath().normalize();
+    }
+
+    @Test
+    @DisplayName("an untouched tree verifies as empty without examining any source file")
+    void noChange_examinesNothing() throws IOException {
+        assertTrue(service.verify().isEmpty());
+        assertEquals(new DiskStampService.VerifyStats(0, 0, 0), service.lastVerifyStats());
+        assertEquals(0, service.watchFallbacks());
+    }
+
+    @Test
+    @DisplayName("an edit is detected and only that file is hashed")
+    void edit_detected() throws IOException {
+        Files.writeString(calculator(), Files.readString(calculator()) + "// edited\n");
+
+        ChangeSet changes = service.verify();
+        assertEquals(List.of(calculator()), changes.edited());
+        assertEquals(1, service.lastVerifyStats().hashed());
+    }
+
+    @Test
+    @DisplayName("an edit that preserves size and mtime is still reported by the watcher")
+    void metadataPreservingEdit_detected() throws IOException {
+        FileTime mtime = Files.getLastModifiedTime(calculator());
+        String source = Files.readString(calculator());
+        Files.writeString(calculator(), source.replaceFirst("int", "Int"));
+        Files.setLastModifiedTime(calculator(), mtime);
+
+        assertEquals(List.of(calculator()), service.verify().edited());
+    }
+
+    @Test
+    @DisplayName("a touch without a content change is not reported")
+    void touch_notReported() throws IOException {
+        Files.setLastModifiedTime(calculator(),
+            FileTime.fromMillis(Files.getLastModifiedTime(calculator()).toMillis() + 60_000));
+        assertTrue(service.verify().isEmpty());
+    }
+
+    @Test
+    @DisplayName("files added and deleted, including a whole new package, are detected")
+    void addAndDelete_detected() throws IOException {
+        Path newPackage = mainRoot.resolve("com/example/fresh/deep");
+        Files.createDirectories(newPackage);
+        Path added = newPackage.resolve("Fresh.java").toAbsolutePath().normalize();
+        Files.writeString(added, "package com.example.fresh.deep;\npublic class Fresh {}\n");
+        Files.delete(calculator());
+
+        ChangeSet changes = service.verify();
+        assertEquals(List.of(added), changes.added());
+        assertEquals(List.of(calculator()), changes.deleted());
+        service.restamp(List.of(added, calculator()));
+
+        // The new directory is now watched too.
+        Files.writeString(added, Files.readString(added) + "// edited\n");
+        assertEquals(List.of(added), service.verify().edited());
+    }
+
+    @Test
+    @DisplayName("deleting a package directory reports every file that was in it")
+    void deletedPackage_reportsAllFiles() throws IOException {
+        Path packageDir = calculator().getParent();
+        List<Path> before;
+        try (Stream<Path> files = Files.walk(packageDir)) {
+            before = files.filter(p -> p.toString().endsWith(".java"))
+                .map(p -> p.toAbsolutePath().normalize()).sorted(Comparator.comparing(Path::toString)).toList();
+        }
+        try (Stream<Path> files = Files.walk(packageDir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+
+        assertEquals(before, service.verify().deleted());
+    }
+
+    @Test
+    @DisplayName("files under a skipped build-output directory are ignored")
+    void skippedDirectory_ignored() throws IOException {
+        Path output = mainRoot.resolve("target/generated");
+        Files.createDirectories(output);
+        Files.writeString(output.resolve("Generated.java"), "class Generated {}\n");
+        assertTrue(service.verify().isEmpty());
+    }
+
+    @Test
+    @DisplayName("build-file edits are still detected")
+    void buildFile_detected() throws IOException {
+        Files.writeString(pom, Files.readString(pom) + "<!-- edited -->\n");
+        assertEquals(List.of(pom.toAbsolutePath().normalize()), service.verify().buildFilesChanged());
+    }
+
+    @Test
+    @DisplayName("watching an already-stamped tree walks once, catching edits made before the watch")
+    void watchAfterStamping_walksFirst() throws IOException {
+        service.stopWatching();
+        Files.writeString(calculator(), Files.readString(calculator()) + "// unwatched edit\n");
+        service.watch();
+
+        assertEquals(List.of(calculator()), service.verify().edited());
+        service.restamp(List.of(calculator()));
+        assertTrue(service.verify().isEmpty());
+        assertEquals(new DiskStampService.VerifyStats(0, 0, 0), service.lastVerifyStats());
+    }
+}
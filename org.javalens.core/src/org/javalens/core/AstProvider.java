@@ -0,0 +1,310 @@
+package org.javalens.core;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.javalens.core.sync.DiskStampService;
+
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Shared DOM ASTs of compilation units, so consecutive tool calls on the same
+ * file parse it once.
+ *
+ * <p>Syntax-only and binding-resolved ASTs are cached apart, keyed by the
+ * unit and the parse flavor, and checked against the unit's source on every
+ * hit the way the line index is: the same buffer array, or, for a buffer
+ * reopened from disk, the same disk-sync content hash and length. ASTs are
+ * held softly, so memory pressure can reclaim any of them, and the buffer
+ * array only weakly, so an entry never pins the source text. Both caches
+ * share one byte budget over an estimated weight per AST; binding-resolved
+ * ASTs are evicted first, least recently used.
+ *
+ * <p>A binding-resolved AST also depends on every type it references, so any
+ * disk-sync repair drops them all, while a syntax-only AST is dropped only
+ * with its own file ({@link #filesRepaired}). Without repairs (manual disk
+ * sync) binding-resolved ASTs are parsed fresh on every call.
+ *
+ * <p>Returned ASTs are shared: callers must only read them. Tools that
+ * rewrite or record modifications parse their own.
+ */
+public final class AstProvider {
+
+    /** How a unit is parsed. */
+    public enum Parse {
+        /** No bindings: structure and positions only. */
+        SYNTAX,
+        /** Resolved bindings. */
+        BINDINGS,
+        /** Resolved bindings with binding and statement recovery, for code that may not compile. */
+        RECOVERED_BINDINGS
+    }
+
+    static final long DEFAULT_BUDGET_BYTES = 64L * 1024 * 1024;
+    /** Estimated heap per source character of a syntax-only AST. */
+    static final int SYNTAX_BYTES_PER_CHAR = 24;
+    /** Estimated heap per source character of a binding-resolved AST, its share of the bindings included. */
+    static final int BINDINGS_BYTES_PER_CHAR = 64;
+
+    private record Key(String handle, Parse parse) {
+    }
+
+    private static final class Entry {
+        final SoftReference<CompilationUnit> ast;
+        /** The buffer array parsed, for the identity check; the length and hash serve once it is gone. */
+        final WeakReference<char[]> text;
+        final int length;
+        final DiskStampService.ContentHash hash;
+        final Path path;
+        final long weight;
+
+        Entry(CompilationUnit ast, char[] text, DiskStampService.ContentHash hash, Path path, long weight) {
+            this.ast = new SoftReference<>(ast);
+            this.text = new WeakReference<>(text);
+            this.length = text.length;
+            this.hash = hash;
+            this.path = path;
+            this.weight = weight;
+        }
+    }
+
+    private final Function<Path, DiskStampService.ContentHash> stamps;
+    private final LinkedHashMap<Key, Entry> syntax = new LinkedHashMap<>(64, 0.75f, true);
+    private final LinkedHashMap<Key, Entry> bindings = new LinkedHashMap<>(64, 0.75f, true);
+    private long budget;
+    private boolean cacheBindings;
+    private long weight;
+    /** Bumped by every repair, so an AST parsed across one is not remembered. */
+    private long generation;
+    private long syntaxHits;
+    private long syntaxMisses;
+    private long bindingHits;
+    private long bindingMisses;
+    private long collected;
+    private long evicted;
+
+    /**
+     * @param stamps the disk-sync content hash of a file, or {@code null} when
+     *               it has none (manual disk sync, unstamped files)
+     */
+    AstProvider(long budget, Function<Path, DiskStampService.ContentHash> stamps) {
+        this.budget = budget;
+        this.stamps = stamps;
+    }
+
+    /** A provider that parses every request: for callers without a loaded service. */
+    public static AstProvider uncached() {
+        return new AstProvider(0, path -> null);
+    }
+
+    /** Parse JAVALENS_AST_CACHE_MB: a budget in megabytes, {@code 0} or {@code false} for off, unset for the default. */
+    static long budgetFromEnvironment(String value) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT_BUDGET_BYTES;
+        }
+        String trimmed = value.trim();
+        if ("false".equalsIgnoreCase(trimmed)) {
+            return 0;
+        }
+        try {
+            return Math.max(0, Long.parseLong(trimmed)) * 1024 * 1024;
+        } catch (NumberFormatException e) {
+            return DEFAULT_BUDGET_BYTES;
+        }
+    }
+
+    /**
+     * The AST of {@code cu}'s current source, parsed as {@code parse} asks,
+     * from the cache when it still matches the source.
+     */
+    public CompilationUnit ast(ICompilationUnit cu, Parse parse) throws JavaModelException {
+        IBuffer buffer = cu.getBuffer();
+        char[] text = buffer == null ? null : buffer.getCharacters();
+        Path path = LineIndexCache.pathOf(cu);
+        boolean resolved = parse != Parse.SYNTAX;
+        if (text == null || path == null) {
+            return parse(cu, parse);
+        }
+        Key key = new Key(cu.getHandleIdentifier(), parse);
+        DiskStampService.ContentHash hash = stamps.apply(path);
+        long startGeneration;
+        synchronized (this) {
+            LinkedHashMap<Key, Entry> cache = resolved ? bindings : syntax;
+            Entry entry = budget > 0 && (!resolved || cacheBindings) ? cache.get(key) : null;
+            if (entry != null) {
+                CompilationUnit ast = entry.ast.get();
+                boolean sameSource = entry.text.get() == text || (hash != null && hash.equals(entry.hash)
+                    && !buffer.hasUnsavedChanges() && entry.length == text.length);
+                if (ast != null && sameSource) {
+                    count(resolved, true);
+                    return ast;
+                }
+                if (ast == null) {
+                    collected++;
+                }
+                cache.remove(key);
+                weight -= entry.weight;
+            }
+            count(resolved, false);
+            startGeneration = generation;
+        }
+        CompilationUnit ast = parse(cu, parse);
+        long entryWeight = (long) text.length * (resolved ? BINDINGS_BYTES_PER_CHAR : SYNTAX_BYTES_PER_CHAR);
+        synchronized (this) {
+            if (generation == startGeneration && entryWeight <= budget && (!resolved || cacheBindings)) {
+                LinkedHashMap<Key, Entry> cache = resolved ? bindings : syntax;
+                Entry previous = cache.put(key, new Entry(ast, text, hash, path, entryWeight));
+                if (previous != null) {
+                    weight -= previous.weight;
+                }
+                weight += entryWeight;
+                trim();
+            }
+        }
+        return ast;
+    }
+
+    /** A parser set up to parse as {@code parse} asks, for batch parses that bypass the cache. */
+    public static ASTParser newParser(Parse parse) {
+        ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+        parser.setResolveBindings(parse != Parse.SYNTAX);
+        if (parse == Parse.RECOVERED_BINDINGS) {
+            parser.setBindingsRecovery(true);
+            parser.setStatementsRecovery(true);
+        }
+        return parser;
+    }
+
+    private static CompilationUnit parse(ICompilationUnit cu, Parse parse) {
+        ASTParser parser = newParser(parse);
+        parser.setSource(cu);
+        return (CompilationUnit) parser.createAST(null);
+    }
+
+    private void count(boolean resolved, boolean hit) {
+        if (resolved && hit) {
+            bindingHits++;
+        } else if (resolved) {
+            bindingMisses++;
+        } else if (hit) {
+            syntaxHits++;
+        } else {
+            syntaxMisses++;
+        }
+    }
+
+    /** Evict least recently used entries, binding-resolved first, and reclaimed ones, until within budget. */
+    private void trim() {
+        dropCollected(bindings);
+        dropCollected(syntax);
+        for (LinkedHashMap<Key, Entry> cache : List.of(bindings, syntax)) {
+            Iterator<Entry> eldest = cache.values().iterator();
+            while (weight > budget && eldest.hasNext()) {
+                weight -= eldest.next().weight;
+                eldest.remove();
+                evicted++;
+            }
+        }
+    }
+
+    private void dropCollected(LinkedHashMap<Key, Entry> cache) {
+        Iterator<Entry> entries = cache.values().iterator();
+        while (entries.hasNext()) {
+            Entry entry = entries.next();
+            if (entry.ast.get() == null) {
+                weight -= entry.weight;
+                entries.remove();
+                collected++;
+            }
+        }
+    }
+
+    /**
+     * A disk-sync repair: drop every binding-resolved AST, and the syntax-only
+     * ASTs of the repaired files ({@code structural}: of every file).
+     */
+    synchronized void filesRepaired(Collection<Path> files, boolean structural) {
+        generation++;
+        clear(bindings);
+        if (structural) {
+            clear(syntax);
+            return;
+        }
+        Set<Path> repaired = new HashSet<>();
+        for (Path file : files) {
+            repaired.add(file.toAbsolutePath().normalize());
+        }
+        Iterator<Entry> entries = syntax.values().iterator();
+        while (entries.hasNext()) {
+            Entry entry = entries.next();
+            if (repaired.contains(entry.path)) {
+                weight -= entry.weight;
+                entries.remove();
+            }
+        }
+    }
+
+    synchronized void clear() {
+        generation++;
+        clear(bindings);
+        clear(syntax);
+    }
+
+    private void clear(LinkedHashMap<Key, Entry> cache) {
+        for (Entry entry : cache.values()) {
+            weight -= entry.weight;
+        }
+        cache.clear();
+    }
+
+    synchronized void setBudget(long budget) {
+        this.budget = budget;
+        trim();
+    }
+
+    /** Binding-resolved ASTs are only cached while disk-sync repairs can invalidate them. */
+    synchronized void setCacheBindings(boolean cacheBindings) {
+        this.cacheBindings = cacheBindings;
+        if (!cacheBindings) {
+            clear(bindings);
+        }
+    }
+
+    /** Counters for {@code health_check}; retained bytes are the estimated weight of live entries. */
+    public synchronized Map<String, Object> stats() {
+        dropCollected(bindings);
+        dropCollected(syntax);
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("budgetBytes", budget);
+        stats.put("retainedBytes", weight);
+        stats.put("syntax", cacheStats(syntax, syntaxHits, syntaxMisses));
+        Map<String, Object> resolved = cacheStats(bindings, bindingHits, bindingMisses);
+        resolved.put("cached", cacheBindings);
+        stats.put("bindings", resolved);
+        stats.put("collected", collected);
+        stats.put("evicted", evicted);
+        return stats;
+    }
+
+    private static Map<String, Object> cacheStats(LinkedHashMap<Key, Entry> cache, long hits, long misses) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("entries", cache.size());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+        return stats;
+    }
+}
@@ -0,0 +1,124 @@
+package org.javalens.core;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaModelException;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The project's source compilation units by external file path, so resolving
+ * a tool's {@code filePath} is one map lookup instead of a guess at the
+ * qualified name from the path's layout.
+ *
+ * <p>Built from the source roots' package fragments at load
+ * ({@link #rebuild}); a disk-sync repair adds the units of created files and
+ * drops those of deleted ones ({@link #put}, {@link #remove}). A path the
+ * index does not hold (manual disk sync, a file created since the last
+ * verification) goes to the caller's fallback, and both outcomes are counted
+ * and timed for {@code health_check}.
+ */
+final class CompilationUnitIndex {
+
+    private final Map<Path, ICompilationUnit> units = new HashMap<>();
+    private long buildMillis;
+    private long hits;
+    private long hitNanos;
+    private long fallbackHits;
+    private long unresolved;
+    private long missNanos;
+
+    /** Re-index every compilation unit of {@code project}'s source roots. */
+    synchronized void rebuild(IJavaProject project) throws JavaModelException {
+        long start = System.nanoTime();
+        units.clear();
+        for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+            if (root.getKind() != IPackageFragmentRoot.K_SOURCE) {
+                continue;
+            }
+            for (IJavaElement child : root.getChildren()) {
+                if (child instanceof IPackageFragment pkg) {
+                    for (ICompilationUnit cu : pkg.getCompilationUnits()) {
+                        Path path = pathOf(cu.getResource());
+                        if (path != null) {
+                            units.putIfAbsent(path, cu);
+                        }
+                    }
+                }
+            }
+        }
+        buildMillis = (System.nanoTime() - start) / 1_000_000;
+    }
+
+    synchronized void put(Path file, ICompilationUnit cu) {
+        units.put(normalize(file), cu);
+    }
+
+    synchronized void remove(Path file) {
+        units.remove(normalize(file));
+    }
+
+    synchronized void clear() {
+        units.clear();
+    }
+
+    /**
+     * The unit at absolute {@code file}, or what {@code fallback} resolves when
+     * the index holds none ({@code null} when neither does).
+     */
+    ICompilationUnit resolve(Path file, Supplier<ICompilationUnit> fallback) {
+        long start = System.nanoTime();
+        Path key = normalize(file);
+        ICompilationUnit cu;
+        synchronized (this) {
+            cu = units.get(key);
+            if (cu != null) {
+                hits++;
+                hitNanos += System.nanoTime() - start;
+                return cu;
+            }
+        }
+        cu = fallback.get();
+        synchronized (this) {
+            if (cu != null) {
+                fallbackHits++;
+            } else {
+                unresolved++;
+            }
+            missNanos += System.nanoTime() - start;
+        }
+        return cu;
+    }
+
+    private static Path pathOf(IResource resource) {
+        IPath location = resource == null ? null : resource.getLocation();
+        return location == null ? null : normalize(Path.of(location.toOSString()));
+    }
+
+    private static Path normalize(Path file) {
+        return file.toAbsolutePath().normalize();
+    }
+
+    /** Counters for {@code health_check}. */
+    synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long misses = fallbackHits + unresolved;
+        stats.put("files", units.size());
+        stats.put("buildMs", buildMillis);
+        stats.put("hits", hits);
+        stats.put("fallbackHits", fallbackHits);
+        stats.put("unresolved", unresolved);
+        stats.put("avgHitMicros", hits == 0 ? 0 : hitNanos / hits / 1_000);
+        stats.put("avgMissMicros", misses == 0 ? 0 : missNanos / misses / 1_000);
+        return stats;
+    }
+}
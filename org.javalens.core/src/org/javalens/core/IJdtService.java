@@ -63,6 +63,16 @@ public interface IJdtService {
      */
     SearchService getSearchService();
 
+    /**
+     * Get the shared AST provider, which parses each compilation unit once
+     * across tool calls while its source is unchanged.
+     *
+     * @return AstProvider instance; parses every request unless overridden
+     */
+    default AstProvider getAstProvider() {
+        return AstProvider.uncached();
+    }
+
     /**
      * Get the whole-project graph service for reachability and
      * transitive-impact queries. The graph builds lazily on first use.
@@ -87,6 +97,16 @@ public interface IJdtService {
     List<java.nio.file.Path> ensureFresh()
         throws java.io.IOException, org.eclipse.core.runtime.CoreException, ReloadRequiredException;
 
+    /**
+     * The verification the current answers rest on: its id and age make the
+     * freshness contract explicit when a freshness window lets calls reuse an
+     * earlier verification. {@code null} in manual mode or before the first
+     * successful verification.
+     */
+    default org.javalens.core.sync.VerificationEpoch getVerificationEpoch() {
+        return null;
+    }
+
     /**
      * The active disk-sync integrity mode.
      */
@@ -136,6 +156,20 @@ public interface IJdtService {
      */
     IType findType(String typeName);
 
+    /**
+     * Find every type with a simple name, best first: source types before
+     * library types, top-level before member types, then by qualified name.
+     * {@link #findType} answers a simple name with the first of these.
+     *
+     * @param simpleName Simple type name (e.g., "List")
+     * @param includeBinary Whether library and JDK types are candidates too
+     * @return matching types, ranked; empty if none
+     */
+    default List<IType> findTypeCandidates(String simpleName, boolean includeBinary) {
+        IType type = findType(simpleName);
+        return type == null ? List.of() : List.of(type);
+    }
+
     /**
      * Get source line content at a specific position.
      *
@@ -193,4 +227,22 @@ public interface IJdtService {
     default List<LoadWarning> getWarnings() {
         return List.of();
     }
+
+    /**
+     * Runtime counters for the loaded project, grouped by subsystem (e.g.
+     * {@code diskSync}), surfaced by {@code health_check} under
+     * {@code metrics}. Values are diagnostics, not part of any tool contract.
+     *
+     * @return subsystem name to counters; empty when nothing is measured
+     */
+    default java.util.Map<String, Object> getMetrics() {
+        return java.util.Map.of();
+    }
+
+    /**
+     * Release background resources (such as file watches) when this service
+     * is replaced by a newer load. The service must stay usable afterwards.
+     */
+    default void dispose() {
+    }
 }
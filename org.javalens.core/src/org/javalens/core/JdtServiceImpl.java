@@ -20,6 +20,7 @@ import org.eclipse.jdt.core.search.SearchEngine;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.TypeNameRequestor;
 import org.javalens.core.exceptions.ReloadRequiredException;
+import org.javalens.core.graph.GraphSnapshot;
 import org.javalens.core.graph.ProjectGraphService;
 import org.javalens.core.project.BuildSystem;
 import org.javalens.core.project.ProjectImporter;
@@ -27,6 +28,8 @@ import org.javalens.core.project.model.LoadWarning;
 import org.javalens.core.search.SearchService;
 import org.javalens.core.sync.DiskStampService;
 import org.javalens.core.sync.DiskSyncMode;
+import org.javalens.core.sync.StampStore;
+import org.javalens.core.sync.VerificationEpoch;
 import org.javalens.core.workspace.WorkspaceManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -75,12 +78,53 @@ public class JdtServiceImpl implements IJdtService {
     private BuildSystem buildSystem;
 
     private DiskSyncMode diskSyncMode;
+    private DiskStampService.Verification diskSyncVerification;
+    private String stampStoreSetting;
+    private String graphSnapshotSetting;
+    private VerificationEpoch.Window freshnessWindow;
+    private VerificationEpoch verificationEpoch;
+    private long epochCounter;
+    private long epochReuses;
+    private boolean classpathHotReload;
+    private long classpathRefreshes;
+    private ProjectImporter.ClasspathDelta lastClasspathDelta;
+    private int graphParallelism;
+    private boolean graphWarmUp;
+    private int searchCacheBudget;
+    private int searchParallelism;
+    private final LineIndexCache lineIndexes = new LineIndexCache(LineIndexCache.DEFAULT_CAPACITY, file -> {
+        DiskStampService stamps = diskStampService;
+        return stamps == null ? null : stamps.contentHash(file);
+    });
+    private final CompilationUnitIndex compilationUnits = new CompilationUnitIndex();
+    private final TypeNameIndex typeNames = new TypeNameIndex(this::compilationUnitAt);
+    private final AstProvider astProvider;
 
     public JdtServiceImpl() {
         this.workspaceManager = new WorkspaceManager();
         this.projectImporter = new ProjectImporter();
         this.timeoutSeconds = parseTimeout();
         this.diskSyncMode = DiskSyncMode.fromEnvironment(System.getenv("JAVALENS_DISK_SYNC"));
+        this.diskSyncVerification = DiskStampService.Verification.fromEnvironment(
+            System.getenv("JAVALENS_DISK_SYNC_VERIFY"), System.getenv("JAVALENS_DISK_SYNC_AUDIT"));
+        this.stampStoreSetting = System.getenv("JAVALENS_STAMP_STORE");
+        this.graphSnapshotSetting = System.getenv("JAVALENS_GRAPH_SNAPSHOT");
+        this.freshnessWindow = VerificationEpoch.Window.fromEnvironment(
+            System.getenv("JAVALENS_DISK_SYNC_WINDOW_MS"), System.getenv("JAVALENS_DISK_SYNC_ROOT_CHECK"));
+        this.classpathHotReload = "true".equalsIgnoreCase(
+            String.valueOf(System.getenv("JAVALENS_CLASSPATH_HOT_RELOAD")).trim());
+        this.graphParallelism = ProjectGraphService.parallelismFromEnvironment(
+            System.getenv("JAVALENS_GRAPH_PARALLELISM"));
+        this.graphWarmUp = "true".equalsIgnoreCase(
+            String.valueOf(System.getenv("JAVALENS_GRAPH_WARMUP")).trim());
+        this.searchCacheBudget = SearchService.cacheBudgetFromEnvironment(System.getenv("JAVALENS_SEARCH_CACHE"));
+        this.searchParallelism = ProjectGraphService.parallelismFromEnvironment(
+            System.getenv("JAVALENS_SEARCH_PARALLELISM"));
+        this.astProvider = new AstProvider(AstProvider.budgetFromEnvironment(System.getenv("JAVALENS_AST_CACHE_MB")),
+            file -> {
+                DiskStampService stamps = diskStampService;
+                return stamps == null ? null : stamps.contentHash(file);
+            });
     }
 
     @Override
@@ -89,8 +133,149 @@ public class JdtServiceImpl implements IJdtService {
     }
 
     /** Test/config seam; production wiring reads JAVALENS_DISK_SYNC at construction. */
-    public void setDiskSyncMode(DiskSyncMode mode) {
+    public synchronized void setDiskSyncMode(DiskSyncMode mode) {
         this.diskSyncMode = mode;
+        if (diskStampService != null) {
+            if (mode == DiskSyncMode.WATCHED) {
+                startWatching();
+            } else {
+                diskStampService.stopWatching();
+            }
+        }
+        enableSearchCache();
+    }
+
+    /**
+     * Test/config seam; production wiring reads JAVALENS_DISK_SYNC_WINDOW_MS
+     * and JAVALENS_DISK_SYNC_ROOT_CHECK at construction.
+     */
+    public synchronized void setFreshnessWindow(VerificationEpoch.Window window) {
+        this.freshnessWindow = window;
+    }
+
+    /**
+     * Test/config seam; production wiring reads JAVALENS_CLASSPATH_HOT_RELOAD
+     * at construction. When on, a build-file change is first answered with a
+     * classpath-only refresh, and RELOAD_REQUIRED remains only for edits that
+     * refresh cannot apply.
+     */
+    public synchronized void setClasspathHotReload(boolean enabled) {
+        this.classpathHotReload = enabled;
+    }
+
+    /**
+     * Test/config seam; production wiring reads JAVALENS_GRAPH_PARALLELISM at
+     * construction. Takes effect on the next load.
+     */
+    public void setGraphParallelism(int parallelism) {
+        this.graphParallelism = parallelism;
+    }
+
+    /**
+     * Test/config seam; production wiring reads JAVALENS_GRAPH_WARMUP at
+     * construction. Takes effect on the next load.
+     */
+    public void setGraphWarmUp(boolean enabled) {
+        this.graphWarmUp = enabled;
+    }
+
+    /**
+     * Test/config seam; production wiring reads JAVALENS_SEARCH_CACHE at
+     * construction. A weight budget in cached matches; 0 turns the cache off.
+     */
+    public synchronized void setSearchCacheBudget(int budget) {
+        this.searchCacheBudget = budget;
+        enableSearchCache();
+    }
+
+    /**
+     * Test/config seam; production wiring reads JAVALENS_SEARCH_PARALLELISM at
+     * construction. Applies to the loaded project at once.
+     */
+    public synchronized void setSearchParallelism(int parallelism) {
+        this.searchParallelism = parallelism;
+        if (searchService != null) {
+            searchService.setParallelism(parallelism);
+        }
+    }
+
+    /**
+     * Test/config seam; production wiring reads JAVALENS_AST_CACHE_MB at
+     * construction. A budget in estimated bytes; 0 turns the cache off.
+     */
+    public void setAstCacheBudget(long bytes) {
+        astProvider.setBudget(bytes);
+    }
+
+    /**
+     * The search cache and the binding-resolved AST cache are only as fresh
+     * as their invalidation, which rides on verify-and-repair: without stamps
+     * or in manual mode they stay off.
+     */
+    private void enableSearchCache() {
+        boolean verified = diskStampService != null && diskSyncMode != DiskSyncMode.MANUAL;
+        if (searchService != null) {
+            searchService.enableCache(verified ? searchCacheBudget : 0);
+        }
+        astProvider.setCacheBindings(verified);
+    }
+
+    @Override
+    public synchronized VerificationEpoch getVerificationEpoch() {
+        return diskSyncMode == DiskSyncMode.MANUAL ? null : verificationEpoch;
+    }
+
+    /** WATCHED mode without a native watcher degrades to STRICT's full walk, never to no checking. */
+    private void startWatching() {
+        try {
+            diskStampService.watch();
+        } catch (IOException e) {
+            log.warn("File watching unavailable ({}); disk sync walks the source roots per query",
+                e.getMessage());
+        }
+    }
+
+    /**
+     * Stop the source-tree watcher, if any, and any queued graph warm-up, and
+     * write pending stamps to the stamp store; the service stays usable with
+     * full-walk verification and on-demand graph builds.
+     */
+    @Override
+    public synchronized void dispose() {
+        if (projectGraphService != null) {
+            projectGraphService.cancelWarmUp();
+        }
+        if (diskStampService != null) {
+            diskStampService.stopWatching();
+            diskStampService.flush();
+        }
+    }
+
+    /**
+     * Test/config seam; production wiring reads JAVALENS_DISK_SYNC_VERIFY and
+     * JAVALENS_DISK_SYNC_AUDIT at construction. Takes effect on the next load.
+     */
+    public void setDiskSyncVerification(DiskStampService.Verification verification) {
+        this.diskSyncVerification = verification;
+    }
+
+    /**
+     * Test/config seam; production wiring reads JAVALENS_STAMP_STORE at
+     * construction. {@code null} disables persistence, {@code "workspace"}
+     * shares a directory beside the session workspaces, anything else is a
+     * cache directory. Takes effect on the next load.
+     */
+    public void setStampStoreSetting(String setting) {
+        this.stampStoreSetting = setting;
+    }
+
+    /**
+     * Test/config seam; production wiring reads JAVALENS_GRAPH_SNAPSHOT at
+     * construction. Same values as the stamp store setting. Takes effect on
+     * the next load.
+     */
+    public void setGraphSnapshotSetting(String setting) {
+        this.graphSnapshotSetting = setting;
     }
 
     private static int parseTimeout() {
@@ -115,6 +300,10 @@ public class JdtServiceImpl implements IJdtService {
 
         this.projectRoot = path.toAbsolutePath().normalize();
         this.pathUtils = new PathUtilsImpl(projectRoot);
+        lineIndexes.clear();
+        compilationUnits.clear();
+        typeNames.clear();
+        astProvider.clear();
 
         // Initialize workspace
         workspaceManager.initialize();
@@ -137,9 +326,14 @@ public class JdtServiceImpl implements IJdtService {
 
         // Initialize search service
         this.searchService = new SearchService(javaProject);
+        searchService.setParallelism(searchParallelism);
 
-        // Graph service builds its graph lazily on first query
-        this.projectGraphService = new ProjectGraphService(javaProject);
+        // Graph service builds its graph lazily on first query, or in the background with warm-up on.
+        // The previous project's queued warm-up must not build a graph nobody will read.
+        if (projectGraphService != null) {
+            projectGraphService.cancelWarmUp();
+        }
+        this.projectGraphService = new ProjectGraphService(javaProject, graphParallelism);
 
         // Bug F fix: force the JDT search index to be ready before loadProject returns.
         // Without this, callers that issue SearchEngine queries immediately after load can
@@ -147,6 +341,13 @@ public class JdtServiceImpl implements IJdtService {
         waitForIndexReady();
 
         initializeDiskSync();
+        Path snapshotDirectory = resolveCacheDirectory(graphSnapshotSetting);
+        if (snapshotDirectory != null && diskStampService != null) {
+            projectGraphService.enableSnapshots(
+                GraphSnapshot.forProject(snapshotDirectory, projectRoot), diskStampService);
+        }
+        projectGraphService.setWarmUp(graphWarmUp);
+        enableSearchCache();
 
         this.loadedAt = Instant.now();
         log.info("Project loaded successfully at {}", loadedAt);
@@ -171,12 +372,58 @@ public class JdtServiceImpl implements IJdtService {
                 sourceRootFolders.put(external, folder);
                 rootPaths.add(external);
             }
-            this.diskStampService = new DiskStampService(rootPaths, collectBuildFiles());
+            if (diskStampService != null) {
+                diskStampService.stopWatching();
+                diskStampService.flush();
+            }
+            this.diskStampService = new DiskStampService(rootPaths, collectBuildFiles(), diskSyncVerification,
+                resolveStampStore());
+            if (diskSyncMode == DiskSyncMode.WATCHED) {
+                startWatching(); // before stamping, so no edit slips between the two
+            }
             this.diskStampService.stampAll();
         } catch (Exception e) {
             log.warn("Disk-sync stamping failed; falling back to manual sync: {}", e.getMessage());
             this.diskStampService = null;
         }
+        rebuildCompilationUnitIndex();
+    }
+
+    /** Index the source roots' compilation units by path; on failure lookups fall back to the layout guess. */
+    private void rebuildCompilationUnitIndex() {
+        try {
+            compilationUnits.rebuild(javaProject);
+        } catch (JavaModelException e) {
+            log.warn("Compilation unit index failed; resolving files by layout: {}", e.getMessage());
+            compilationUnits.clear();
+        }
+    }
+
+    /** The persisted stamp table for this project, or {@code null} when persistence is off. */
+    private StampStore resolveStampStore() {
+        Path directory = resolveCacheDirectory(stampStoreSetting);
+        return directory == null ? null : StampStore.forProject(directory, projectRoot);
+    }
+
+    /**
+     * The directory a persistence setting names, or {@code null} when it is
+     * off. {@code "workspace"} resolves to {@code stamps/} beside the session
+     * workspace, so every session launched from the same workspace base
+     * shares it (each session's own directory is fresh).
+     */
+    private Path resolveCacheDirectory(String setting) {
+        if (setting == null || setting.isBlank()) {
+            return null;
+        }
+        if ("workspace".equalsIgnoreCase(setting.trim())) {
+            IPath location = workspaceManager.getRoot().getLocation();
+            if (location == null) {
+                return null;
+            }
+            Path session = Path.of(location.toOSString()).toAbsolutePath().normalize();
+            return (session.getParent() != null ? session.getParent() : session).resolve("stamps");
+        }
+        return Path.of(setting.trim());
     }
 
     private static final java.util.Set<String> BUILD_FILE_NAMES = java.util.Set.of(
@@ -217,8 +464,14 @@ public class JdtServiceImpl implements IJdtService {
      * what changed (scoped resource refresh, index barrier, derived-cache
      * invalidation, restamp); return the repaired paths. Empty list = nothing
      * had changed. Build-file changes are not repairable per-file and raise
-     * {@link ReloadRequiredException}; verification I/O failures propagate as
+     * {@link ReloadRequiredException} - unless classpath hot reload is on and
+     * can patch the classpath in place; verification I/O failures propagate as
      * {@link IOException} - callers must never answer around either.
+     *
+     * <p>With a freshness window configured, a call within the window of the
+     * last successful verification reuses its epoch instead of verifying
+     * again (optionally cut short by a root/build-file mtime check). The
+     * default window is zero: every call verifies.
      */
     @Override
     public synchronized List<Path> ensureFresh()
@@ -226,12 +479,30 @@ public class JdtServiceImpl implements IJdtService {
         if (diskSyncMode == DiskSyncMode.MANUAL || diskStampService == null) {
             return List.of(); // manual mode, or stamping unavailable (load warning surfaced)
         }
+        VerificationEpoch current = verificationEpoch;
+        if (freshnessWindow.covers(current)
+                && (!freshnessWindow.rootCheck()
+                    || current.rootFingerprint() == diskStampService.rootFingerprint())) {
+            epochReuses++;
+            return List.of(); // burst within the window: answer from the current epoch
+        }
+
+        // No epoch until this verification succeeds: a failure below must not
+        // leave the previous epoch answering for the window.
+        verificationEpoch = null;
+        long fingerprint = freshnessWindow.rootCheck() ? diskStampService.rootFingerprint() : 0;
+        List<Path> repaired = verifyAndRepair();
+        verificationEpoch = new VerificationEpoch(++epochCounter, System.nanoTime(), fingerprint);
+        return repaired;
+    }
+
+    private List<Path> verifyAndRepair() throws IOException, CoreException, ReloadRequiredException {
         DiskStampService.ChangeSet changes = diskStampService.verify();
         if (changes.isEmpty()) {
             return List.of();
         }
         if (!changes.buildFilesChanged().isEmpty()) {
-            throw new ReloadRequiredException(changes.buildFilesChanged());
+            refreshClasspath(changes.buildFilesChanged());
         }
 
         for (Path edited : changes.edited()) {
@@ -252,24 +523,76 @@ public class JdtServiceImpl implements IJdtService {
         for (org.eclipse.core.resources.IFolder folder : foldersToRefresh) {
             folder.refreshLocal(IResource.DEPTH_INFINITE, new NullProgressMonitor());
         }
+        if (!changes.buildFilesChanged().isEmpty()) {
+            rebuildCompilationUnitIndex(); // a classpath refresh may have moved the source roots
+            typeNames.clear();
+        } else {
+            changes.deleted().forEach(compilationUnits::remove);
+            for (Path added : changes.added()) {
+                ICompilationUnit cu = compilationUnitAt(added);
+                if (cu != null) {
+                    compilationUnits.put(added, cu);
+                }
+            }
+        }
 
         waitForIndexReady();
+        List<Path> repaired = concat(concat(concat(changes.edited(), changes.added()), changes.deleted()),
+            changes.buildFilesChanged());
         if (projectGraphService != null) {
-            projectGraphService.invalidate();
+            projectGraphService.update(repaired);
         }
-
-        List<Path> repaired = concat(concat(changes.edited(), changes.added()), changes.deleted());
+        if (searchService != null) {
+            searchService.invalidateCache(changes.edited(), !changes.added().isEmpty()
+                || !changes.deleted().isEmpty() || !changes.buildFilesChanged().isEmpty());
+            searchService.filesRepaired(repaired, !changes.buildFilesChanged().isEmpty());
+        }
+        lineIndexes.evict(repaired);
+        typeNames.filesRepaired(repaired);
+        astProvider.filesRepaired(repaired, !changes.buildFilesChanged().isEmpty());
         diskStampService.restamp(repaired);
         log.info("Disk-sync repaired {} file(s): {}", repaired.size(), repaired);
         return repaired;
     }
 
+    /**
+     * Answer a build-file change with a classpath-only refresh when hot reload
+     * is on and the edit allows it (see {@link ProjectImporter#refreshClasspath});
+     * otherwise, or when the refresh fails, the model needs a full load. The
+     * changed build files are restamped by the caller with the rest of the repair.
+     */
+    private void refreshClasspath(List<Path> changedBuildFiles) throws ReloadRequiredException {
+        if (!classpathHotReload) {
+            throw new ReloadRequiredException(changedBuildFiles);
+        }
+        ProjectImporter.ClasspathDelta delta;
+        try {
+            delta = projectImporter.refreshClasspath(javaProject, projectRoot);
+        } catch (CoreException e) {
+            log.warn("Classpath refresh failed: {}", e.getMessage());
+            delta = null;
+        }
+        if (delta == null) {
+            throw new ReloadRequiredException(changedBuildFiles);
+        }
+        classpathRefreshes++;
+        lastClasspathDelta = delta;
+        log.info("Build file(s) {} changed; classpath refreshed in place (+{} -{})",
+            changedBuildFiles, delta.added().size(), delta.removed().size());
+    }
+
     private static List<Path> concat(List<Path> a, List<Path> b) {
         List<Path> result = new ArrayList<>(a);
         result.addAll(b);
         return result;
     }
 
+    /** The compilation unit handle of an external file under a linked source root, or {@code null}. */
+    private ICompilationUnit compilationUnitAt(Path externalPath) {
+        IFile file = resolveWorkspaceFile(externalPath);
+        return file != null && JavaCore.create(file) instanceof ICompilationUnit cu ? cu : null;
+    }
+
     /** Map an external file path to its workspace IFile through the linked source roots. */
     private IFile resolveWorkspaceFile(Path externalPath) {
         org.eclipse.core.resources.IFolder owner = owningSourceRootFolder(externalPath);
@@ -384,6 +707,11 @@ public class JdtServiceImpl implements IJdtService {
         return searchService;
     }
 
+    @Override
+    public AstProvider getAstProvider() {
+        return astProvider;
+    }
+
     @Override
     public ProjectGraphService getProjectGraphService() {
         return projectGraphService;
@@ -409,6 +737,77 @@ public class JdtServiceImpl implements IJdtService {
         return buildSystem;
     }
 
+    /**
+     * Disk-sync verification counters: the active verification strategy and
+     * the per-tier work of the latest verify, so the per-query cost can be
+     * shown to track what changed rather than project size.
+     */
+    @Override
+    public java.util.Map<String, Object> getMetrics() {
+        java.util.Map<String, Object> metrics = new java.util.LinkedHashMap<>();
+        DiskStampService stamps = diskStampService;
+        if (stamps != null) {
+            java.util.Map<String, Object> diskSync = new java.util.LinkedHashMap<>();
+            diskSync.put("verification", stamps.verification().toConfigValue());
+            if (stamps.verification().tiered()) {
+                diskSync.put("auditSampleSize", stamps.verification().auditSampleSize());
+            }
+            diskSync.put("stampedFiles", stamps.stampedFileCount());
+            if (freshnessWindow.enabled()) {
+                diskSync.put("freshnessWindowMs", freshnessWindow.windowMillis());
+                diskSync.put("rootCheck", freshnessWindow.rootCheck());
+                diskSync.put("epochReuses", epochReuses);
+            }
+            VerificationEpoch epoch = verificationEpoch;
+            if (epoch != null) {
+                diskSync.put("verificationEpoch", epoch.id());
+            }
+            if (diskSyncMode == DiskSyncMode.WATCHED) {
+                diskSync.put("watching", stamps.isWatching());
+                diskSync.put("watchFallbacks", stamps.watchFallbacks());
+            }
+            if (classpathHotReload) {
+                ProjectImporter.ClasspathDelta delta = lastClasspathDelta;
+                diskSync.put("classpathRefreshes", classpathRefreshes);
+                if (delta != null) {
+                    diskSync.put("lastClasspathDelta", java.util.Map.of(
+                        "added", delta.added().size(),
+                        "removed", delta.removed().size()));
+                }
+            }
+            if (stamps.store() != null) {
+                DiskStampService.LoadStats load = stamps.lastLoadStats();
+                diskSync.put("stampStore", java.util.Map.of(
+                    "file", stamps.store().file().toString(),
+                    "adoptedAtLoad", load.adopted(),
+                    "hashedAtLoad", load.hashed()));
+            }
+            DiskStampService.VerifyStats last = stamps.lastVerifyStats();
+            diskSync.put("lastVerify", java.util.Map.of(
+                "statted", last.statted(),
+                "hashed", last.hashed(),
+                "audited", last.audited()));
+            metrics.put("diskSync", diskSync);
+        }
+        if (projectGraphService != null) {
+            metrics.put("graph", projectGraphService.stats());
+        }
+        metrics.put("lineIndex", lineIndexes.stats());
+        metrics.put("compilationUnitIndex", compilationUnits.stats());
+        metrics.put("typeNameIndex", typeNames.stats());
+        metrics.put("astCache", astProvider.stats());
+        if (searchService != null && searchCacheBudget > 0) {
+            metrics.put("searchCache", searchService.cacheStats());
+        }
+        if (searchService != null) {
+            metrics.put("searchResultSets", searchService.resultSetStats());
+            metrics.put("searchFanOut", searchService.fanOutStats());
+            metrics.put("constructorDelegationIndex", searchService.delegationIndexStats());
+            metrics.put("symbolIndex", searchService.symbolIndexStats());
+        }
+        return metrics;
+    }
+
     public int getClasspathEntryCount() {
         try {
             return javaProject != null ? javaProject.getRawClasspath().length : 0;
@@ -424,8 +823,22 @@ public class JdtServiceImpl implements IJdtService {
         if (javaProject == null) {
             return null;
         }
+        Path absolute = filePath.isAbsolute() ? filePath : projectRoot.resolve(filePath);
+        return compilationUnits.resolve(absolute, () -> findCompilationUnitByLayout(absolute, filePath));
+    }
 
+    /**
+     * Resolve a file the path index does not hold: through its owning source
+     * root when it lies under one, else by guessing its qualified name from
+     * the conventional source-folder prefixes.
+     */
+    private ICompilationUnit findCompilationUnitByLayout(Path absolute, Path filePath) {
         try {
+            ICompilationUnit underRoot = compilationUnitAt(absolute.normalize());
+            if (underRoot != null && underRoot.exists()) {
+                return underRoot;
+            }
+
             // Convert path to a format we can search for
             String pathStr = filePath.toString().replace('\\', '/');
 
@@ -534,39 +947,16 @@ public class JdtServiceImpl implements IJdtService {
 
     /**
      * Returns true when {@code offset} sits inside a Java string literal,
-     * character literal, or any comment (line, block, or Javadoc) in the
-     * given compilation unit. Such positions have no resolvable symbol
+     * character literal, text block, or any comment (line, block, or Javadoc)
+     * in the given compilation unit. Such positions have no resolvable symbol
      * and the fallback to {@link ICompilationUnit#getElementAt(int)} would
-     * misleadingly return the smallest enclosing IMember.
+     * misleadingly return the smallest enclosing IMember. Answered from the
+     * unit's cached {@link TokenRanges}, scanned once per source text.
      */
     private boolean isOffsetInsideLiteralOrComment(ICompilationUnit cu, int offset) {
         try {
-            String source = cu.getSource();
-            if (source == null || offset < 0 || offset >= source.length()) return false;
-            org.eclipse.jdt.core.dom.ASTParser parser =
-                org.eclipse.jdt.core.dom.ASTParser.newParser(org.eclipse.jdt.core.dom.AST.getJLSLatest());
-            parser.setSource(cu);
-            parser.setResolveBindings(false);
-            org.eclipse.jdt.core.dom.CompilationUnit ast =
-                (org.eclipse.jdt.core.dom.CompilationUnit) parser.createAST(null);
-            // Comments: scan ast.getCommentList() and check ranges.
-            @SuppressWarnings("unchecked")
-            java.util.List<org.eclipse.jdt.core.dom.Comment> comments = ast.getCommentList();
-            if (comments != null) {
-                for (org.eclipse.jdt.core.dom.Comment c : comments) {
-                    int s = c.getStartPosition();
-                    int e = s + c.getLength();
-                    if (offset >= s && offset < e) return true;
-                }
-            }
-            // Literals: find covering node and check its type.
-            org.eclipse.jdt.core.dom.NodeFinder finder =
-                new org.eclipse.jdt.core.dom.NodeFinder(ast, offset, 0);
-            org.eclipse.jdt.core.dom.ASTNode covering = finder.getCoveringNode();
-            if (covering instanceof org.eclipse.jdt.core.dom.StringLiteral) return true;
-            if (covering instanceof org.eclipse.jdt.core.dom.CharacterLiteral) return true;
-            if (covering instanceof org.eclipse.jdt.core.dom.TextBlock) return true;
-            return false;
+            TokenRanges ranges = lineIndexes.tokenRanges(cu);
+            return ranges != null && ranges.inCommentOrLiteral(offset);
         } catch (Exception e) {
             return false;
         }
@@ -617,21 +1007,10 @@ public class JdtServiceImpl implements IJdtService {
                 lastDot = typeName.lastIndexOf('.', lastDot - 1);
             }
 
-            // Try searching for simple name in all packages
-            for (IPackageFragmentRoot root : javaProject.getPackageFragmentRoots()) {
-                if (root.getKind() == IPackageFragmentRoot.K_SOURCE) {
-                    for (IJavaElement child : root.getChildren()) {
-                        if (child instanceof IPackageFragment pkg) {
-                            for (ICompilationUnit cu : pkg.getCompilationUnits()) {
-                                for (IType t : cu.getTypes()) {
-                                    if (t.getElementName().equals(typeName)) {
-                                        return t;
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
+            // A simple name: the best-ranked source type declaring it
+            if (typeName.indexOf('.') < 0) {
+                List<IType> candidates = findTypeCandidates(typeName, false);
+                return candidates.isEmpty() ? null : candidates.get(0);
             }
 
             return null;
@@ -642,27 +1021,30 @@ public class JdtServiceImpl implements IJdtService {
     }
 
     @Override
-    public String getContextLine(ICompilationUnit cu, int offset) {
+    public List<IType> findTypeCandidates(String simpleName, boolean includeBinary) {
+        if (javaProject == null || simpleName == null || simpleName.isBlank()) {
+            return List.of();
+        }
         try {
-            String source = cu.getSource();
-            if (source == null) {
-                return "";
-            }
-
-            // Find line start
-            int lineStart = offset;
-            while (lineStart > 0 && source.charAt(lineStart - 1) != '\n') {
-                lineStart--;
-            }
-
-            // Find line end
-            int lineEnd = offset;
-            while (lineEnd < source.length() && source.charAt(lineEnd) != '\n' && source.charAt(lineEnd) != '\r') {
-                lineEnd++;
+            List<IType> types = new ArrayList<>();
+            for (TypeNameIndex.Candidate candidate : typeNames.candidates(javaProject, simpleName, includeBinary)) {
+                IType type = javaProject.findType(candidate.packageName(), candidate.typeQualifiedName());
+                if (type != null && !types.contains(type)) {
+                    types.add(type);
+                }
             }
+            return types;
+        } catch (CoreException e) {
+            log.warn("Error finding types named {}: {}", simpleName, e.getMessage());
+            return List.of();
+        }
+    }
 
-            String line = source.substring(lineStart, Math.min(lineEnd, lineStart + 200));
-            return line.trim();
+    @Override
+    public String getContextLine(ICompilationUnit cu, int offset) {
+        try {
+            LineIndex index = lineIndexes.get(cu);
+            return index == null ? "" : index.contextLine(offset);
         } catch (JavaModelException e) {
             log.trace("Error getting context line: {}", e.getMessage());
             return "";
@@ -672,24 +1054,8 @@ public class JdtServiceImpl implements IJdtService {
     @Override
     public int getOffset(ICompilationUnit cu, int line, int column) {
         try {
-            String source = cu.getSource();
-            if (source == null) {
-                return 0;
-            }
-
-            int offset = 0;
-            int currentLine = 0;
-
-            // Navigate to the correct line
-            while (currentLine < line && offset < source.length()) {
-                if (source.charAt(offset) == '\n') {
-                    currentLine++;
-                }
-                offset++;
-            }
-
-            // Add column offset
-            return Math.min(offset + column, source.length());
+            LineIndex index = lineIndexes.get(cu);
+            return index == null ? 0 : index.offsetOf(line, column);
         } catch (JavaModelException e) {
             log.warn("Error calculating offset: {}", e.getMessage());
             return 0;
@@ -699,18 +1065,8 @@ public class JdtServiceImpl implements IJdtService {
     @Override
     public int getLineNumber(ICompilationUnit cu, int offset) {
         try {
-            String source = cu.getSource();
-            if (source == null) {
-                return 0;
-            }
-
-            int line = 0;
-            for (int i = 0; i < offset && i < source.length(); i++) {
-                if (source.charAt(i) == '\n') {
-                    line++;
-                }
-            }
-            return line;
+            LineIndex index = lineIndexes.get(cu);
+            return index == null ? 0 : index.lineOf(offset);
         } catch (JavaModelException e) {
             log.warn("Error calculating line number: {}", e.getMessage());
             return 0;
@@ -720,19 +1076,8 @@ public class JdtServiceImpl implements IJdtService {
     @Override
     public int getColumnNumber(ICompilationUnit cu, int offset) {
         try {
-            String source = cu.getSource();
-            if (source == null) {
-                return 0;
-            }
-
-            int column = 0;
-            for (int i = offset - 1; i >= 0; i--) {
-                if (source.charAt(i) == '\n') {
-                    break;
-                }
-                column++;
-            }
-            return column;
+            LineIndex index = lineIndexes.get(cu);
+            return index == null ? 0 : index.columnOf(offset);
         } catch (JavaModelException e) {
             log.warn("Error calculating column number: {}", e.getMessage());
             return 0;
@@ -0,0 +1,96 @@
+package org.javalens.core;
+
+import java.util.Arrays;
+
+/**
+ * Line starts of one source text, so offset/line/column conversions are a
+ * binary search instead of a scan from the start of the file.
+ *
+ * <p>A line starts at offset 0 and after every {@code '\n'}; a {@code '\r'}
+ * belongs to the line it ends. The conversions reproduce the scanning
+ * implementations they replace, including their clamping at the ends of the
+ * text.
+ */
+final class LineIndex {
+
+    /** Longest context line returned, in characters from the line start. */
+    static final int CONTEXT_LIMIT = 200;
+
+    private final char[] text;
+    private final int[] lineStarts;
+
+    private LineIndex(char[] text, int[] lineStarts) {
+        this.text = text;
+        this.lineStarts = lineStarts;
+    }
+
+    /** Index {@code text}; the array is kept, not copied, and must not change afterwards. */
+    static LineIndex of(char[] text) {
+        int lines = 1;
+        for (char c : text) {
+            if (c == '\n') {
+                lines++;
+            }
+        }
+        int[] starts = new int[lines];
+        int line = 1;
+        for (int i = 0; i < text.length; i++) {
+            if (text[i] == '\n') {
+                starts[line++] = i + 1;
+            }
+        }
+        return new LineIndex(text, starts);
+    }
+
+    /** The indexed text. */
+    char[] text() {
+        return text;
+    }
+
+    int lineCount() {
+        return lineStarts.length;
+    }
+
+    /** Zero-based line of {@code offset}: the number of line breaks before it. */
+    int lineOf(int offset) {
+        int clamped = Math.max(0, Math.min(offset, text.length));
+        int found = Arrays.binarySearch(lineStarts, clamped);
+        return found >= 0 ? found : -found - 2;
+    }
+
+    /** Zero-based column of {@code offset}: its distance from the start of its line. */
+    int columnOf(int offset) {
+        if (offset <= 0) {
+            return 0;
+        }
+        return offset - lineStarts[lineOf(offset)];
+    }
+
+    /** Offset of zero-based {@code line} and {@code column}, clamped to the end of the text. */
+    int offsetOf(int line, int column) {
+        int start;
+        if (line <= 0) {
+            start = 0;
+        } else if (line < lineStarts.length) {
+            start = lineStarts[line];
+        } else {
+            start = text.length;
+        }
+        return Math.min(start + column, text.length);
+    }
+
+    /**
+     * The line holding {@code offset}, up to its first line break after the
+     * offset and at most {@link #CONTEXT_LIMIT} characters, trimmed.
+     */
+    String contextLine(int offset) {
+        int clamped = Math.max(0, Math.min(offset, text.length));
+        int start = lineStarts[lineOf(clamped)];
+        int limit = Math.min(text.length, start + CONTEXT_LIMIT);
+        int end = clamped;
+        while (end < limit && text[end] != '\n' && text[end] != '\r') {
+            end++;
+        }
+        return new String(text, start, Math.max(0, Math.min(end, limit) - start)).trim();
+    }
+}
@@ -0,0 +1,140 @@
+package org.javalens.core;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+import org.javalens.core.sync.DiskStampService;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * {@link LineIndex}es of recently converted compilation units, by file path,
+ * so formatting thousands of matches in one file indexes it once, with the
+ * unit's {@link TokenRanges} scanned on first demand beside them.
+ *
+ * <p>An entry is reused while the unit's buffer still holds the character
+ * array it indexed (JDT's buffers replace the array on every change), or,
+ * after the buffer was closed and reopened from disk, while the disk-sync
+ * content hash it was built under is still the file's stamp and the length
+ * matches. A repair evicts the repaired files' entries with their stamps
+ * ({@link #evict}). The least recently used entry beyond the capacity is
+ * dropped.
+ */
+final class LineIndexCache {
+
+    static final int DEFAULT_CAPACITY = 256;
+
+    private static final class Entry {
+        final LineIndex index;
+        final DiskStampService.ContentHash hash;
+        TokenRanges ranges;
+
+        Entry(LineIndex index, DiskStampService.ContentHash hash) {
+            this.index = index;
+            this.hash = hash;
+        }
+    }
+
+    private final LinkedHashMap<String, Entry> entries;
+    private final Function<Path, DiskStampService.ContentHash> stamps;
+    private long hits;
+    private long builds;
+    private long scans;
+
+    /**
+     * @param stamps the disk-sync content hash of a file, or {@code null} when
+     *               it has none (manual disk sync, unstamped files)
+     */
+    LineIndexCache(int capacity, Function<Path, DiskStampService.ContentHash> stamps) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.stamps = stamps;
+    }
+
+    /** The index of {@code cu}'s current source, or {@code null} when it has none. */
+    LineIndex get(ICompilationUnit cu) throws JavaModelException {
+        Entry entry = entry(cu);
+        return entry == null ? null : entry.index;
+    }
+
+    /** The comment and literal spans of {@code cu}'s current source, or {@code null} when it has none. */
+    TokenRanges tokenRanges(ICompilationUnit cu) throws JavaModelException {
+        Entry entry = entry(cu);
+        if (entry == null) {
+            return null;
+        }
+        synchronized (this) {
+            if (entry.ranges == null) {
+                entry.ranges = TokenRanges.scan(entry.index.text(), cu.getJavaProject());
+                scans++;
+            }
+            return entry.ranges;
+        }
+    }
+
+    private Entry entry(ICompilationUnit cu) throws JavaModelException {
+        IBuffer buffer = cu.getBuffer();
+        char[] text = buffer == null ? null : buffer.getCharacters();
+        if (text == null) {
+            return null;
+        }
+        Path path = pathOf(cu);
+        if (path == null) {
+            return new Entry(LineIndex.of(text), null);
+        }
+        String key = path.toString();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.index.text() == text) {
+                hits++;
+                return entry;
+            }
+            DiskStampService.ContentHash hash = stamps.apply(path);
+            if (entry != null && hash != null && hash.equals(entry.hash)
+                    && !buffer.hasUnsavedChanges() && entry.index.text().length == text.length) {
+                hits++;
+                return entry;
+            }
+            entry = new Entry(LineIndex.of(text), hash);
+            entries.put(key, entry);
+            builds++;
+            return entry;
+        }
+    }
+
+    /** Drop the entries of files a disk-sync repair changed, added, or deleted. */
+    synchronized void evict(Collection<Path> files) {
+        for (Path file : files) {
+            entries.remove(file.toAbsolutePath().normalize().toString());
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    static Path pathOf(ICompilationUnit cu) {
+        if (cu.getResource() == null || cu.getResource().getLocation() == null) {
+            return null;
+        }
+        return Path.of(cu.getResource().getLocation().toOSString()).toAbsolutePath().normalize();
+    }
+
+    /** Counters for {@code health_check}. */
+    synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("files", entries.size());
+        stats.put("hits", hits);
+        stats.put("builds", builds);
+        stats.put("tokenScans", scans);
+        return stats;
+    }
+}
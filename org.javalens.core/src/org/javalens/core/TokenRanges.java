@@ -0,0 +1,107 @@
+package org.javalens.core;
+
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.compiler.IScanner;
+import org.eclipse.jdt.core.compiler.ITerminalSymbols;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+
+import java.util.Arrays;
+
+/**
+ * The comment and string, character, and text-block literal spans of one
+ * source text, from a single scanner pass, so classifying a position is a
+ * binary search instead of a parse.
+ *
+ * <p>A comment covers its characters without the line terminator that ends
+ * a line comment, matching the DOM's comment ranges. A literal also claims
+ * the offset just past its closing quote, where the DOM covering-node test
+ * this replaces still found the literal. Text the scanner rejects (an
+ * unterminated string, say) is skipped rather than classified.
+ */
+final class TokenRanges {
+
+    private final int[] starts;
+    /** Last offset each span covers, inclusive. */
+    private final int[] lasts;
+    private final int length;
+
+    private TokenRanges(int[] starts, int[] lasts, int length) {
+        this.starts = starts;
+        this.lasts = lasts;
+        this.length = length;
+    }
+
+    /** Scan {@code text} at the source level and preview setting of {@code project}. */
+    static TokenRanges scan(char[] text, IJavaProject project) {
+        String level = project == null ? JavaCore.latestSupportedJavaVersion()
+            : project.getOption(JavaCore.COMPILER_SOURCE, true);
+        boolean preview = project != null && JavaCore.ENABLED.equals(
+            project.getOption(JavaCore.COMPILER_PB_ENABLE_PREVIEW_FEATURES, true));
+        return scan(text, level, preview);
+    }
+
+    static TokenRanges scan(char[] text, String sourceLevel, boolean preview) {
+        IScanner scanner = ToolFactory.createScanner(true, false, false, sourceLevel, sourceLevel, preview);
+        scanner.setSource(text);
+        int[] starts = new int[16];
+        int[] lasts = new int[16];
+        int count = 0;
+        while (true) {
+            int token;
+            try {
+                token = scanner.getNextToken();
+            } catch (InvalidInputException e) {
+                continue; // the scanner has moved past the rejected text
+            }
+            if (token == ITerminalSymbols.TokenNameEOF) {
+                break;
+            }
+            int start = scanner.getCurrentTokenStartPosition();
+            int end = scanner.getCurrentTokenEndPosition(); // inclusive
+            int last;
+            switch (token) {
+                case ITerminalSymbols.TokenNameCOMMENT_LINE, ITerminalSymbols.TokenNameCOMMENT_MARKDOWN -> {
+                    while (end >= start && (text[end] == '\n' || text[end] == '\r')) {
+                        end--;
+                    }
+                    last = end;
+                }
+                case ITerminalSymbols.TokenNameCOMMENT_BLOCK, ITerminalSymbols.TokenNameCOMMENT_JAVADOC -> last = end;
+                case ITerminalSymbols.TokenNameStringLiteral, ITerminalSymbols.TokenNameCharacterLiteral,
+                     ITerminalSymbols.TokenNameTextBlock -> last = end + 1;
+                default -> {
+                    continue;
+                }
+            }
+            if (last < start) {
+                continue;
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                lasts = Arrays.copyOf(lasts, count * 2);
+            }
+            starts[count] = start;
+            lasts[count] = last;
+            count++;
+        }
+        return new TokenRanges(Arrays.copyOf(starts, count), Arrays.copyOf(lasts, count), text.length);
+    }
+
+    /** Whether {@code offset} lies inside a comment or a string, character, or text-block literal. */
+    boolean inCommentOrLiteral(int offset) {
+        if (offset < 0 || offset >= length) {
+            return false;
+        }
+        int found = Arrays.binarySearch(starts, offset);
+        int span = found >= 0 ? found : -found - 2;
+        // A literal's claimed closing offset may be the next span's start: check both.
+        return span >= 0 && (offset <= lasts[span] || (span > 0 && offset <= lasts[span - 1]));
+    }
+
+    /** Number of comment and literal spans. */
+    int size() {
+        return starts.length;
+    }
+}
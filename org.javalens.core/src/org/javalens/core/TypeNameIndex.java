@@ -0,0 +1,229 @@
+package org.javalens.core;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.IJavaSearchConstants;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameRequestor;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Simple type name to the qualified names declaring it, so a simple-name
+ * {@code findType} is a map lookup instead of a walk over every compilation
+ * unit.
+ *
+ * <p>Source types are read from the search index with one
+ * {@code searchAllTypeNames} on the first lookup and remembered per file; a
+ * disk-sync repair marks its files, and the next lookup re-reads just those
+ * from the model ({@link #filesRepaired}). Library and JDK types are loaded
+ * the same way on the first lookup that asks for them, and dropped with
+ * everything else on a classpath change ({@link #clear}).
+ */
+final class TypeNameIndex {
+
+    /** One declaring type; {@code typeQualifiedName} names enclosing types with dots. */
+    record Candidate(String packageName, String typeQualifiedName, boolean source) {
+
+        String qualifiedName() {
+            return packageName.isEmpty() ? typeQualifiedName : packageName + "." + typeQualifiedName;
+        }
+
+        boolean member() {
+            return typeQualifiedName.indexOf('.') >= 0;
+        }
+    }
+
+    /** Source before binary, top-level before member types, then by qualified name. */
+    static final Comparator<Candidate> RANK = Comparator.comparing((Candidate c) -> !c.source())
+        .thenComparing(Candidate::member)
+        .thenComparing(Candidate::qualifiedName);
+
+    private final Function<Path, ICompilationUnit> units;
+    private final Map<String, List<Candidate>> sources = new HashMap<>();
+    private final Map<Path, List<Candidate>> sourcesByFile = new HashMap<>();
+    private final Set<Path> repaired = new LinkedHashSet<>();
+    private Map<String, List<Candidate>> binaries;
+    private boolean sourcesLoaded;
+    private long sourceBuildMillis;
+    private long binaryBuildMillis;
+    private long lookups;
+    private long filesReread;
+
+    /**
+     * @param units the compilation unit at an external file path, or
+     *              {@code null} when none exists there
+     */
+    TypeNameIndex(Function<Path, ICompilationUnit> units) {
+        this.units = units;
+    }
+
+    /** The types named {@code simpleName}, best first by {@link #RANK}. */
+    synchronized List<Candidate> candidates(IJavaProject project, String simpleName, boolean includeBinary)
+            throws CoreException {
+        lookups++;
+        if (!sourcesLoaded) {
+            loadSources(project);
+        } else if (!repaired.isEmpty()) {
+            rereadRepaired();
+        }
+        List<Candidate> found = new ArrayList<>(sources.getOrDefault(simpleName, List.of()));
+        if (includeBinary) {
+            if (binaries == null) {
+                loadBinaries(project);
+            }
+            found.addAll(binaries.getOrDefault(simpleName, List.of()));
+        }
+        found.sort(RANK);
+        return found;
+    }
+
+    /** Re-read these files' source types on the next lookup. */
+    synchronized void filesRepaired(Collection<Path> files) {
+        if (sourcesLoaded) {
+            for (Path file : files) {
+                repaired.add(file.toAbsolutePath().normalize());
+            }
+        }
+    }
+
+    /** Forget every type; the next lookup loads them again. */
+    synchronized void clear() {
+        sources.clear();
+        sourcesByFile.clear();
+        repaired.clear();
+        binaries = null;
+        sourcesLoaded = false;
+    }
+
+    private void loadSources(IJavaProject project) throws CoreException {
+        long start = System.nanoTime();
+        sources.clear();
+        sourcesByFile.clear();
+        repaired.clear();
+        IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[]{ project },
+            IJavaSearchScope.SOURCES);
+        searchAllTypes(scope, (candidate, path) -> {
+            Path file = location(path);
+            if (file != null) {
+                add(sources, candidate);
+                sourcesByFile.computeIfAbsent(file, k -> new ArrayList<>()).add(candidate);
+            }
+        }, true);
+        sourcesLoaded = true;
+        sourceBuildMillis = (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private void loadBinaries(IJavaProject project) throws CoreException {
+        long start = System.nanoTime();
+        Map<String, List<Candidate>> loaded = new HashMap<>();
+        IJavaSearchScope scope = SearchEngine.createJavaSearchScope(new IJavaElement[]{ project },
+            IJavaSearchScope.APPLICATION_LIBRARIES | IJavaSearchScope.SYSTEM_LIBRARIES);
+        searchAllTypes(scope, (candidate, path) -> add(loaded, candidate), false);
+        binaries = loaded;
+        binaryBuildMillis = (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private interface TypeSink {
+        void accept(Candidate candidate, String path);
+    }
+
+    private static void searchAllTypes(IJavaSearchScope scope, TypeSink sink, boolean source) throws CoreException {
+        new SearchEngine().searchAllTypeNames(null, SearchPattern.R_PATTERN_MATCH, null,
+            SearchPattern.R_PATTERN_MATCH, IJavaSearchConstants.TYPE, scope, new TypeNameRequestor() {
+                @Override
+                public void acceptType(int modifiers, char[] packageName, char[] simpleTypeName,
+                                       char[][] enclosingTypeNames, String path) {
+                    if (simpleTypeName.length == 0 || Character.isDigit(simpleTypeName[0])) {
+                        return; // anonymous and local types
+                    }
+                    StringBuilder typeQualified = new StringBuilder();
+                    for (char[] enclosing : enclosingTypeNames) {
+                        typeQualified.append(enclosing).append('.');
+                    }
+                    typeQualified.append(simpleTypeName);
+                    sink.accept(new Candidate(new String(packageName), typeQualified.toString(), source), path);
+                }
+            }, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, new NullProgressMonitor());
+    }
+
+    private void rereadRepaired() throws CoreException {
+        for (Path file : repaired) {
+            List<Candidate> old = sourcesByFile.remove(file);
+            if (old != null) {
+                for (Candidate candidate : old) {
+                    List<Candidate> named = sources.get(simpleName(candidate));
+                    if (named != null) {
+                        named.remove(candidate);
+                        if (named.isEmpty()) {
+                            sources.remove(simpleName(candidate));
+                        }
+                    }
+                }
+            }
+            ICompilationUnit cu = units.apply(file);
+            if (cu == null || !cu.exists()) {
+                continue;
+            }
+            List<Candidate> declared = new ArrayList<>();
+            for (IType type : cu.getAllTypes()) {
+                Candidate candidate = new Candidate(type.getPackageFragment().getElementName(),
+                    type.getTypeQualifiedName('.'), true);
+                add(sources, candidate);
+                declared.add(candidate);
+            }
+            sourcesByFile.put(file, declared);
+            filesReread++;
+        }
+        repaired.clear();
+    }
+
+    private static void add(Map<String, List<Candidate>> index, Candidate candidate) {
+        index.computeIfAbsent(simpleName(candidate), k -> new ArrayList<>(1)).add(candidate);
+    }
+
+    private static String simpleName(Candidate candidate) {
+        String name = candidate.typeQualifiedName();
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    /** External location of a workspace-relative resource path from the search index. */
+    private static Path location(String workspacePath) {
+        IFile file = ResourcesPlugin.getWorkspace().getRoot()
+            .getFile(new org.eclipse.core.runtime.Path(workspacePath));
+        IPath location = file.getLocation();
+        return location == null ? null : Path.of(location.toOSString()).toAbsolutePath().normalize();
+    }
+
+    /** Counters for {@code health_check}. */
+    synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sourceNames", sources.size());
+        stats.put("sourceFiles", sourcesByFile.size());
+        stats.put("sourceBuildMs", sourceBuildMillis);
+        stats.put("binaryNames", binaries == null ? 0 : binaries.size());
+        stats.put("binaryBuildMs", binaryBuildMillis);
+        stats.put("lookups", lookups);
+        stats.put("filesReread", filesReread);
+        return stats;
+    }
+}
@@ -0,0 +1,165 @@
+package org.javalens.core.graph;
+
+import org.javalens.core.graph.ProjectGraph.EdgeKind;
+import org.javalens.core.graph.ProjectGraph.GraphEdge;
+import org.javalens.core.graph.ProjectGraph.GraphNode;
+import org.javalens.core.graph.ProjectGraph.NodeKind;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One compilation unit's contribution to the {@link ProjectGraph}: the nodes
+ * it declares and everything owned by them. Edges are owned by the enclosing
+ * method or type of their site, and overrides and mains by the declaring
+ * method, so every part of the graph has exactly one source file - which is
+ * what lets {@link ProjectGraphService#update} replace a file's contribution
+ * without touching the others.
+ *
+ * <p>Filled by {@link GraphCollectorVisitor}, then {@link #freeze frozen};
+ * never modified after that.
+ */
+final class FileGraph {
+
+    final String filePath;
+    final Map<String, GraphNode> nodes = new LinkedHashMap<>();
+    /** Edges while collecting; {@link #freeze} moves them into the parallel arrays below. */
+    private Set<GraphEdge> collecting = new LinkedHashSet<>();
+    private String[] edgeFrom;
+    private String[] edgeTo;
+    private byte[] edgeKinds;
+    /** override method key -> the declarations it directly overrides. */
+    final Map<String, Set<String>> overrides = new HashMap<>();
+    final Set<String> mains = new HashSet<>();
+    /** declared type key -> its direct supertypes (source or not). */
+    final Map<String, Set<String>> supertypes = new HashMap<>();
+    /** method or field key -> its declared signature (return or field type, generic signature). */
+    final Map<String, String> signatures = new HashMap<>();
+    /** Whether some reference in the file did not resolve (it may once a type appears). */
+    boolean unresolved;
+
+    FileGraph(String filePath) {
+        this.filePath = filePath;
+    }
+
+    void addEdge(String fromKey, String toKey, EdgeKind kind) {
+        collecting.add(new GraphEdge(fromKey, toKey, kind));
+    }
+
+    /**
+     * End collection: store the edges as parallel arrays, with every key
+     * replaced by its instance in {@code canonical} (added when absent), so
+     * the thousands of equal key strings a batch produces share one copy.
+     */
+    void freeze(Map<String, String> canonical) {
+        for (GraphNode node : nodes.values()) {
+            canonical.putIfAbsent(node.key(), node.key());
+        }
+        int count = collecting.size();
+        edgeFrom = new String[count];
+        edgeTo = new String[count];
+        edgeKinds = new byte[count];
+        int i = 0;
+        for (GraphEdge edge : collecting) {
+            edgeFrom[i] = canonical.computeIfAbsent(edge.fromKey(), k -> k);
+            edgeTo[i] = canonical.computeIfAbsent(edge.toKey(), k -> k);
+            edgeKinds[i] = (byte) edge.kind().ordinal();
+            i++;
+        }
+        collecting = null;
+    }
+
+    /** Install edges read back from a {@link GraphSnapshot}, in place of collecting. */
+    void freeze(String[] from, String[] to, byte[] kinds) {
+        edgeFrom = from;
+        edgeTo = to;
+        edgeKinds = kinds;
+        collecting = null;
+    }
+
+    int edgeCount() {
+        return edgeFrom.length;
+    }
+
+    String edgeFrom(int i) {
+        return edgeFrom[i];
+    }
+
+    String edgeTo(int i) {
+        return edgeTo[i];
+    }
+
+    byte edgeKind(int i) {
+        return edgeKinds[i];
+    }
+
+    /** Add this file's part of the graph to {@code builder}. */
+    void contributeTo(ProjectGraph.Builder builder) {
+        for (GraphNode node : nodes.values()) {
+            builder.node(node);
+        }
+        EdgeKind[] kinds = EdgeKind.values();
+        for (int i = 0; i < edgeFrom.length; i++) {
+            builder.edge(edgeFrom[i], edgeTo[i], kinds[edgeKinds[i]]);
+        }
+        for (Map.Entry<String, Set<String>> entry : overrides.entrySet()) {
+            for (String overridden : entry.getValue()) {
+                builder.override(entry.getKey(), overridden);
+            }
+        }
+        for (String main : mains) {
+            builder.main(main);
+        }
+    }
+
+    /**
+     * What other files' bindings can depend on: declared keys with their
+     * modifiers and signatures, and each type's direct supertypes. Line
+     * numbers and bodies are excluded, so an edit inside a method body leaves
+     * the shape as it was; a changed return or field type does not, since a
+     * caller's chained calls resolve through it.
+     */
+    Set<String> shape() {
+        Set<String> shape = new HashSet<>();
+        for (GraphNode node : nodes.values()) {
+            shape.add(node.key() + "|" + node.flags() + "|" + signatures.getOrDefault(node.key(), ""));
+        }
+        for (Map.Entry<String, Set<String>> entry : supertypes.entrySet()) {
+            for (String supertype : entry.getValue()) {
+                shape.add(entry.getKey() + ">" + supertype);
+            }
+        }
+        return shape;
+    }
+
+    Set<String> typeKeys() {
+        Set<String> types = new HashSet<>();
+        for (GraphNode node : nodes.values()) {
+            if (node.kind() == NodeKind.TYPE) {
+                types.add(node.key());
+            }
+        }
+        return types;
+    }
+
+    /** Whether an edge or override of this file points into {@code keys}. */
+    boolean references(Set<String> keys) {
+        for (String target : edgeTo) {
+            if (keys.contains(target)) {
+                return true;
+            }
+        }
+        for (Set<String> overridden : overrides.values()) {
+            for (String key : overridden) {
+                if (keys.contains(key)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
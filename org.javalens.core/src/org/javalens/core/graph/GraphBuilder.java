@@ -12,31 +12,118 @@ import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Builds a {@link ProjectGraph} in a single batch-AST pass with resolved
- * bindings over all source compilation units of a project.
+ * bindings over all source compilation units of a project. Each unit is
+ * collected into its own {@link FileGraph}, so a later update can re-collect
+ * a subset of units and re-assemble without parsing the rest.
+ *
+ * <p>With a parallelism above one, {@link #collect(IJavaProject,
+ * ICompilationUnit[], int)} splits the units into package-aligned batches,
+ * each parsed by its own {@link ASTParser} on a fork-join pool. Collection is
+ * already per file, so the batches share nothing while running, and the merge
+ * re-keys their results in the input unit order - the graph is identical to
+ * the single-pass one. Each parser resolves the other batches' types from
+ * source signatures, so the total work grows a little while wall time drops.
  */
 final class GraphBuilder {
 
+    /** Below this many units per batch, parser setup outweighs the parallel gain. */
+    static final int MIN_BATCH = 32;
+
     private GraphBuilder() {
     }
 
     static ProjectGraph build(IJavaProject project) throws JavaModelException {
-        Map<String, ProjectGraph.GraphNode> nodes = new LinkedHashMap<>();
-        Set<ProjectGraph.GraphEdge> edges = new LinkedHashSet<>();
-        Map<String, Set<String>> overrides = new HashMap<>();
-        Set<String> mains = new HashSet<>();
+        return assemble(collect(project, collectSourceUnits(project)).values());
+    }
+
+    /**
+     * {@link #collect(IJavaProject, ICompilationUnit[])} over up to
+     * {@code parallelism} threads. Falls back to the single pass when there
+     * are too few units to split.
+     */
+    static Map<String, FileGraph> collect(IJavaProject project, ICompilationUnit[] units, int parallelism) {
+        return collect(project, units, parallelism, null);
+    }
+
+    /** As {@link #collect(IJavaProject, ICompilationUnit[], int)}, counting parsed units in {@code parsed}. */
+    static Map<String, FileGraph> collect(IJavaProject project, ICompilationUnit[] units, int parallelism,
+                                          AtomicInteger parsed) {
+        List<ICompilationUnit[]> batches = partition(units, parallelism);
+        if (batches.size() <= 1) {
+            return collectBatch(project, units, parsed);
+        }
+        ForkJoinPool pool = new ForkJoinPool(Math.min(parallelism, batches.size()));
+        try {
+            List<ForkJoinTask<Map<String, FileGraph>>> tasks = new ArrayList<>();
+            for (ICompilationUnit[] batch : batches) {
+                tasks.add(pool.submit(() -> collectBatch(project, batch, parsed)));
+            }
+            Map<String, FileGraph> partial = new HashMap<>();
+            for (ForkJoinTask<Map<String, FileGraph>> task : tasks) {
+                partial.putAll(task.join());
+            }
+            Map<String, FileGraph> files = new LinkedHashMap<>();
+            for (ICompilationUnit unit : units) {
+                FileGraph file = partial.get(pathOf(unit));
+                if (file != null) {
+                    files.put(file.filePath, file);
+                }
+            }
+            return files;
+        } finally {
+            pool.shutdown();
+        }
+    }
 
-        ICompilationUnit[] units = collectSourceUnits(project);
+    /**
+     * Contiguous batches of about {@code units / (4 * parallelism)} units -
+     * several per thread, so one slow batch does not idle the rest - cut only
+     * between packages, so a package's units resolve each other in one parser.
+     */
+    static List<ICompilationUnit[]> partition(ICompilationUnit[] units, int parallelism) {
+        if (parallelism <= 1 || units.length < 2 * MIN_BATCH) {
+            return List.<ICompilationUnit[]>of(units);
+        }
+        int target = Math.max(MIN_BATCH, (units.length + 4 * parallelism - 1) / (4 * parallelism));
+        List<ICompilationUnit[]> batches = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i < units.length; i++) {
+            if (i - start >= target && !units[i].getParent().equals(units[i - 1].getParent())) {
+                batches.add(Arrays.copyOfRange(units, start, i));
+                start = i;
+            }
+        }
+        batches.add(Arrays.copyOfRange(units, start, units.length));
+        return batches;
+    }
+
+    /**
+     * Batch-parse {@code units} with resolved bindings in one parser; one
+     * {@link FileGraph} per unit, keyed by file path in the order given.
+     */
+    static Map<String, FileGraph> collect(IJavaProject project, ICompilationUnit[] units) {
+        return collectBatch(project, units, null);
+    }
 
+    private static Map<String, FileGraph> collectBatch(IJavaProject project, ICompilationUnit[] units,
+                                                       AtomicInteger parsed) {
+        Map<String, FileGraph> files = new LinkedHashMap<>();
+        if (units.length == 0) {
+            return files;
+        }
+        Map<String, String> canonical = new HashMap<>();
         ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
         parser.setProject(project);
         parser.setResolveBindings(true);
@@ -44,14 +131,35 @@ final class GraphBuilder {
         parser.createASTs(units, new String[0], new ASTRequestor() {
             @Override
             public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
-                ast.accept(new GraphCollectorVisitor(source, ast, nodes, edges, overrides, mains));
+                FileGraph file = new FileGraph(pathOf(source));
+                ast.accept(new GraphCollectorVisitor(ast, file));
+                file.freeze(canonical);
+                files.put(file.filePath, file);
+                if (parsed != null) {
+                    parsed.incrementAndGet();
+                }
             }
         }, null);
+        return files;
+    }
+
+    /** Union the per-file contributions; on a duplicate key the later file wins, as in one pass. */
+    static ProjectGraph assemble(Collection<FileGraph> files) {
+        ProjectGraph.Builder builder = new ProjectGraph.Builder();
+        for (FileGraph file : files) {
+            file.contributeTo(builder);
+        }
+        return builder.build();
+    }
 
-        return new ProjectGraph(nodes, new ArrayList<>(edges), overrides, mains);
+    /** Absolute path of the unit's file, as recorded in {@link ProjectGraph.GraphNode#filePath()}. */
+    static String pathOf(ICompilationUnit source) {
+        return source.getResource() != null && source.getResource().getLocation() != null
+            ? source.getResource().getLocation().toOSString()
+            : source.getPath().toOSString();
     }
 
-    private static ICompilationUnit[] collectSourceUnits(IJavaProject project) throws JavaModelException {
+    static ICompilationUnit[] collectSourceUnits(IJavaProject project) throws JavaModelException {
         List<ICompilationUnit> units = new ArrayList<>();
         for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
             if (root.getKind() != IPackageFragmentRoot.K_SOURCE) {
@@ -1,6 +1,5 @@
 package org.javalens.core.graph;
 
-import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
@@ -13,6 +12,7 @@ import org.eclipse.jdt.core.dom.EnumDeclaration;
 import org.eclipse.jdt.core.dom.ExpressionMethodReference;
 import org.eclipse.jdt.core.dom.FieldAccess;
 import org.eclipse.jdt.core.dom.FieldDeclaration;
+import org.eclipse.jdt.core.dom.IBinding;
 import org.eclipse.jdt.core.dom.IMethodBinding;
 import org.eclipse.jdt.core.dom.ITypeBinding;
 import org.eclipse.jdt.core.dom.IVariableBinding;
@@ -31,7 +31,6 @@ import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.core.dom.TypeMethodReference;
 import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 import org.javalens.core.graph.ProjectGraph.EdgeKind;
-import org.javalens.core.graph.ProjectGraph.GraphEdge;
 import org.javalens.core.graph.ProjectGraph.GraphNode;
 import org.javalens.core.graph.ProjectGraph.NodeKind;
 
@@ -56,21 +55,17 @@ final class GraphCollectorVisitor extends ASTVisitor {
     private final CompilationUnit ast;
     private final String filePath;
     private final Map<String, GraphNode> nodes;
-    private final Set<GraphEdge> edges;
     private final Map<String, Set<String>> overrides;
     private final Set<String> mains;
+    private final FileGraph file;
 
-    GraphCollectorVisitor(ICompilationUnit source, CompilationUnit ast,
-                          Map<String, GraphNode> nodes, Set<GraphEdge> edges,
-                          Map<String, Set<String>> overrides, Set<String> mains) {
+    GraphCollectorVisitor(CompilationUnit ast, FileGraph file) {
         this.ast = ast;
-        this.filePath = source.getResource() != null && source.getResource().getLocation() != null
-            ? source.getResource().getLocation().toOSString()
-            : source.getPath().toOSString();
-        this.nodes = nodes;
-        this.edges = edges;
-        this.overrides = overrides;
-        this.mains = mains;
+        this.filePath = file.filePath;
+        this.nodes = file.nodes;
+        this.overrides = file.overrides;
+        this.mains = file.mains;
+        this.file = file;
     }
 
     // ========== Node registration ==========
@@ -101,6 +96,14 @@ final class GraphCollectorVisitor extends ASTVisitor {
         }
         nodes.put(key, new GraphNode(key, NodeKind.TYPE, null, binding.getName(),
             binding.getModifiers(), filePath, lineOf(node.getName())));
+        Set<String> supertypes = new HashSet<>();
+        if (binding.getSuperclass() != null) {
+            supertypes.add(binding.getSuperclass().getErasure().getQualifiedName());
+        }
+        for (ITypeBinding itf : binding.getInterfaces()) {
+            supertypes.add(itf.getErasure().getQualifiedName());
+        }
+        file.supertypes.put(key, supertypes);
     }
 
     @Override
@@ -113,6 +116,7 @@ final class GraphCollectorVisitor extends ASTVisitor {
         String ownerKey = typeKey(binding.getDeclaringClass());
         nodes.put(key, new GraphNode(key, NodeKind.METHOD, ownerKey, node.getName().getIdentifier(),
             binding.getModifiers(), filePath, lineOf(node.getName())));
+        file.signatures.put(key, methodSignature(binding));
         recordOverrides(key, binding);
         if (isMainMethod(binding)) {
             mains.add(key);
@@ -132,6 +136,7 @@ final class GraphCollectorVisitor extends ASTVisitor {
             String ownerKey = typeKey(binding.getDeclaringClass());
             nodes.put(key, new GraphNode(key, NodeKind.FIELD, ownerKey, binding.getName(),
                 binding.getModifiers(), filePath, lineOf(vdf.getName())));
+            file.signatures.put(key, binding.getType() == null ? "" : binding.getType().getKey());
         }
         return true;
     }
@@ -221,10 +226,11 @@ final class GraphCollectorVisitor extends ASTVisitor {
     }
 
     private void addCallEdge(IMethodBinding binding, ASTNode site) {
+        noteResolution(binding);
         String target = sourceMethodTarget(binding);
         String owner = ownerOf(site);
         if (target != null && owner != null) {
-            edges.add(new GraphEdge(owner, target, EdgeKind.CALLS));
+            file.addEdge(owner, target, EdgeKind.CALLS);
         }
     }
 
@@ -256,6 +262,7 @@ final class GraphCollectorVisitor extends ASTVisitor {
     }
 
     private void addCreationEdge(IMethodBinding ctor, ASTNode site) {
+        noteResolution(ctor);
         if (ctor == null) {
             return;
         }
@@ -270,7 +277,7 @@ final class GraphCollectorVisitor extends ASTVisitor {
         // Implicit constructors have no method node: target the type instead.
         String target = ctor.isDefaultConstructor() ? typeKey(declaring) : methodKey(ctor);
         if (target != null) {
-            edges.add(new GraphEdge(owner, target, EdgeKind.CREATES));
+            file.addEdge(owner, target, EdgeKind.CREATES);
         }
     }
 
@@ -281,7 +288,9 @@ final class GraphCollectorVisitor extends ASTVisitor {
         if (node.isDeclaration()) {
             return false;
         }
-        if (!(node.resolveBinding() instanceof IVariableBinding variable) || !variable.isField()) {
+        IBinding resolved = node.resolveBinding();
+        noteResolution(resolved);
+        if (!(resolved instanceof IVariableBinding variable) || !variable.isField()) {
             return false;
         }
         String target = fieldKey(variable);
@@ -290,7 +299,7 @@ final class GraphCollectorVisitor extends ASTVisitor {
             return false;
         }
         for (EdgeKind kind : accessKinds(node)) {
-            edges.add(new GraphEdge(owner, target, kind));
+            file.addEdge(owner, target, kind);
         }
         return false;
     }
@@ -318,6 +327,17 @@ final class GraphCollectorVisitor extends ASTVisitor {
         return Set.of(EdgeKind.READS);
     }
 
+    /**
+     * A missing or recovered binding may resolve once another file changes
+     * (typically when the type it names is created), so the file must be
+     * re-collected then; see {@link ProjectGraphService#update}.
+     */
+    private void noteResolution(IBinding binding) {
+        if (binding == null || binding.isRecovered()) {
+            file.unresolved = true;
+        }
+    }
+
     // ========== Ownership and keys ==========
 
     /**
@@ -381,6 +401,25 @@ final class GraphCollectorVisitor extends ASTVisitor {
         return typeKey + "#" + name + "(" + params + ")";
     }
 
+    /**
+     * The binding key, the return type's key, and the type parameters with
+     * their bounds: everything a caller in another file binds through. The
+     * graph key alone names only the erased parameter types.
+     */
+    private static String methodSignature(IMethodBinding binding) {
+        StringBuilder signature = new StringBuilder(binding.getKey());
+        ITypeBinding returnType = binding.getReturnType();
+        signature.append('|').append(returnType == null ? "" : returnType.getKey()).append('|');
+        for (ITypeBinding parameter : binding.getTypeParameters()) {
+            signature.append(parameter.getName());
+            for (ITypeBinding bound : parameter.getTypeBounds()) {
+                signature.append(':').append(bound.getKey());
+            }
+            signature.append(';');
+        }
+        return signature.toString();
+    }
+
     private static String fieldKey(IVariableBinding binding) {
         if (binding == null || binding.getDeclaringClass() == null
             || !binding.getDeclaringClass().isFromSource()) {
@@ -0,0 +1,264 @@
+package org.javalens.core.graph;
+
+import org.javalens.core.graph.ProjectGraph.GraphNode;
+import org.javalens.core.graph.ProjectGraph.NodeKind;
+import org.javalens.core.sync.DiskStampService.ContentHash;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Opt-in on-disk copy of the per-file graph contributions, so a new session
+ * re-collects only the files whose content changed since the last one.
+ *
+ * <p>The file is a versioned binary stream:
+ * <pre>
+ *   header   int magic, int version, byte[16] environment digest
+ *   strings  int count, count x (int length, UTF-8 bytes)
+ *   files    int count, count x file
+ *   file     int path, long hashHi, long hashLo, boolean unresolved,
+ *            int n, n x node (int key, byte kind, int owner, int simpleName,
+ *                             int flags, int filePath, int line),
+ *            int n, n x edge (int from, int to, byte kind),
+ *            int n, n x override (int key, int m, m x int overridden),
+ *            int n, n x int main,
+ *            int n, n x supertypes (int key, int m, m x int supertype),
+ *            int n, n x signature (int key, int signature)
+ * </pre>
+ * Every string is an index into the table, so equal keys share one instance
+ * once read back. Each file carries the disk-sync content hash it was
+ * collected from; a file whose hash has moved is re-collected rather than
+ * trusted. The environment digest covers the raw classpath and compiler
+ * options - bindings depend on both - and a mismatch discards the snapshot.
+ * Writes go to a sibling temp file that is atomically moved into place; a
+ * file that fails the magic, version, or bounds checks loads as absent.
+ */
+public final class GraphSnapshot {
+
+    private static final int MAGIC = 0x4A4C4753; // "JLGS"
+    private static final int VERSION = 2;
+
+    /** The contributions read back, in saved order, with the content hash each was collected from. */
+    record Contents(Map<String, FileGraph> files, Map<String, ContentHash> hashes) {
+    }
+
+    private final Path file;
+
+    public GraphSnapshot(Path file) {
+        this.file = file.toAbsolutePath().normalize();
+    }
+
+    /** The snapshot for {@code projectRoot} inside {@code directory}, beside its stamp store. */
+    public static GraphSnapshot forProject(Path directory, Path projectRoot) {
+        String root = projectRoot.toAbsolutePath().normalize().toString();
+        return new GraphSnapshot(directory.resolve("graph-" + hex(digest(root), 8) + ".bin"));
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Load the snapshot taken under {@code environment}; {@code null} when
+     * there is none, it is unreadable, or it was taken under another one.
+     */
+    Contents load(byte[] environment) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            byte[] saved = new byte[environment.length];
+            in.readFully(saved);
+            if (!Arrays.equals(saved, environment)) {
+                return null;
+            }
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            NodeKind[] nodeKinds = NodeKind.values();
+            Map<String, FileGraph> files = new LinkedHashMap<>();
+            Map<String, ContentHash> hashes = new HashMap<>();
+            int fileCount = in.readInt();
+            for (int f = 0; f < fileCount; f++) {
+                FileGraph graph = new FileGraph(strings[in.readInt()]);
+                hashes.put(graph.filePath, new ContentHash(in.readLong(), in.readLong()));
+                graph.unresolved = in.readBoolean();
+                for (int n = in.readInt(); n > 0; n--) {
+                    String key = strings[in.readInt()];
+                    NodeKind kind = nodeKinds[in.readByte()];
+                    int owner = in.readInt();
+                    graph.nodes.put(key, new GraphNode(key, kind, owner < 0 ? null : strings[owner],
+                        strings[in.readInt()], in.readInt(), strings[in.readInt()], in.readInt()));
+                }
+                int edges = in.readInt();
+                String[] from = new String[edges];
+                String[] to = new String[edges];
+                byte[] kinds = new byte[edges];
+                for (int e = 0; e < edges; e++) {
+                    from[e] = strings[in.readInt()];
+                    to[e] = strings[in.readInt()];
+                    kinds[e] = in.readByte();
+                }
+                graph.freeze(from, to, kinds);
+                readRelation(in, strings, graph.overrides);
+                for (int n = in.readInt(); n > 0; n--) {
+                    graph.mains.add(strings[in.readInt()]);
+                }
+                readRelation(in, strings, graph.supertypes);
+                for (int n = in.readInt(); n > 0; n--) {
+                    graph.signatures.put(strings[in.readInt()], strings[in.readInt()]);
+                }
+                files.put(graph.filePath, graph);
+            }
+            return new Contents(files, hashes);
+        } catch (EOFException | RuntimeException e) {
+            return null; // truncated or corrupt: same as no snapshot
+        }
+    }
+
+    private static void readRelation(DataInputStream in, String[] strings, Map<String, Set<String>> into)
+            throws IOException {
+        for (int n = in.readInt(); n > 0; n--) {
+            String key = strings[in.readInt()];
+            Set<String> values = new HashSet<>();
+            for (int m = in.readInt(); m > 0; m--) {
+                values.add(strings[in.readInt()]);
+            }
+            into.put(key, values);
+        }
+    }
+
+    /**
+     * Replace the snapshot with {@code files}, each tagged with its hash in
+     * {@code hashes}; files without a hash are left out and re-collected on
+     * the next load.
+     */
+    void save(byte[] environment, Iterable<FileGraph> files, Map<String, ContentHash> hashes) throws IOException {
+        Map<String, Integer> table = new LinkedHashMap<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        int fileCount = 0;
+        for (FileGraph graph : files) {
+            ContentHash hash = hashes.get(graph.filePath);
+            if (hash == null) {
+                continue;
+            }
+            fileCount++;
+            out.writeInt(index(table, graph.filePath));
+            out.writeLong(hash.hi());
+            out.writeLong(hash.lo());
+            out.writeBoolean(graph.unresolved);
+            out.writeInt(graph.nodes.size());
+            for (GraphNode node : graph.nodes.values()) {
+                out.writeInt(index(table, node.key()));
+                out.writeByte(node.kind().ordinal());
+                out.writeInt(node.ownerKey() == null ? -1 : index(table, node.ownerKey()));
+                out.writeInt(index(table, node.simpleName()));
+                out.writeInt(node.flags());
+                out.writeInt(index(table, node.filePath()));
+                out.writeInt(node.line());
+            }
+            out.writeInt(graph.edgeCount());
+            for (int e = 0; e < graph.edgeCount(); e++) {
+                out.writeInt(index(table, graph.edgeFrom(e)));
+                out.writeInt(index(table, graph.edgeTo(e)));
+                out.writeByte(graph.edgeKind(e));
+            }
+            writeRelation(out, table, graph.overrides);
+            out.writeInt(graph.mains.size());
+            for (String main : graph.mains) {
+                out.writeInt(index(table, main));
+            }
+            writeRelation(out, table, graph.supertypes);
+            out.writeInt(graph.signatures.size());
+            for (Map.Entry<String, String> entry : graph.signatures.entrySet()) {
+                out.writeInt(index(table, entry.getKey()));
+                out.writeInt(index(table, entry.getValue()));
+            }
+        }
+        out.flush();
+
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream head = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                head.writeInt(MAGIC);
+                head.writeInt(VERSION);
+                head.write(environment);
+                head.writeInt(table.size());
+                for (String string : table.keySet()) {
+                    byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                    head.writeInt(bytes.length);
+                    head.write(bytes);
+                }
+                head.writeInt(fileCount);
+                body.writeTo(head);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeRelation(DataOutputStream out, Map<String, Integer> table,
+                                      Map<String, Set<String>> relation) throws IOException {
+        out.writeInt(relation.size());
+        for (Map.Entry<String, Set<String>> entry : relation.entrySet()) {
+            out.writeInt(index(table, entry.getKey()));
+            out.writeInt(entry.getValue().size());
+            for (String value : entry.getValue()) {
+                out.writeInt(index(table, value));
+            }
+        }
+    }
+
+    private static int index(Map<String, Integer> table, String string) {
+        Integer index = table.get(string);
+        if (index == null) {
+            index = table.size();
+            table.put(string, index);
+        }
+        return index;
+    }
+
+    static byte[] digest(String text) {
+        try {
+            return MessageDigest.getInstance("MD5").digest(text.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 unavailable", e);
+        }
+    }
+
+    private static String hex(byte[] bytes, int count) {
+        StringBuilder hex = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            hex.append(Character.forDigit((bytes[i] >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(bytes[i] & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -7,9 +7,11 @@ import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.Signature;
 
-import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
-import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +41,18 @@ import java.util.stream.Collectors;
  * callers of an overridden declaration are callers of the override — and hops
  * through type nodes silently (creators of a type "call" its initializers).
  * Only concrete calling methods are reported.
+ *
+ * <p>Storage is integer-indexed: every key is interned to an id once, edges
+ * of each {@link EdgeKind} and the override relation are compressed sparse
+ * rows of {@code int[]} in both directions, and closures walk ids with
+ * {@link BitSet} visited sets. Keys and records appear only at the API
+ * boundary, so a large graph costs a few ints per edge rather than an edge
+ * record plus two map-of-list entries.
+ *
+ * <p>Closures are answered by a {@link ReachabilityIndex} built on first use:
+ * strongly connected components per direction, and closures memoized per
+ * seed set, so asking again - or asking about a node whose closure another
+ * query already covered - is a lookup rather than a walk.
  */
 public final class ProjectGraph {
 
@@ -62,59 +76,122 @@ public final class ProjectGraph {
     public record GraphEdge(String fromKey, String toKey, EdgeKind kind) {
     }
 
-    private final Map<String, GraphNode> nodesByKey;
-    private final List<GraphEdge> edges;
-    /** override method key -> the declarations it directly overrides. */
-    private final Map<String, Set<String>> overrides;
-    /** overridden declaration key -> the methods that directly override it. */
-    private final Map<String, Set<String>> overriddenBy;
-    private final Set<String> mainMethodKeys;
-    private final Map<String, List<GraphEdge>> outgoing;
-    private final Map<String, List<GraphEdge>> incoming;
-
-    ProjectGraph(Map<String, GraphNode> nodesByKey, List<GraphEdge> edges,
-                 Map<String, Set<String>> overrides, Set<String> mainMethodKeys) {
-        this.nodesByKey = Map.copyOf(nodesByKey);
-        this.edges = List.copyOf(edges);
-        this.overrides = deepCopy(overrides);
-        this.mainMethodKeys = Set.copyOf(mainMethodKeys);
-        this.overriddenBy = invert(this.overrides);
-        this.outgoing = edges.stream().collect(Collectors.groupingBy(GraphEdge::fromKey));
-        this.incoming = edges.stream().collect(Collectors.groupingBy(GraphEdge::toKey));
-    }
+    private static final EdgeKind[] EDGE_KINDS = EdgeKind.values();
 
-    private static Map<String, Set<String>> deepCopy(Map<String, Set<String>> map) {
-        return map.entrySet().stream()
-            .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> Set.copyOf(e.getValue())));
-    }
+    /** id -> key; every key a node, edge, owner, or override names has an id. */
+    private final String[] keys;
+    /** id -> node, {@code null} for keys that are only referenced. */
+    private final GraphNode[] nodeById;
+    /** Open-addressing key index, linear probing: {@code id + 1} per slot, 0 when empty. */
+    private final int[] slots;
+    /** id -> id of the declaring type, or -1. */
+    private final int[] ownerIds;
+    /** Per {@link EdgeKind} ordinal. */
+    private final Csr[] outgoing;
+    private final Csr[] incoming;
+    /** override method id -> the declarations it directly overrides. */
+    private final Csr overrides;
+    /** overridden declaration id -> the methods that directly override it. */
+    private final Csr overriddenBy;
+    private final int[] mainIds;
+    /** owner type id -> ids of its declared methods and fields. */
+    private final Csr members;
+    private long memoBudget = ReachabilityIndex.DEFAULT_MEMO_BYTES;
+    private ReachabilityIndex reachability;
 
-    private static Map<String, Set<String>> invert(Map<String, Set<String>> map) {
-        return map.entrySet().stream()
-            .flatMap(e -> e.getValue().stream().map(v -> Map.entry(v, e.getKey())))
-            .collect(Collectors.groupingBy(Map.Entry::getKey,
-                Collectors.mapping(Map.Entry::getValue, Collectors.toUnmodifiableSet())));
+    private ProjectGraph(Builder builder) {
+        int n = builder.size;
+        this.keys = Arrays.copyOf(builder.keys, n);
+        this.nodeById = Arrays.copyOf(builder.nodes, n);
+        this.slots = builder.slots;
+        this.ownerIds = new int[n];
+        int[] memberIds = new int[n];
+        int memberCount = 0;
+        for (int id = 0; id < n; id++) {
+            GraphNode node = nodeById[id];
+            ownerIds[id] = node == null || node.ownerKey() == null ? -1 : idOf(node.ownerKey());
+            if (ownerIds[id] >= 0) {
+                memberIds[memberCount++] = id;
+            }
+        }
+        int[] memberOwners = new int[memberCount];
+        for (int i = 0; i < memberCount; i++) {
+            memberOwners[i] = ownerIds[memberIds[i]];
+        }
+        this.members = Csr.of(n, memberOwners, memberIds, null, 0, memberCount);
+        this.outgoing = new Csr[EDGE_KINDS.length];
+        this.incoming = new Csr[EDGE_KINDS.length];
+        for (EdgeKind kind : EDGE_KINDS) {
+            outgoing[kind.ordinal()] = Csr.of(n, builder.edgeFrom, builder.edgeTo,
+                builder.edgeKinds, kind.ordinal(), builder.edgeCount);
+            incoming[kind.ordinal()] = Csr.of(n, builder.edgeTo, builder.edgeFrom,
+                builder.edgeKinds, kind.ordinal(), builder.edgeCount);
+        }
+        this.overrides = Csr.of(n, builder.overrideFrom, builder.overrideTo, null, 0, builder.overrideCount);
+        this.overriddenBy = Csr.of(n, builder.overrideTo, builder.overrideFrom, null, 0, builder.overrideCount);
+        this.mainIds = builder.mains.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
     }
 
     public Collection<GraphNode> nodes(NodeKind kind) {
-        return nodesByKey.values().stream().filter(n -> n.kind() == kind).toList();
+        List<GraphNode> result = new ArrayList<>();
+        for (GraphNode node : nodeById) {
+            if (node != null && node.kind() == kind) {
+                result.add(node);
+            }
+        }
+        return result;
     }
 
     public GraphNode node(String key) {
-        return nodesByKey.get(key);
+        int id = idOf(key);
+        return id < 0 ? null : nodeById[id];
     }
 
+    /** Every edge, materialized on each call; closures never need this. */
     public List<GraphEdge> edges() {
-        return edges;
+        List<GraphEdge> result = new ArrayList<>();
+        for (EdgeKind kind : EDGE_KINDS) {
+            Csr csr = outgoing[kind.ordinal()];
+            for (int from = 0; from < keys.length; from++) {
+                for (int i = csr.start(from); i < csr.end(from); i++) {
+                    result.add(new GraphEdge(keys[from], keys[csr.targets[i]], kind));
+                }
+            }
+        }
+        return result;
     }
 
-    /** Override method key -> the declarations it directly overrides. */
+    public int edgeCount() {
+        int count = 0;
+        for (Csr csr : outgoing) {
+            count += csr.targets.length;
+        }
+        return count;
+    }
+
+    /** Override method key -> the declarations it directly overrides; materialized on each call. */
     public Map<String, Set<String>> overrides() {
-        return overrides;
+        Map<String, Set<String>> result = new HashMap<>();
+        for (int id = 0; id < keys.length; id++) {
+            if (overrides.start(id) == overrides.end(id)) {
+                continue;
+            }
+            Set<String> overridden = new HashSet<>();
+            for (int i = overrides.start(id); i < overrides.end(id); i++) {
+                overridden.add(keys[overrides.targets[i]]);
+            }
+            result.put(keys[id], Set.copyOf(overridden));
+        }
+        return Map.copyOf(result);
     }
 
     /** Keys of {@code public static void main(String[])} methods. */
     public Set<String> mainMethodKeys() {
-        return mainMethodKeys;
+        Set<String> result = new HashSet<>();
+        for (int id : mainIds) {
+            result.add(keys[id]);
+        }
+        return Set.copyOf(result);
     }
 
     /**
@@ -123,50 +200,22 @@ public final class ProjectGraph {
      * fields read or written by a reached owner. Unknown root keys are ignored.
      */
     public Set<String> reachableFrom(Set<String> rootKeys) {
-        Set<String> reached = new HashSet<>();
-        Deque<String> work = new ArrayDeque<>();
-
+        int[] seeds = new int[2 * rootKeys.size()];
+        int count = 0;
         for (String root : rootKeys) {
-            GraphNode node = nodesByKey.get(root);
-            if (node == null) {
+            int id = idOf(root);
+            if (id < 0 || nodeById[id] == null) {
                 continue;
             }
-            enqueue(root, reached, work);
-            if (node.kind() == NodeKind.METHOD && node.ownerKey() != null) {
-                enqueue(node.ownerKey(), reached, work);
-            }
-        }
-
-        while (!work.isEmpty()) {
-            String key = work.pop();
-            for (GraphEdge edge : outgoing.getOrDefault(key, List.of())) {
-                GraphNode target = nodesByKey.get(edge.toKey());
-                if (target == null) {
-                    continue;
-                }
-                enqueue(edge.toKey(), reached, work);
-                if (edge.kind() == EdgeKind.CREATES && target.kind() == NodeKind.METHOD
-                    && target.ownerKey() != null) {
-                    // Explicit constructor reached: the type's initializers run too.
-                    enqueue(target.ownerKey(), reached, work);
-                }
+            seeds[count++] = id;
+            if (nodeById[id].kind() == NodeKind.METHOD && ownerIds[id] >= 0) {
+                seeds[count++] = ownerIds[id];
             }
         }
-        return reached;
-    }
-
-    private void enqueue(String key, Set<String> reached, Deque<String> work) {
-        if (!reached.add(key)) {
-            return;
-        }
-        work.push(key);
-        GraphNode node = nodesByKey.get(key);
-        if (node != null && node.kind() == NodeKind.METHOD) {
-            // Class-hierarchy expansion: reaching a method reaches its overrides.
-            for (String override : overriddenBy.getOrDefault(key, Set.of())) {
-                enqueue(override, reached, work);
-            }
+        if (count == 0) {
+            return new HashSet<>();
         }
+        return keysOf(reachability().forward(Arrays.copyOf(seeds, count)));
     }
 
     /**
@@ -175,38 +224,13 @@ public final class ProjectGraph {
      * unreachable code are still reported. The target itself is not included.
      */
     public Set<String> transitiveCallers(String key) {
-        Set<String> result = new HashSet<>();
-        Set<String> visited = new HashSet<>();
-        Deque<String> work = new ArrayDeque<>();
-        if (!nodesByKey.containsKey(key)) {
-            return result;
-        }
-        visited.add(key);
-        work.push(key);
-
-        while (!work.isEmpty()) {
-            String current = work.pop();
-            for (GraphEdge edge : incoming.getOrDefault(current, List.of())) {
-                GraphNode from = nodesByKey.get(edge.fromKey());
-                if (from == null || !visited.add(edge.fromKey())) {
-                    continue;
-                }
-                if (from.kind() == NodeKind.METHOD) {
-                    result.add(edge.fromKey());
-                }
-                work.push(edge.fromKey());
-            }
-            GraphNode node = nodesByKey.get(current);
-            if (node != null && node.kind() == NodeKind.METHOD) {
-                // Callers of the declarations this method overrides reach it too.
-                for (String overridden : overrides.getOrDefault(current, Set.of())) {
-                    if (visited.add(overridden)) {
-                        work.push(overridden);
-                    }
-                }
-            }
+        int id = idOf(key);
+        if (id < 0 || nodeById[id] == null) {
+            return new HashSet<>();
         }
-        return result;
+        BitSet callers = (BitSet) reachability().callers(id).clone();
+        callers.clear(id);
+        return keysOf(callers);
     }
 
     /**
@@ -220,26 +244,93 @@ public final class ProjectGraph {
      * coverage reports no callers (issue #32).
      */
     public Set<String> transitiveCallersOfSymbol(String key) {
-        GraphNode node = nodesByKey.get(key);
-        if (node == null || node.kind() != NodeKind.TYPE) {
+        int id = idOf(key);
+        if (id < 0 || nodeById[id] == null || nodeById[id].kind() != NodeKind.TYPE) {
             return transitiveCallers(key);
         }
-        Set<String> result = new HashSet<>(transitiveCallers(key));
-        for (GraphNode member : nodesByKey.values()) {
-            if (key.equals(member.ownerKey())) {
-                result.addAll(transitiveCallers(member.key()));
+        return transitiveCallersOfSymbols(List.of(key));
+    }
+
+    /**
+     * Reverse closure for a group of selected symbols at once - e.g. every
+     * declaration in a changed file - as one closure over all their seeds.
+     * Each key is expanded as in {@link #transitiveCallersOfSymbol}; the
+     * seeds themselves are dropped, so the result is the callers OUTSIDE the
+     * group. Unknown keys are ignored.
+     */
+    public Set<String> transitiveCallersOfSymbols(Collection<String> symbolKeys) {
+        int[] seeds = new int[symbolKeys.size()];
+        int count = 0;
+        for (String key : symbolKeys) {
+            int id = idOf(key);
+            if (id < 0 || nodeById[id] == null) {
+                continue;
+            }
+            int memberCount = nodeById[id].kind() == NodeKind.TYPE ? members.end(id) - members.start(id) : 0;
+            if (count + 1 + memberCount > seeds.length) {
+                seeds = Arrays.copyOf(seeds, Math.max(seeds.length * 2, count + 1 + memberCount));
             }
+            seeds[count++] = id;
+            System.arraycopy(members.targets, members.start(id), seeds, count, memberCount);
+            count += memberCount;
+        }
+        if (count == 0) {
+            return new HashSet<>();
+        }
+        BitSet result = (BitSet) reachability().callers(Arrays.copyOf(seeds, count)).clone();
+        // A member of the group may itself be a caller (e.g. one method calling
+        // another); the asker wants callers OUTSIDE the group, so drop the
+        // group's own members from the result.
+        for (int i = 0; i < count; i++) {
+            result.clear(seeds[i]);
+        }
+        return keysOf(result);
+    }
+
+    private synchronized ReachabilityIndex reachability() {
+        if (reachability == null) {
+            reachability = new ReachabilityIndex(keys.length, nodeById, ownerIds, outgoing, incoming,
+                overrides, overriddenBy, memoBudget);
+        }
+        return reachability;
+    }
+
+    /** Test seam: bound the closure memo to {@code bytes}, dropping what is memoized. */
+    synchronized void setMemoBudget(long bytes) {
+        memoBudget = bytes;
+        reachability = null;
+    }
+
+    /** Closure index counters for {@code health_check}; empty until the first closure. */
+    synchronized Map<String, Object> reachabilityStats() {
+        return reachability == null ? Map.of() : reachability.stats();
+    }
+
+    private Set<String> keysOf(BitSet ids) {
+        Set<String> result = new HashSet<>(Math.max(16, ids.cardinality() * 2));
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            result.add(keys[id]);
         }
-        // A member of the type may itself be a caller (e.g. one method calling
-        // another); the asker wants callers OUTSIDE the type, so drop the
-        // type's own members from the result.
-        result.removeIf(callerKey -> {
-            GraphNode caller = nodesByKey.get(callerKey);
-            return caller != null && key.equals(caller.ownerKey());
-        });
         return result;
     }
 
+    private int idOf(String key) {
+        int mask = slots.length - 1;
+        int slot = home(key, mask);
+        while (slots[slot] != 0) {
+            if (keys[slots[slot] - 1].equals(key)) {
+                return slots[slot] - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int home(String key, int mask) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
     /**
      * Compute the graph key for a Java model element. Returns the key whether
      * or not the element is present in the graph; callers check {@link #node}.
@@ -264,4 +355,160 @@ public final class ProjectGraph {
         }
         return null;
     }
+
+    /**
+     * Compressed sparse rows: the neighbours of id {@code i} are
+     * {@code targets[offsets[i] .. offsets[i + 1])}, sorted and distinct.
+     */
+    static final class Csr {
+
+        final int[] offsets;
+        final int[] targets;
+
+        private Csr(int[] offsets, int[] targets) {
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        int start(int id) {
+            return offsets[id];
+        }
+
+        int end(int id) {
+            return offsets[id + 1];
+        }
+
+        /** Rows of {@code from[i] -> to[i]} for the first {@code count} pairs whose kind matches, if kinds are given. */
+        static Csr of(int n, int[] from, int[] to, byte[] kinds, int kind, int count) {
+            int[] offsets = new int[n + 1];
+            for (int i = 0; i < count; i++) {
+                if (kinds == null || kinds[i] == kind) {
+                    offsets[from[i] + 1]++;
+                }
+            }
+            for (int id = 0; id < n; id++) {
+                offsets[id + 1] += offsets[id];
+            }
+            int[] targets = new int[offsets[n]];
+            int[] cursor = Arrays.copyOf(offsets, n);
+            for (int i = 0; i < count; i++) {
+                if (kinds == null || kinds[i] == kind) {
+                    targets[cursor[from[i]]++] = to[i];
+                }
+            }
+            // Sort each row and drop duplicates in place; rows only shrink.
+            int write = 0;
+            for (int id = 0; id < n; id++) {
+                int start = offsets[id];
+                int end = offsets[id + 1];
+                Arrays.sort(targets, start, end);
+                offsets[id] = write;
+                for (int i = start; i < end; i++) {
+                    if (i == start || targets[i] != targets[i - 1]) {
+                        targets[write++] = targets[i];
+                    }
+                }
+            }
+            offsets[n] = write;
+            return new Csr(offsets, write == targets.length ? targets : Arrays.copyOf(targets, write));
+        }
+    }
+
+    /**
+     * Accumulates a graph key by key and interns each to an int id as it
+     * arrives, so no edge record or per-key edge list is ever materialized.
+     * A repeated node key keeps the later node, as a repeated map put would.
+     */
+    static final class Builder {
+
+        private String[] keys = new String[256];
+        private GraphNode[] nodes = new GraphNode[256];
+        private int size;
+        private int[] slots = new int[512];
+        private int[] edgeFrom = new int[1024];
+        private int[] edgeTo = new int[1024];
+        private byte[] edgeKinds = new byte[1024];
+        private int edgeCount;
+        private int[] overrideFrom = new int[64];
+        private int[] overrideTo = new int[64];
+        private int overrideCount;
+        private final List<Integer> mains = new ArrayList<>();
+
+        Builder node(GraphNode node) {
+            int id = intern(node.key());
+            nodes[id] = node;
+            if (node.ownerKey() != null) {
+                intern(node.ownerKey());
+            }
+            return this;
+        }
+
+        Builder edge(String fromKey, String toKey, EdgeKind kind) {
+            if (edgeCount == edgeFrom.length) {
+                int capacity = edgeCount * 2;
+                edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+                edgeTo = Arrays.copyOf(edgeTo, capacity);
+                edgeKinds = Arrays.copyOf(edgeKinds, capacity);
+            }
+            edgeFrom[edgeCount] = intern(fromKey);
+            edgeTo[edgeCount] = intern(toKey);
+            edgeKinds[edgeCount] = (byte) kind.ordinal();
+            edgeCount++;
+            return this;
+        }
+
+        Builder override(String methodKey, String overriddenKey) {
+            if (overrideCount == overrideFrom.length) {
+                overrideFrom = Arrays.copyOf(overrideFrom, overrideCount * 2);
+                overrideTo = Arrays.copyOf(overrideTo, overrideCount * 2);
+            }
+            overrideFrom[overrideCount] = intern(methodKey);
+            overrideTo[overrideCount] = intern(overriddenKey);
+            overrideCount++;
+            return this;
+        }
+
+        Builder main(String methodKey) {
+            mains.add(intern(methodKey));
+            return this;
+        }
+
+        ProjectGraph build() {
+            return new ProjectGraph(this);
+        }
+
+        private int intern(String key) {
+            int mask = slots.length - 1;
+            int slot = home(key, mask);
+            while (slots[slot] != 0) {
+                if (keys[slots[slot] - 1].equals(key)) {
+                    return slots[slot] - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                nodes = Arrays.copyOf(nodes, size * 2);
+            }
+            int id = size++;
+            keys[id] = key;
+            slots[slot] = id + 1;
+            if (size * 2 > slots.length) {
+                rehash(slots.length * 2);
+            }
+            return id;
+        }
+
+        private void rehash(int capacity) {
+            slots = new int[capacity];
+            int mask = capacity - 1;
+            for (int id = 0; id < size; id++) {
+                int slot = home(keys[id], mask);
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = id + 1;
+            }
+        }
+    }
 }
@@ -1,7 +1,37 @@
 package org.javalens.core.graph;
 
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaModelException;
+import org.javalens.core.sync.DiskStampService;
+import org.javalens.core.sync.DiskStampService.ContentHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Lazily builds and caches the {@link ProjectGraph} for a loaded project.
@@ -9,24 +39,511 @@ import org.eclipse.jdt.core.JavaModelException;
  * <p>The graph is built on the first {@link #getGraph()} call and reused until
  * {@link #invalidate()}. A fresh service is created per {@code loadProject},
  * so a project reload always observes current sources.
+ *
+ * <p>Between loads, {@link #update} keeps the graph current from the paths a
+ * disk-sync repair touched: only those compilation units - plus the files
+ * whose bindings may have moved with them - are re-parsed, and their
+ * {@link FileGraph} contributions are swapped into the cached set before the
+ * graph is re-assembled.
+ *
+ * <p>Parsing runs on up to {@code parallelism} threads
+ * ({@code JAVALENS_GRAPH_PARALLELISM}); see {@link GraphBuilder}. The graph
+ * does not depend on the setting.
+ *
+ * <p>With a {@link GraphSnapshot} attached, the first build starts from the
+ * previous session's contributions instead: files whose disk-sync content
+ * hash still matches are kept, and the rest are handed to the same dependent
+ * re-collection as {@link #update}. Every rebuilt graph is written back.
+ *
+ * <p>With warm-up on ({@code JAVALENS_GRAPH_WARMUP}), the graph is built on a
+ * low-priority background thread after load and after every change that
+ * drops it, instead of inside the first tool call that needs it. A caller
+ * that asks for the graph mid-build waits for that build; an {@link #update}
+ * that arrives mid-build is queued and applied when the build finishes, so
+ * disk-sync repairs never wait for it. A service that a reload replaces
+ * {@linkplain #cancelWarmUp cancels} its queued build.
+ *
+ * <p>{@link #stats} never takes the build monitor: it reads counters each
+ * monitor holder publishes on its way out, plus the volatile state.
  */
 public final class ProjectGraphService {
 
+    /** Work done by the most recent {@link #update}; {@code reparsed} counts dependents too. */
+    public record UpdateStats(int changed, int reparsed, boolean rebuilt) {
+
+        static final UpdateStats NONE = new UpdateStats(0, 0, false);
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectGraphService.class);
+
+    /** Readiness as reported by {@code health_check}. */
+    public enum GraphState { ABSENT, BUILDING, READY }
+
+    /** One low-priority daemon thread for background builds, shared by every service. */
+    private static final ExecutorService WARM_UP = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "javalens-graph-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
     private final IJavaProject project;
-    private ProjectGraph graph;
+    private final int parallelism;
+    private GraphSnapshot snapshot;
+    private DiskStampService stamps;
+    /** Whether the contributions moved since the snapshot was last written. */
+    private boolean snapshotDirty;
+    private UpdateStats lastRestore;
+    private long snapshotSaves;
+    /** Per-file contributions in unit order, or {@code null} until the first build. */
+    private Map<String, FileGraph> files;
+    private volatile ProjectGraph graph;
+    /** Set while {@link #getGraph} builds, so updates queue instead of waiting on the monitor. */
+    private volatile boolean building;
+    private final ConcurrentLinkedQueue<Path> pendingPaths = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger parsedUnits = new AtomicInteger();
+    private final AtomicInteger totalUnits = new AtomicInteger();
+    private volatile boolean warmUp;
+    private final AtomicBoolean warmUpQueued = new AtomicBoolean();
+    private volatile Future<?> warmUpTask;
+    /** The counters {@link #stats} reports, as of the last monitor holder. */
+    private volatile Map<String, Object> published = Map.of();
+    private volatile String lastBuildError;
+    private long lastBuildMillis = -1;
+    private long fullBuilds;
+    private long incrementalUpdates;
+    private UpdateStats lastUpdate = UpdateStats.NONE;
 
     public ProjectGraphService(IJavaProject project) {
+        this(project, 1);
+    }
+
+    public ProjectGraphService(IJavaProject project, int parallelism) {
         this.project = project;
+        this.parallelism = Math.max(1, parallelism);
+        publish();
+    }
+
+    /**
+     * Parse {@code JAVALENS_GRAPH_PARALLELISM}: a thread count, or
+     * {@code auto} for one per available processor. Unset or invalid values
+     * keep the single-threaded build.
+     */
+    public static int parallelismFromEnvironment(String value) {
+        if (value == null || value.isBlank()) {
+            return 1;
+        }
+        if (value.trim().equalsIgnoreCase("auto")) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * Seed the next build from {@code snapshot} and write each rebuilt graph
+     * back to it, validating files against the content hashes in
+     * {@code stamps}.
+     */
+    public synchronized void enableSnapshots(GraphSnapshot snapshot, DiskStampService stamps) {
+        this.snapshot = snapshot;
+        this.stamps = stamps;
+        publish();
+    }
+
+    /**
+     * Build the graph in the background after load and whenever a change
+     * drops it; see the class comment.
+     */
+    public void setWarmUp(boolean enabled) {
+        warmUp = enabled;
+        if (enabled) {
+            scheduleWarmUp();
+        }
+    }
+
+    /** Queue a background {@link #getGraph()} unless one is already queued. */
+    public void scheduleWarmUp() {
+        if (!warmUpQueued.compareAndSet(false, true)) {
+            return;
+        }
+        warmUpTask = WARM_UP.submit(() -> {
+            warmUpQueued.set(false);
+            if (!warmUp) {
+                return;
+            }
+            try {
+                getGraph();
+            } catch (JavaModelException | RuntimeException e) {
+                log.warn("Background graph build failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Turn warm-up off and drop a queued background build, so the shared
+     * warm-up thread does not build a graph for a service that is being
+     * replaced. A build already running finishes.
+     */
+    public void cancelWarmUp() {
+        warmUp = false;
+        Future<?> task = warmUpTask;
+        if (task != null) {
+            task.cancel(false);
+        }
     }
 
     public synchronized ProjectGraph getGraph() throws JavaModelException {
-        if (graph == null) {
-            graph = GraphBuilder.build(project);
+        try {
+            return buildGraph();
+        } finally {
+            publish();
+        }
+    }
+
+    /** Build until a graph stands; the caller holds the monitor. */
+    private ProjectGraph buildGraph() throws JavaModelException {
+        while (graph == null) {
+            long start = System.nanoTime();
+            building = true;
+            parsedUnits.set(0);
+            totalUnits.set(0);
+            try {
+                if (files == null && !restore()) {
+                    ICompilationUnit[] units = GraphBuilder.collectSourceUnits(project);
+                    totalUnits.set(units.length);
+                    files = GraphBuilder.collect(project, units, parallelism, parsedUnits);
+                    fullBuilds++;
+                    snapshotDirty = true;
+                }
+                graph = GraphBuilder.assemble(files.values());
+                lastBuildError = null;
+            } catch (JavaModelException | RuntimeException e) {
+                files = null; // never assemble from a half-restored set
+                lastBuildError = e.getMessage();
+                throw e;
+            } finally {
+                building = false;
+            }
+            lastBuildMillis = (System.nanoTime() - start) / 1_000_000;
+            saveSnapshot();
+            applyPending(); // may drop the graph again, for another round
         }
         return graph;
     }
 
+    /** Whether a graph is ready, being built, or neither; never waits for a build. */
+    public GraphState state() {
+        if (building) {
+            return GraphState.BUILDING;
+        }
+        return graph != null ? GraphState.READY : GraphState.ABSENT;
+    }
+
+    /**
+     * Adopt the snapshot's contributions and re-collect the files it cannot
+     * vouch for: no snapshot entry, no current stamp, a different content
+     * hash, or gone from the project. {@code false} when there is no usable
+     * snapshot.
+     */
+    private boolean restore() throws JavaModelException {
+        if (snapshot == null || stamps == null) {
+            return false;
+        }
+        GraphSnapshot.Contents contents;
+        try {
+            contents = snapshot.load(environment());
+        } catch (IOException e) {
+            log.warn("Could not read graph snapshot {}; building in full: {}", snapshot.file(), e.getMessage());
+            return false;
+        }
+        if (contents == null) {
+            return false;
+        }
+        files = new LinkedHashMap<>();
+        List<Path> stale = new ArrayList<>();
+        for (ICompilationUnit unit : GraphBuilder.collectSourceUnits(project)) {
+            String path = GraphBuilder.pathOf(unit);
+            FileGraph saved = contents.files().get(path);
+            if (saved != null) {
+                files.put(path, saved);
+            }
+            ContentHash hash = stamps.contentHash(Path.of(path));
+            if (saved == null || hash == null || !hash.equals(contents.hashes().get(path))) {
+                stale.add(Path.of(path));
+            }
+        }
+        for (FileGraph saved : contents.files().values()) {
+            if (files.putIfAbsent(saved.filePath, saved) == null) {
+                stale.add(Path.of(saved.filePath)); // deleted since: drop it like a deletion
+            }
+        }
+        int reparsed = reparse(stale);
+        lastRestore = new UpdateStats(stale.size(), reparsed, false);
+        return true;
+    }
+
+    /** Write the contributions back; a failed write only costs the next session's build. */
+    private void saveSnapshot() {
+        if (snapshot == null || stamps == null || !snapshotDirty) {
+            return;
+        }
+        try {
+            Map<String, ContentHash> hashes = new HashMap<>();
+            for (String path : files.keySet()) {
+                ContentHash hash = stamps.contentHash(Path.of(path));
+                if (hash != null) {
+                    hashes.put(path, hash);
+                }
+            }
+            snapshot.save(environment(), files.values(), hashes);
+            snapshotDirty = false;
+            snapshotSaves++;
+        } catch (IOException | JavaModelException e) {
+            log.warn("Could not write graph snapshot {}: {}", snapshot.file(), e.getMessage());
+        }
+    }
+
+    /**
+     * Digest of what bindings depend on besides the sources: the raw
+     * classpath (with each library's size and mtime) and the compiler options.
+     */
+    private byte[] environment() throws JavaModelException {
+        StringBuilder text = new StringBuilder();
+        for (IClasspathEntry entry : project.getRawClasspath()) {
+            text.append(entry).append('\n');
+            if (entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY) {
+                File library = entry.getPath().toFile();
+                text.append(library.length()).append('@').append(library.lastModified()).append('\n');
+            }
+        }
+        new TreeMap<>(project.getOptions(true)).forEach((key, value) ->
+            text.append(key).append('=').append(value).append('\n'));
+        return GraphSnapshot.digest(text.toString());
+    }
+
     public synchronized void invalidate() {
         graph = null;
+        files = null;
+        publish();
+    }
+
+    /**
+     * Bring a built graph up to date with edited, added, and deleted source
+     * files. A file whose {@link FileGraph#shape() shape} changed also
+     * re-collects the files that depend on it: those with an edge or
+     * override into its old or new keys, subtypes of its types (their
+     * overrides follow the hierarchy), and - when a type appeared - files with
+     * unresolved references. Dependents whose own shape changes pull in their
+     * dependents in turn. Any path that is not a {@code .java} file (a build
+     * file behind a classpath change) drops the graph for a full rebuild.
+     * Does nothing when no graph has been built yet.
+     */
+    public void update(Collection<Path> changedPaths) throws JavaModelException {
+        if (changedPaths.isEmpty()) {
+            return;
+        }
+        pendingPaths.addAll(changedPaths);
+        if (building) {
+            return; // the build applies them when it finishes
+        }
+        synchronized (this) {
+            try {
+                applyPending();
+            } finally {
+                publish();
+            }
+        }
+        if (warmUp && graph == null) {
+            scheduleWarmUp();
+        }
+    }
+
+    /** Apply the queued {@link #update} paths; the caller holds the monitor. */
+    private void applyPending() throws JavaModelException {
+        List<Path> changedPaths = new ArrayList<>();
+        for (Path path = pendingPaths.poll(); path != null; path = pendingPaths.poll()) {
+            changedPaths.add(path);
+        }
+        if (files == null || changedPaths.isEmpty()) {
+            return;
+        }
+        for (Path path : changedPaths) {
+            if (!path.toString().endsWith(".java")) {
+                invalidate();
+                lastUpdate = new UpdateStats(changedPaths.size(), 0, true);
+                return;
+            }
+        }
+
+        int reparsed = reparse(changedPaths);
+        graph = null;
+        incrementalUpdates++;
+        lastUpdate = new UpdateStats(changedPaths.size(), reparsed, false);
+    }
+
+    /**
+     * Re-collect {@code changedPaths} and, to a fixpoint, the files depending
+     * on those whose shape changed; returns the number of files re-parsed.
+     */
+    private int reparse(Collection<Path> changedPaths) throws JavaModelException {
+        Map<String, ICompilationUnit> units = new HashMap<>();
+        for (ICompilationUnit unit : GraphBuilder.collectSourceUnits(project)) {
+            units.put(GraphBuilder.pathOf(unit), unit);
+        }
+        Set<String> done = new HashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        for (Path path : changedPaths) {
+            String key = path.toAbsolutePath().normalize().toString();
+            if (done.add(key)) {
+                pending.add(key);
+            }
+        }
+        int reparsed = 0;
+        while (!pending.isEmpty()) {
+            List<String> batch = List.copyOf(pending);
+            pending.clear();
+            ICompilationUnit[] batchUnits = batch.stream()
+                .map(units::get).filter(Objects::nonNull).toArray(ICompilationUnit[]::new);
+            totalUnits.addAndGet(batchUnits.length);
+            Map<String, FileGraph> fresh = GraphBuilder.collect(project, batchUnits, parallelism, parsedUnits);
+            reparsed += fresh.size();
+
+            Set<String> movedKeys = new HashSet<>();
+            Set<String> movedTypes = new HashSet<>();
+            boolean typeAppeared = false;
+            for (String path : batch) {
+                FileGraph before = files.get(path);
+                FileGraph after = fresh.get(path);
+                if (after == null) {
+                    files.remove(path);
+                } else {
+                    files.put(path, after);
+                }
+                Set<String> oldShape = before == null ? Set.of() : before.shape();
+                Set<String> newShape = after == null ? Set.of() : after.shape();
+                if (oldShape.equals(newShape)) {
+                    continue;
+                }
+                for (FileGraph side : new FileGraph[] {before, after}) {
+                    if (side != null) {
+                        movedKeys.addAll(side.nodes.keySet());
+                        movedTypes.addAll(side.typeKeys());
+                    }
+                }
+                Set<String> oldTypes = before == null ? Set.of() : before.typeKeys();
+                if (after != null && !oldTypes.containsAll(after.typeKeys())) {
+                    typeAppeared = true;
+                }
+            }
+            if (movedKeys.isEmpty()) {
+                continue;
+            }
+            Set<String> subtypes = subtypesOf(movedTypes);
+            for (FileGraph file : files.values()) {
+                if (done.contains(file.filePath)) {
+                    continue;
+                }
+                if (file.references(movedKeys)
+                        || !Collections.disjoint(file.typeKeys(), subtypes)
+                        || (typeAppeared && file.unresolved)) {
+                    done.add(file.filePath);
+                    pending.add(file.filePath);
+                }
+            }
+        }
+        if (reparsed > 0 || !changedPaths.isEmpty()) {
+            snapshotDirty = true;
+        }
+        return reparsed;
+    }
+
+    /** Every type that transitively extends or implements one of {@code types}. */
+    private Set<String> subtypesOf(Set<String> types) {
+        Map<String, Set<String>> direct = new HashMap<>();
+        for (FileGraph file : files.values()) {
+            for (Map.Entry<String, Set<String>> entry : file.supertypes.entrySet()) {
+                for (String supertype : entry.getValue()) {
+                    direct.computeIfAbsent(supertype, k -> new HashSet<>()).add(entry.getKey());
+                }
+            }
+        }
+        Set<String> result = new HashSet<>();
+        Deque<String> work = new ArrayDeque<>(types);
+        while (!work.isEmpty()) {
+            for (String subtype : direct.getOrDefault(work.pop(), Set.of())) {
+                if (result.add(subtype)) {
+                    work.push(subtype);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Graph state and maintenance counters for {@code health_check}. While a
+     * build runs, only its progress is reported; otherwise the counters as of
+     * the last build or update. Never takes the monitor, so never waits for a
+     * build.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", state().name().toLowerCase(Locale.ROOT));
+        stats.put("warmUp", warmUp);
+        if (building) {
+            stats.put("progress", Map.of("parsed", parsedUnits.get(), "total", totalUnits.get()));
+            return stats;
+        }
+        ProjectGraph current = graph;
+        stats.put("built", current != null);
+        stats.putAll(published);
+        if (current != null) {
+            stats.put("reachability", current.reachabilityStats());
+        }
+        return stats;
+    }
+
+    /** Publish the counters for {@link #stats}; the caller holds the monitor. */
+    private void publish() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (lastBuildMillis >= 0) {
+            stats.put("lastBuildMs", lastBuildMillis);
+        }
+        if (lastBuildError != null) {
+            stats.put("lastError", lastBuildError);
+        }
+        stats.put("files", files == null ? 0 : files.size());
+        stats.put("parallelism", parallelism);
+        stats.put("fullBuilds", fullBuilds);
+        stats.put("incrementalUpdates", incrementalUpdates);
+        stats.put("lastUpdate", Map.of(
+            "changed", lastUpdate.changed(),
+            "reparsed", lastUpdate.reparsed(),
+            "rebuilt", lastUpdate.rebuilt()));
+        if (snapshot != null) {
+            Map<String, Object> snapshotStats = new LinkedHashMap<>();
+            snapshotStats.put("file", snapshot.file().toString());
+            snapshotStats.put("restored", lastRestore != null);
+            if (lastRestore != null) {
+                snapshotStats.put("stale", lastRestore.changed());
+                snapshotStats.put("reparsed", lastRestore.reparsed());
+            }
+            snapshotStats.put("saves", snapshotSaves);
+            stats.put("snapshot", snapshotStats);
+        }
+        published = Collections.unmodifiableMap(stats);
+    }
+
+    /** Work done seeding the graph from the snapshot, or {@code null} when none was used. */
+    public synchronized UpdateStats lastRestore() {
+        return lastRestore;
+    }
+
+    /** The most recent {@link #update}'s work. */
+    public synchronized UpdateStats lastUpdate() {
+        return lastUpdate;
     }
 }
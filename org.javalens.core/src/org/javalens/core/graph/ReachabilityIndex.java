@@ -0,0 +1,355 @@
+package org.javalens.core.graph;
+
+import org.javalens.core.graph.ProjectGraph.Csr;
+import org.javalens.core.graph.ProjectGraph.GraphNode;
+import org.javalens.core.graph.ProjectGraph.NodeKind;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Memoized closures over one {@link ProjectGraph}. Each closure direction is
+ * a plain successor relation derived from the graph's rules:
+ * <ul>
+ *   <li>forward — a reached id reaches its edge targets that are nodes, the
+ *       owner of an explicitly created constructor, and (for a method) its
+ *       overrides;</li>
+ *   <li>reverse — a visited id visits the edge sources that are nodes and
+ *       (for a method) the declarations it overrides.</li>
+ * </ul>
+ * Each relation is condensed into strongly connected components once, on
+ * first use. A closure is a walk over the component DAG that ORs in each
+ * component's contribution - its members going forward, the methods with an
+ * edge into it in reverse (the callers it reports) - and stops at components
+ * whose closure is already memoized. Closures are memoized per seed set in an
+ * LRU bounded by bytes, so repeated questions are a lookup.
+ *
+ * <p>Thread-safe; returned sets are shared with the memo and must not be
+ * modified.
+ */
+final class ReachabilityIndex {
+
+    static final long DEFAULT_MEMO_BYTES = 64L << 20;
+
+    private final int n;
+    private final GraphNode[] nodeById;
+    private final int[] ownerIds;
+    private final Csr[] outgoing;
+    private final Csr[] incoming;
+    private final Csr overrides;
+    private final Csr overriddenBy;
+    private final long memoBudget;
+
+    private Condensation forward;
+    private Condensation reverse;
+    /** Singleton seeds keyed by {@code (direction << 32) | component}; seed sets by {@link SeedSet}. */
+    private final LinkedHashMap<Object, BitSet> memo = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoBytes;
+    private long hits;
+    private long misses;
+
+    ReachabilityIndex(int n, GraphNode[] nodeById, int[] ownerIds, Csr[] outgoing, Csr[] incoming,
+                      Csr overrides, Csr overriddenBy, long memoBudget) {
+        this.n = n;
+        this.nodeById = nodeById;
+        this.ownerIds = ownerIds;
+        this.outgoing = outgoing;
+        this.incoming = incoming;
+        this.overrides = overrides;
+        this.overriddenBy = overriddenBy;
+        this.memoBudget = memoBudget;
+    }
+
+    /** A multi-component seed; the bitset is never modified once keyed. */
+    private record SeedSet(boolean forward, BitSet components) {
+    }
+
+    /** Ids reached from {@code seeds} (included) under the forward rules. */
+    synchronized BitSet forward(int... seeds) {
+        if (forward == null) {
+            forward = new Condensation(n, forwardSuccessors());
+        }
+        return closure(forward, true, seeds);
+    }
+
+    /**
+     * Methods with an edge into the reverse closure of {@code seeds} - the
+     * callers the reverse walk reports, before the caller drops any seed.
+     */
+    synchronized BitSet callers(int... seeds) {
+        if (reverse == null) {
+            reverse = new Condensation(n, reverseSuccessors());
+        }
+        return closure(reverse, false, seeds);
+    }
+
+    private BitSet closure(Condensation condensation, boolean isForward, int[] seeds) {
+        BitSet components = new BitSet();
+        for (int seed : seeds) {
+            components.set(condensation.component[seed]);
+        }
+        Object key = components.cardinality() == 1
+            ? singletonKey(isForward, components.nextSetBit(0))
+            : new SeedSet(isForward, components);
+        BitSet cached = memo.get(key);
+        if (cached != null) {
+            hits++;
+            return cached;
+        }
+        misses++;
+
+        BitSet result = new BitSet();
+        BitSet seen = (BitSet) components.clone();
+        IntStack work = new IntStack();
+        for (int c = components.nextSetBit(0); c >= 0; c = components.nextSetBit(c + 1)) {
+            work.push(c);
+        }
+        while (!work.isEmpty()) {
+            int c = work.pop();
+            BitSet shortcut = memo.get(singletonKey(isForward, c));
+            if (shortcut != null) {
+                result.or(shortcut);
+                continue;
+            }
+            contribute(condensation, isForward, c, result);
+            Csr dag = condensation.dag;
+            for (int i = dag.start(c); i < dag.end(c); i++) {
+                int next = dag.targets[i];
+                if (!seen.get(next)) {
+                    seen.set(next);
+                    work.push(next);
+                }
+            }
+        }
+        remember(key, result);
+        return result;
+    }
+
+    private void contribute(Condensation condensation, boolean isForward, int component, BitSet result) {
+        Csr members = condensation.members;
+        for (int i = members.start(component); i < members.end(component); i++) {
+            int id = members.targets[i];
+            if (isForward) {
+                result.set(id);
+                continue;
+            }
+            for (Csr csr : incoming) {
+                for (int j = csr.start(id); j < csr.end(id); j++) {
+                    GraphNode from = nodeById[csr.targets[j]];
+                    if (from != null && from.kind() == NodeKind.METHOD) {
+                        result.set(csr.targets[j]);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Long singletonKey(boolean isForward, int component) {
+        return ((isForward ? 1L : 0L) << 32) | component;
+    }
+
+    private void remember(Object key, BitSet closure) {
+        memo.put(key, closure);
+        memoBytes += bytesOf(closure);
+        Iterator<Map.Entry<Object, BitSet>> eldest = memo.entrySet().iterator();
+        while (memoBytes > memoBudget && memo.size() > 1) {
+            memoBytes -= bytesOf(eldest.next().getValue());
+            eldest.remove();
+        }
+    }
+
+    private static long bytesOf(BitSet set) {
+        return set.size() / 8 + 32;
+    }
+
+    private boolean isMethod(int id) {
+        return nodeById[id] != null && nodeById[id].kind() == NodeKind.METHOD;
+    }
+
+    private Csr forwardSuccessors() {
+        IntPairs pairs = new IntPairs();
+        for (int id = 0; id < n; id++) {
+            if (isMethod(id)) {
+                for (int i = overriddenBy.start(id); i < overriddenBy.end(id); i++) {
+                    pairs.add(id, overriddenBy.targets[i]);
+                }
+            }
+            for (ProjectGraph.EdgeKind kind : ProjectGraph.EdgeKind.values()) {
+                Csr csr = outgoing[kind.ordinal()];
+                for (int i = csr.start(id); i < csr.end(id); i++) {
+                    int target = csr.targets[i];
+                    if (nodeById[target] == null) {
+                        continue;
+                    }
+                    pairs.add(id, target);
+                    if (kind == ProjectGraph.EdgeKind.CREATES && isMethod(target) && ownerIds[target] >= 0) {
+                        pairs.add(id, ownerIds[target]);
+                    }
+                }
+            }
+        }
+        return pairs.toCsr(n);
+    }
+
+    private Csr reverseSuccessors() {
+        IntPairs pairs = new IntPairs();
+        for (int id = 0; id < n; id++) {
+            for (Csr csr : incoming) {
+                for (int i = csr.start(id); i < csr.end(id); i++) {
+                    if (nodeById[csr.targets[i]] != null) {
+                        pairs.add(id, csr.targets[i]);
+                    }
+                }
+            }
+            if (isMethod(id)) {
+                for (int i = overrides.start(id); i < overrides.end(id); i++) {
+                    pairs.add(id, overrides.targets[i]);
+                }
+            }
+        }
+        return pairs.toCsr(n);
+    }
+
+    /** Memo and condensation counters for {@code health_check}. */
+    synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (forward != null) {
+            stats.put("forwardComponents", forward.count);
+        }
+        if (reverse != null) {
+            stats.put("reverseComponents", reverse.count);
+        }
+        stats.put("memoized", memo.size());
+        stats.put("memoBytes", memoBytes);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        return stats;
+    }
+
+    /**
+     * Strongly connected components of a successor relation (iterative
+     * Tarjan), with each component's members and the DAG between them.
+     */
+    static final class Condensation {
+
+        final int[] component;
+        final int count;
+        final Csr members;
+        final Csr dag;
+
+        Condensation(int n, Csr successors) {
+            component = new int[n];
+            Arrays.fill(component, -1);
+            int[] index = new int[n];
+            Arrays.fill(index, -1);
+            int[] low = new int[n];
+            boolean[] onStack = new boolean[n];
+            int[] stack = new int[n];
+            int[] calls = new int[n];
+            int[] cursor = new int[n];
+            int sp = 0;
+            int next = 0;
+            int components = 0;
+            for (int root = 0; root < n; root++) {
+                if (index[root] >= 0) {
+                    continue;
+                }
+                int depth = 0;
+                index[root] = low[root] = next++;
+                stack[sp++] = root;
+                onStack[root] = true;
+                calls[depth] = root;
+                cursor[depth++] = successors.start(root);
+                while (depth > 0) {
+                    int v = calls[depth - 1];
+                    if (cursor[depth - 1] < successors.end(v)) {
+                        int w = successors.targets[cursor[depth - 1]++];
+                        if (index[w] < 0) {
+                            index[w] = low[w] = next++;
+                            stack[sp++] = w;
+                            onStack[w] = true;
+                            calls[depth] = w;
+                            cursor[depth++] = successors.start(w);
+                        } else if (onStack[w]) {
+                            low[v] = Math.min(low[v], index[w]);
+                        }
+                        continue;
+                    }
+                    depth--;
+                    if (depth > 0) {
+                        int parent = calls[depth - 1];
+                        low[parent] = Math.min(low[parent], low[v]);
+                    }
+                    if (low[v] == index[v]) {
+                        int w;
+                        do {
+                            w = stack[--sp];
+                            onStack[w] = false;
+                            component[w] = components;
+                        } while (w != v);
+                        components++;
+                    }
+                }
+            }
+            count = components;
+
+            IntPairs memberPairs = new IntPairs();
+            IntPairs dagPairs = new IntPairs();
+            for (int id = 0; id < n; id++) {
+                memberPairs.add(component[id], id);
+                for (int i = successors.start(id); i < successors.end(id); i++) {
+                    int other = component[successors.targets[i]];
+                    if (other != component[id]) {
+                        dagPairs.add(component[id], other);
+                    }
+                }
+            }
+            members = memberPairs.toCsr(count);
+            dag = dagPairs.toCsr(count);
+        }
+    }
+
+    private static final class IntPairs {
+
+        private int[] from = new int[256];
+        private int[] to = new int[256];
+        private int size;
+
+        void add(int a, int b) {
+            if (size == from.length) {
+                from = Arrays.copyOf(from, size * 2);
+                to = Arrays.copyOf(to, size * 2);
+            }
+            from[size] = a;
+            to[size++] = b;
+        }
+
+        Csr toCsr(int rows) {
+            return Csr.of(rows, from, to, null, 0, size);
+        }
+    }
+
+    private static final class IntStack {
+
+        private int[] items = new int[64];
+        private int size;
+
+        void push(int value) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = value;
+        }
+
+        int pop() {
+            return items[--size];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
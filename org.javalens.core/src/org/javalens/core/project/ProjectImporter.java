@@ -64,6 +64,14 @@ public class ProjectImporter {
     private final GradleImporter gradleImporter = new GradleImporter();
     private final MavenImporter mavenImporter = new MavenImporter();
 
+    /**
+     * What the last {@link #configureJavaProject} resolved beyond the library
+     * entries; {@link #refreshClasspath} refuses to patch a classpath when
+     * either has moved, since neither is carried by raw library entries.
+     */
+    private BuildSystem configuredBuildSystem;
+    private java.util.Set<java.nio.file.Path> configuredProcessorJars = java.util.Set.of();
+
     /**
      * Dispatch table: detected {@link BuildSystem} → its {@link BuildSystemImporter}.
      * {@link BuildSystem#UNKNOWN} falls back to {@link BuildSystemImporter#NONE} via
@@ -157,6 +165,7 @@ public class ProjectImporter {
         // falls back to defaults that may be older than the source code, causing legitimate
         // language features (e.g. Java 21 record patterns) to be reported as syntax errors.
         BuildSystem buildSystem = detectBuildSystem(projectPath);
+        this.configuredBuildSystem = buildSystem;
         applyCompilerOptions(javaProject, projectPath, buildSystem);
 
         // Bug H fix: enable annotation processing and register the processor jars declared
@@ -169,6 +178,134 @@ public class ProjectImporter {
         return javaProject;
     }
 
+    /**
+     * Library entries added and removed by one {@link #refreshClasspath}, as
+     * filesystem paths. Both empty means resolution produced the same list.
+     */
+    public record ClasspathDelta(List<String> added, List<String> removed) {
+
+        public ClasspathDelta {
+            added = List.copyOf(added);
+            removed = List.copyOf(removed);
+        }
+
+        public boolean isEmpty() {
+            return added.isEmpty() && removed.isEmpty();
+        }
+    }
+
+    /**
+     * Re-resolve the dependency entries of an already configured project after
+     * a build-file edit, and swap in only the library entries that moved. The
+     * JRE container and linked source folders are kept as they are, so JDT
+     * re-indexes just the added jars and the source index stays intact;
+     * compiler options are re-read because the edit may have changed the level.
+     *
+     * <p>Only a classpath-only edit can be patched this way. The method gives
+     * up - returning {@code null} and leaving the project untouched - when
+     * <ul>
+     *   <li>the detected build system or the set of source roots changed
+     *       (a module was added or removed: new linked folders are needed),</li>
+     *   <li>the annotation-processor set changed (the APT factory path is not
+     *       part of the raw classpath), or</li>
+     *   <li>dependency resolution reported a problem: its partial result would
+     *       silently drop dependencies, where a full load surfaces the warning.</li>
+     * </ul>
+     * Resolution itself runs through the same importer as a load, so for
+     * Maven and Gradle it covers the whole reactor or build.
+     *
+     * @return the applied delta, or {@code null} when a full load is required
+     * @throws CoreException if JDT rejects the new classpath
+     */
+    public ClasspathDelta refreshClasspath(IJavaProject javaProject, java.nio.file.Path projectPath)
+            throws CoreException {
+        // Resolution reports into the shared warnings list; keep the load's
+        // warnings as the ones getWarnings() describes.
+        List<LoadWarning> loadWarnings = new ArrayList<>(warnings);
+        warnings.clear();
+        try {
+            return refreshLibraries(javaProject, projectPath);
+        } finally {
+            warnings.clear();
+            warnings.addAll(loadWarnings);
+        }
+    }
+
+    private ClasspathDelta refreshLibraries(IJavaProject javaProject, java.nio.file.Path projectPath)
+            throws CoreException {
+        BuildSystem buildSystem = detectBuildSystem(projectPath);
+        if (buildSystem != configuredBuildSystem) {
+            log.info("Build system changed from {} to {}; classpath refresh needs a full load",
+                configuredBuildSystem, buildSystem);
+            return null;
+        }
+        java.util.Set<java.nio.file.Path> expectedRoots = new java.util.HashSet<>();
+        for (java.nio.file.Path sourcePath : getAllSourcePaths(projectPath)) {
+            expectedRoots.add(sourcePath.toAbsolutePath().normalize());
+        }
+        java.util.Set<java.nio.file.Path> linkedRoots = linkedSourceRoots(javaProject);
+        if (!expectedRoots.equals(linkedRoots)) {
+            log.info("Source roots changed ({} linked, {} expected); classpath refresh needs a full load",
+                linkedRoots.size(), expectedRoots.size());
+            return null;
+        }
+        if (!collectProcessorJars(projectPath, buildSystem).equals(configuredProcessorJars)) {
+            log.info("Annotation processors changed; classpath refresh needs a full load");
+            return null;
+        }
+
+        List<IClasspathEntry> libraries = new ArrayList<>();
+        addDependencyEntries(libraries, projectPath);
+        if (!warnings.isEmpty()) {
+            log.info("Dependency resolution reported {} warning(s); classpath refresh needs a full load",
+                warnings.size());
+            return null;
+        }
+
+        IClasspathEntry[] current = javaProject.getRawClasspath();
+        List<IClasspathEntry> entries = new ArrayList<>();
+        List<String> before = new ArrayList<>();
+        for (IClasspathEntry entry : current) {
+            if (entry.getEntryKind() == IClasspathEntry.CPE_LIBRARY) {
+                before.add(entry.getPath().toOSString());
+            } else {
+                entries.add(entry);
+            }
+        }
+        List<String> after = new ArrayList<>();
+        for (IClasspathEntry library : libraries) {
+            after.add(library.getPath().toOSString());
+        }
+
+        List<String> added = new ArrayList<>(after);
+        added.removeAll(before);
+        List<String> removed = new ArrayList<>(before);
+        removed.removeAll(after);
+        if (!before.equals(after)) {
+            entries.addAll(libraries);
+            javaProject.setRawClasspath(entries.toArray(new IClasspathEntry[0]),
+                javaProject.getOutputLocation(), new NullProgressMonitor());
+        }
+        applyCompilerOptions(javaProject, projectPath, buildSystem);
+
+        log.info("Refreshed classpath: {} entries added, {} removed", added.size(), removed.size());
+        return new ClasspathDelta(added, removed);
+    }
+
+    /** Filesystem locations of the project's linked source folders. */
+    private java.util.Set<java.nio.file.Path> linkedSourceRoots(IJavaProject javaProject) throws CoreException {
+        java.util.Set<java.nio.file.Path> roots = new java.util.HashSet<>();
+        for (IClasspathEntry entry : javaProject.getRawClasspath()) {
+            if (entry.getEntryKind() != IClasspathEntry.CPE_SOURCE) continue;
+            IPath location = javaProject.getProject().getWorkspace().getRoot()
+                .getFolder(entry.getPath()).getLocation();
+            if (location != null) {
+                roots.add(java.nio.file.Path.of(location.toOSString()).toAbsolutePath().normalize());
+            }
+        }
+        return roots;
+    }
+
     /**
      * Enable JDT's APT framework on the project and register annotation-processor jars on
      * its factory path. Splits into {@link #collectProcessorJars} (gathering) and
@@ -176,6 +313,7 @@ public class ProjectImporter {
      */
     private void applyAnnotationProcessing(IJavaProject javaProject, java.nio.file.Path projectPath, BuildSystem buildSystem) {
         java.util.Set<java.nio.file.Path> processorJars = collectProcessorJars(projectPath, buildSystem);
+        this.configuredProcessorJars = processorJars;
         if (processorJars.isEmpty()) return;
         wireApt(javaProject, processorJars, projectPath);
     }
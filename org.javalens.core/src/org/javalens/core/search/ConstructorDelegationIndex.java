@@ -0,0 +1,345 @@
+package org.javalens.core.search;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.ConstructorInvocation;
+import org.eclipse.jdt.core.dom.EnumDeclaration;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.MethodDeclaration;
+import org.eclipse.jdt.core.dom.RecordDeclaration;
+import org.eclipse.jdt.core.dom.SuperConstructorInvocation;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Every explicit {@code super(...)} / {@code this(...)} invocation in the
+ * project's sources, by the constructor it binds to, so a constructor
+ * reference search adds the delegations JDT's index misses with a lookup
+ * instead of a binding-resolved parse of the whole project.
+ *
+ * <p>Built by one parse of all source units on the first lookup. Disk-sync
+ * repairs mark files changed ({@link #markChanged}); the next lookup
+ * re-parses them and the files holding an unresolved delegation. When a
+ * changed file's declaration shape moved - a constructor, a return or field
+ * type, a supertype, as the project graph compares them - every file with a
+ * delegation is re-parsed too, since overload resolution of a delegation's
+ * arguments can run through any of them. A classpath change drops the index
+ * ({@link #clear}).
+ */
+final class ConstructorDelegationIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ConstructorDelegationIndex.class);
+
+    /**
+     * One delegation: where it is ({@code path} is the absolute normalized
+     * file path) and what it binds to, as element handles.
+     */
+    record Delegation(String path, String unitHandle, int start, int length, String enclosingHandle,
+                      String targetHandle, String targetTypeHandle) {
+    }
+
+    /** What one file contributes: a digest of its declarations, and its delegations. */
+    private record FileEntry(long shape, List<Delegation> delegations, boolean unresolved) {
+    }
+
+    private final IJavaProject project;
+    private final Map<String, FileEntry> byFile = new HashMap<>();
+    private final Map<String, List<Delegation>> byTarget = new HashMap<>();
+    private final Set<String> pending = new HashSet<>();
+    private boolean built;
+    private long fullBuilds;
+    private long updates;
+    private long filesParsed;
+
+    ConstructorDelegationIndex(IJavaProject project) {
+        this.project = project;
+    }
+
+    /** The delegations binding to the constructor with handle {@code constructorHandle}. */
+    synchronized List<Delegation> delegationsTo(String constructorHandle) throws CoreException {
+        refresh();
+        return List.copyOf(byTarget.getOrDefault(constructorHandle, List.of()));
+    }
+
+    /** Files a repair changed, added, or deleted; applied on the next lookup. */
+    synchronized void markChanged(Collection<Path> paths) {
+        if (built) {
+            for (Path path : paths) {
+                pending.add(path.toAbsolutePath().normalize().toString());
+            }
+        }
+    }
+
+    /** Forget everything; the next lookup rebuilds. */
+    synchronized void clear() {
+        built = false;
+        byFile.clear();
+        byTarget.clear();
+        pending.clear();
+    }
+
+    private void refresh() throws CoreException {
+        if (!built) {
+            Map<String, ICompilationUnit> units = sourceUnits(project);
+            parse(units.values());
+            built = true;
+            fullBuilds++;
+            log.debug("Constructor delegation index built over {} unit(s)", units.size());
+            return;
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+        Set<String> changed = new HashSet<>(pending);
+        pending.clear();
+        Map<String, FileEntry> before = new HashMap<>();
+        for (String path : changed) {
+            FileEntry old = remove(path);
+            if (old != null) {
+                before.put(path, old);
+            }
+        }
+        Map<String, ICompilationUnit> units = sourceUnits(project);
+        List<ICompilationUnit> reparse = new ArrayList<>();
+        for (String path : changed) {
+            ICompilationUnit unit = units.get(path);
+            if (unit != null) {
+                reparse.add(unit);
+            }
+        }
+        parse(reparse);
+        boolean reshaped = false;
+        for (String path : changed) {
+            FileEntry old = before.get(path);
+            FileEntry entry = byFile.get(path);
+            if (old == null || entry == null || old.shape() != entry.shape()) {
+                reshaped = true;
+            }
+        }
+
+        List<ICompilationUnit> dependents = new ArrayList<>();
+        for (Map.Entry<String, FileEntry> file : List.copyOf(byFile.entrySet())) {
+            if (!changed.contains(file.getKey()) && dependsOn(file.getValue(), reshaped)
+                    && units.containsKey(file.getKey())) {
+                remove(file.getKey());
+                dependents.add(units.get(file.getKey()));
+            }
+        }
+        parse(dependents);
+        updates++;
+        log.debug("Constructor delegation index re-parsed {} changed and {} dependent unit(s)",
+            reparse.size(), dependents.size());
+    }
+
+    private static boolean dependsOn(FileEntry entry, boolean reshaped) {
+        return entry.unresolved() || (reshaped && !entry.delegations().isEmpty());
+    }
+
+    private FileEntry remove(String path) {
+        FileEntry old = byFile.remove(path);
+        if (old != null) {
+            for (Delegation delegation : old.delegations()) {
+                List<Delegation> list = byTarget.get(delegation.targetHandle());
+                if (list != null) {
+                    list.remove(delegation);
+                    if (list.isEmpty()) {
+                        byTarget.remove(delegation.targetHandle());
+                    }
+                }
+            }
+        }
+        return old;
+    }
+
+    private void parse(Collection<ICompilationUnit> units) {
+        if (units.isEmpty()) {
+            return;
+        }
+        ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+        parser.setResolveBindings(true);
+        parser.setProject(project);
+        parser.createASTs(units.toArray(new ICompilationUnit[0]), new String[0], new ASTRequestor() {
+            @Override
+            public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+                String path = location(source.getResource());
+                if (path != null) {
+                    add(path, collect(source, path, ast));
+                }
+            }
+        }, new NullProgressMonitor());
+        filesParsed += units.size();
+    }
+
+    private void add(String path, FileEntry entry) {
+        byFile.put(path, entry);
+        for (Delegation delegation : entry.delegations()) {
+            byTarget.computeIfAbsent(delegation.targetHandle(), k -> new ArrayList<>()).add(delegation);
+        }
+    }
+
+    private static FileEntry collect(ICompilationUnit source, String path, CompilationUnit ast) {
+        StringBuilder shape = new StringBuilder();
+        List<Delegation> delegations = new ArrayList<>();
+        boolean[] unresolved = { false };
+        ast.accept(new ASTVisitor() {
+            @Override
+            public boolean visit(SuperConstructorInvocation node) {
+                record(node, node.resolveConstructorBinding());
+                return true;
+            }
+            @Override
+            public boolean visit(ConstructorInvocation node) {
+                record(node, node.resolveConstructorBinding());
+                return true;
+            }
+            @Override
+            public boolean visit(TypeDeclaration node) {
+                declare(node);
+                return true;
+            }
+            @Override
+            public boolean visit(EnumDeclaration node) {
+                declare(node);
+                return true;
+            }
+            @Override
+            public boolean visit(RecordDeclaration node) {
+                declare(node);
+                return true;
+            }
+            @Override
+            public boolean visit(MethodDeclaration node) {
+                IMethodBinding binding = node.resolveBinding();
+                if (binding != null) {
+                    shape.append(binding.getKey()).append('|').append(key(binding.getReturnType())).append('\n');
+                }
+                return true;
+            }
+            @Override
+            public boolean visit(VariableDeclarationFragment node) {
+                IVariableBinding binding = node.resolveBinding();
+                if (binding != null && binding.isField()) {
+                    shape.append(binding.getKey()).append('|').append(key(binding.getType())).append('\n');
+                }
+                return true;
+            }
+            private void declare(AbstractTypeDeclaration node) {
+                ITypeBinding binding = node.resolveBinding();
+                if (binding == null) {
+                    return;
+                }
+                shape.append(binding.getKey()).append('|').append(binding.getModifiers())
+                    .append('|').append(key(binding.getSuperclass()));
+                for (ITypeBinding itf : binding.getInterfaces()) {
+                    shape.append(',').append(itf.getKey());
+                }
+                shape.append('\n');
+            }
+            private void record(ASTNode node, IMethodBinding binding) {
+                IJavaElement target = binding == null ? null : binding.getJavaElement();
+                String typeHandle = binding == null ? null : handle(binding.getDeclaringClass());
+                if (target == null || typeHandle == null) {
+                    unresolved[0] = true;
+                    return;
+                }
+                delegations.add(new Delegation(path, source.getHandleIdentifier(),
+                    node.getStartPosition(), node.getLength(), enclosingHandle(source, node),
+                    target.getHandleIdentifier(), typeHandle));
+            }
+        });
+        return new FileEntry(DeclarationShapes.digest(shape.toString()), delegations, unresolved[0]);
+    }
+
+    private static String key(ITypeBinding binding) {
+        return binding == null ? "" : binding.getKey();
+    }
+
+    private static String handle(ITypeBinding binding) {
+        IJavaElement element = binding == null ? null : binding.getJavaElement();
+        return element == null ? null : element.getHandleIdentifier();
+    }
+
+    /** The enclosing method's handle, or the unit's when it has none. */
+    private static String enclosingHandle(ICompilationUnit source, ASTNode node) {
+        ASTNode n = node;
+        while (n != null && !(n instanceof MethodDeclaration)) {
+            n = n.getParent();
+        }
+        if (n instanceof MethodDeclaration md && md.resolveBinding() != null) {
+            IJavaElement el = md.resolveBinding().getJavaElement();
+            if (el != null) {
+                return el.getHandleIdentifier();
+            }
+        }
+        return source.getHandleIdentifier();
+    }
+
+    /** Absolute normalized file path of {@code resource}, or {@code null}. */
+    static String location(IResource resource) {
+        if (resource == null || resource.getLocation() == null) {
+            return null;
+        }
+        return Path.of(resource.getLocation().toOSString()).toAbsolutePath().normalize().toString();
+    }
+
+    /** The project's source compilation units by {@link #location}. */
+    static Map<String, ICompilationUnit> sourceUnits(IJavaProject project) throws CoreException {
+        Map<String, ICompilationUnit> units = new LinkedHashMap<>();
+        for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+            if (root.getKind() != IPackageFragmentRoot.K_SOURCE) {
+                continue;
+            }
+            for (IJavaElement child : root.getChildren()) {
+                if (child instanceof IPackageFragment pkg) {
+                    for (ICompilationUnit cu : pkg.getCompilationUnits()) {
+                        String path = location(cu.getResource());
+                        if (path != null) {
+                            units.put(path, cu);
+                        }
+                    }
+                }
+            }
+        }
+        return units;
+    }
+
+    /** Counters for {@code health_check}. */
+    synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("built", built);
+        stats.put("files", byFile.size());
+        stats.put("delegations", byTarget.values().stream().mapToInt(List::size).sum());
+        stats.put("fullBuilds", fullBuilds);
+        stats.put("incrementalUpdates", updates);
+        stats.put("filesParsed", filesParsed);
+        stats.put("pending", pending.size());
+        return stats;
+    }
+}
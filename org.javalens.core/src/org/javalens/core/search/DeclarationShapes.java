@@ -0,0 +1,184 @@
+package org.javalens.core.search;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
+import org.eclipse.jdt.core.IImportDeclaration;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageDeclaration;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeParameter;
+import org.eclipse.jdt.core.JavaModelException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A digest of every source file's declarations - package, imports, and each
+ * type's flags, type parameters, supertypes, fields, and method signatures,
+ * as the Java model reports them - so a repair can tell a body-only edit from
+ * one that may rebind code in other files (a changed return type retargets
+ * the calls chained through it). The source-level counterpart of the project
+ * graph's file shape: reading it needs no binding-resolved parse, and a
+ * changed import counts as a change.
+ *
+ * <p>Recorded on first use ({@link #record}) and kept current by
+ * {@link #update}; until then, and for a file whose shape was never read,
+ * every edit counts as a change.
+ */
+final class DeclarationShapes {
+
+    private static final Logger log = LoggerFactory.getLogger(DeclarationShapes.class);
+
+    private final IJavaProject project;
+    /** absolute normalized path -> digest of its declarations; {@code null} until recorded. */
+    private Map<String, Long> shapes;
+    private long changes;
+
+    DeclarationShapes(IJavaProject project) {
+        this.project = project;
+    }
+
+    /** Read every source file's shape, unless already recorded. */
+    synchronized void record() {
+        if (shapes != null) {
+            return;
+        }
+        Map<String, Long> recorded = new HashMap<>();
+        try {
+            for (Map.Entry<String, ICompilationUnit> unit : ConstructorDelegationIndex.sourceUnits(project).entrySet()) {
+                Long shape = shapeOf(unit.getValue());
+                if (shape != null) {
+                    recorded.put(unit.getKey(), shape);
+                }
+            }
+        } catch (CoreException e) {
+            log.debug("Could not record declaration shapes: {}", e.getMessage());
+            return;
+        }
+        shapes = recorded;
+    }
+
+    /**
+     * Re-read the shapes of {@code edited} files; whether any differs from
+     * the recorded one. Always {@code true} before {@link #record}.
+     */
+    synchronized boolean update(Collection<Path> edited) {
+        if (shapes == null) {
+            return true;
+        }
+        if (edited.isEmpty()) {
+            return false;
+        }
+        Map<String, ICompilationUnit> units;
+        try {
+            units = ConstructorDelegationIndex.sourceUnits(project);
+        } catch (CoreException e) {
+            shapes = null;
+            return true;
+        }
+        boolean changed = false;
+        for (Path path : edited) {
+            String key = path.toAbsolutePath().normalize().toString();
+            ICompilationUnit unit = units.get(key);
+            Long shape = unit == null ? null : shapeOf(unit);
+            Long previous = shape == null ? shapes.remove(key) : shapes.put(key, shape);
+            if (shape == null || !shape.equals(previous)) {
+                changed = true;
+            }
+        }
+        if (changed) {
+            changes++;
+        }
+        return changed;
+    }
+
+    synchronized void clear() {
+        shapes = null;
+    }
+
+    /** The digest of {@code unit}'s declarations, or {@code null} when the model cannot read them. */
+    private static Long shapeOf(ICompilationUnit unit) {
+        StringBuilder shape = new StringBuilder();
+        try {
+            for (IPackageDeclaration pkg : unit.getPackageDeclarations()) {
+                shape.append("package ").append(pkg.getElementName()).append('\n');
+            }
+            for (IImportDeclaration imp : unit.getImports()) {
+                shape.append("import ").append(imp.getFlags()).append(' ').append(imp.getElementName()).append('\n');
+            }
+            for (IType type : unit.getTypes()) {
+                appendType(shape, type);
+            }
+        } catch (JavaModelException e) {
+            return null;
+        }
+        return digest(shape.toString());
+    }
+
+    private static void appendType(StringBuilder shape, IType type) throws JavaModelException {
+        shape.append("type ").append(type.getFullyQualifiedName('.')).append('|').append(type.getFlags())
+            .append('|').append(typeParameters(type.getTypeParameters()))
+            .append('|').append(type.getSuperclassTypeSignature())
+            .append('|').append(String.join(",", type.getSuperInterfaceTypeSignatures())).append('\n');
+        if (type.isRecord()) {
+            for (IField component : type.getRecordComponents()) {
+                shape.append("component ").append(component.getElementName())
+                    .append('|').append(component.getTypeSignature()).append('\n');
+            }
+        }
+        for (IField field : type.getFields()) {
+            shape.append("field ").append(field.getElementName()).append('|').append(field.getFlags())
+                .append('|').append(field.getTypeSignature()).append('\n');
+        }
+        for (IMethod method : type.getMethods()) {
+            shape.append("method ").append(method.getElementName()).append('|').append(method.getFlags())
+                .append('|').append(typeParameters(method.getTypeParameters()))
+                .append('|').append(method.getSignature()).append('\n');
+        }
+        for (IType member : type.getTypes()) {
+            appendType(shape, member);
+        }
+    }
+
+    /** Each type parameter's name and bound signatures, e.g. {@code T:QComparable<TT;>;}. */
+    private static String typeParameters(ITypeParameter[] parameters) throws JavaModelException {
+        StringBuilder text = new StringBuilder();
+        for (ITypeParameter parameter : parameters) {
+            text.append(parameter.getElementName());
+            for (String bound : parameter.getBoundsSignatures()) {
+                text.append(':').append(bound);
+            }
+            text.append(',');
+        }
+        return text.toString();
+    }
+
+    static long digest(String text) {
+        try {
+            byte[] md5 = MessageDigest.getInstance("MD5").digest(text.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(md5).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 unavailable", e);
+        }
+    }
+
+    /** Counters for {@code health_check}. */
+    synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("recorded", shapes != null);
+        stats.put("files", shapes == null ? 0 : shapes.size());
+        stats.put("shapeChanges", changes);
+        return stats;
+    }
+}
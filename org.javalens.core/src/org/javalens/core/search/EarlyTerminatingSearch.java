@@ -0,0 +1,220 @@
+package org.javalens.core.search;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
+import org.eclipse.jdt.core.search.SearchDocument;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.SearchRequestor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * One JDT search that can stop as soon as it has collected enough matches.
+ *
+ * <p>Run exactly, it collects up to {@code cap} matches and counts every one
+ * the engine reports. Run to stop early, the requestor cancels the progress
+ * monitor once {@code cap} matches were accepted; the match locator gives up
+ * at its next cancellation check, so a capped query over a hot symbol pays
+ * for the files it read rather than for all of them. The total of a stopped
+ * search is then an estimate: the candidate documents the index selected
+ * (seen through a pass-through participant) are ranked in the order the
+ * locator visits them, and the observed match count is scaled by candidates
+ * over the documents visited up to the last match.
+ */
+final class EarlyTerminatingSearch {
+
+    private EarlyTerminatingSearch() {
+    }
+
+    /**
+     * Search {@code pattern} in {@code scope}, counting and keeping (up to
+     * {@code cap}) the matches {@code accept} admits. With {@code stopEarly},
+     * stop once {@code cap} are kept and answer with an estimated total.
+     */
+    static SearchResult run(SearchEngine engine, SearchPattern pattern, IJavaSearchScope scope,
+                            Predicate<SearchMatch> accept, int cap, boolean stopEarly) throws CoreException {
+        return run(engine, pattern, scope, accept, cap, stopEarly, new NullProgressMonitor());
+    }
+
+    /**
+     * {@link #run(SearchEngine, SearchPattern, IJavaSearchScope, Predicate, int, boolean)}
+     * under {@code monitor}, which the caller may cancel from another thread:
+     * the search then throws {@link OperationCanceledException}.
+     */
+    static SearchResult run(SearchEngine engine, SearchPattern pattern, IJavaSearchScope scope,
+                            Predicate<SearchMatch> accept, int cap, boolean stopEarly,
+                            IProgressMonitor monitor) throws CoreException {
+        CountingParticipant participant = stopEarly
+            ? new CountingParticipant(SearchEngine.getDefaultSearchParticipant()) : null;
+        Requestor requestor = new Requestor(accept, cap, stopEarly ? monitor : null);
+        try {
+            engine.search(pattern,
+                new SearchParticipant[] {
+                    participant != null ? participant : SearchEngine.getDefaultSearchParticipant() },
+                scope, requestor, monitor);
+        } catch (OperationCanceledException e) {
+            if (!requestor.stopped) {
+                throw e;
+            }
+        }
+        if (!requestor.stopped) {
+            return new SearchResult(requestor.matches, requestor.total);
+        }
+        return new SearchResult(requestor.matches, participant.estimate(requestor.total, requestor.visited),
+            0, null, true);
+    }
+
+    /**
+     * Where the match locator read {@code match} from, in the form of a
+     * {@link SearchDocument#getPath() document path}, or {@code null} when
+     * that cannot be told.
+     */
+    static String documentPath(SearchMatch match) {
+        if (match.getResource() instanceof IFile file) {
+            return file.getFullPath().toString();
+        }
+        if (match.getElement() instanceof IJavaElement element) {
+            IJavaElement classFile = element.getAncestor(IJavaElement.CLASS_FILE);
+            IJavaElement root = element.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+            if (classFile != null && root instanceof IPackageFragmentRoot archive && archive.isArchive()) {
+                String pkg = classFile.getParent().getElementName().replace('.', '/');
+                return archive.getPath() + IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR
+                    + (pkg.isEmpty() ? "" : pkg + "/") + classFile.getElementName();
+            }
+        }
+        return null;
+    }
+
+    /** Collects and counts matches; with a monitor, cancels it once {@code cap} are kept. */
+    private static final class Requestor extends SearchRequestor {
+        private final Predicate<SearchMatch> accept;
+        private final int cap;
+        private final IProgressMonitor monitor;
+        private final List<SearchMatch> matches = new ArrayList<>();
+        private final List<String> visited = new ArrayList<>();
+        private int total;
+        private boolean stopped;
+
+        Requestor(Predicate<SearchMatch> accept, int cap, IProgressMonitor monitor) {
+            this.accept = accept;
+            this.cap = cap;
+            this.monitor = monitor;
+        }
+
+        @Override
+        public void acceptSearchMatch(SearchMatch match) {
+            if (monitor != null) {
+                visited.add(documentPath(match));
+            }
+            if (!accept.test(match)) {
+                return;
+            }
+            total++;
+            if (matches.size() < cap) {
+                matches.add(match);
+            }
+            if (monitor != null && !stopped && total >= cap) {
+                stopped = true;
+                monitor.setCanceled(true);
+            }
+        }
+    }
+
+    /**
+     * The default participant, seen through: remembers the candidate documents
+     * the index query selected before the locator visits them.
+     *
+     * <p>Not being JDT's own participant class, it gets its indexes through
+     * {@link #selectIndexes}, which resolves the same index files.
+     */
+    private static final class CountingParticipant extends SearchParticipant {
+        private final SearchParticipant delegate;
+        private String[] candidates = new String[0];
+
+        CountingParticipant(SearchParticipant delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void beginSearching() {
+            delegate.beginSearching();
+        }
+
+        @Override
+        public void doneSearching() {
+            delegate.doneSearching();
+        }
+
+        @Override
+        public String getDescription() {
+            return delegate.getDescription();
+        }
+
+        @Override
+        public SearchDocument getDocument(String documentPath) {
+            return delegate.getDocument(documentPath);
+        }
+
+        @Override
+        public void indexDocument(SearchDocument document, IPath indexLocation) {
+            delegate.indexDocument(document, indexLocation);
+        }
+
+        @Override
+        public void locateMatches(SearchDocument[] documents, SearchPattern pattern, IJavaSearchScope scope,
+                                  SearchRequestor requestor, IProgressMonitor monitor) throws CoreException {
+            String[] paths = new String[documents.length];
+            for (int i = 0; i < documents.length; i++) {
+                paths[i] = documents[i].getPath();
+            }
+            // The locator visits documents in path order.
+            Arrays.sort(paths);
+            candidates = paths;
+            delegate.locateMatches(documents, pattern, scope, requestor, monitor);
+        }
+
+        @Override
+        public IPath[] selectIndexes(SearchPattern pattern, IJavaSearchScope scope) {
+            return delegate.selectIndexes(pattern, scope);
+        }
+
+        /**
+         * {@code observed} matches scaled from the documents visited up to the
+         * furthest one a match came from to all candidates; never below
+         * {@code observed}.
+         */
+        int estimate(int observed, List<String> visitedPaths) {
+            Map<String, Integer> rank = new HashMap<>(candidates.length * 2);
+            for (int i = 0; i < candidates.length; i++) {
+                rank.putIfAbsent(candidates[i], i);
+            }
+            int furthest = -1;
+            for (String path : visitedPaths) {
+                Integer r = path == null ? null : rank.get(path);
+                if (r != null && r > furthest) {
+                    furthest = r;
+                }
+            }
+            if (furthest < 0) {
+                return observed;
+            }
+            long scaled = Math.round((double) observed * candidates.length / (furthest + 1));
+            return (int) Math.min(Integer.MAX_VALUE, Math.max(observed, scaled));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package org.javalens.core.search;
+
+import org.eclipse.jdt.core.search.SearchMatch;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Full match lists behind paginated {@link SearchService} answers, so a
+ * continuation cursor reads the next page without searching again.
+ *
+ * <p>A set lives while its cursors keep being used (a sliding expiry) and no
+ * disk-sync repair has happened since it was opened: any repair may move or
+ * add matches, so {@link #clear} drops every set and outstanding cursors stop
+ * resolving. Sets are evicted least recently used once their summed match
+ * count exceeds the budget. A cursor names its set and the offset of the page
+ * it continues with; it only resolves for the query that opened the set.
+ *
+ * <p>A search that stopped early has no set behind it. Its page carries a
+ * resume cursor ({@link #resumeCursor}), which names no set but an offset,
+ * the query, and the repair generation it was issued in: the owner answers it
+ * by running the full search and reading the page there with {@link #pageAt}.
+ * Like a set's cursor, it stops resolving after a repair, since the full
+ * search would then page through a different list.
+ */
+final class ResultSetStore {
+
+    static final int DEFAULT_BUDGET = 200_000;
+    static final long DEFAULT_TTL_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private static final class ResultSet {
+        final SearchCache.Key query;
+        final SearchResult full;
+        long expiresAt;
+
+        ResultSet(SearchCache.Key query, SearchResult full, long expiresAt) {
+            this.query = query;
+            this.full = full;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final LinkedHashMap<Long, ResultSet> sets = new LinkedHashMap<>(16, 0.75f, true);
+    private final int budget;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private long weight;
+    private long nextId = 1;
+    /** Repairs seen; a resume cursor only resolves in the generation that issued it. */
+    private long generation;
+    private long opened;
+    private long served;
+    private long rejected;
+
+    ResultSetStore() {
+        this(DEFAULT_BUDGET, DEFAULT_TTL_NANOS, System::nanoTime);
+    }
+
+    ResultSetStore(int budget, long ttlNanos, LongSupplier clock) {
+        this.budget = budget;
+        this.ttlNanos = ttlNanos;
+        this.clock = clock;
+    }
+
+    /**
+     * The first {@code pageSize} matches of {@code full}; when more were
+     * retained, the rest are kept under a new set and the page carries the
+     * cursor to them.
+     */
+    synchronized SearchResult firstPage(SearchCache.Key query, SearchResult full, int pageSize) {
+        return pageAt(query, full, 0, pageSize);
+    }
+
+    /**
+     * The {@code pageSize} matches of {@code full} from {@code offset}; when
+     * more were retained after them, {@code full} is kept under a new set and
+     * the page carries the cursor to the rest.
+     */
+    synchronized SearchResult pageAt(SearchCache.Key query, SearchResult full, int offset, int pageSize) {
+        List<SearchMatch> all = full.matches();
+        int from = Math.min(Math.max(0, offset), all.size());
+        int to = Math.min(all.size(), from + Math.max(0, pageSize));
+        if (from == 0 && to == all.size()) {
+            return full;
+        }
+        List<SearchMatch> page = List.copyOf(all.subList(from, to));
+        if (to == all.size() || all.size() > budget) {
+            return new SearchResult(page, full.totalEncountered(), from, null);
+        }
+        long id = nextId++;
+        sets.put(id, new ResultSet(query, full, clock.getAsLong() + ttlNanos));
+        weight += all.size();
+        opened++;
+        evict(id);
+        return new SearchResult(page, full.totalEncountered(), from, cursor(id, to));
+    }
+
+    /**
+     * A cursor that names no set: the owner resumes {@code query} at
+     * {@code offset} by searching in full, as long as no repair happens first.
+     */
+    synchronized String resumeCursor(SearchCache.Key query, int offset) {
+        return cursor(0, offset) + "." + Integer.toUnsignedString(query.hashCode(), 36)
+            + "." + Long.toString(generation, 36);
+    }
+
+    /** Whether {@code cursor} has the form of a {@link #resumeCursor}. */
+    static boolean isResumeCursor(String cursor) {
+        return cursor != null && cursor.startsWith("0.") && cursor.split("\\.", -1).length == 4;
+    }
+
+    /**
+     * The offset a {@link #resumeCursor} continues {@code query} at, or -1
+     * when it is malformed, was issued for another query, or a repair has
+     * happened since.
+     */
+    synchronized int resumeOffset(String cursor, SearchCache.Key query) {
+        String[] parts = isResumeCursor(cursor) ? cursor.split("\\.") : null;
+        long[] parsed = parts == null ? null : parse(parts[0] + "." + parts[1]);
+        if (parsed == null
+                || !parts[2].equals(Integer.toUnsignedString(query.hashCode(), 36))
+                || !parts[3].equals(Long.toString(generation, 36))) {
+            rejected++;
+            return -1;
+        }
+        return (int) parsed[1];
+    }
+
+    /**
+     * The page {@code cursor} points at, or {@code null} when the cursor is
+     * malformed, expired, cleared by a repair, or was opened by a different
+     * query.
+     */
+    synchronized SearchResult page(String cursor, SearchCache.Key query, int pageSize) {
+        long[] parsed = parse(cursor);
+        ResultSet set = parsed == null ? null : sets.get(parsed[0]);
+        long now = clock.getAsLong();
+        if (set != null && now - set.expiresAt > 0) {
+            remove(parsed[0]);
+            set = null;
+        }
+        if (set == null || !set.query.equals(query) || parsed[1] > set.full.matches().size()) {
+            rejected++;
+            return null;
+        }
+        set.expiresAt = now + ttlNanos;
+        served++;
+        List<SearchMatch> all = set.full.matches();
+        int from = (int) parsed[1];
+        int to = Math.min(all.size(), from + Math.max(0, pageSize));
+        String next = to < all.size() ? cursor(parsed[0], to) : null;
+        return new SearchResult(List.copyOf(all.subList(from, to)), set.full.totalEncountered(), from, next);
+    }
+
+    private static String cursor(long id, int offset) {
+        return Long.toString(id, 36) + "." + Integer.toString(offset, 36);
+    }
+
+    private static long[] parse(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        int dot = cursor.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        try {
+            long id = Long.parseLong(cursor.substring(0, dot), 36);
+            long offset = Integer.parseInt(cursor.substring(dot + 1), 36);
+            return offset < 0 ? null : new long[]{ id, offset };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void evict(long keep) {
+        Iterator<Map.Entry<Long, ResultSet>> eldest = sets.entrySet().iterator();
+        while (weight > budget && eldest.hasNext()) {
+            Map.Entry<Long, ResultSet> entry = eldest.next();
+            if (entry.getKey() != keep) {
+                weight -= entry.getValue().full.matches().size();
+                eldest.remove();
+            }
+        }
+    }
+
+    private void remove(long id) {
+        ResultSet set = sets.remove(id);
+        if (set != null) {
+            weight -= set.full.matches().size();
+        }
+    }
+
+    /** A repair happened: every open set and resume cursor may be stale. */
+    synchronized void clear() {
+        sets.clear();
+        weight = 0;
+        generation++;
+    }
+
+    /** Counters for {@code health_check}. */
+    synchronized Map<String, Object> stats() {
+        long now = clock.getAsLong();
+        sets.entrySet().removeIf(e -> {
+            boolean expired = now - e.getValue().expiresAt > 0;
+            if (expired) {
+                weight -= e.getValue().full.matches().size();
+            }
+            return expired;
+        });
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("open", sets.size());
+        stats.put("retainedMatches", weight);
+        stats.put("opened", opened);
+        stats.put("pagesServed", served);
+        stats.put("cursorsRejected", rejected);
+        return stats;
+    }
+}
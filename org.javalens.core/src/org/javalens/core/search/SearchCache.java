@@ -0,0 +1,189 @@
+package org.javalens.core.search;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bounded memo of {@link SearchService} answers, kept correct by disk-sync
+ * repairs rather than by expiry.
+ *
+ * <p>Each entry records the files its answer depends on - the target's file
+ * and every file a match lies in - and the simple names a new match would
+ * have to mention (the target's name; for a hierarchy, every type in it). A
+ * repair of edited files drops the entries that depend on one of them or
+ * whose names occur in one of their new contents, since a new reference,
+ * implementor, or subtype names what it refers to. Adds, deletes, classpath
+ * changes, and edits that change a file's declarations (which may rebind
+ * code that names neither) drop everything. Entries are evicted least recently used
+ * once their summed weight (matches, or hierarchy types) exceeds the budget.
+ */
+final class SearchCache {
+
+    static final int DEFAULT_BUDGET = 20_000;
+
+    /** What was asked: operation, target handle, and operation variant; answers are full lists, not pages. */
+    record Key(String operation, String handle, int variant) {
+    }
+
+    /**
+     * @param files absolute normalized paths the answer depends on
+     * @param names identifiers whose appearance in an edited file may change the answer
+     */
+    record Entry(Object value, int weight, Set<String> files, Set<String> names) {
+    }
+
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private int budget;
+    private long weight;
+    private long hits;
+    private long misses;
+    private long invalidated;
+    /** Bumped by every invalidation, so an answer computed across one is not remembered. */
+    private long generation;
+
+    SearchCache(int budget) {
+        this.budget = budget;
+    }
+
+    /** Parse JAVALENS_SEARCH_CACHE: a weight budget, or {@code true} for the default; anything else is off. */
+    static int budgetFromEnvironment(String value) {
+        if (value == null || value.isBlank()) {
+            return 0;
+        }
+        String trimmed = value.trim();
+        if ("true".equalsIgnoreCase(trimmed)) {
+            return DEFAULT_BUDGET;
+        }
+        try {
+            return Math.max(0, Integer.parseInt(trimmed));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    synchronized boolean enabled() {
+        return budget > 0;
+    }
+
+    synchronized void setBudget(int budget) {
+        this.budget = budget;
+        evict();
+    }
+
+    synchronized long generation() {
+        return generation;
+    }
+
+    /** The cached answer for {@code key}, or {@code null}. */
+    synchronized Object get(Key key) {
+        if (budget <= 0) {
+            return null;
+        }
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value();
+    }
+
+    /**
+     * Remember {@code entry}, computed from the model as of {@code since} (a
+     * {@link #generation()}); it is dropped when an invalidation happened in
+     * between, or when it is heavier than the whole budget.
+     */
+    synchronized void put(Key key, Entry entry, long since) {
+        if (budget <= 0 || entry.weight() > budget || since != generation) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            weight -= previous.weight();
+        }
+        weight += entry.weight();
+        evict();
+    }
+
+    private void evict() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (weight > Math.max(budget, 0) && eldest.hasNext()) {
+            weight -= eldest.next().weight();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Drop what a repair may have changed: everything when {@code structural}
+     * (adds, deletes, classpath), otherwise the entries depending on an
+     * edited file or naming something its new content mentions. An edited
+     * file that cannot be read drops everything.
+     */
+    void invalidate(Collection<Path> edited, boolean structural) {
+        if (structural) {
+            clear();
+            return;
+        }
+        Map<String, String> contents = new LinkedHashMap<>();
+        for (Path path : edited) {
+            Path normalized = path.toAbsolutePath().normalize();
+            try {
+                contents.put(normalized.toString(), Files.exists(normalized) ? Files.readString(normalized) : "");
+            } catch (IOException | RuntimeException e) {
+                clear();
+                return;
+            }
+        }
+        synchronized (this) {
+            generation++;
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (affected(entry, contents)) {
+                    weight -= entry.weight();
+                    invalidated++;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private static boolean affected(Entry entry, Map<String, String> contents) {
+        for (Map.Entry<String, String> file : contents.entrySet()) {
+            if (entry.files().contains(file.getKey())) {
+                return true;
+            }
+            for (String name : entry.names()) {
+                if (file.getValue().contains(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    synchronized void clear() {
+        generation++;
+        invalidated += entries.size();
+        entries.clear();
+        weight = 0;
+    }
+
+    /** Counters for {@code health_check}. */
+    synchronized Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("budget", budget);
+        stats.put("entries", entries.size());
+        stats.put("weight", weight);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("invalidated", invalidated);
+        return stats;
+    }
+}
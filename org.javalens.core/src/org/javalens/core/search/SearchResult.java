@@ -13,10 +13,31 @@ import java.util.List;
  * canonical "more matches exist than were returned" signal; tools must use this
  * rather than comparing the post-clip list size to maxResults, which fires a
  * false-positive when the actual count exactly equals the cap.
+ *
+ * <p>A paginated answer is one page of a larger result: {@code offset} is the
+ * position of its first match in the full list, and {@code nextCursor}, when
+ * non-null, continues with the following page (see
+ * {@link SearchService#findReferences(org.eclipse.jdt.core.IJavaElement, int, int, String)}).
+ *
+ * <p>A search that stopped early (see
+ * {@link SearchService#findReferences(org.eclipse.jdt.core.IJavaElement, int, int, String, boolean)})
+ * does not know its total: {@code estimated} is then set, and
+ * {@code totalEncountered} is an extrapolation no smaller than the matches it
+ * actually saw.
  */
-public record SearchResult(List<SearchMatch> matches, int totalEncountered) {
+public record SearchResult(List<SearchMatch> matches, int totalEncountered, int offset, String nextCursor,
+                           boolean estimated) {
+
+    public SearchResult(List<SearchMatch> matches, int totalEncountered) {
+        this(matches, totalEncountered, 0, null, false);
+    }
+
+    public SearchResult(List<SearchMatch> matches, int totalEncountered, int offset, String nextCursor) {
+        this(matches, totalEncountered, offset, nextCursor, false);
+    }
 
+    /** More matches exist after this page than it and the pages before it returned. */
     public boolean truncated() {
-        return totalEncountered > matches.size();
+        return totalEncountered > offset + matches.size();
     }
 }
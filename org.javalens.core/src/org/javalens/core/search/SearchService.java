@@ -1,25 +1,19 @@
 package org.javalens.core.search;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IMethod;
-import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeHierarchy;
-import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTParser;
-import org.eclipse.jdt.core.dom.ASTRequestor;
-import org.eclipse.jdt.core.dom.ASTVisitor;
-import org.eclipse.jdt.core.dom.CompilationUnit;
-import org.eclipse.jdt.core.dom.ConstructorInvocation;
-import org.eclipse.jdt.core.dom.IMethodBinding;
-import org.eclipse.jdt.core.dom.MethodDeclaration;
-import org.eclipse.jdt.core.dom.SuperConstructorInvocation;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.MethodReferenceMatch;
@@ -28,13 +22,24 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
+import org.eclipse.jdt.core.search.TypeNameRequestor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Wraps JDT SearchEngine for AI-optimized queries.
@@ -47,6 +52,35 @@ import java.util.Map;
  *   <li>Inheritance-aware queries</li>
  *   <li>Cross-project search</li>
  * </ul>
+ *
+ * <p>Reference, implementor, and type-hierarchy answers can be memoized in a
+ * {@link SearchCache} ({@link #enableCache}); the owner of disk sync reports
+ * every repair through {@link #invalidateCache} so a remembered answer never
+ * outlives the files it was computed from. An edit that changes a file's
+ * {@link DeclarationShapes declarations} may rebind code anywhere, and drops
+ * every answer.
+ *
+ * <p>Reference answers asked for by page (with a cursor argument, even a
+ * {@code null} one) are paginated: the full match list (up to
+ * {@link #RETAIN_LIMIT}) is computed once, the caller gets its first
+ * {@code maxResults}, and the rest stay in a {@link ResultSetStore} behind the
+ * page's {@link SearchResult#nextCursor()} until a repair or expiry. Passing
+ * that cursor back to the same query reads the next page without searching.
+ *
+ * <p>Reference answers can also be asked for without an exact count: the
+ * search then stops once it holds the page plus {@link #OVERSHOOT} matches
+ * ({@link EarlyTerminatingSearch}) and reports an estimated total. Such a
+ * page's cursor resumes the query by searching in full.
+ *
+ * <p>Source-scope searches (fine-grained type references and
+ * {@link #findAllReferencesInSources}) can fan out over the project's source
+ * roots ({@link #setParallelism}): each root is searched on the search pool
+ * with its own engine and requestor, and the answers are concatenated in
+ * root path order, which is the order one search over all roots visits
+ * documents in, so the matches are the same as a single-threaded search's.
+ * An early-stopping search stops each root at the cap, and cancels the roots
+ * after the one that fills it; their matches are not needed, and the
+ * estimated total counts only the roots that answered.
  */
 public class SearchService {
 
@@ -56,10 +90,43 @@ public class SearchService {
     private final SearchEngine engine;
     private final IJavaSearchScope scope;
     private final IJavaSearchScope sourceScope;
+    private final SearchCache cache = new SearchCache(0);
+    private final DeclarationShapes shapes;
+    private final ResultSetStore resultSets = new ResultSetStore();
+    private final ConstructorDelegationIndex delegations;
+    private final Object symbolLock = new Object();
+    private SymbolIndex symbols = new SymbolIndex();
+    private boolean symbolsBuilt;
+    private final Set<String> pendingSymbolFiles = new HashSet<>();
+
+    /** Matches retained per paginated answer; the count beyond it is still reported. */
+    static final int RETAIN_LIMIT = 100_000;
+
+    /** Matches an early-stopping search collects past the page, so "more exist" is never a guess. */
+    static final int OVERSHOOT = 32;
+
+    /** Matches the sources-only searches keep: project {@code .java} files, not jars or output folders. */
+    private static final Predicate<SearchMatch> JAVA_SOURCE = match ->
+        match.getResource() instanceof org.eclipse.core.resources.IFile f
+            && "java".equalsIgnoreCase(f.getFileExtension());
+
+    private final Object poolLock = new Object();
+    private int parallelism = 1;
+    private ForkJoinPool searchPool;
+    private long fanOuts;
+    private long rootsSearched;
+
+    /** One search behind a paginated answer: up to {@code cap} matches, optionally stopping at the cap. */
+    @FunctionalInterface
+    private interface PagedSearch {
+        SearchResult run(int cap, boolean stopEarly) throws CoreException;
+    }
 
     public SearchService(IJavaProject project) {
         this.project = project;
         this.engine = new SearchEngine();
+        this.delegations = new ConstructorDelegationIndex(project);
+        this.shapes = new DeclarationShapes(project);
         this.scope = SearchEngine.createJavaSearchScope(new IJavaElement[]{ project });
         // Sources-only scope: used by fine-grain searches so common JDK types
         // (e.g. java.lang.String) don't pull every JDK match through the engine.
@@ -153,6 +220,159 @@ public class SearchService {
         return new SearchResult(narrowed, narrowedTotal);
     }
 
+    /** How {@link #searchSymbols(String, Integer, int, SymbolMatchMode, boolean)} reads its query. */
+    public enum SymbolMatchMode {
+        /** {@code *} and {@code ?} wildcards, answered by JDT's index. */
+        GLOB,
+        /** JDT camel humps ({@code NPE}, {@code NuPoEx}), answered by the symbol index. */
+        CAMEL_CASE,
+        /** Ranked case-insensitive subsequence ({@code UsrSvcImpl}), answered by the symbol index. */
+        FUZZY
+    }
+
+    /**
+     * Search declared symbols by camel humps or fuzzily, best match first,
+     * from an in-memory {@link SymbolIndex} of source types, methods, and
+     * fields (and, with {@code includeClasspath}, library types). The index is
+     * built on first use and re-reads only the files disk sync repaired since.
+     * Wildcards in the query are ignored. {@link SymbolMatchMode#GLOB} is the
+     * plain {@link #searchSymbols(String, Integer, int)}.
+     */
+    public SearchResult searchSymbols(String query, Integer searchFor, int maxResults, SymbolMatchMode mode,
+                                      boolean includeClasspath) throws CoreException {
+        if (mode == SymbolMatchMode.GLOB) {
+            return searchSymbols(query, searchFor, maxResults);
+        }
+        int searchForType = searchFor != null ? searchFor : IJavaSearchConstants.TYPE;
+        SymbolIndex.Hits hits;
+        synchronized (symbolLock) {
+            refreshSymbols(includeClasspath);
+            hits = symbols.query(query, mode == SymbolMatchMode.CAMEL_CASE,
+                kind -> acceptsKind(searchForType, kind), includeClasspath, maxResults);
+        }
+
+        SearchParticipant participant = SearchEngine.getDefaultSearchParticipant();
+        List<SearchMatch> matches = new ArrayList<>();
+        for (SymbolIndex.Hit hit : hits.hits()) {
+            if (hit.unit() == null) {
+                IType type = project.findType(hit.qualifiedName());
+                if (type != null) {
+                    matches.add(new SearchMatch(type, SearchMatch.A_ACCURATE, 0, 0, participant, null));
+                }
+            } else if (JavaCore.create(hit.unit()) instanceof ICompilationUnit unit && unit.exists()) {
+                IJavaElement element = unit.getElementAt(hit.offset());
+                if (element != null) {
+                    matches.add(new SearchMatch(element, SearchMatch.A_ACCURATE, hit.offset(),
+                        hit.name().length(), participant, unit.getResource()));
+                }
+            }
+        }
+        log.debug("Symbol index {} search '{}' matched {} name(s)", mode, query, hits.total());
+        return new SearchResult(matches, hits.total());
+    }
+
+    private static boolean acceptsKind(int searchFor, int kind) {
+        return switch (searchFor) {
+            case IJavaSearchConstants.METHOD -> kind == SymbolIndex.METHOD;
+            case IJavaSearchConstants.FIELD -> kind == SymbolIndex.FIELD;
+            case IJavaSearchConstants.CLASS -> kind == SymbolIndex.CLASS;
+            case IJavaSearchConstants.INTERFACE -> kind == SymbolIndex.INTERFACE;
+            case IJavaSearchConstants.ENUM -> kind == SymbolIndex.ENUM;
+            case IJavaSearchConstants.ANNOTATION_TYPE -> kind == SymbolIndex.ANNOTATION;
+            default -> kind != SymbolIndex.METHOD && kind != SymbolIndex.FIELD;
+        };
+    }
+
+    private void refreshSymbols(boolean includeClasspath) throws CoreException {
+        if (!symbolsBuilt) {
+            Map<String, ICompilationUnit> units = ConstructorDelegationIndex.sourceUnits(project);
+            units.forEach(this::indexSymbols);
+            symbolsBuilt = true;
+            pendingSymbolFiles.clear();
+        } else if (!pendingSymbolFiles.isEmpty()) {
+            Map<String, ICompilationUnit> units = ConstructorDelegationIndex.sourceUnits(project);
+            for (String path : pendingSymbolFiles) {
+                ICompilationUnit unit = units.get(path);
+                if (unit == null) {
+                    symbols.removeFile(path);
+                } else {
+                    indexSymbols(path, unit);
+                }
+            }
+            pendingSymbolFiles.clear();
+        }
+        if (includeClasspath && !symbols.classpathLoaded()) {
+            loadClasspathSymbols();
+        }
+    }
+
+    private void indexSymbols(String path, ICompilationUnit unit) {
+        List<SymbolIndex.Declaration> declarations = new ArrayList<>();
+        try {
+            for (IType type : unit.getAllTypes()) {
+                declarations.add(new SymbolIndex.Declaration(type.getElementName(), typeKind(type),
+                    type.getNameRange().getOffset()));
+                for (IMethod method : type.getMethods()) {
+                    if (!method.isConstructor()) {
+                        declarations.add(new SymbolIndex.Declaration(method.getElementName(), SymbolIndex.METHOD,
+                            method.getNameRange().getOffset()));
+                    }
+                }
+                for (IField field : type.getFields()) {
+                    declarations.add(new SymbolIndex.Declaration(field.getElementName(), SymbolIndex.FIELD,
+                        field.getNameRange().getOffset()));
+                }
+            }
+        } catch (CoreException e) {
+            log.debug("Could not index symbols of {}: {}", path, e.getMessage());
+        }
+        symbols.replaceFile(path, unit.getHandleIdentifier(), declarations);
+    }
+
+    private static byte typeKind(IType type) throws CoreException {
+        if (type.isAnnotation()) {
+            return SymbolIndex.ANNOTATION;
+        }
+        if (type.isInterface()) {
+            return SymbolIndex.INTERFACE;
+        }
+        if (type.isEnum()) {
+            return SymbolIndex.ENUM;
+        }
+        return type.isRecord() ? SymbolIndex.RECORD : SymbolIndex.CLASS;
+    }
+
+    private void loadClasspathSymbols() throws CoreException {
+        IJavaSearchScope libraries = SearchEngine.createJavaSearchScope(new IJavaElement[]{ project },
+            IJavaSearchScope.APPLICATION_LIBRARIES | IJavaSearchScope.SYSTEM_LIBRARIES);
+        engine.searchAllTypeNames(null, SearchPattern.R_PATTERN_MATCH, null, SearchPattern.R_PATTERN_MATCH,
+            IJavaSearchConstants.TYPE, libraries, new TypeNameRequestor() {
+                @Override
+                public void acceptType(int modifiers, char[] packageName, char[] simpleTypeName,
+                                       char[][] enclosingTypeNames, String path) {
+                    if (simpleTypeName.length == 0 || Character.isDigit(simpleTypeName[0])) {
+                        return;
+                    }
+                    StringBuilder qualified = new StringBuilder();
+                    if (packageName.length > 0) {
+                        qualified.append(packageName).append('.');
+                    }
+                    for (char[] enclosing : enclosingTypeNames) {
+                        qualified.append(enclosing).append('.');
+                    }
+                    qualified.append(simpleTypeName);
+                    byte kind = Flags.isAnnotation(modifiers) ? SymbolIndex.ANNOTATION
+                        : Flags.isInterface(modifiers) ? SymbolIndex.INTERFACE
+                        : Flags.isEnum(modifiers) ? SymbolIndex.ENUM
+                        : Flags.isRecord(modifiers) ? SymbolIndex.RECORD
+                        : SymbolIndex.CLASS;
+                    symbols.addClasspathType(new String(simpleTypeName), qualified.toString(), kind);
+                }
+            }, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, new NullProgressMonitor());
+        symbols.markClasspathLoaded();
+        log.debug("Symbol index loaded classpath types; {} symbols in all", symbols.size());
+    }
+
     private static String simpleNameOf(SearchMatch m) {
         Object element = m.getElement();
         if (element instanceof org.eclipse.jdt.core.IJavaElement je) {
@@ -170,6 +390,108 @@ public class SearchService {
      * @return List of reference locations
      */
     public SearchResult findReferences(IJavaElement element, int limitTo, int maxResults) throws CoreException {
+        SearchCache.Key key = new SearchCache.Key("references", element.getHandleIdentifier(), limitTo);
+        return clipped(key, element, maxResults,
+            (cap, stopEarly) -> searchReferences(element, limitTo, cap, false));
+    }
+
+    /**
+     * One page of {@link #findReferences(IJavaElement, int, int)}: the first
+     * {@code maxResults} when {@code cursor} is null, otherwise the page the
+     * cursor (from an earlier page of the same query) points at. Returns
+     * {@code null} for a cursor that is unknown, expired, cleared by a repair,
+     * or belongs to another query.
+     */
+    public SearchResult findReferences(IJavaElement element, int limitTo, int maxResults, String cursor)
+            throws CoreException {
+        return findReferences(element, limitTo, maxResults, cursor, true);
+    }
+
+    /**
+     * {@link #findReferences(IJavaElement, int, int, String)}, optionally
+     * without an exact count: unless the full answer is cached, a first page
+     * with {@code exactCount} false stops searching once it has
+     * {@code maxResults} plus {@link #OVERSHOOT} matches, and when it did stop,
+     * its total is {@linkplain SearchResult#estimated() estimated}.
+     */
+    public SearchResult findReferences(IJavaElement element, int limitTo, int maxResults, String cursor,
+                                       boolean exactCount) throws CoreException {
+        SearchCache.Key key = new SearchCache.Key("references", element.getHandleIdentifier(), limitTo);
+        return paged(key, element, cursor, maxResults, exactCount,
+            (cap, stopEarly) -> searchReferences(element, limitTo, cap, stopEarly));
+    }
+
+    /**
+     * The first {@code maxResults} matches of the answer {@code search}
+     * computes for {@code key}, with the full count. Nothing pages through
+     * them, so no result set is opened and no cap but {@code maxResults}
+     * applies: a cached answer serves when it holds that many, otherwise the
+     * search keeps exactly {@code maxResults}, and its answer is remembered
+     * only when nothing was clipped.
+     */
+    private SearchResult clipped(SearchCache.Key key, IJavaElement target, int maxResults, PagedSearch search)
+            throws CoreException {
+        SearchResult cached = (SearchResult) cache.get(key);
+        if (cached == null || cached.matches().size() < Math.min(maxResults, cached.totalEncountered())) {
+            long since = cache.generation();
+            SearchResult answer = search.run(Math.max(0, maxResults), false);
+            if (answer.matches().size() < answer.totalEncountered()) {
+                return answer;
+            }
+            cached = remember(key, answer, target, since);
+        }
+        return clip(cached, maxResults);
+    }
+
+    /** The first {@code maxResults} matches of {@code full}, with its count. */
+    private static SearchResult clip(SearchResult full, int maxResults) {
+        List<SearchMatch> all = full.matches();
+        if (all.size() <= maxResults) {
+            return full;
+        }
+        return new SearchResult(List.copyOf(all.subList(0, Math.max(0, maxResults))), full.totalEncountered());
+    }
+
+    /**
+     * A page of the answer {@code search} computes for {@code key}: the page a
+     * cursor points at (resuming a stopped search in full), or the first page,
+     * from the cache, an early-stopping search, or a full search.
+     */
+    private SearchResult paged(SearchCache.Key key, IJavaElement target, String cursor, int maxResults,
+                               boolean exactCount, PagedSearch search) throws CoreException {
+        if (ResultSetStore.isResumeCursor(cursor)) {
+            int resume = resultSets.resumeOffset(cursor, key);
+            if (resume < 0) {
+                return null;
+            }
+            SearchResult cached = (SearchResult) cache.get(key);
+            if (cached == null) {
+                long since = cache.generation();
+                cached = remember(key, search.run(RETAIN_LIMIT, false), target, since);
+            }
+            return resultSets.pageAt(key, cached, resume, maxResults);
+        }
+        if (cursor != null) {
+            return resultSets.page(cursor, key, maxResults);
+        }
+        SearchResult cached = (SearchResult) cache.get(key);
+        if (cached == null) {
+            long since = cache.generation();
+            SearchResult answer = exactCount || maxResults >= RETAIN_LIMIT - OVERSHOOT
+                ? search.run(RETAIN_LIMIT, false)
+                : search.run(maxResults + OVERSHOOT, true);
+            if (answer.estimated()) {
+                List<SearchMatch> page = List.copyOf(answer.matches().subList(0, maxResults));
+                return new SearchResult(page, answer.totalEncountered(), 0,
+                    resultSets.resumeCursor(key, maxResults), true);
+            }
+            cached = remember(key, answer, target, since);
+        }
+        return resultSets.firstPage(key, cached, maxResults);
+    }
+
+    private SearchResult searchReferences(IJavaElement element, int limitTo, int maxResults, boolean stopEarly)
+            throws CoreException {
         SearchPattern pattern = SearchPattern.createPattern(
             element,
             limitTo
@@ -180,27 +502,20 @@ public class SearchService {
             return new SearchResult(List.of(), 0);
         }
 
-        CollectingSearchRequestor requestor = new CollectingSearchRequestor(maxResults);
-
-        engine.search(
-            pattern,
-            new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
-            scope,
-            requestor,
-            new NullProgressMonitor()
-        );
+        SearchResult result = EarlyTerminatingSearch.run(engine, pattern, scope, match -> true,
+            maxResults, stopEarly);
 
-        log.debug("Reference search for {} found {} results (total encountered={})",
-            element.getElementName(), requestor.getMatches().size(), requestor.getTotalEncountered());
-
-        SearchResult result = requestor.toResult();
+        log.debug("Reference search for {} found {} results (total {}={})", element.getElementName(),
+            result.matches().size(), result.estimated() ? "estimated" : "encountered", result.totalEncountered());
 
         // JDT's indexed reference search misses constructor delegations
         // (super(...)/this(...)) that are NOT the first statement of a constructor —
         // the shape introduced by JEP 513 flexible constructor bodies (Java 25).
-        // Supplement the result with an AST scan so those call sites are reported by
-        // every reference-based tool (find_references, change_method_signature, rename,
-        // call hierarchy) the same as a first-statement delegation.
+        // Supplement the result from an index of explicit delegations so those call
+        // sites are reported by every reference-based tool (find_references,
+        // change_method_signature, rename, call hierarchy) the same as a
+        // first-statement delegation. The index lookup is cheap, so a search that
+        // stopped early is supplemented too, before its page is clipped.
         if (element instanceof IMethod m && isConstructor(m)
                 && (limitTo == IJavaSearchConstants.REFERENCES
                     || limitTo == IJavaSearchConstants.ALL_OCCURRENCES)) {
@@ -221,12 +536,21 @@ public class SearchService {
      * Add explicit {@code super(...)} / {@code this(...)} delegations that bind to
      * {@code constructor} but were not returned by the indexed search (JDT misses
      * the ones that are not the first statement of a flexible constructor body).
-     * Delegations already present in {@code base} are not duplicated.
+     * They come from the {@link ConstructorDelegationIndex}, so only its first use
+     * and the files repaired since parse anything. Delegations already present
+     * in {@code base} are not duplicated.
+     *
+     * <p>Each delegation goes where the locator would have reported it: before
+     * the first match of {@code base} that comes after it in document order.
+     * When {@code base} is only a prefix of the answer (it stopped early or was
+     * clipped), a delegation that would come after all of it is counted but not
+     * placed, so a first page is always a prefix of the full answer.
      */
     private SearchResult supplementConstructorDelegations(IMethod constructor, SearchResult base, int maxResults) {
         try {
-            ICompilationUnit[] units = collectSourceCompilationUnits();
-            if (units.length == 0) {
+            List<ConstructorDelegationIndex.Delegation> indexed =
+                delegations.delegationsTo(constructor.getHandleIdentifier());
+            if (indexed.isEmpty()) {
                 return base;
             }
 
@@ -235,88 +559,46 @@ public class SearchService {
             // for a delegation falls inside the call node, so containment is the test.
             Map<String, List<Integer>> seen = new HashMap<>();
             for (SearchMatch existing : base.matches()) {
-                if (existing.getResource() != null && existing.getResource().getLocation() != null) {
-                    seen.computeIfAbsent(existing.getResource().getLocation().toOSString(),
-                        k -> new ArrayList<>()).add(existing.getOffset());
+                String location = ConstructorDelegationIndex.location(existing.getResource());
+                if (location != null) {
+                    seen.computeIfAbsent(location, k -> new ArrayList<>()).add(existing.getOffset());
                 }
             }
 
-            String targetHandle = constructor.getHandleIdentifier();
             SearchParticipant participant = SearchEngine.getDefaultSearchParticipant();
             List<SearchMatch> added = new ArrayList<>();
-
-            ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-            parser.setResolveBindings(true);
-            parser.setProject(project);
-            parser.createASTs(units, new String[0], new ASTRequestor() {
-                @Override
-                public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
-                    ast.accept(new ASTVisitor() {
-                        @Override
-                        public boolean visit(SuperConstructorInvocation node) {
-                            consider(source, node, node.resolveConstructorBinding());
-                            return true;
-                        }
-                        @Override
-                        public boolean visit(ConstructorInvocation node) {
-                            consider(source, node, node.resolveConstructorBinding());
-                            return true;
-                        }
-                        private void consider(ICompilationUnit source, ASTNode node, IMethodBinding binding) {
-                            if (binding == null) {
-                                return;
-                            }
-                            IJavaElement bound = binding.getJavaElement();
-                            if (bound == null || !targetHandle.equals(bound.getHandleIdentifier())) {
-                                return;
-                            }
-                            int start = node.getStartPosition();
-                            int length = node.getLength();
-                            if (alreadySeen(source, start, length)) {
-                                return;
-                            }
-                            try {
-                                added.add(new MethodReferenceMatch(
-                                    enclosingElement(source, node),
-                                    SearchMatch.A_ACCURATE, start, length,
-                                    false, participant, source.getResource()));
-                            } catch (Exception e) {
-                                log.debug("Could not synthesize delegation match: {}", e.getMessage());
-                            }
-                        }
-                        private boolean alreadySeen(ICompilationUnit source, int start, int length) {
-                            if (source.getResource() == null || source.getResource().getLocation() == null) {
-                                return false;
-                            }
-                            List<Integer> offsets = seen.get(source.getResource().getLocation().toOSString());
-                            if (offsets == null) {
-                                return false;
-                            }
-                            for (int off : offsets) {
-                                if (off >= start && off <= start + length) {
-                                    return true;
-                                }
-                            }
-                            return false;
-                        }
-                    });
+            for (ConstructorDelegationIndex.Delegation delegation : indexed) {
+                if (alreadySeen(seen.get(delegation.path()), delegation.start(), delegation.length())) {
+                    continue;
                 }
-            }, new NullProgressMonitor());
+                IJavaElement unit = JavaCore.create(delegation.unitHandle());
+                IJavaElement enclosing = JavaCore.create(delegation.enclosingHandle());
+                if (unit == null || enclosing == null) {
+                    continue;
+                }
+                added.add(new MethodReferenceMatch(enclosing, SearchMatch.A_ACCURATE,
+                    delegation.start(), delegation.length(), false, participant, unit.getResource()));
+            }
 
             if (added.isEmpty()) {
                 return base;
             }
 
+            added.sort(SearchService::compareDocumentOrder);
+            boolean partial = base.estimated() || base.matches().size() < base.totalEncountered();
             List<SearchMatch> merged = new ArrayList<>(base.matches());
             for (SearchMatch m : added) {
-                if (merged.size() >= maxResults) {
-                    break;
+                int at = insertionPoint(merged, m);
+                if (at < merged.size() || !partial) {
+                    merged.add(at, m);
                 }
-                merged.add(m);
+            }
+            if (merged.size() > maxResults) {
+                merged.subList(Math.max(0, maxResults), merged.size()).clear();
             }
             log.debug("Supplemented constructor {} with {} flexible-body delegation match(es)",
                 constructor.getElementName(), added.size());
-            return new SearchResult(merged, base.totalEncountered() + added.size());
+            return new SearchResult(merged, base.totalEncountered() + added.size(), 0, null, base.estimated());
         } catch (Exception e) {
             log.warn("Could not supplement constructor delegations for {}: {}",
                 constructor.getElementName(), e.getMessage());
@@ -324,36 +606,34 @@ public class SearchService {
         }
     }
 
-    /** The enclosing method/type element of a node, for the synthesized match's element. */
-    private IJavaElement enclosingElement(ICompilationUnit source, ASTNode node) {
-        ASTNode n = node;
-        while (n != null && !(n instanceof MethodDeclaration)) {
-            n = n.getParent();
-        }
-        if (n instanceof MethodDeclaration md && md.resolveBinding() != null) {
-            IJavaElement el = md.resolveBinding().getJavaElement();
-            if (el != null) {
-                return el;
+    /** Where {@code match} goes in {@code matches}: before the first match that comes after it. */
+    private static int insertionPoint(List<SearchMatch> matches, SearchMatch match) {
+        for (int i = 0; i < matches.size(); i++) {
+            if (EarlyTerminatingSearch.documentPath(matches.get(i)) != null
+                    && compareDocumentOrder(matches.get(i), match) > 0) {
+                return i;
             }
         }
-        return source;
+        return matches.size();
     }
 
-    private ICompilationUnit[] collectSourceCompilationUnits() throws CoreException {
-        List<ICompilationUnit> units = new ArrayList<>();
-        for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
-            if (root.getKind() != IPackageFragmentRoot.K_SOURCE) {
-                continue;
-            }
-            for (IJavaElement child : root.getChildren()) {
-                if (child instanceof IPackageFragment pkg) {
-                    for (ICompilationUnit cu : pkg.getCompilationUnits()) {
-                        units.add(cu);
-                    }
-                }
+    /** The order the match locator reports matches in: by document path, then offset. */
+    private static int compareDocumentOrder(SearchMatch a, SearchMatch b) {
+        int byPath = Comparator.nullsLast(Comparator.<String>naturalOrder())
+            .compare(EarlyTerminatingSearch.documentPath(a), EarlyTerminatingSearch.documentPath(b));
+        return byPath != 0 ? byPath : Integer.compare(a.getOffset(), b.getOffset());
+    }
+
+    private static boolean alreadySeen(List<Integer> offsets, int start, int length) {
+        if (offsets == null) {
+            return false;
+        }
+        for (int off : offsets) {
+            if (off >= start && off <= start + length) {
+                return true;
             }
         }
-        return units.toArray(new ICompilationUnit[0]);
+        return false;
     }
 
     /**
@@ -363,6 +643,17 @@ public class SearchService {
         return findReferences(element, IJavaSearchConstants.REFERENCES, maxResults);
     }
 
+    /** A page of {@link #findAllReferences(IJavaElement, int)}; see the paginated {@code findReferences}. */
+    public SearchResult findAllReferences(IJavaElement element, int maxResults, String cursor) throws CoreException {
+        return findReferences(element, IJavaSearchConstants.REFERENCES, maxResults, cursor);
+    }
+
+    /** {@link #findAllReferences(IJavaElement, int, String)}, optionally stopping early; see {@code findReferences}. */
+    public SearchResult findAllReferences(IJavaElement element, int maxResults, String cursor, boolean exactCount)
+            throws CoreException {
+        return findReferences(element, IJavaSearchConstants.REFERENCES, maxResults, cursor, exactCount);
+    }
+
     /**
      * Find references to an element restricted to the project's own SOURCE
      * {@code .java} files. Unlike {@link #findAllReferences}, this uses the
@@ -380,29 +671,128 @@ public class SearchService {
             return new SearchResult(List.of(), 0);
         }
 
-        List<SearchMatch> filtered = new ArrayList<>();
-        int[] totalEncountered = { 0 };
-        engine.search(
-            pattern,
-            new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
-            sourceScope,
-            new SearchRequestor() {
-                @Override
-                public void acceptSearchMatch(SearchMatch match) {
-                    if (match.getResource() instanceof org.eclipse.core.resources.IFile f
-                        && "java".equalsIgnoreCase(f.getFileExtension())) {
-                        totalEncountered[0]++;
-                        if (filtered.size() < maxResults) {
-                            filtered.add(match);
-                        }
-                    }
-                }
-            },
-            new NullProgressMonitor()
-        );
+        SearchResult result = searchSources(
+            () -> SearchPattern.createPattern(element, IJavaSearchConstants.REFERENCES), maxResults, false);
         log.debug("Source-scoped reference search for {} found {} (.java total={})",
-            element.getElementName(), filtered.size(), totalEncountered[0]);
-        return new SearchResult(filtered, totalEncountered[0]);
+            element.getElementName(), result.matches().size(), result.totalEncountered());
+        return result;
+    }
+
+    /**
+     * Search the project's sources for {@code pattern}, keeping
+     * {@link #JAVA_SOURCE} matches: in one search, or - with parallelism above
+     * one and several source roots - in one search per root on the search
+     * pool, concatenated in root path order and clipped at {@code cap}. Each
+     * root search gets its own pattern, since patterns carry matching state.
+     * With {@code stopEarly}, once the roots read so far hold {@code cap}
+     * matches the later roots are cancelled, and the total is estimated.
+     */
+    private SearchResult searchSources(Supplier<SearchPattern> pattern, int cap, boolean stopEarly)
+            throws CoreException {
+        List<IPackageFragmentRoot> roots = partitionRoots();
+        if (roots.size() < 2) {
+            return EarlyTerminatingSearch.run(engine, pattern.get(), sourceScope, JAVA_SOURCE, cap, stopEarly);
+        }
+        ForkJoinPool pool = searchPool();
+        List<Future<SearchResult>> parts = new ArrayList<>();
+        List<IProgressMonitor> monitors = new ArrayList<>();
+        for (IPackageFragmentRoot root : roots) {
+            IJavaSearchScope rootScope = SearchEngine.createJavaSearchScope(
+                new IJavaElement[]{ root }, IJavaSearchScope.SOURCES);
+            IProgressMonitor monitor = new NullProgressMonitor();
+            monitors.add(monitor);
+            parts.add(pool.submit(() -> EarlyTerminatingSearch.run(new SearchEngine(), pattern.get(), rootScope,
+                JAVA_SOURCE, cap, stopEarly, monitor)));
+        }
+        List<SearchMatch> merged = new ArrayList<>();
+        int total = 0;
+        int searched = 0;
+        boolean estimated = false;
+        for (int i = 0; i < parts.size(); i++) {
+            if (stopEarly && merged.size() >= cap) {
+                // The page is full: the remaining roots would only refine the estimate.
+                monitors.get(i).setCanceled(true);
+                parts.get(i).cancel(false);
+                estimated = true;
+                continue;
+            }
+            SearchResult result = await(parts.get(i));
+            searched++;
+            total += result.totalEncountered();
+            estimated |= result.estimated();
+            for (SearchMatch match : result.matches()) {
+                if (merged.size() >= cap) {
+                    break;
+                }
+                merged.add(match);
+            }
+        }
+        synchronized (poolLock) {
+            fanOuts++;
+            rootsSearched += searched;
+        }
+        return new SearchResult(merged, Math.max(total, merged.size()), 0, null, estimated);
+    }
+
+    /**
+     * The source roots to fan a search out over, in the order one search
+     * visits their documents (by path, a root's path standing for the paths
+     * under it); empty when the search should not fan out.
+     */
+    private List<IPackageFragmentRoot> partitionRoots() throws CoreException {
+        synchronized (poolLock) {
+            if (parallelism <= 1) {
+                return List.of();
+            }
+        }
+        List<IPackageFragmentRoot> roots = new ArrayList<>();
+        for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+            if (root.getKind() == IPackageFragmentRoot.K_SOURCE) {
+                roots.add(root);
+            }
+        }
+        roots.sort(Comparator.comparing(root -> root.getPath().toString() + "/"));
+        return roots;
+    }
+
+    private static SearchResult await(Future<SearchResult> part) throws CoreException {
+        try {
+            return part.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationCanceledException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CoreException ce) {
+                throw ce;
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ForkJoinPool searchPool() {
+        synchronized (poolLock) {
+            if (searchPool == null) {
+                searchPool = new ForkJoinPool(parallelism);
+            }
+            return searchPool;
+        }
+    }
+
+    /**
+     * Threads for source-scope searches ({@code JAVALENS_SEARCH_PARALLELISM});
+     * 1, the default, searches all roots in one search on the caller's thread.
+     */
+    public void setParallelism(int parallelism) {
+        synchronized (poolLock) {
+            this.parallelism = Math.max(1, parallelism);
+            if (searchPool != null) {
+                searchPool.shutdown();
+                searchPool = null;
+            }
+        }
     }
 
     /**
@@ -421,10 +811,33 @@ public class SearchService {
         return findReferences(element, IJavaSearchConstants.WRITE_ACCESSES, maxResults);
     }
 
+    /** A page of {@link #findWriteAccesses(IJavaElement, int)}; see the paginated {@code findReferences}. */
+    public SearchResult findWriteAccesses(IJavaElement element, int maxResults, String cursor) throws CoreException {
+        return findReferences(element, IJavaSearchConstants.WRITE_ACCESSES, maxResults, cursor);
+    }
+
+    /** {@link #findWriteAccesses(IJavaElement, int, String)}, optionally stopping early; see {@code findReferences}. */
+    public SearchResult findWriteAccesses(IJavaElement element, int maxResults, String cursor, boolean exactCount)
+            throws CoreException {
+        return findReferences(element, IJavaSearchConstants.WRITE_ACCESSES, maxResults, cursor, exactCount);
+    }
+
     /**
-     * Find implementations of an interface or overrides of a method.
+     * Find implementations of an interface or overrides of a method: the
+     * first {@code maxResults}, with the full count. Nothing pages through
+     * implementors, so the rest is not kept behind a cursor.
      */
     public SearchResult findImplementations(IJavaElement element, int maxResults) throws CoreException {
+        SearchCache.Key key = new SearchCache.Key("implementations", element.getHandleIdentifier(), 0);
+        SearchResult cached = (SearchResult) cache.get(key);
+        if (cached == null) {
+            long since = cache.generation();
+            cached = remember(key, searchImplementations(element, RETAIN_LIMIT), element, since);
+        }
+        return clip(cached, maxResults);
+    }
+
+    private SearchResult searchImplementations(IJavaElement element, int maxResults) throws CoreException {
         SearchPattern pattern = SearchPattern.createPattern(
             element,
             IJavaSearchConstants.IMPLEMENTORS
@@ -453,7 +866,27 @@ public class SearchService {
      * Fast because it uses the index.
      */
     public ITypeHierarchy getTypeHierarchy(IType type) throws CoreException {
-        return type.newTypeHierarchy(new NullProgressMonitor());
+        SearchCache.Key key = new SearchCache.Key("hierarchy", type.getHandleIdentifier(), 0);
+        ITypeHierarchy cached = (ITypeHierarchy) cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long since = cache.generation();
+        ITypeHierarchy hierarchy = type.newTypeHierarchy(new NullProgressMonitor());
+        if (cache.enabled()) {
+            shapes.record();
+            IType[] types = hierarchy.getAllTypes();
+            Set<String> files = new HashSet<>();
+            Set<String> names = new HashSet<>();
+            addFile(files, type.getResource());
+            names.add(type.getElementName());
+            for (IType member : types) {
+                addFile(files, member.getResource());
+                names.add(member.getElementName());
+            }
+            cache.put(key, new SearchCache.Entry(hierarchy, types.length + 1, files, names), since);
+        }
+        return hierarchy;
     }
 
     /**
@@ -545,7 +978,27 @@ public class SearchService {
      * JDT-unique: LSP cannot distinguish these reference shapes.
      */
     public SearchResult findReferences(IType type, ReferenceKind kind, int maxResults) throws CoreException {
-        return findFineGrainReferences(type, JDT_KIND.get(kind), maxResults);
+        SearchCache.Key key = new SearchCache.Key("typeReferences", type.getHandleIdentifier(), kind.ordinal());
+        return clipped(key, type, maxResults,
+            (cap, stopEarly) -> findFineGrainReferences(type, JDT_KIND.get(kind), cap, false));
+    }
+
+    /** A page of {@link #findReferences(IType, ReferenceKind, int)}; see the paginated {@code findReferences}. */
+    public SearchResult findReferences(IType type, ReferenceKind kind, int maxResults, String cursor)
+            throws CoreException {
+        return findReferences(type, kind, maxResults, cursor, true);
+    }
+
+    /**
+     * {@link #findReferences(IType, ReferenceKind, int, String)}, optionally
+     * stopping early; see
+     * {@link #findReferences(IJavaElement, int, int, String, boolean)}.
+     */
+    public SearchResult findReferences(IType type, ReferenceKind kind, int maxResults, String cursor,
+                                       boolean exactCount) throws CoreException {
+        SearchCache.Key key = new SearchCache.Key("typeReferences", type.getHandleIdentifier(), kind.ordinal());
+        return paged(key, type, cursor, maxResults, exactCount,
+            (cap, stopEarly) -> findFineGrainReferences(type, JDT_KIND.get(kind), cap, stopEarly));
     }
 
     /**
@@ -557,59 +1010,54 @@ public class SearchService {
         return findReferences(method, IJavaSearchConstants.METHOD_REFERENCE_EXPRESSION, maxResults);
     }
 
+    /** A page of {@link #findMethodReferences(IMethod, int)}; see the paginated {@code findReferences}. */
+    public SearchResult findMethodReferences(IMethod method, int maxResults, String cursor) throws CoreException {
+        return findReferences(method, IJavaSearchConstants.METHOD_REFERENCE_EXPRESSION, maxResults, cursor);
+    }
+
+    /** {@link #findMethodReferences(IMethod, int, String)}, optionally stopping early; see {@code findReferences}. */
+    public SearchResult findMethodReferences(IMethod method, int maxResults, String cursor, boolean exactCount)
+            throws CoreException {
+        return findReferences(method, IJavaSearchConstants.METHOD_REFERENCE_EXPRESSION, maxResults, cursor,
+            exactCount);
+    }
+
     /**
      * Helper method for fine-grain type reference searches.
      * Uses string-based pattern for better match info in fine-grain searches.
      */
-    private SearchResult findFineGrainReferences(IType type, int referenceType, int maxResults) throws CoreException {
+    private SearchResult findFineGrainReferences(IType type, int referenceType, int maxResults, boolean stopEarly)
+            throws CoreException {
         // Use $-qualified name for nested types so JDT's string-based pattern matcher
         // resolves the correct IType. Top-level types are unaffected (no $).
         String typeName = type.getFullyQualifiedName('$');
 
-        SearchPattern pattern = SearchPattern.createPattern(
+        Supplier<SearchPattern> pattern = () -> SearchPattern.createPattern(
             typeName,
             IJavaSearchConstants.TYPE,
             referenceType,
             SearchPattern.R_EXACT_MATCH | SearchPattern.R_CASE_SENSITIVE
         );
 
-        if (pattern == null) {
+        if (pattern.get() == null) {
             log.warn("Cannot create fine-grain pattern for type: {} with reference type: {}", typeName, referenceType);
             return new SearchResult(List.of(), 0);
         }
 
-        // Inline filtering requestor: drop matches whose resource isn't a .java IFile
-        // (linked-folder roots, binary entries, JDK jars). Use sourceScope (project
-        // sources only) so common JDK types don't pull every JDK match through.
+        // Filter out matches whose resource isn't a .java IFile (linked-folder roots,
+        // binary entries, JDK jars). Use sourceScope (project sources only) so common
+        // JDK types don't pull every JDK match through.
         //
-        // Track the total .java matches separately from the (clipped-at-maxResults)
+        // The total counts .java matches separately from the (clipped-at-maxResults)
         // visible list so callers can detect truncation accurately. Comparing the
         // post-clip list size to maxResults misreports the false-positive case where
         // actual matches == maxResults exactly.
-        List<SearchMatch> filtered = new ArrayList<>();
-        int[] totalEncountered = { 0 };
-        engine.search(
-            pattern,
-            new SearchParticipant[] { SearchEngine.getDefaultSearchParticipant() },
-            sourceScope,
-            new SearchRequestor() {
-                @Override
-                public void acceptSearchMatch(SearchMatch match) {
-                    if (match.getResource() instanceof org.eclipse.core.resources.IFile f
-                        && "java".equalsIgnoreCase(f.getFileExtension())) {
-                        totalEncountered[0]++;
-                        if (filtered.size() < maxResults) {
-                            filtered.add(match);
-                        }
-                    }
-                }
-            },
-            new NullProgressMonitor()
-        );
+        SearchResult result = searchSources(pattern, maxResults, stopEarly);
 
-        log.debug("Fine-grain search for {} (type={}) found {} after .java filter (total={})",
-            type.getFullyQualifiedName(), referenceType, filtered.size(), totalEncountered[0]);
-        return new SearchResult(filtered, totalEncountered[0]);
+        log.debug("Fine-grain search for {} (type={}) found {} after .java filter (total={}{})",
+            type.getFullyQualifiedName(), referenceType, result.matches().size(), result.totalEncountered(),
+            result.estimated() ? ", estimated" : "");
+        return result;
     }
 
     /**
@@ -638,6 +1086,127 @@ public class SearchService {
         return out.toString();
     }
 
+    // ========== Result Cache ==========
+
+    /**
+     * Freeze a full answer, and remember it for {@code key} when the cache is
+     * on: it depends on the target's file and every file a match lies in, and
+     * a new match would have to mention the target's simple name.
+     */
+    private SearchResult remember(SearchCache.Key key, SearchResult result, IJavaElement target, long since) {
+        SearchResult frozen = new SearchResult(List.copyOf(result.matches()), result.totalEncountered());
+        if (!cache.enabled()) {
+            return frozen;
+        }
+        shapes.record();
+        Set<String> files = new HashSet<>();
+        addFile(files, target.getResource());
+        for (SearchMatch match : frozen.matches()) {
+            addFile(files, match.getResource());
+        }
+        cache.put(key, new SearchCache.Entry(frozen, frozen.matches().size() + 1, files,
+            Set.of(target.getElementName())), since);
+        return frozen;
+    }
+
+    private static void addFile(Set<String> files, org.eclipse.core.resources.IResource resource) {
+        if (resource != null && resource.getLocation() != null) {
+            files.add(Path.of(resource.getLocation().toOSString()).toAbsolutePath().normalize().toString());
+        }
+    }
+
+    /**
+     * Memoize reference, implementor, and type-hierarchy answers within a
+     * weight budget (matches, or hierarchy types); 0 turns the cache off and
+     * drops what it holds. Only safe while every disk change reaches
+     * {@link #invalidateCache}.
+     */
+    public void enableCache(int budget) {
+        cache.setBudget(budget);
+    }
+
+    /**
+     * A disk-sync repair happened: {@code edited} files changed in place;
+     * {@code structural} when files were added or deleted or the classpath
+     * moved, which may introduce matches anywhere. An edited file whose
+     * declarations changed counts as structural too: a changed return type
+     * or supertype can rebind references in files that were not edited. Open
+     * result sets are dropped either way, so cursors never page through a
+     * pre-repair list.
+     */
+    public void invalidateCache(Collection<Path> edited, boolean structural) {
+        boolean reshaped = shapes.update(edited);
+        cache.invalidate(edited, structural || reshaped);
+        resultSets.clear();
+    }
+
+    /**
+     * Files a disk-sync repair touched - edited, added, or deleted - for the
+     * constructor delegation and symbol indexes to re-read on their next
+     * lookup; a classpath change may rebind any delegation or move any
+     * library type, and drops both.
+     */
+    public void filesRepaired(Collection<Path> repaired, boolean classpathChanged) {
+        if (classpathChanged) {
+            delegations.clear();
+        } else {
+            delegations.markChanged(repaired);
+        }
+        synchronized (symbolLock) {
+            if (classpathChanged) {
+                symbols = new SymbolIndex();
+                symbolsBuilt = false;
+            } else if (symbolsBuilt) {
+                for (Path path : repaired) {
+                    pendingSymbolFiles.add(path.toAbsolutePath().normalize().toString());
+                }
+            }
+        }
+    }
+
+    /** Symbol index counters for {@code health_check}. */
+    public Map<String, Object> symbolIndexStats() {
+        synchronized (symbolLock) {
+            Map<String, Object> stats = symbols.stats();
+            stats.put("built", symbolsBuilt);
+            stats.put("pending", pendingSymbolFiles.size());
+            return stats;
+        }
+    }
+
+    /** Constructor delegation index counters for {@code health_check}. */
+    public Map<String, Object> delegationIndexStats() {
+        return delegations.stats();
+    }
+
+    /** Source-root fan-out setting and counters for {@code health_check}. */
+    public Map<String, Object> fanOutStats() {
+        synchronized (poolLock) {
+            Map<String, Object> stats = new java.util.LinkedHashMap<>();
+            stats.put("parallelism", parallelism);
+            stats.put("fanOuts", fanOuts);
+            stats.put("rootsSearched", rootsSearched);
+            return stats;
+        }
+    }
+
+    /** Paginated result-set counters for {@code health_check}. */
+    public Map<String, Object> resultSetStats() {
+        return resultSets.stats();
+    }
+
+    /** Result-cache counters for {@code health_check}. */
+    public Map<String, Object> cacheStats() {
+        Map<String, Object> stats = cache.stats();
+        stats.put("declarationShapes", shapes.stats());
+        return stats;
+    }
+
+    /** Parse JAVALENS_SEARCH_CACHE: a weight budget, {@code true} for the default, anything else off. */
+    public static int cacheBudgetFromEnvironment(String value) {
+        return SearchCache.budgetFromEnvironment(value);
+    }
+
     /**
      * Get the search scope.
      */
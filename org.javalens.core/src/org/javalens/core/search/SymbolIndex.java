@@ -0,0 +1,380 @@
+package org.javalens.core.search;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.IntPredicate;
+
+/**
+ * Declared symbol names - source types, methods, and fields, and optionally
+ * classpath types - held for camelCase and fuzzy lookup without touching
+ * JDT's index.
+ *
+ * <p>Distinct names are interned once into a name table of {@code char[]}s
+ * with a 64-bit character-class mask each. Entries are columns: a name id, a
+ * kind byte, and either a source file id and name offset or a qualified name
+ * for classpath types. A query scores each distinct name once - after
+ * rejecting every name whose mask lacks one of the query's characters - and
+ * then walks the entries, keeping only the best {@code maxResults}. A file's
+ * entries are replaced as a unit ({@link #replaceFile}); removed rows are
+ * tombstones until they outnumber live ones, then the columns are compacted
+ * and unreferenced names dropped.
+ */
+final class SymbolIndex {
+
+    static final byte REMOVED = 0;
+    static final byte CLASS = 1;
+    static final byte INTERFACE = 2;
+    static final byte ENUM = 3;
+    static final byte ANNOTATION = 4;
+    static final byte RECORD = 5;
+    static final byte METHOD = 6;
+    static final byte FIELD = 7;
+
+    /** File id of classpath entries, which carry a qualified name instead. */
+    static final int CLASSPATH = -1;
+
+    /** One scored name; {@code unit} is the source unit's handle, null for classpath types. */
+    record Hit(String name, byte kind, String unit, int offset, String qualifiedName, int score) {
+    }
+
+    /** The best hits, best first, and how many names matched in all. */
+    record Hits(List<Hit> hits, int total) {
+    }
+
+    private char[][] nameTable = new char[1024][];
+    private long[] nameMasks = new long[1024];
+    private int nameCount;
+    private final Map<String, Integer> nameIds = new HashMap<>();
+
+    private int[] names = new int[1024];
+    private byte[] kinds = new byte[1024];
+    private int[] files = new int[1024];
+    private int[] offsets = new int[1024];
+    private char[][] qualified = new char[1024][];
+    private int size;
+    private int removed;
+
+    private final Map<String, Integer> fileIds = new HashMap<>();
+    private final List<String> fileUnits = new ArrayList<>();
+    private final Map<Integer, int[]> fileRows = new HashMap<>();
+    private boolean classpathLoaded;
+
+    /** One source declaration to add. */
+    record Declaration(String name, byte kind, int offset) {
+    }
+
+    int size() {
+        return size - removed;
+    }
+
+    boolean classpathLoaded() {
+        return classpathLoaded;
+    }
+
+    /** Replace everything {@code path} declared; an empty list removes the file. */
+    void replaceFile(String path, String unitHandle, List<Declaration> declarations) {
+        Integer id = fileIds.get(path);
+        if (id == null) {
+            id = fileUnits.size();
+            fileIds.put(path, id);
+            fileUnits.add(unitHandle);
+        } else {
+            fileUnits.set(id, unitHandle);
+            int[] rows = fileRows.remove(id);
+            if (rows != null) {
+                for (int row : rows) {
+                    kinds[row] = REMOVED;
+                }
+                removed += rows.length;
+            }
+        }
+        int[] rows = new int[declarations.size()];
+        for (int i = 0; i < rows.length; i++) {
+            Declaration d = declarations.get(i);
+            rows[i] = add(d.name(), d.kind(), id, d.offset(), null);
+        }
+        if (rows.length > 0) {
+            fileRows.put(id, rows);
+        }
+        if (removed > 1024 && removed > size / 2) {
+            compact();
+        }
+    }
+
+    /** Forget {@code path}'s declarations. */
+    void removeFile(String path) {
+        if (fileIds.containsKey(path)) {
+            replaceFile(path, null, List.of());
+        }
+    }
+
+    /** Add a classpath type by simple and qualified name. */
+    void addClasspathType(String simpleName, String qualifiedName, byte kind) {
+        add(simpleName, kind, CLASSPATH, 0, qualifiedName.toCharArray());
+    }
+
+    void markClasspathLoaded() {
+        classpathLoaded = true;
+    }
+
+    private int add(String name, byte kind, int file, int offset, char[] qualifiedName) {
+        if (size == names.length) {
+            int capacity = size * 2;
+            names = Arrays.copyOf(names, capacity);
+            kinds = Arrays.copyOf(kinds, capacity);
+            files = Arrays.copyOf(files, capacity);
+            offsets = Arrays.copyOf(offsets, capacity);
+            qualified = Arrays.copyOf(qualified, capacity);
+        }
+        names[size] = intern(name);
+        kinds[size] = kind;
+        files[size] = file;
+        offsets[size] = offset;
+        qualified[size] = qualifiedName;
+        return size++;
+    }
+
+    private int intern(String name) {
+        Integer id = nameIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (nameCount == nameTable.length) {
+            nameTable = Arrays.copyOf(nameTable, nameCount * 2);
+            nameMasks = Arrays.copyOf(nameMasks, nameCount * 2);
+        }
+        char[] chars = name.toCharArray();
+        nameTable[nameCount] = chars;
+        nameMasks[nameCount] = mask(chars);
+        nameIds.put(name, nameCount);
+        return nameCount++;
+    }
+
+    private void compact() {
+        int to = 0;
+        Map<Integer, List<Integer>> rows = new HashMap<>();
+        for (int from = 0; from < size; from++) {
+            if (kinds[from] == REMOVED) {
+                continue;
+            }
+            names[to] = names[from];
+            kinds[to] = kinds[from];
+            files[to] = files[from];
+            offsets[to] = offsets[from];
+            qualified[to] = qualified[from];
+            if (files[to] != CLASSPATH) {
+                rows.computeIfAbsent(files[to], k -> new ArrayList<>()).add(to);
+            }
+            to++;
+        }
+        Arrays.fill(qualified, to, size, null);
+        size = to;
+        removed = 0;
+        fileRows.clear();
+        rows.forEach((file, list) -> fileRows.put(file, list.stream().mapToInt(Integer::intValue).toArray()));
+
+        char[][] oldTable = nameTable;
+        nameTable = new char[Math.max(1024, nameCount)][];
+        nameMasks = new long[nameTable.length];
+        nameCount = 0;
+        nameIds.clear();
+        Map<Integer, Integer> renumbered = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            int old = names[i];
+            names[i] = renumbered.computeIfAbsent(old, k -> intern(new String(oldTable[k])));
+        }
+    }
+
+    /** Drop the classpath types; the next classpath query reloads them. */
+    void clearClasspath() {
+        for (int i = 0; i < size; i++) {
+            if (files[i] == CLASSPATH && kinds[i] != REMOVED) {
+                kinds[i] = REMOVED;
+                qualified[i] = null;
+                removed++;
+            }
+        }
+        classpathLoaded = false;
+        compact();
+    }
+
+    /**
+     * The best {@code maxResults} names matching {@code query} among the kinds
+     * {@code kindFilter} accepts, best first.
+     *
+     * @param camelCase JDT camel-hump matching (each query hump a prefix of
+     *        successive name humps); otherwise fuzzy, see {@link #fuzzyScore}
+     */
+    Hits query(String query, boolean camelCase, IntPredicate kindFilter,
+               boolean includeClasspath, int maxResults) {
+        char[] pattern = stripWildcards(query);
+        if (pattern.length == 0) {
+            return new Hits(List.of(), 0);
+        }
+        long need = mask(pattern);
+        int[] scores = new int[nameCount];
+        for (int n = 0; n < nameCount; n++) {
+            if ((nameMasks[n] & need) == need) {
+                scores[n] = camelCase ? camelCaseScore(pattern, nameTable[n]) : fuzzyScore(pattern, nameTable[n]);
+            }
+        }
+        boolean[] accepted = new boolean[FIELD + 1];
+        for (int kind = CLASS; kind <= FIELD; kind++) {
+            accepted[kind] = kindFilter.test(kind);
+        }
+        PriorityQueue<int[]> best = new PriorityQueue<>((a, b) -> compare(b, a)); // worst on top
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            int score = scores[names[i]];
+            if (score <= 0 || !accepted[kinds[i]] || (!includeClasspath && files[i] == CLASSPATH)) {
+                continue;
+            }
+            total++;
+            if (maxResults <= 0) {
+                continue;
+            }
+            if (best.size() == maxResults && score < best.peek()[0]) {
+                continue;
+            }
+            int[] candidate = { score, i };
+            if (best.size() < maxResults) {
+                best.add(candidate);
+            } else if (compare(candidate, best.peek()) < 0) {
+                best.poll();
+                best.add(candidate);
+            }
+        }
+        List<int[]> ordered = new ArrayList<>(best);
+        ordered.sort(this::compare);
+        List<Hit> hits = new ArrayList<>(ordered.size());
+        for (int[] entry : ordered) {
+            int row = entry[1];
+            hits.add(new Hit(new String(nameTable[names[row]]), kinds[row],
+                files[row] == CLASSPATH ? null : fileUnits.get(files[row]), offsets[row],
+                qualified[row] == null ? null : new String(qualified[row]), entry[0]));
+        }
+        return new Hits(hits, total);
+    }
+
+    /** Higher score first, then shorter name, then name order. */
+    private int compare(int[] a, int[] b) {
+        if (a[0] != b[0]) {
+            return Integer.compare(b[0], a[0]);
+        }
+        char[] x = nameTable[names[a[1]]];
+        char[] y = nameTable[names[b[1]]];
+        if (x.length != y.length) {
+            return Integer.compare(x.length, y.length);
+        }
+        int byName = CharOperation.compareTo(x, y);
+        return byName != 0 ? byName : Integer.compare(a[1], b[1]);
+    }
+
+    private static char[] stripWildcards(String query) {
+        StringBuilder out = new StringBuilder(query.length());
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c != '*' && c != '?' && !Character.isWhitespace(c)) {
+                out.append(c);
+            }
+        }
+        return out.toString().toCharArray();
+    }
+
+    /** One bit per letter (case-folded), digit, '_' and '$'; other characters share the top bit. */
+    static long mask(char[] chars) {
+        long mask = 0;
+        for (char c : chars) {
+            char lower = Character.toLowerCase(c);
+            if (lower >= 'a' && lower <= 'z') {
+                mask |= 1L << (lower - 'a');
+            } else if (c >= '0' && c <= '9') {
+                mask |= 1L << (26 + c - '0');
+            } else if (c == '_') {
+                mask |= 1L << 36;
+            } else if (c == '$') {
+                mask |= 1L << 37;
+            } else {
+                mask |= 1L << 63;
+            }
+        }
+        return mask;
+    }
+
+    static int camelCaseScore(char[] pattern, char[] name) {
+        if (CharOperation.equals(pattern, name)) {
+            return 1000;
+        }
+        if (CharOperation.prefixEquals(pattern, name)) {
+            return 800;
+        }
+        return CharOperation.camelCaseMatch(pattern, name) ? Math.max(1, 600 - (name.length - pattern.length)) : 0;
+    }
+
+    /**
+     * Case-insensitive ranking: exact 1000, prefix 800, camelCase 600,
+     * substring 400, and otherwise an in-order subsequence (so
+     * {@code UsrSvcImpl} finds {@code UserServiceImpl}) scored by how many of
+     * its characters start a hump and how few gaps it leaves; 0 is no match.
+     */
+    static int fuzzyScore(char[] pattern, char[] name) {
+        if (pattern.length > name.length) {
+            return 0;
+        }
+        // Every tier is also a subsequence, so the greedy walk rejects most names first.
+        int matched = 0;
+        int humps = 0;
+        int gaps = 0;
+        int previous = -1;
+        for (int i = 0; i < name.length && matched < pattern.length; i++) {
+            if (Character.toLowerCase(name[i]) == Character.toLowerCase(pattern[matched])) {
+                if (isHumpStart(name, i)) {
+                    humps++;
+                }
+                if (previous >= 0 && i != previous + 1) {
+                    gaps++;
+                }
+                previous = i;
+                matched++;
+            }
+        }
+        if (matched < pattern.length) {
+            return 0;
+        }
+        if (CharOperation.equals(pattern, name, false)) {
+            return 1000;
+        }
+        if (CharOperation.prefixEquals(pattern, name, false)) {
+            return 800;
+        }
+        if (CharOperation.camelCaseMatch(pattern, name)) {
+            return 600;
+        }
+        if (CharOperation.indexOf(pattern, name, false) >= 0) {
+            return 400;
+        }
+        boolean anchored = Character.toLowerCase(name[0]) == Character.toLowerCase(pattern[0]);
+        return Math.max(1, 200 + 10 * humps - 5 * gaps + (anchored ? 20 : 0));
+    }
+
+    private static boolean isHumpStart(char[] name, int i) {
+        return i == 0 || Character.isUpperCase(name[i]) || name[i - 1] == '_' || name[i - 1] == '$'
+            || (Character.isDigit(name[i]) && !Character.isDigit(name[i - 1]));
+    }
+
+    Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("symbols", size());
+        stats.put("files", fileRows.size());
+        stats.put("distinctNames", nameCount);
+        stats.put("classpathLoaded", classpathLoaded);
+        return stats;
+    }
+}
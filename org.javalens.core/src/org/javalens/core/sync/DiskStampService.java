@@ -1,11 +1,13 @@
 package org.javalens.core.sync;
 
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -18,15 +20,39 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * Disk-truth change detection for the loaded project: content-hash stamps
  * over the source roots plus the build files, compared on demand.
  *
- * <p>Stamps are session-local and never persisted; they are written only from
- * bytes actually read off disk, so a matching stamp proves the analyzed
- * content is byte-identical to the current file (chain of custody). Detection
- * never trusts metadata alone — size and mtime are recorded for diagnostics,
- * but the hash is the authority.
+ * <p>Stamps are session-local by default; they are written only from bytes
+ * actually read off disk, so a matching stamp proves the analyzed content is
+ * byte-identical to the current file (chain of custody). Full hashing
+ * ({@link Verification#fullHash}) is the only mode that never trusts metadata:
+ * every known file is hashed on every verify. The modes below skip hashing a
+ * file whose size and mtime are unchanged, and rely on the hash only for the
+ * files they do read.
+ *
+ * <p>With a {@link StampStore} attached, {@link #stampAll()} seeds from the
+ * previous session's table: a persisted stamp whose size and mtime still
+ * match the file is adopted without hashing, everything else is hashed, and
+ * the repaired table is written back. Load cost then tracks what changed
+ * since the last session rather than project size.
+ *
+ * <p>{@link Verification#tiered} trades some of that cost for scale: a known
+ * file is hashed only when its size or mtime moved since its stamp, plus a
+ * rolling audit sample of unmoved files per verify. The hash still decides
+ * every file it reads, and the audit walks the whole stamp table in order, so
+ * an edit that preserves size and mtime is still caught within
+ * {@code ceil(files / sample)} verifies. {@link #lastVerifyStats()} reports
+ * the per-tier counts.
+ *
+ * <p>{@link #watch()} goes further ({@link DiskSyncMode#WATCHED}): a
+ * {@link SourceTreeWatcher} records the paths touched since the last verify,
+ * and only those are examined - no walk, no hashing of untouched files. Any
+ * doubt about the watcher's completeness falls back to the full walk.
  *
  * <p>The hash is MD5: this is change detection over the user's own source
  * tree, not a security boundary — collision resistance against an adversary
@@ -43,10 +69,99 @@ public final class DiskStampService {
     private static final String SKIP_DIR_PREFIX = "bazel-";
     private static final int HASH_BUFFER_BYTES = 64 * 1024;
 
-    /** Size and mtime are diagnostics only; the hash decides. */
-    record Stamp(long size, long mtimeNanos, String hash) {
+    /**
+     * One file's stamp as a value, used in transit from the hashing workers;
+     * at rest stamps live in a {@link StampTable}. Size and mtime gate hashing
+     * under tiered verification; the 128-bit hash, as two raw words, decides.
+     */
+    record Stamp(long size, long mtimeNanos, long hashHi, long hashLo) {
+
+        boolean sameContent(Stamp other) {
+            return hashHi == other.hashHi && hashLo == other.hashLo;
+        }
+    }
+
+    /** A source file's stamped 128-bit content hash, as two raw words. */
+    public record ContentHash(long hi, long lo) {
+    }
+
+    /**
+     * How {@link #verify()} decides which known files to hash.
+     *
+     * @param tiered          hash only files whose size or mtime moved, plus the audit sample
+     * @param auditSampleSize unmoved files hashed per verify under tiered verification
+     */
+    public record Verification(boolean tiered, int auditSampleSize) {
+
+        public static final int DEFAULT_AUDIT_SAMPLE = 64;
+
+        public Verification {
+            if (auditSampleSize < 0) {
+                throw new IllegalArgumentException("auditSampleSize must be >= 0: " + auditSampleSize);
+            }
+        }
+
+        /** Hash every known file on every verify (the default). */
+        public static Verification fullHash() {
+            return new Verification(false, 0);
+        }
+
+        public static Verification tiered(int auditSampleSize) {
+            return new Verification(true, auditSampleSize);
+        }
+
+        /**
+         * Parse {@code JAVALENS_DISK_SYNC_VERIFY} ("tiered" selects tiered;
+         * anything else is full hashing) and {@code JAVALENS_DISK_SYNC_AUDIT}
+         * (files per verify; invalid values fall back to the default).
+         */
+        public static Verification fromEnvironment(String mode, String auditSample) {
+            if (mode == null || !mode.trim().equalsIgnoreCase("tiered")) {
+                return fullHash();
+            }
+            int sample = DEFAULT_AUDIT_SAMPLE;
+            if (auditSample != null) {
+                try {
+                    sample = Math.max(0, Integer.parseInt(auditSample.trim()));
+                } catch (NumberFormatException e) {
+                    // keep the default
+                }
+            }
+            return tiered(sample);
+        }
+
+        public String toConfigValue() {
+            return tiered ? "tiered" : "hash";
+        }
     }
 
+    /**
+     * Per-tier work done by the most recent {@link #verify()}: known files
+     * statted by the walk, files hashed because their metadata moved
+     * (every known file under full hashing), and unmoved files hashed by the
+     * audit sample.
+     */
+    public record VerifyStats(int statted, int hashed, int audited) {
+
+        static final VerifyStats NONE = new VerifyStats(0, 0, 0);
+    }
+
+    /**
+     * Work done by the most recent {@link #stampAll()}: source stamps adopted
+     * from the persisted store without hashing, and files hashed.
+     */
+    public record LoadStats(int adopted, int hashed) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(DiskStampService.class);
+
+    /**
+     * Repairs are written back to the store at most this often, so a burst of
+     * one-file repairs does not rewrite the whole table each time; a write
+     * missed at a crash costs only extra hashing at the next load.
+     */
+    static final long PERSIST_INTERVAL_NANOS = 30_000_000_000L;
+
     /**
      * What changed on disk since the stamps were taken. Build files are
      * reported separately because they cannot be repaired per-file - they
@@ -63,24 +178,113 @@ public final class DiskStampService {
 
     private final List<Path> sourceRoots;
     private final List<Path> buildFiles;
-    private final Map<Path, Stamp> sourceStamps = new HashMap<>();
-    private final Map<Path, Stamp> buildStamps = new HashMap<>();
+    private final StampTable sourceStamps = new StampTable();
+    private final StampTable buildStamps = new StampTable();
+    private final Verification verification;
+    private final StampStore store;
+    /** Repairs not yet written back to the store; see {@link #flush()}. */
+    private boolean persistPending;
+    private long lastPersistNanos;
+    private LoadStats lastLoadStats = new LoadStats(0, 0);
+
+    /** Known files in audit order; rebuilt when the stamped set changes. */
+    private List<Path> auditOrder = List.of();
+    private boolean auditOrderStale = true;
+    private int auditCursor;
+    private VerifyStats lastVerifyStats = VerifyStats.NONE;
+    private SourceTreeWatcher watcher;
+    /** Edits between the last stamping and the watch start are invisible to the watcher. */
+    private boolean stampsPredateWatch;
+    private int watchFallbacks;
 
     public DiskStampService(List<Path> sourceRoots, List<Path> buildFiles) {
+        this(sourceRoots, buildFiles, Verification.fullHash());
+    }
+
+    public DiskStampService(List<Path> sourceRoots, List<Path> buildFiles, Verification verification) {
+        this(sourceRoots, buildFiles, verification, null);
+    }
+
+    /**
+     * @param store persisted stamp table to seed from and write back to, or
+     *              {@code null} for session-local stamps
+     */
+    public DiskStampService(List<Path> sourceRoots, List<Path> buildFiles, Verification verification,
+                            StampStore store) {
         this.sourceRoots = sourceRoots.stream().map(DiskStampService::normalize).toList();
         this.buildFiles = buildFiles.stream().map(DiskStampService::normalize).toList();
+        this.verification = verification;
+        this.store = store;
     }
 
-    /** Build (or rebuild) all stamps from current disk content. */
+    public Verification verification() {
+        return verification;
+    }
+
+    /**
+     * Build (or rebuild) all stamps from current disk content, adopting
+     * persisted stamps whose metadata still matches when a store is attached.
+     */
     public synchronized void stampAll() throws IOException {
         sourceStamps.clear();
         buildStamps.clear();
-        sourceStamps.putAll(stampInParallel(walkSources()));
+        auditOrderStale = true;
+        stampsPredateWatch = false;
+
+        StampTable persisted = loadPersisted();
+        List<Path> toHash = new ArrayList<>();
+        for (Map.Entry<Path, BasicFileAttributes> entry : walkSources().entrySet()) {
+            int previous = persisted.idOf(entry.getKey());
+            if (previous >= 0 && persisted.metadataMatches(previous, entry.getValue())) {
+                sourceStamps.copyFrom(persisted, previous);
+            } else {
+                toHash.add(entry.getKey());
+            }
+        }
+        stampInParallel(toHash).forEach(sourceStamps::put);
+        lastLoadStats = new LoadStats(sourceStamps.size() - toHash.size(), toHash.size());
+
         for (Path buildFile : buildFiles) {
             if (Files.isRegularFile(buildFile)) {
                 buildStamps.put(buildFile, stampOf(buildFile));
             }
         }
+        persist();
+    }
+
+    private StampTable loadPersisted() {
+        if (store == null) {
+            return new StampTable();
+        }
+        try {
+            return store.load();
+        } catch (IOException e) {
+            log.warn("Could not read stamp store {}; hashing all files: {}", store.file(), e.getMessage());
+            return new StampTable();
+        }
+    }
+
+    /** Write the source stamps back to the store; a failed write only costs the next load. */
+    private void persist() {
+        persistPending = false;
+        lastPersistNanos = System.nanoTime();
+        if (store == null) {
+            return;
+        }
+        try {
+            store.save(sourceStamps);
+        } catch (IOException e) {
+            log.warn("Could not write stamp store {}: {}", store.file(), e.getMessage());
+        }
+    }
+
+    /** Work done by the most recent {@link #stampAll()}. */
+    public synchronized LoadStats lastLoadStats() {
+        return lastLoadStats;
+    }
+
+    public StampStore store() {
+        return store;
     }
 
     /**
@@ -88,7 +292,7 @@ public final class DiskStampService {
      * each file is hashed independently (still synchronous to the caller).
      * Measured at ~4x wall-time reduction on multi-core machines.
      */
-    private static Map<Path, Stamp> stampInParallel(Set<Path> files) throws IOException {
+    private static Map<Path, Stamp> stampInParallel(Collection<Path> files) throws IOException {
         try {
             return files.parallelStream().collect(
                 java.util.stream.Collectors.toConcurrentMap(file -> file, file -> {
@@ -115,53 +319,130 @@ public final class DiskStampService {
             }
         }
 
-        Set<Path> onDisk = walkSources();
+        if (watcher != null) {
+            SourceTreeWatcher.Dirty dirty = watcher.drain();
+            if (!dirty.full() && !stampsPredateWatch) {
+                return verifyDirty(dirty.paths());
+            }
+            if (dirty.full()) {
+                watchFallbacks++;
+                log.debug("File watcher could not account for every change; walking the source roots");
+            }
+            stampsPredateWatch = false;
+        }
+
+        Map<Path, BasicFileAttributes> onDisk = walkSources();
 
         List<Path> added = new ArrayList<>();
         List<Path> deleted = new ArrayList<>();
-        List<Path> knownOnDisk = new ArrayList<>();
+        List<Path> toHash = new ArrayList<>();
+        Set<Path> unmoved = new HashSet<>();
 
-        for (Path file : onDisk) {
-            if (sourceStamps.containsKey(file)) {
-                knownOnDisk.add(file);
+        for (Map.Entry<Path, BasicFileAttributes> entry : onDisk.entrySet()) {
+            int known = sourceStamps.idOf(entry.getKey());
+            if (known < 0) {
+                added.add(entry.getKey());
+            } else if (!verification.tiered() || !sourceStamps.metadataMatches(known, entry.getValue())) {
+                toHash.add(entry.getKey());
             } else {
-                added.add(file);
+                unmoved.add(entry.getKey());
             }
         }
+        int moved = toHash.size();
+        List<Path> audit = verification.tiered() ? nextAuditSample(unmoved) : List.of();
+        toHash.addAll(audit);
 
-        List<Path> edited;
-        try {
-            edited = knownOnDisk.parallelStream()
-                .filter(file -> {
-                    try {
-                        return !sourceStamps.get(file).hash().equals(hashOf(file));
-                    } catch (IOException e) {
-                        throw new java.io.UncheckedIOException(e);
-                    }
-                })
-                .collect(java.util.stream.Collectors.toCollection(ArrayList::new));
-        } catch (java.io.UncheckedIOException e) {
-            throw e.getCause();
+        List<Path> edited = new ArrayList<>();
+        for (Map.Entry<Path, Stamp> hashed : stampInParallel(toHash).entrySet()) {
+            Path file = hashed.getKey();
+            Stamp current = hashed.getValue();
+            if (!sourceStamps.sameContent(sourceStamps.idOf(file), current)) {
+                edited.add(file);
+            } else {
+                // Same bytes under new metadata (a touch): refresh the stamp from
+                // what was just read so the next verify need not hash it again.
+                sourceStamps.put(file, current);
+            }
         }
-        for (Path known : sourceStamps.keySet()) {
-            if (!onDisk.contains(known)) {
+        for (int id = 0; id < sourceStamps.idLimit(); id++) {
+            Path known = sourceStamps.path(id);
+            if (known != null && !onDisk.containsKey(known)) {
                 deleted.add(known);
             }
         }
 
+        lastVerifyStats = new VerifyStats(moved + unmoved.size(), moved, audit.size());
+        return changeSet(edited, added, deleted, changedBuildFiles());
+    }
+
+    /**
+     * Watched verification: only the paths the watcher reported are examined.
+     * A dirty directory stands for its whole subtree - every file under it on
+     * disk and every stamp under it - which covers created, deleted, and
+     * renamed packages. Every candidate that exists is hashed; the audit
+     * sample is skipped because the watcher also sees metadata-preserving
+     * edits. Build files are still hashed every time.
+     */
+    private ChangeSet verifyDirty(Set<Path> dirtyPaths) throws IOException {
+        Map<Path, BasicFileAttributes> onDisk = new HashMap<>();
+        Set<Path> gone = new HashSet<>();
+        for (Path raw : dirtyPaths) {
+            Path path = normalize(raw);
+            if (!isTracked(path)) {
+                continue;
+            }
+            BasicFileAttributes attrs = readAttributesIfExists(path);
+            if (attrs != null && attrs.isDirectory()) {
+                walkTree(path, onDisk);
+                addStampsUnder(path, gone);
+            } else if (attrs != null && attrs.isRegularFile()) {
+                if (path.getFileName().toString().endsWith(".java")) {
+                    onDisk.put(path, attrs);
+                }
+            } else if (sourceStamps.contains(path)) {
+                gone.add(path);
+            } else {
+                addStampsUnder(path, gone); // a deleted or renamed directory
+            }
+        }
+        gone.removeAll(onDisk.keySet());
+
+        List<Path> added = new ArrayList<>();
+        List<Path> toHash = new ArrayList<>();
+        for (Path file : onDisk.keySet()) {
+            (sourceStamps.contains(file) ? toHash : added).add(file);
+        }
+        List<Path> edited = new ArrayList<>();
+        for (Map.Entry<Path, Stamp> hashed : stampInParallel(toHash).entrySet()) {
+            if (!sourceStamps.sameContent(sourceStamps.idOf(hashed.getKey()), hashed.getValue())) {
+                edited.add(hashed.getKey());
+            } else {
+                sourceStamps.put(hashed.getKey(), hashed.getValue());
+            }
+        }
+
+        lastVerifyStats = new VerifyStats(onDisk.size() + gone.size(), toHash.size(), 0);
+        return changeSet(edited, added, new ArrayList<>(gone), changedBuildFiles());
+    }
+
+    private List<Path> changedBuildFiles() throws IOException {
         List<Path> buildChanged = new ArrayList<>();
         for (Path buildFile : buildFiles) {
-            Stamp known = buildStamps.get(buildFile);
+            int known = buildStamps.idOf(buildFile);
             boolean exists = Files.isRegularFile(buildFile);
-            if (known == null) {
+            if (known < 0) {
                 if (exists) {
                     buildChanged.add(buildFile);
                 }
-            } else if (!exists || !known.hash().equals(hashOf(buildFile))) {
+            } else if (!exists || !buildStamps.sameContent(known, stampOf(buildFile))) {
                 buildChanged.add(buildFile);
             }
         }
+        return buildChanged;
+    }
 
+    private static ChangeSet changeSet(List<Path> edited, List<Path> added, List<Path> deleted,
+                                       List<Path> buildChanged) {
         edited.sort(Comparator.comparing(Path::toString));
         added.sort(Comparator.comparing(Path::toString));
         deleted.sort(Comparator.comparing(Path::toString));
@@ -170,48 +451,200 @@ public final class DiskStampService {
             List.copyOf(deleted), List.copyOf(buildChanged));
     }
 
+    /** Whether {@code path} lies under a source root and outside every skipped directory. */
+    private boolean isTracked(Path path) {
+        for (Path root : sourceRoots) {
+            if (path.startsWith(root)) {
+                for (Path dir = path.getParent(); dir != null && !dir.equals(root); dir = dir.getParent()) {
+                    if (isSkippedDirectory(dir)) {
+                        return false;
+                    }
+                }
+                return path.equals(root) || !Files.isDirectory(path) || !isSkippedDirectory(path);
+            }
+        }
+        return false;
+    }
+
+    private void addStampsUnder(Path dir, Set<Path> into) {
+        for (int id = 0; id < sourceStamps.idLimit(); id++) {
+            Path known = sourceStamps.path(id);
+            if (known != null && known.startsWith(dir)) {
+                into.add(known);
+            }
+        }
+    }
+
+    private static BasicFileAttributes readAttributesIfExists(Path path) throws IOException {
+        try {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (java.nio.file.NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Start watching the source roots ({@link DiskSyncMode#WATCHED}); from now
+     * on {@link #verify()} examines only the paths the watcher reports dirty,
+     * falling back to a full walk whenever it cannot vouch for completeness.
+     * When stamps already exist, the first verify after this call still walks,
+     * since edits made before the watch started were never reported.
+     *
+     * @throws IOException when the platform cannot watch the roots natively
+     */
+    public synchronized void watch() throws IOException {
+        stopWatching();
+        watcher = SourceTreeWatcher.start(sourceRoots, DiskStampService::isSkippedDirectory);
+        stampsPredateWatch = !sourceStamps.isEmpty();
+    }
+
+    /** Stop watching; {@link #verify()} walks the roots again. */
+    public synchronized void stopWatching() {
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                log.debug("Closing file watcher failed: {}", e.getMessage());
+            }
+            watcher = null;
+        }
+    }
+
+    public synchronized boolean isWatching() {
+        return watcher != null;
+    }
+
+    /** Verifies that fell back to a full walk because the watcher could not vouch for completeness. */
+    public synchronized int watchFallbacks() {
+        return watchFallbacks;
+    }
+
+    /**
+     * The next {@code auditSampleSize} unmoved files in rolling path order.
+     * The cursor persists across verifies, so successive samples cover the
+     * whole stamp table before any file is audited twice.
+     */
+    private List<Path> nextAuditSample(Set<Path> unmoved) {
+        if (auditOrderStale) {
+            auditOrder = sourceStamps.paths().stream().sorted().toList();
+            auditOrderStale = false;
+            auditCursor = auditOrder.isEmpty() ? 0 : auditCursor % auditOrder.size();
+        }
+        int budget = Math.min(verification.auditSampleSize(), unmoved.size());
+        List<Path> sample = new ArrayList<>(budget);
+        for (int scanned = 0; sample.size() < budget && scanned < auditOrder.size(); scanned++) {
+            Path candidate = auditOrder.get(auditCursor);
+            auditCursor = (auditCursor + 1) % auditOrder.size();
+            if (unmoved.contains(candidate)) {
+                sample.add(candidate);
+            }
+        }
+        return sample;
+    }
+
+    /** Tier counts of the most recent {@link #verify()}; all zero before the first. */
+    public synchronized VerifyStats lastVerifyStats() {
+        return lastVerifyStats;
+    }
+
     /**
      * Re-stamp the given files from current disk content after a repair:
      * existing files get fresh stamps, vanished files are forgotten.
      */
     public synchronized void restamp(Collection<Path> files) throws IOException {
+        if (files.isEmpty()) {
+            return;
+        }
         for (Path raw : files) {
             Path file = normalize(raw);
-            Map<Path, Stamp> map = buildFiles.contains(file) ? buildStamps : sourceStamps;
+            StampTable map = buildFiles.contains(file) ? buildStamps : sourceStamps;
             if (Files.isRegularFile(file)) {
-                map.put(file, stampOf(file));
-            } else {
-                map.remove(file);
+                if (map.put(file, stampOf(file))) {
+                    auditOrderStale = true;
+                }
+            } else if (map.remove(file)) {
+                auditOrderStale = true;
             }
         }
+        persistPending = true;
+        if (System.nanoTime() - lastPersistNanos >= PERSIST_INTERVAL_NANOS) {
+            persist();
+        }
+    }
+
+    /** Write repairs the store has not seen yet; called when the session ends or reloads. */
+    public synchronized void flush() {
+        if (persistPending) {
+            persist();
+        }
+    }
+
+    /**
+     * A cheap fingerprint of the source-root directories' and build files'
+     * mtimes - one stat each. It moves when a file is added to, removed from,
+     * or renamed directly inside a root, or a build file is written; it does
+     * not see edits deeper in the tree. Used only to cut a freshness window
+     * short, never to skip a verification that is due.
+     */
+    public long rootFingerprint() {
+        long fingerprint = 17;
+        for (List<Path> group : List.of(sourceRoots, buildFiles)) {
+            for (Path path : group) {
+                long mtime;
+                try {
+                    mtime = mtimeNanosOf(Files.readAttributes(path, BasicFileAttributes.class));
+                } catch (IOException e) {
+                    mtime = -1; // missing
+                }
+                fingerprint = 31 * fingerprint + mtime;
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * The content hash {@code file} was last stamped with, or {@code null}
+     * when it is not a stamped source file.
+     */
+    public synchronized ContentHash contentHash(Path file) {
+        int id = sourceStamps.idOf(normalize(file));
+        return id < 0 ? null : new ContentHash(sourceStamps.hashHi(id), sourceStamps.hashLo(id));
     }
 
     public synchronized int stampedFileCount() {
         return sourceStamps.size() + buildStamps.size();
     }
 
-    private Set<Path> walkSources() throws IOException {
-        Set<Path> files = new HashSet<>();
+    /**
+     * Every {@code *.java} file under the source roots with the attributes the
+     * walk already read - statting costs nothing beyond the directory walk.
+     */
+    private Map<Path, BasicFileAttributes> walkSources() throws IOException {
+        Map<Path, BasicFileAttributes> files = new HashMap<>();
         for (Path root : sourceRoots) {
-            Files.walkFileTree(root, new SimpleFileVisitor<>() {
-                @Override
-                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
-                    if (!dir.equals(root) && isSkippedDirectory(dir)) {
-                        return FileVisitResult.SKIP_SUBTREE;
-                    }
-                    return FileVisitResult.CONTINUE;
+            walkTree(root, files);
+        }
+        return files;
+    }
+
+    private static void walkTree(Path root, Map<Path, BasicFileAttributes> files) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (!dir.equals(root) && isSkippedDirectory(dir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
                 }
+                return FileVisitResult.CONTINUE;
+            }
 
-                @Override
-                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-                    if (attrs.isRegularFile() && file.getFileName().toString().endsWith(".java")) {
-                        files.add(normalize(file));
-                    }
-                    return FileVisitResult.CONTINUE;
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && file.getFileName().toString().endsWith(".java")) {
+                    files.put(normalize(file), attrs);
                 }
-            });
-        }
-        return files;
+                return FileVisitResult.CONTINUE;
+            }
+        });
     }
 
     private static boolean isSkippedDirectory(Path dir) {
@@ -219,34 +652,60 @@ public final class DiskStampService {
         return SKIP_DIR_NAMES.contains(name) || name.startsWith(SKIP_DIR_PREFIX);
     }
 
-    private static Stamp stampOf(Path file) throws IOException {
+    static Stamp stampOf(Path file) throws IOException {
         BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
-        return new Stamp(attrs.size(), attrs.lastModifiedTime().to(java.util.concurrent.TimeUnit.NANOSECONDS),
-            hashOf(file));
+        Hasher hasher = HASHER.get();
+        hasher.hash(file);
+        return new Stamp(attrs.size(), mtimeNanosOf(attrs), hasher.hi, hasher.lo);
     }
 
-    private static String hashOf(Path file) throws IOException {
-        MessageDigest digest;
-        try {
-            digest = MessageDigest.getInstance("MD5");
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("MD5 unavailable", e);
-        }
-        byte[] buffer = new byte[HASH_BUFFER_BYTES];
-        try (InputStream in = Files.newInputStream(file)) {
-            int read;
-            while ((read = in.read(buffer)) != -1) {
-                digest.update(buffer, 0, read);
+    static long mtimeNanosOf(BasicFileAttributes attrs) {
+        return attrs.lastModifiedTime().to(java.util.concurrent.TimeUnit.NANOSECONDS);
+    }
+
+    private static final ThreadLocal<Hasher> HASHER = ThreadLocal.withInitial(Hasher::new);
+
+    /**
+     * Per-thread hashing state, reused across files: the digest, a direct read
+     * buffer, and the 16-byte output. Hashing a file allocates nothing; the
+     * digest is read out as two raw words, never formatted.
+     */
+    private static final class Hasher {
+
+        private final MessageDigest digest;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(HASH_BUFFER_BYTES);
+        private final byte[] out = new byte[16];
+        long hi;
+        long lo;
+
+        Hasher() {
+            try {
+                digest = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("MD5 unavailable", e);
             }
         }
-        StringBuilder hex = new StringBuilder();
-        for (byte b : digest.digest()) {
-            hex.append(Character.forDigit((b >> 4) & 0xF, 16));
-            hex.append(Character.forDigit(b & 0xF, 16));
+
+        void hash(Path file) throws IOException {
+            digest.reset();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                while (channel.read(buffer.clear()) != -1) {
+                    digest.update(buffer.flip());
+                }
+            }
+            try {
+                digest.digest(out, 0, out.length);
+            } catch (java.security.DigestException e) {
+                throw new IllegalStateException("MD5 output does not fit 16 bytes", e);
+            }
+            hi = (long) LONG_VIEW.get(out, 0);
+            lo = (long) LONG_VIEW.get(out, 8);
         }
-        return hex.toString();
     }
 
+    private static final java.lang.invoke.VarHandle LONG_VIEW =
+        java.lang.invoke.MethodHandles.byteArrayViewVarHandle(long[].class, java.nio.ByteOrder.BIG_ENDIAN);
+
     private static Path normalize(Path path) {
         return path.toAbsolutePath().normalize();
     }
@@ -8,17 +8,29 @@ package org.javalens.core.sync;
  *   <li>{@link #STRICT} (default) — every query content-verifies the loaded
  *       model against disk and repairs the delta before answering. Answers
  *       are unconditionally true of disk at query time.</li>
+ *   <li>{@link #WATCHED} — the STRICT contract, with a native file watcher
+ *       telling verification which paths to examine instead of walking the
+ *       source roots. Falls back to a full walk on watcher overflow or error,
+ *       and to STRICT where the platform has no native watcher.</li>
  *   <li>{@link #MANUAL} — pre-1.5.0 behavior: the model trusts its last
  *       load and the caller drives synchronization via {@code load_project}.</li>
  * </ul>
  */
 public enum DiskSyncMode {
     STRICT,
-    MANUAL;
+    MANUAL,
+    WATCHED;
 
-    /** Parse the environment value; anything but "manual" means STRICT. */
+    /** Parse the environment value; anything but "manual" or "watched" means STRICT. */
     public static DiskSyncMode fromEnvironment(String value) {
-        return value != null && value.trim().equalsIgnoreCase("manual") ? MANUAL : STRICT;
+        if (value == null) {
+            return STRICT;
+        }
+        return switch (value.trim().toLowerCase()) {
+            case "manual" -> MANUAL;
+            case "watched" -> WATCHED;
+            default -> STRICT;
+        };
     }
 
     public String toConfigValue() {
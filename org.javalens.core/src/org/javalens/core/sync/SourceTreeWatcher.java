@@ -0,0 +1,219 @@
+package org.javalens.core.sync;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Dirty-path tracking for {@link DiskSyncMode#WATCHED}: a {@link WatchService}
+ * over every directory of the source roots (inotify on Linux) records which
+ * paths were created, modified, or deleted since the last {@link #drain()}.
+ *
+ * <p>Watch events are delivered asynchronously, so an edit made just before a
+ * query may not have reached the service yet. {@link #drain()} therefore
+ * creates a fresh marker file in a private directory watched by the same
+ * service and consumes events until the marker's own event arrives: the
+ * kernel queues events in order, so every edit that preceded the marker has
+ * been seen by then. Anything that breaks that guarantee - an overflow, a
+ * missed marker, an I/O or registration failure - makes the drain report
+ * {@link Dirty#FULL}, and the caller falls back to a full walk and hash.
+ * Correctness never depends on the watcher.
+ *
+ * <p>Not thread-safe; {@link DiskStampService} serializes every call.
+ */
+final class SourceTreeWatcher implements Closeable {
+
+    /**
+     * Paths touched since the previous drain, or {@code full} when the
+     * watcher could not account for every change.
+     */
+    record Dirty(boolean full, Set<Path> paths) {
+
+        static final Dirty FULL = new Dirty(true, Set.of());
+    }
+
+    private static final long BARRIER_TIMEOUT_MS = 2_000L;
+    private static final String BARRIER_PREFIX = "barrier-";
+
+    private final WatchService service;
+    private final Predicate<Path> skipDirectory;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Path barrierDir;
+    private final WatchKey barrierKey;
+    private final Set<Path> dirty = new HashSet<>();
+    private boolean overflowed;
+    private long barrierSeq;
+
+    private SourceTreeWatcher(WatchService service, Predicate<Path> skipDirectory, Path barrierDir)
+            throws IOException {
+        this.service = service;
+        this.skipDirectory = skipDirectory;
+        this.barrierDir = barrierDir;
+        this.barrierKey = barrierDir.register(service, StandardWatchEventKinds.ENTRY_CREATE);
+    }
+
+    /**
+     * Watch every directory under {@code roots} except those {@code skipDirectory}
+     * rejects. Fails when the platform has no native watch service: the JDK's
+     * polling fallback reports changes seconds late, so every drain would time
+     * out waiting for its marker.
+     */
+    static SourceTreeWatcher start(List<Path> roots, Predicate<Path> skipDirectory) throws IOException {
+        WatchService service = FileSystems.getDefault().newWatchService();
+        if (service.getClass().getSimpleName().startsWith("Polling")) {
+            service.close();
+            throw new IOException("no native file watching on this platform");
+        }
+        SourceTreeWatcher watcher = null;
+        try {
+            watcher = new SourceTreeWatcher(service, skipDirectory,
+                Files.createTempDirectory("javalens-watch-"));
+            for (Path root : roots) {
+                watcher.registerTree(root);
+            }
+            return watcher;
+        } catch (IOException | RuntimeException e) {
+            if (watcher != null) {
+                watcher.close();
+            } else {
+                service.close();
+            }
+            throw e;
+        }
+    }
+
+    /** Number of directories currently watched. */
+    int watchedDirectoryCount() {
+        return directories.size();
+    }
+
+    /**
+     * Everything touched since the previous drain, after a barrier that proves
+     * all earlier events have been delivered. Resets the dirty set either way.
+     */
+    Dirty drain() {
+        try {
+            String marker = BARRIER_PREFIX + (++barrierSeq);
+            Files.createFile(barrierDir.resolve(marker));
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(BARRIER_TIMEOUT_MS);
+            boolean barrierSeen = false;
+            while (!barrierSeen) {
+                long remaining = deadline - System.nanoTime();
+                WatchKey key = remaining > 0 ? service.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if (key == null) {
+                    overflowed = true; // marker never arrived: ordering is unproven
+                    break;
+                }
+                barrierSeen = process(key, marker);
+            }
+            // A key reset while the marker was in flight is re-queued with its
+            // pending events; collect those too.
+            WatchKey key;
+            while ((key = service.poll()) != null) {
+                process(key, marker);
+            }
+            Files.deleteIfExists(barrierDir.resolve(marker));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            overflowed = true;
+        } catch (IOException | ClosedWatchServiceException e) {
+            overflowed = true;
+        }
+        Dirty result = overflowed ? Dirty.FULL : new Dirty(false, Set.copyOf(dirty));
+        overflowed = false;
+        dirty.clear();
+        return result;
+    }
+
+    /** Record a key's events; returns whether it carried the awaited marker. */
+    private boolean process(WatchKey key, String marker) {
+        boolean barrier = false;
+        if (key == barrierKey) {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    overflowed = true; // events were dropped; stop waiting and walk
+                    barrier = true;
+                } else if (marker.equals(String.valueOf(event.context()))) {
+                    barrier = true;
+                }
+            }
+            key.reset();
+            return barrier;
+        }
+
+        Path dir = directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || dir == null) {
+                overflowed = true;
+                continue;
+            }
+            Path child = dir.resolve((Path) event.context());
+            dirty.add(child);
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE
+                    && Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS) && !skipDirectory.test(child)) {
+                try {
+                    registerTree(child);
+                } catch (IOException e) {
+                    overflowed = true;
+                }
+            }
+        }
+        if (!key.reset()) {
+            // The directory is gone; its parent's delete event marks it dirty,
+            // but record it here too in case that event was coalesced away.
+            Path gone = directories.remove(key);
+            if (gone != null) {
+                dirty.add(gone);
+            }
+        }
+        return false;
+    }
+
+    private void registerTree(Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                if (!dir.equals(root) && skipDirectory.test(dir)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                WatchKey key = dir.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+                directories.put(key, dir.toAbsolutePath().normalize());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            service.close();
+        } finally {
+            try (Stream<Path> leftovers = Files.walk(barrierDir)) {
+                for (Path path : leftovers.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.javalens.core.sync;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Opt-in on-disk copy of the source stamp table, so a new session seeds its
+ * stamps from the previous one instead of hashing the whole tree.
+ *
+ * <p>The file is a compact binary table, read in one piece:
+ * <pre>
+ *   header   int magic, int version, int entryCount, int pathBytes
+ *   entries  entryCount x (int pathOffset, int pathLength,
+ *                          long size, long mtimeNanos, long hashHi, long hashLo)
+ *   paths    pathBytes of UTF-8, addressed by the entries
+ * </pre>
+ * The entry index is the path id. Writes go to a sibling temp file that is
+ * atomically moved into place, so a reader never sees a torn table; any file
+ * that fails the magic, version, or bounds checks loads as empty.
+ *
+ * <p>A persisted stamp only seeds change detection - the model itself is
+ * always built from disk at load - so a stale or foreign table can cost
+ * extra repairs, never a stale answer under full-hash verification.
+ */
+public final class StampStore {
+
+    private static final int MAGIC = 0x4A4C5354; // "JLST"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+    private static final int ENTRY_BYTES = 2 * Integer.BYTES + 4 * Long.BYTES;
+
+    private final Path file;
+
+    public StampStore(Path file) {
+        this.file = file.toAbsolutePath().normalize();
+    }
+
+    /**
+     * The store for {@code projectRoot} inside {@code directory}; several
+     * projects can share one cache directory without colliding.
+     */
+    public static StampStore forProject(Path directory, Path projectRoot) {
+        String root = projectRoot.toAbsolutePath().normalize().toString();
+        return new StampStore(directory.resolve("stamps-" + shortDigest(root) + ".bin"));
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /** Load the persisted stamps; a missing or unreadable table is empty. */
+    StampTable load() throws IOException {
+        StampTable stamps = new StampTable();
+        if (!Files.isRegularFile(file)) {
+            return stamps;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+                return stamps;
+            }
+            // Read into the heap rather than map: a mapping outlives the channel until
+            // GC, and on Windows a mapped file cannot be replaced by save()'s move.
+            ByteBuffer table = ByteBuffer.allocate((int) length).order(ByteOrder.LITTLE_ENDIAN);
+            while (table.hasRemaining()) {
+                if (channel.read(table) < 0) {
+                    return stamps;
+                }
+            }
+            if (table.getInt(0) != MAGIC || table.getInt(4) != VERSION) {
+                return stamps;
+            }
+            int count = table.getInt(8);
+            int pathBytes = table.getInt(12);
+            long pathsStart = HEADER_BYTES + (long) count * ENTRY_BYTES;
+            if (count < 0 || pathBytes < 0 || pathsStart + pathBytes != length) {
+                return stamps;
+            }
+            byte[] pathBuffer = new byte[256];
+            for (int id = 0; id < count; id++) {
+                int at = HEADER_BYTES + id * ENTRY_BYTES;
+                int pathOffset = table.getInt(at);
+                int pathLength = table.getInt(at + 4);
+                if (pathOffset < 0 || pathLength < 0 || (long) pathOffset + pathLength > pathBytes) {
+                    return new StampTable();
+                }
+                if (pathBuffer.length < pathLength) {
+                    pathBuffer = new byte[pathLength];
+                }
+                table.get((int) pathsStart + pathOffset, pathBuffer, 0, pathLength);
+                Path path = Path.of(new String(pathBuffer, 0, pathLength, StandardCharsets.UTF_8));
+                stamps.put(path, table.getLong(at + 8), table.getLong(at + 16),
+                    table.getLong(at + 24), table.getLong(at + 32));
+            }
+            return stamps;
+        }
+    }
+
+    /** Replace the persisted table with {@code stamps}. */
+    void save(StampTable stamps) throws IOException {
+        int[] ids = new int[stamps.size()];
+        byte[][] paths = new byte[stamps.size()][];
+        int count = 0;
+        int pathBytes = 0;
+        for (int id = 0; id < stamps.idLimit(); id++) {
+            Path path = stamps.path(id);
+            if (path != null) {
+                ids[count] = id;
+                paths[count] = path.toString().getBytes(StandardCharsets.UTF_8);
+                pathBytes += paths[count++].length;
+            }
+        }
+
+        ByteBuffer table = ByteBuffer.allocate(HEADER_BYTES + count * ENTRY_BYTES + pathBytes)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        table.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(pathBytes);
+        int pathOffset = 0;
+        for (int i = 0; i < count; i++) {
+            int id = ids[i];
+            table.putInt(pathOffset).putInt(paths[i].length)
+                .putLong(stamps.size(id)).putLong(stamps.mtimeNanos(id))
+                .putLong(stamps.hashHi(id)).putLong(stamps.hashLo(id));
+            pathOffset += paths[i].length;
+        }
+        for (int i = 0; i < count; i++) {
+            table.put(paths[i]);
+        }
+        table.flip();
+
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (table.hasRemaining()) {
+                    channel.write(table);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String shortDigest(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 8; i++) {
+                hex.append(Character.forDigit((digest[i] >> 4) & 0xF, 16));
+                hex.append(Character.forDigit(digest[i] & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package org.javalens.core.sync;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The stamp table in primitive form: each known file gets an int path id,
+ * and its path, size, mtime, and 128-bit content hash live at that index in
+ * parallel columns. Lookup is an open-addressing {@code int[]} of ids probed
+ * against the path column, so a stamped file costs one path reference, four
+ * longs, and about two ints - no map entry, boxed id, stamp object, or hex
+ * string - which keeps the table small and GC-quiet on six-figure file counts.
+ *
+ * <p>Ids of removed files are recycled through a free list, so a long
+ * session of adds and deletes does not grow the columns. Not thread-safe;
+ * {@link DiskStampService} serializes every access.
+ */
+final class StampTable {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    /** Open-addressing index, linear probing: {@code id + 1} per slot, 0 when empty. */
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+    private int count;
+    private Path[] paths = new Path[INITIAL_CAPACITY];
+    private long[] sizes = new long[INITIAL_CAPACITY];
+    private long[] mtimes = new long[INITIAL_CAPACITY];
+    private long[] hashHi = new long[INITIAL_CAPACITY];
+    private long[] hashLo = new long[INITIAL_CAPACITY];
+    private int[] freeIds = new int[0];
+    private int freeCount;
+    private int highWater;
+
+    int size() {
+        return count;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    boolean contains(Path path) {
+        return idOf(path) >= 0;
+    }
+
+    /** The id of {@code path}, or -1 when it has no stamp. */
+    int idOf(Path path) {
+        return slots[slotOf(path)] - 1;
+    }
+
+    /** Snapshot of the stamped paths; iterate ids up to {@link #idLimit()} on hot paths instead. */
+    List<Path> paths() {
+        List<Path> result = new ArrayList<>(count);
+        for (int id = 0; id < highWater; id++) {
+            if (paths[id] != null) {
+                result.add(paths[id]);
+            }
+        }
+        return result;
+    }
+
+    /** The path stamped under {@code id}, or {@code null} for a free id. */
+    Path path(int id) {
+        return paths[id];
+    }
+
+    long size(int id) {
+        return sizes[id];
+    }
+
+    long mtimeNanos(int id) {
+        return mtimes[id];
+    }
+
+    long hashHi(int id) {
+        return hashHi[id];
+    }
+
+    long hashLo(int id) {
+        return hashLo[id];
+    }
+
+    /** Upper bound (exclusive) of the ids in use; slots below it may be free. */
+    int idLimit() {
+        return highWater;
+    }
+
+    boolean metadataMatches(int id, BasicFileAttributes attrs) {
+        return sizes[id] == attrs.size() && mtimes[id] == DiskStampService.mtimeNanosOf(attrs);
+    }
+
+    boolean sameContent(int id, DiskStampService.Stamp stamp) {
+        return hashHi[id] == stamp.hashHi() && hashLo[id] == stamp.hashLo();
+    }
+
+    /** Stamp {@code path}; returns whether it was previously unknown. */
+    boolean put(Path path, long size, long mtimeNanos, long hi, long lo) {
+        int slot = slotOf(path);
+        boolean added = slots[slot] == 0;
+        int id = added ? allocate(path, slot) : slots[slot] - 1;
+        sizes[id] = size;
+        mtimes[id] = mtimeNanos;
+        hashHi[id] = hi;
+        hashLo[id] = lo;
+        return added;
+    }
+
+    boolean put(Path path, DiskStampService.Stamp stamp) {
+        return put(path, stamp.size(), stamp.mtimeNanos(), stamp.hashHi(), stamp.hashLo());
+    }
+
+    /** Copy entry {@code id} of {@code other} in under the same path. */
+    void copyFrom(StampTable other, int id) {
+        put(other.paths[id], other.sizes[id], other.mtimes[id], other.hashHi[id], other.hashLo[id]);
+    }
+
+    /** The stamp of {@code path} as a value, or {@code null}; allocates, so keep it off hot paths. */
+    DiskStampService.Stamp get(Path path) {
+        int id = idOf(path);
+        return id < 0 ? null : new DiskStampService.Stamp(sizes[id], mtimes[id], hashHi[id], hashLo[id]);
+    }
+
+    /** Forget {@code path}; returns whether it was known. */
+    boolean remove(Path path) {
+        int slot = slotOf(path);
+        if (slots[slot] == 0) {
+            return false;
+        }
+        int id = slots[slot] - 1;
+        deleteSlot(slot);
+        paths[id] = null;
+        count--;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, Math.max(16, freeIds.length * 2));
+        }
+        freeIds[freeCount++] = id;
+        return true;
+    }
+
+    void clear() {
+        Arrays.fill(slots, 0);
+        count = 0;
+        Arrays.fill(paths, 0, highWater, null);
+        freeCount = 0;
+        highWater = 0;
+    }
+
+    private int allocate(Path path, int slot) {
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            if (highWater == paths.length) {
+                int capacity = paths.length * 2;
+                paths = Arrays.copyOf(paths, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+                mtimes = Arrays.copyOf(mtimes, capacity);
+                hashHi = Arrays.copyOf(hashHi, capacity);
+                hashLo = Arrays.copyOf(hashLo, capacity);
+            }
+            id = highWater++;
+        }
+        paths[id] = path;
+        slots[slot] = id + 1;
+        if (++count * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return id;
+    }
+
+    /** The slot holding {@code path}, or the empty slot where it would go. */
+    private int slotOf(Path path) {
+        int mask = slots.length - 1;
+        int slot = home(path, mask);
+        while (slots[slot] != 0 && !paths[slots[slot] - 1].equals(path)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int home(Path path, int mask) {
+        int h = path.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /** Linear-probing delete: shift later entries of the run back so no probe chain breaks. */
+    private void deleteSlot(int slot) {
+        int mask = slots.length - 1;
+        int hole = slot;
+        slots[hole] = 0;
+        for (int next = (hole + 1) & mask; slots[next] != 0; next = (next + 1) & mask) {
+            int want = home(paths[slots[next] - 1], mask);
+            // Move the entry back unless its home lies cyclically in (hole, next].
+            boolean stays = hole <= next ? hole < want && want <= next : hole < want || want <= next;
+            if (!stays) {
+                slots[hole] = slots[next];
+                slots[next] = 0;
+                hole = next;
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int id = 0; id < highWater; id++) {
+            if (paths[id] != null) {
+                int slot = home(paths[id], mask);
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = id + 1;
+            }
+        }
+    }
+}
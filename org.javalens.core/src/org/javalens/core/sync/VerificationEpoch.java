@@ -0,0 +1,60 @@
+package org.javalens.core.sync;
+
+/**
+ * One successful disk verification: answers given under this epoch are true
+ * of disk as of {@code verifiedAtNanos}. Ids increase with every verification
+ * that actually ran; a call served from the freshness window reuses the
+ * current epoch, so its id and age tell the caller how old the evidence is.
+ *
+ * @param id              monotonically increasing per service
+ * @param verifiedAtNanos {@link System#nanoTime()} when verification finished
+ * @param rootFingerprint {@link DiskStampService#rootFingerprint()} taken
+ *                        before verifying, for the optional root check
+ */
+public record VerificationEpoch(long id, long verifiedAtNanos, long rootFingerprint) {
+
+    public long ageMillis() {
+        return (System.nanoTime() - verifiedAtNanos) / 1_000_000L;
+    }
+
+    /**
+     * How long a verification may be reused, chosen via
+     * {@code JAVALENS_DISK_SYNC_WINDOW_MS} and {@code JAVALENS_DISK_SYNC_ROOT_CHECK}.
+     *
+     * @param windowMillis reuse an epoch this young; 0 (the default) verifies every call
+     * @param rootCheck    within the window, still re-verify when a source
+     *                     root's or build file's mtime moved
+     */
+    public record Window(long windowMillis, boolean rootCheck) {
+
+        public static final Window NONE = new Window(0, false);
+
+        public Window {
+            if (windowMillis < 0) {
+                throw new IllegalArgumentException("windowMillis must be >= 0: " + windowMillis);
+            }
+        }
+
+        /** Parse the environment values; anything unparseable means no window. */
+        public static Window fromEnvironment(String windowMs, String rootCheck) {
+            long millis = 0;
+            if (windowMs != null) {
+                try {
+                    millis = Math.max(0, Long.parseLong(windowMs.trim()));
+                } catch (NumberFormatException e) {
+                    // keep strict
+                }
+            }
+            return new Window(millis, rootCheck != null && rootCheck.trim().equalsIgnoreCase("true"));
+        }
+
+        public boolean enabled() {
+            return windowMillis > 0;
+        }
+
+        /** Whether {@code epoch} is still young enough to answer from. */
+        public boolean covers(VerificationEpoch epoch) {
+            return enabled() && epoch != null && epoch.ageMillis() < windowMillis;
+        }
+    }
+}
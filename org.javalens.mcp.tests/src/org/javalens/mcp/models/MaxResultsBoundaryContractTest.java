@@ -7,6 +7,7 @@ import org.javalens.core.JdtServiceImpl;
 import org.javalens.mcp.fixtures.TestProjectHelper;
 import org.javalens.mcp.models.ErrorInfo;
 import org.javalens.mcp.tools.AnalyzeChangeImpactTool;
+import org.javalens.mcp.tools.BatchGraphQueryTool;
 import org.javalens.mcp.tools.FindAffectedTestsTool;
 import org.javalens.mcp.tools.FindAnnotationUsagesTool;
 import org.javalens.mcp.tools.FindCastsTool;
@@ -158,6 +159,14 @@ class MaxResultsBoundaryContractTest {
             row("find_affected_tests",
                 ctx -> argsAt(ctx, "src/main/java/com/example/Calculator.java", 14, 15),
                 ctx -> new FindAffectedTestsTool(() -> ctx.service),  0, 1),
+            row("batch_graph_query",
+                ctx -> {
+                    ObjectNode args = ctx.args();
+                    args.putArray("filePaths").add(
+                        ctx.projectPath.resolve("src/main/java/com/example/Calculator.java").toString());
+                    return args.put("mode", "callers");
+                },
+                ctx -> new BatchGraphQueryTool(() -> ctx.service),  0, 1),
             row("get_jpa_model",
                 ctx -> ctx.args(),
                 ctx -> new GetJpaModelTool(() -> ctx.service),  0, 1),
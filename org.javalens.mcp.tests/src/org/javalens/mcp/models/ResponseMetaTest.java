@@ -31,6 +31,22 @@ class ResponseMetaTest {
         assertNull(meta.getTruncated());
         assertNull(meta.getSuggestedNextTools());
         assertNull(meta.getVerbosity());
+        assertNull(meta.getVerificationEpoch());
+        assertNull(meta.getVerificationAgeMs());
+    }
+
+    @Test
+    @DisplayName("Builder.verification and ToolResponse.withVerification set the epoch pair")
+    void verification_setsEpochAndAge() {
+        ResponseMeta meta = ResponseMeta.builder().totalCount(3).verification(7L, 12L).build();
+        assertEquals(7L, meta.getVerificationEpoch());
+        assertEquals(12L, meta.getVerificationAgeMs());
+
+        ToolResponse bare = ToolResponse.success("x").withVerification(9, 0);
+        assertNotNull(bare.getMeta(), "a meta block is created when the tool built none");
+        assertEquals(9L, bare.getMeta().getVerificationEpoch());
+        assertEquals(0L, bare.getMeta().getVerificationAgeMs());
+        assertNull(bare.getMeta().getTotalCount());
     }
 
     @Test
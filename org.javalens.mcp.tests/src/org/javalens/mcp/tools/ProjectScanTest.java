@@ -0,0 +1,54 @@
+package org.javalens.mcp.tools;
+
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.javalens.core.AstProvider;
+import org.javalens.core.JdtServiceImpl;
+import org.javalens.mcp.fixtures.TestProjectHelper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the batched project scan: splitting the parse into bounded batches
+ * visits every file once, in file order, with bindings resolved as in one
+ * parse of the whole project.
+ */
+class ProjectScanTest {
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    private static ProjectScan.FileAnalysis recorder(List<String> visits) {
+        return (CompilationUnit ast, Path file) -> {
+            boolean bound = ast.types().isEmpty()
+                || ((AbstractTypeDeclaration) ast.types().get(0)).resolveBinding() != null;
+            visits.add(file + (bound ? "" : " (unbound)"));
+        };
+    }
+
+    @Test
+    @DisplayName("bounded batches visit the same files in the same order as one parse")
+    void batches_matchOneParse() throws Exception {
+        JdtServiceImpl service = helper.loadProject("simple-maven");
+        List<Path> files = service.getAllJavaFiles();
+        List<String> whole = new ArrayList<>();
+        List<String> batched = new ArrayList<>();
+
+        int parsed = ProjectScan.run(service, files, AstProvider.Parse.BINDINGS, List.of(recorder(whole)),
+            Integer.MAX_VALUE);
+        int parsedInBatches = ProjectScan.run(service, files, AstProvider.Parse.BINDINGS, List.of(recorder(batched)), 2);
+
+        assertTrue(parsed > 2, "several batches: " + parsed);
+        assertEquals(parsed, parsedInBatches);
+        assertEquals(parsed, whole.size());
+        assertEquals(whole, batched);
+        assertTrue(whole.stream().noneMatch(visit -> visit.endsWith("(unbound)")), whole::toString);
+    }
+}
@@ -102,6 +102,7 @@ public final class ToolInvocationInputs {
         m.put("find_circular_dependencies", objectMapper.createObjectNode());
         m.put("find_large_classes", objectMapper.createObjectNode());
         m.put("find_unused_code", objectMapper.createObjectNode());
+        m.put("audit_project", objectMapper.createObjectNode());
         m.put("find_unreachable_code", objectMapper.createObjectNode());
 
         ObjectNode findAffectedTestsArgs = objectMapper.createObjectNode();
@@ -110,6 +111,10 @@ public final class ToolInvocationInputs {
         findAffectedTestsArgs.put("column", 15);
         m.put("find_affected_tests", findAffectedTestsArgs);
 
+        ObjectNode batchGraphArgs = objectMapper.createObjectNode();
+        batchGraphArgs.putArray("filePaths").add(calcPath);
+        m.put("batch_graph_query", batchGraphArgs);
+
         m.put("get_jpa_model", objectMapper.createObjectNode());
         m.put("get_http_endpoints", objectMapper.createObjectNode());
         m.put("get_dependency_graph", objectMapper.createObjectNode());
@@ -0,0 +1,181 @@
+package org.javalens.mcp.tools.analysis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.javalens.core.JdtServiceImpl;
+import org.javalens.mcp.fixtures.TestProjectHelper;
+import org.javalens.mcp.models.ToolResponse;
+import org.javalens.mcp.tools.AbstractTool;
+import org.javalens.mcp.tools.AuditProjectTool;
+import org.javalens.mcp.tools.FindLargeClassesTool;
+import org.javalens.mcp.tools.FindNamingViolationsTool;
+import org.javalens.mcp.tools.FindPossibleBugsTool;
+import org.javalens.mcp.tools.FindTestsTool;
+import org.javalens.mcp.tools.FindUnusedCodeTool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins audit_project against simple-maven: every analysis reports exactly
+ * what its standalone tool reports, whether run alone or with the others in
+ * one pass, and on code that does not compile; a subset runs only what was
+ * asked; options reach their analysis; and an unknown analysis is rejected. The measurement times the five tools
+ * one after another against one audit; timings are LOGGED, not asserted.
+ */
+class AuditProjectToolTest {
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    private AuditProjectTool tool;
+    private Map<String, AbstractTool> standalone;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdtServiceImpl service = helper.loadProject("simple-maven");
+        tool = new AuditProjectTool(() -> service);
+        standalone = new LinkedHashMap<>();
+        standalone.put("unused_code", new FindUnusedCodeTool(() -> service));
+        standalone.put("possible_bugs", new FindPossibleBugsTool(() -> service));
+        standalone.put("tests", new FindTestsTool(() -> service));
+        standalone.put("naming_violations", new FindNamingViolationsTool(() -> service));
+        standalone.put("large_classes", new FindLargeClassesTool(() -> service));
+        objectMapper = new ObjectMapper();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> getData(ToolResponse r) {
+        return (Map<String, Object>) r.getData();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> results(ToolResponse r) {
+        return (Map<String, Object>) getData(r).get("results");
+    }
+
+    private ObjectNode auditOf(String... analyses) {
+        ObjectNode args = objectMapper.createObjectNode();
+        for (String analysis : analyses) {
+            args.withArray("analyses").add(analysis);
+        }
+        return args;
+    }
+
+    @Test
+    @DisplayName("one pass over every analysis reports what each standalone tool reports")
+    void allAnalyses_matchStandaloneTools() {
+        ToolResponse audit = tool.execute(objectMapper.createObjectNode());
+
+        assertTrue(audit.isSuccess(), () -> "audit failed: " + audit.getError());
+        Map<String, Object> results = results(audit);
+        assertEquals(List.copyOf(standalone.keySet()), List.copyOf(results.keySet()));
+        int findings = 0;
+        for (Map.Entry<String, AbstractTool> entry : standalone.entrySet()) {
+            ToolResponse alone = entry.getValue().execute(objectMapper.createObjectNode());
+            assertTrue(alone.isSuccess(), entry.getKey());
+            assertEquals(getData(alone), results.get(entry.getKey()), entry.getKey());
+            if (!entry.getKey().equals("tests")) {
+                findings += alone.getMeta().getTotalCount();
+            }
+        }
+        assertEquals(findings, ((Number) getData(audit).get("totalFindings")).intValue());
+        assertTrue(((Number) getData(audit).get("filesParsed")).intValue() > 1);
+        assertEquals(2, getData(audit).get("scans"), "one recovered-bindings scan and one strict scan");
+    }
+
+    @Test
+    @DisplayName("on code that does not compile, each analysis still matches its standalone tool")
+    void brokenCode_matchesStandaloneTools() throws Exception {
+        JdtServiceImpl broken = helper.loadProject("broken-symbols");
+        AuditProjectTool brokenAudit = new AuditProjectTool(() -> broken);
+        Map<String, AbstractTool> brokenTools = new LinkedHashMap<>();
+        brokenTools.put("unused_code", new FindUnusedCodeTool(() -> broken));
+        brokenTools.put("possible_bugs", new FindPossibleBugsTool(() -> broken));
+        brokenTools.put("tests", new FindTestsTool(() -> broken));
+        brokenTools.put("naming_violations", new FindNamingViolationsTool(() -> broken));
+        brokenTools.put("large_classes", new FindLargeClassesTool(() -> broken));
+
+        ToolResponse audit = brokenAudit.execute(objectMapper.createObjectNode());
+
+        assertTrue(audit.isSuccess(), () -> "audit failed: " + audit.getError());
+        for (Map.Entry<String, AbstractTool> entry : brokenTools.entrySet()) {
+            ToolResponse alone = entry.getValue().execute(objectMapper.createObjectNode());
+            assertTrue(alone.isSuccess(), entry.getKey());
+            assertEquals(getData(alone), results(audit).get(entry.getKey()), entry.getKey());
+        }
+    }
+
+    @Test
+    @DisplayName("a subset runs only the requested analyses, each matching its tool")
+    void subset_runsOnlyRequested() {
+        ToolResponse audit = tool.execute(auditOf("large_classes", "tests"));
+
+        assertTrue(audit.isSuccess());
+        Map<String, Object> results = results(audit);
+        assertEquals(1, getData(audit).get("scans"), "both read the strict parse");
+        assertEquals(List.of("tests", "large_classes"), List.copyOf(results.keySet()));
+        assertEquals(List.of("large_classes", "tests"), getData(audit).get("analyses"));
+        assertEquals(getData(standalone.get("tests").execute(objectMapper.createObjectNode())), results.get("tests"));
+        assertEquals(getData(standalone.get("large_classes").execute(objectMapper.createObjectNode())),
+            results.get("large_classes"));
+    }
+
+    @Test
+    @DisplayName("options reach their analysis, and filePath narrows the audit to one file")
+    void optionsAndFilePath_forwarded() {
+        ObjectNode args = auditOf("possible_bugs", "large_classes");
+        args.put("filePath", "src/main/java/com/example/BugPatterns.java");
+        args.put("severity", "high");
+        args.put("maxMethods", 0);
+
+        ToolResponse audit = tool.execute(args);
+
+        assertTrue(audit.isSuccess());
+        assertEquals(1, ((Number) getData(audit).get("filesParsed")).intValue());
+        ObjectNode bugArgs = objectMapper.createObjectNode();
+        bugArgs.put("filePath", "src/main/java/com/example/BugPatterns.java");
+        bugArgs.put("severity", "high");
+        assertEquals(getData(standalone.get("possible_bugs").execute(bugArgs)), results(audit).get("possible_bugs"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> large = (Map<String, Object>) results(audit).get("large_classes");
+        assertEquals(1, ((Number) large.get("totalClassesScanned")).intValue());
+        assertEquals(1, ((Number) large.get("totalViolations")).intValue());
+    }
+
+    @Test
+    @DisplayName("an unknown analysis is INVALID_PARAMETER")
+    void unknownAnalysis_rejected() {
+        ToolResponse audit = tool.execute(auditOf("tests", "spelling"));
+
+        assertFalse(audit.isSuccess());
+        assertEquals("INVALID_PARAMETER", audit.getError().getCode());
+    }
+
+    @Test
+    @DisplayName("measurement: five tools one after another vs one audit")
+    void measurement_fiveToolsVsAudit() {
+        tool.execute(objectMapper.createObjectNode()); // warm the compiler
+
+        long start = System.nanoTime();
+        for (AbstractTool each : standalone.values()) {
+            assertTrue(each.execute(objectMapper.createObjectNode()).isSuccess());
+        }
+        long toolsNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        assertTrue(tool.execute(objectMapper.createObjectNode()).isSuccess());
+        long auditNanos = System.nanoTime() - start;
+
+        System.out.printf("[audit-project] simple-maven: five tools %d ms, one audit %d ms%n",
+            toolsNanos / 1_000_000, auditNanos / 1_000_000);
+    }
+}
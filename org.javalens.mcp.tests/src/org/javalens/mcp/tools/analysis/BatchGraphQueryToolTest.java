@@ -0,0 +1,215 @@
+package org.javalens.mcp.tools.analysis;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.javalens.core.JdtServiceImpl;
+import org.javalens.mcp.fixtures.EnvelopeHarness;
+import org.javalens.mcp.fixtures.TestProjectHelper;
+import org.javalens.mcp.models.ToolResponse;
+import org.javalens.mcp.tools.BatchGraphQueryTool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins batch_graph_query against the reachability-maven fixture: file inputs
+ * stand for every declaration they hold, key and position inputs agree with
+ * find_affected_tests, the union and per-input breakdown are consistent,
+ * callers mode reports non-test callers, and an input that resolves to
+ * nothing is reported without failing the batch.
+ */
+class BatchGraphQueryToolTest {
+
+    @RegisterExtension
+    TestProjectHelper helper = new TestProjectHelper();
+
+    private JdtServiceImpl service;
+    private BatchGraphQueryTool tool;
+    private EnvelopeHarness envelope;
+    private ObjectMapper objectMapper;
+    private Path projectPath;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = helper.loadProject("reachability-maven");
+        tool = new BatchGraphQueryTool(() -> service);
+        envelope = new EnvelopeHarness(service);
+        objectMapper = new ObjectMapper();
+        projectPath = helper.getFixturePath("reachability-maven");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getData(ToolResponse r) {
+        return (Map<String, Object>) r.getData();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> list(ToolResponse r, String name) {
+        return (List<Map<String, Object>>) getData(r).get(name);
+    }
+
+    private static Set<String> names(List<Map<String, Object>> entries, String field) {
+        return entries.stream().map(e -> (String) e.get(field)).collect(Collectors.toSet());
+    }
+
+    private ObjectNode filesArgs(String... relativePaths) {
+        ObjectNode args = objectMapper.createObjectNode();
+        for (String relativePath : relativePaths) {
+            args.withArray("filePaths").add(projectPath.resolve(relativePath).toString());
+        }
+        return args;
+    }
+
+    @Test
+    @DisplayName("file inputs: per-file covering tests and their union")
+    void fileInputs_unionAndBreakdown() {
+        ToolResponse r = tool.execute(filesArgs(
+            "src/main/java/com/reach/TestedOnly.java", "src/main/java/com/reach/Widget.java"));
+        assertTrue(r.isSuccess(), () -> "expected success; got: " + r.getError());
+
+        Map<String, Object> data = getData(r);
+        assertEquals("tests", data.get("mode"));
+        assertEquals(2, data.get("inputCount"));
+        assertEquals(0, data.get("unresolvedInputCount"));
+        assertEquals(3, data.get("testMethodCount"));
+        assertEquals(Set.of("doublesInput", "viaHelper", "computesViaMember"),
+            names(list(r, "testMethods"), "methodName"));
+
+        List<Map<String, Object>> inputs = list(r, "inputs");
+        assertEquals("file", inputs.get(0).get("inputType"));
+        assertEquals(List.of("com.reach.TestedOnlyTest#doublesInput()", "com.reach.TestedOnlyTest#viaHelper()"),
+            inputs.get(0).get("keys"));
+        assertEquals(List.of("com.reach.WidgetTest#computesViaMember()"), inputs.get(1).get("keys"));
+        assertEquals(4, inputs.get(1).get("declarationCount"), "Widget, seed, Widget(), compute(int)");
+    }
+
+    @Test
+    @DisplayName("key and position inputs answer what find_affected_tests answers")
+    void symbolInputs_matchSingleSymbolTool() {
+        ObjectNode args = objectMapper.createObjectNode();
+        args.withArray("symbols").add("com.reach.TestedOnly#onlyFromTest(int)");
+        args.withArray("symbols").addObject()
+            .put("filePath", projectPath.resolve("src/main/java/com/reach/EnglishGreeter.java").toString())
+            .put("line", 13)
+            .put("column", 20);
+
+        ToolResponse r = tool.execute(args);
+        assertTrue(r.isSuccess(), () -> "expected success; got: " + r.getError());
+
+        List<Map<String, Object>> inputs = list(r, "inputs");
+        assertEquals(2, inputs.get(0).get("count"));
+        assertEquals(List.of("com.reach.GreeterDispatchTest#greetsThroughInterface()",
+            "com.reach.GreeterDispatchTest#disabledGreeting()"), inputs.get(1).get("keys"));
+        Map<String, Object> disabled = list(r, "testMethods").stream()
+            .filter(t -> "disabledGreeting".equals(t.get("methodName")))
+            .findFirst().orElseThrow();
+        assertEquals(Boolean.TRUE, disabled.get("disabled"));
+        assertEquals(4, getData(r).get("testMethodCount"));
+    }
+
+    @Test
+    @DisplayName("a test file covers its own tests")
+    void testFileInput_coversItself() {
+        ToolResponse r = tool.execute(filesArgs("src/test/java/com/reach/TestedOnlyTest.java"));
+        assertTrue(r.isSuccess());
+        assertEquals(Set.of("doublesInput", "viaHelper"), names(list(r, "testMethods"), "methodName"));
+    }
+
+    @Test
+    @DisplayName("callers mode: every method reaching the input, test or not")
+    void callersMode_reportsAllCallers() {
+        ObjectNode args = objectMapper.createObjectNode();
+        args.withArray("symbols").add("com.reach.TestedOnly#onlyFromTest(int)");
+        args.put("mode", "callers");
+
+        ToolResponse r = tool.execute(args);
+        assertTrue(r.isSuccess(), () -> "expected success; got: " + r.getError());
+        assertEquals(3, getData(r).get("callerCount"));
+        assertEquals(Set.of("com.reach.TestedOnlyTest#doublesInput()", "com.reach.TestedOnlyTest#viaHelper()",
+            "com.reach.TestedOnlyTest#helper()"), names(list(r, "callers"), "key"));
+    }
+
+    @Test
+    @DisplayName("unresolvable inputs are reported per input; the rest of the batch is answered")
+    void unresolvedInputs_reportedNotFatal() {
+        ObjectNode args = filesArgs("src/main/java/com/reach/Widget.java", "src/main/java/com/reach/Missing.java");
+        args.withArray("symbols").add("no.such.Type#run()");
+
+        ToolResponse r = tool.execute(args);
+        assertTrue(r.isSuccess(), () -> "expected success; got: " + r.getError());
+        assertEquals(2, getData(r).get("unresolvedInputCount"));
+        assertEquals(1, getData(r).get("testMethodCount"));
+        List<Map<String, Object>> inputs = list(r, "inputs");
+        assertEquals(false, inputs.get(0).get("resolved"));
+        assertEquals(true, inputs.get(1).get("resolved"));
+        assertEquals(false, inputs.get(2).get("resolved"));
+    }
+
+    @Test
+    @DisplayName("maxResults caps the union and each input's keys with true totals")
+    void maxResults_truncates() {
+        ObjectNode args = filesArgs("src/main/java/com/reach/TestedOnly.java");
+        args.put("maxResults", 1);
+
+        ToolResponse r = tool.execute(args);
+        assertTrue(r.isSuccess());
+        assertEquals(1, list(r, "testMethods").size());
+        assertEquals(2, r.getMeta().getTotalCount());
+        assertEquals(Boolean.TRUE, r.getMeta().getTruncated());
+        Map<String, Object> input = list(r, "inputs").get(0);
+        assertEquals(2, input.get("count"));
+        assertEquals(1, ((List<?>) input.get("keys")).size());
+        assertEquals(Boolean.TRUE, input.get("truncated"));
+    }
+
+    @Test
+    @DisplayName("no inputs, a bad mode, or a non-array input is INVALID_PARAMETER")
+    void invalidArguments_rejected() {
+        assertEquals("INVALID_PARAMETER", tool.execute(objectMapper.createObjectNode()).getError().getCode());
+
+        ObjectNode badMode = filesArgs("src/main/java/com/reach/Widget.java");
+        badMode.put("mode", "everything");
+        assertEquals("INVALID_PARAMETER", tool.execute(badMode).getError().getCode());
+
+        ObjectNode notArray = objectMapper.createObjectNode();
+        notArray.put("filePaths", "src/main/java/com/reach/Widget.java");
+        assertEquals("INVALID_PARAMETER", tool.execute(notArray).getError().getCode());
+    }
+
+    @Test
+    @DisplayName("without a loaded project returns PROJECT_NOT_LOADED")
+    void projectNotLoaded() {
+        BatchGraphQueryTool unloaded = new BatchGraphQueryTool(() -> null);
+        ToolResponse r = unloaded.execute(objectMapper.createObjectNode());
+        assertFalse(r.isSuccess());
+        assertEquals("PROJECT_NOT_LOADED", r.getError().getCode());
+    }
+
+    // ========== MCP envelope seam (real registerTools() wiring through processMessage) ==========
+
+    @Test
+    @DisplayName("Through the real registerTools() wiring: the per-file breakdown survives the envelope")
+    void envelope_fileBreakdown() {
+        ObjectNode args = envelope.args();
+        args.withArray("filePaths").add(projectPath.resolve("src/main/java/com/reach/TestedOnly.java").toString());
+        JsonNode payload = envelope.assertEnvelopeFidelity("batch_graph_query", args);
+
+        assertTrue(payload.get("success").asBoolean(),
+            () -> "batch_graph_query failed through the envelope: " + payload);
+        JsonNode data = payload.get("data");
+        assertEquals(2, data.get("testMethodCount").asInt());
+        JsonNode keys = data.get("inputs").get(0).get("keys");
+        assertEquals("com.reach.TestedOnlyTest#doublesInput()", keys.get(0).asText());
+        assertEquals("com.reach.TestedOnlyTest#viaHelper()", keys.get(1).asText());
+    }
+}
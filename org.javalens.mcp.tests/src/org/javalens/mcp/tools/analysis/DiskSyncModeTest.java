@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.javalens.core.JdtServiceImpl;
 import org.javalens.core.sync.DiskSyncMode;
+import org.javalens.core.sync.VerificationEpoch;
 import org.javalens.mcp.fixtures.TestProjectHelper;
 import org.javalens.mcp.models.ToolResponse;
 import org.javalens.mcp.tools.FindReferencesTool;
@@ -88,6 +89,27 @@ class DiskSyncModeTest {
             "strict mode must reflect the delete on the next query without any reload");
     }
 
+    // ========== watched ==========
+
+    @Test
+    @DisplayName("watched: a deleted caller disappears from the very next query, no reload")
+    void watched_editVisibleWithoutReload() throws IOException {
+        service.setDiskSyncMode(DiskSyncMode.WATCHED);
+        assertEquals(DiskSyncMode.WATCHED, DiskSyncMode.fromEnvironment(" Watched "));
+
+        ToolResponse before = findReferences.execute(addPosition());
+        assertTrue(before.isSuccess());
+        assertTrue(referencesContainUserService(before));
+
+        Files.delete(projectCopy.resolve("src/main/java/com/example/service/UserService.java"));
+
+        ToolResponse after = findReferences.execute(addPosition());
+        assertTrue(after.isSuccess(), () -> "expected success; got: " + after.getError());
+        assertFalse(referencesContainUserService(after),
+            "watched mode keeps the strict contract: the delete is visible on the next query");
+        service.dispose();
+    }
+
     // ========== manual ==========
 
     @Test
@@ -167,6 +189,61 @@ class DiskSyncModeTest {
         assertNull(r.getData(), "an unverified answer must never be returned");
     }
 
+    // ========== verification epochs ==========
+
+    @Test
+    @DisplayName("strict without a window: every call verifies and carries a new epoch")
+    void epochs_advancePerCall() {
+        ToolResponse first = findReferences.execute(addPosition());
+        ToolResponse second = findReferences.execute(addPosition());
+        assertNotNull(first.getMeta().getVerificationEpoch());
+        assertEquals(first.getMeta().getVerificationEpoch() + 1, second.getMeta().getVerificationEpoch());
+        assertTrue(second.getMeta().getVerificationAgeMs() >= 0);
+
+        service.setDiskSyncMode(DiskSyncMode.MANUAL);
+        ToolResponse manual = findReferences.execute(addPosition());
+        assertNull(manual.getMeta() == null ? null : manual.getMeta().getVerificationEpoch(),
+            "manual mode makes no freshness claim");
+    }
+
+    @Test
+    @DisplayName("within the freshness window, calls reuse the epoch and its age is reported")
+    void window_reusesEpoch() throws IOException {
+        service.setFreshnessWindow(new VerificationEpoch.Window(60_000, false));
+        ToolResponse first = findReferences.execute(addPosition());
+        assertTrue(referencesContainUserService(first));
+
+        // Inside the window an edit is not seen: that is the configured trade-off,
+        // and the unchanged epoch id plus its age is how the caller can tell.
+        Files.delete(projectCopy.resolve("src/main/java/com/example/service/UserService.java"));
+        ToolResponse second = findReferences.execute(addPosition());
+        assertEquals(first.getMeta().getVerificationEpoch(), second.getMeta().getVerificationEpoch());
+        assertTrue(referencesContainUserService(second));
+
+        service.setFreshnessWindow(VerificationEpoch.Window.NONE);
+        ToolResponse third = findReferences.execute(addPosition());
+        assertTrue(third.getMeta().getVerificationEpoch() > second.getMeta().getVerificationEpoch());
+        assertFalse(referencesContainUserService(third), "without the window the delete is seen at once");
+    }
+
+    @Test
+    @DisplayName("with the root check, a build-file edit cuts the window short")
+    void window_rootCheckCatchesBuildFile() throws IOException {
+        service.setFreshnessWindow(new VerificationEpoch.Window(60_000, true));
+        assertTrue(findReferences.execute(addPosition()).isSuccess());
+
+        Path pom = projectCopy.resolve("pom.xml");
+        Files.writeString(pom, Files.readString(pom)
+            .replace("</project>", "    <!-- touched -->\n</project>"));
+        Files.setLastModifiedTime(pom, java.nio.file.attribute.FileTime.fromMillis(
+            Files.getLastModifiedTime(pom).toMillis() + 5_000));
+
+        ToolResponse r = findReferences.execute(addPosition());
+        assertEquals("RELOAD_REQUIRED", r.getError().getCode());
+        assertEquals("RELOAD_REQUIRED", findReferences.execute(addPosition()).getError().getCode(),
+            "a failed verification leaves no epoch for the window to reuse");
+    }
+
     // ========== health_check visibility ==========
 
     @Test
@@ -183,4 +260,20 @@ class DiskSyncModeTest {
         Map<String, Object> manualData = (Map<String, Object>) health.execute(objectMapper.createObjectNode()).getData();
         assertEquals("manual", manualData.get("diskSync"));
     }
+
+    @Test
+    @DisplayName("health_check reports the verification tier counts of the last verify")
+    @SuppressWarnings("unchecked")
+    void healthCheck_reportsVerifyTiers() {
+        findReferences.execute(addPosition());
+        HealthCheckTool health = new HealthCheckTool(() -> service);
+
+        Map<String, Object> data = (Map<String, Object>) health.execute(objectMapper.createObjectNode()).getData();
+        Map<String, Object> diskSync = (Map<String, Object>) ((Map<String, Object>) data.get("metrics")).get("diskSync");
+        assertEquals("hash", diskSync.get("verification"));
+        Map<String, Object> lastVerify = (Map<String, Object>) diskSync.get("lastVerify");
+        assertTrue((Integer) lastVerify.get("hashed") > 0,
+            "full hashing hashes every known source file; got: " + diskSync);
+        assertEquals(0, lastVerify.get("audited"));
+    }
 }
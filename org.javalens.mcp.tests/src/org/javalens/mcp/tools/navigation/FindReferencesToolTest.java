@@ -155,6 +155,46 @@ class FindReferencesToolTest {
         assertEquals(Boolean.TRUE, response.getMeta().getTruncated());
     }
 
+    @Test
+    @DisplayName("cursor pages through all references without overlap; a bogus cursor is INVALID_PARAMETER")
+    void cursor_pagesThroughAllReferences() {
+        Set<String> seen = new java.util.HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ObjectNode args = objectMapper.createObjectNode();
+            args.put("filePath", calculatorPath);
+            args.put("line", 5);
+            args.put("column", 13);
+            args.put("maxResults", 5);
+            if (cursor != null) {
+                args.put("cursor", cursor);
+            }
+            ToolResponse response = tool.execute(args);
+            assertTrue(response.isSuccess(), () -> "page failed: " + response.getError());
+            assertEquals(17, response.getMeta().getTotalCount());
+            for (Map<String, Object> ref : getReferences(getData(response))) {
+                assertTrue(seen.add(ref.get("filePath") + ":" + ref.get("line") + ":" + ref.get("column")),
+                    "pages must not overlap; repeated: " + ref);
+            }
+            cursor = response.getMeta().getNextCursor();
+            assertEquals(cursor != null, response.getMeta().getTruncated());
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(4, pages, "17 references in pages of 5");
+        assertEquals(17, seen.size());
+
+        ObjectNode bogus = objectMapper.createObjectNode();
+        bogus.put("filePath", calculatorPath);
+        bogus.put("line", 5);
+        bogus.put("column", 13);
+        bogus.put("cursor", "zz.1");
+        ToolResponse rejected = tool.execute(bogus);
+        assertFalse(rejected.isSuccess());
+        assertEquals("INVALID_PARAMETER", rejected.getError().getCode());
+    }
+
     // ========== Parameter Validation Tests ==========
 
     @Test
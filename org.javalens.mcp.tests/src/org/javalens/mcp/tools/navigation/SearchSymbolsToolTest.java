@@ -438,6 +438,59 @@ class SearchSymbolsToolTest {
         assertEquals(2, pagination.get("offset"));
     }
 
+    @Test
+    @DisplayName("matchMode=fuzzy finds UserService from UsrSvc; camelCase finds FilledCircle from FiCi")
+    @SuppressWarnings("unchecked")
+    void matchModes_fuzzyAndCamelCase() {
+        ObjectNode fuzzy = objectMapper.createObjectNode();
+        fuzzy.put("query", "UsrSvc");
+        fuzzy.put("matchMode", "fuzzy");
+        ToolResponse r = tool.execute(fuzzy);
+        assertTrue(r.isSuccess(), () -> "fuzzy search failed: " + r.getError());
+        List<Map<String, Object>> results = getResults(getData(r));
+        assertFalse(results.isEmpty(), "UsrSvc must match UserService");
+        assertEquals("UserService", results.get(0).get("name"));
+        assertEquals("com.example.service.UserService", results.get(0).get("qualifiedName"));
+        assertTrue(((String) results.get(0).get("filePath")).endsWith("UserService.java"));
+        assertEquals("fuzzy", getData(r).get("matchMode"));
+
+        ObjectNode camel = objectMapper.createObjectNode();
+        camel.put("query", "FiCi");
+        camel.put("matchMode", "camelCase");
+        ToolResponse c = tool.execute(camel);
+        assertTrue(c.isSuccess());
+        assertEquals("FilledCircle", getResults(getData(c)).get(0).get("name"));
+    }
+
+    @Test
+    @DisplayName("Fuzzy method search ranks the exact name first and reports line coordinates")
+    void fuzzyMethodSearch_exactFirst() {
+        ObjectNode args = objectMapper.createObjectNode();
+        args.put("query", "add");
+        args.put("kind", "method");
+        args.put("matchMode", "fuzzy");
+        ToolResponse r = tool.execute(args);
+        assertTrue(r.isSuccess());
+        Map<String, Object> first = getResults(getData(r)).get(0);
+        assertEquals("add", first.get("name"));
+        assertNotNull(first.get("line"));
+        for (Map<String, Object> result : getResults(getData(r))) {
+            assertEquals("method", result.get("kind"), "kind=method keeps only methods; got: " + result);
+        }
+    }
+
+    @Test
+    @DisplayName("An unknown matchMode returns INVALID_PARAMETER naming matchMode")
+    void unknownMatchMode_returnsInvalidParameter() {
+        ObjectNode args = objectMapper.createObjectNode();
+        args.put("query", "Calculator");
+        args.put("matchMode", "regex");
+        ToolResponse r = tool.execute(args);
+        assertFalse(r.isSuccess());
+        assertEquals(org.javalens.mcp.models.ErrorInfo.INVALID_PARAMETER, r.getError().getCode());
+        assertTrue(r.getError().getMessage().contains("matchMode"));
+    }
+
     // ========== MCP envelope seam (exact authored values through processMessage) ==========
 
     @Test
@@ -30,6 +30,7 @@ import org.javalens.mcp.tools.GetCallHierarchyIncomingTool;
 import org.javalens.mcp.tools.GetCallHierarchyOutgoingTool;
 import org.javalens.mcp.tools.FindFieldWritesTool;
 import org.javalens.mcp.tools.FindAffectedTestsTool;
+import org.javalens.mcp.tools.BatchGraphQueryTool;
 import org.javalens.mcp.tools.GetHttpEndpointsTool;
 import org.javalens.mcp.tools.GetJpaModelTool;
 import org.javalens.mcp.tools.FindTestsTool;
@@ -51,6 +52,7 @@ import org.javalens.mcp.tools.FindTypeArgumentsTool;
 import org.javalens.mcp.tools.AnalyzeFileTool;
 import org.javalens.mcp.tools.AnalyzeTypeTool;
 import org.javalens.mcp.tools.AnalyzeMethodTool;
+import org.javalens.mcp.tools.AuditProjectTool;
 import org.javalens.mcp.tools.GetTypeUsageSummaryTool;
 import org.javalens.mcp.tools.ExtractConstantTool;
 import org.javalens.mcp.tools.InlineVariableTool;
@@ -153,6 +155,10 @@ public class JavaLensApplication implements IApplication {
         // Run the main message loop (starts immediately, doesn't wait for project load)
         runMessageLoop();
 
+        IJdtService service = jdtService;
+        if (service != null) {
+            service.dispose();
+        }
         log.info("JavaLens MCP Server stopped");
         return IApplication.EXIT_OK;
     }
@@ -219,6 +225,10 @@ public class JavaLensApplication implements IApplication {
         // (issue #30 thread). The callback fires only on a successful load.
         toolRegistry.register(new LoadProjectTool(
             service -> {
+                IJdtService previous = this.jdtService;
+                if (previous != null && previous != service) {
+                    previous.dispose();
+                }
                 this.jdtService = service;
                 this.loadingState = ProjectLoadingState.LOADED;
                 this.loadingError = null;
@@ -263,6 +273,7 @@ public class JavaLensApplication implements IApplication {
         toolRegistry.register(new FindUnusedCodeTool(() -> jdtService));
         toolRegistry.register(new FindUnreachableCodeTool(() -> jdtService));
         toolRegistry.register(new FindAffectedTestsTool(() -> jdtService));
+        toolRegistry.register(new BatchGraphQueryTool(() -> jdtService));
         toolRegistry.register(new FindPossibleBugsTool(() -> jdtService));
 
         // Refactoring tools
@@ -286,6 +297,7 @@ public class JavaLensApplication implements IApplication {
         toolRegistry.register(new AnalyzeTypeTool(() -> jdtService));
         toolRegistry.register(new AnalyzeMethodTool(() -> jdtService));
         toolRegistry.register(new GetTypeUsageSummaryTool(() -> jdtService));
+        toolRegistry.register(new AuditProjectTool(() -> jdtService));
 
         // Advanced refactoring tools
         toolRegistry.register(new ExtractConstantTool(() -> jdtService));
@@ -365,5 +377,9 @@ public class JavaLensApplication implements IApplication {
     public void stop() {
         log.info("Stop requested");
         running = false;
+        IJdtService service = jdtService;
+        if (service != null) {
+            service.dispose();
+        }
     }
 }
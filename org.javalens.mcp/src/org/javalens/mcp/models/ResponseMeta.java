@@ -14,8 +14,12 @@ public class ResponseMeta {
     private Integer totalCount;
     private Integer returnedCount;
     private Boolean truncated;
+    private Boolean totalEstimated;
+    private String nextCursor;
     private List<String> suggestedNextTools;
     private String verbosity;
+    private Long verificationEpoch;
+    private Long verificationAgeMs;
 
     private ResponseMeta() {
         // Use builder
@@ -33,6 +37,16 @@ public class ResponseMeta {
         return truncated;
     }
 
+    /** True when totalCount is an estimate from a search that stopped early; null when it is exact. */
+    public Boolean getTotalEstimated() {
+        return totalEstimated;
+    }
+
+    /** Continues a truncated search with its next page; null on the last page or for unpaginated tools. */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
     public List<String> getSuggestedNextTools() {
         return suggestedNextTools;
     }
@@ -41,6 +55,16 @@ public class ResponseMeta {
         return verbosity;
     }
 
+    /** Id of the disk verification this answer rests on; null in manual disk sync. */
+    public Long getVerificationEpoch() {
+        return verificationEpoch;
+    }
+
+    /** How old that verification was when the tool began answering, in milliseconds. */
+    public Long getVerificationAgeMs() {
+        return verificationAgeMs;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -63,6 +87,17 @@ public class ResponseMeta {
             return this;
         }
 
+        /** Flag totalCount as estimated; {@code false} leaves the field out. */
+        public Builder totalEstimated(boolean estimated) {
+            meta.totalEstimated = estimated ? Boolean.TRUE : null;
+            return this;
+        }
+
+        public Builder nextCursor(String nextCursor) {
+            meta.nextCursor = nextCursor;
+            return this;
+        }
+
         public Builder suggestedNextTools(List<String> suggestedNextTools) {
             meta.suggestedNextTools = suggestedNextTools;
             return this;
@@ -81,8 +116,20 @@ public class ResponseMeta {
             return this;
         }
 
+        public Builder verification(Long epoch, Long ageMs) {
+            meta.verificationEpoch = epoch;
+            meta.verificationAgeMs = ageMs;
+            return this;
+        }
+
         public ResponseMeta build() {
             return meta;
         }
     }
+
+    /** Stamp the disk-sync epoch onto an already-built meta (see {@link ToolResponse#withVerification}). */
+    void setVerification(Long epoch, Long ageMs) {
+        this.verificationEpoch = epoch;
+        this.verificationAgeMs = ageMs;
+    }
 }
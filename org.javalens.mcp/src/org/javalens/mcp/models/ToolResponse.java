@@ -34,6 +34,21 @@ public class ToolResponse {
         return meta;
     }
 
+    /**
+     * Record which disk verification this response rests on, adding a meta
+     * block when the tool built none. Applied centrally by the tool base
+     * class after verification, so individual tools never set it.
+     *
+     * @return this response
+     */
+    public ToolResponse withVerification(long epoch, long ageMs) {
+        if (meta == null) {
+            meta = ResponseMeta.builder().build();
+        }
+        meta.setVerification(epoch, ageMs);
+        return this;
+    }
+
     /**
      * Create a successful response with data and optional metadata.
      */
@@ -22,9 +22,11 @@ import java.util.function.Supplier;
  * {@code find_annotation_usages}). All seven share an identical structure:
  *
  * <ol>
- *   <li>Accept {@code typeName} (required) and {@code maxResults} (optional).</li>
+ *   <li>Accept {@code typeName} (required), {@code maxResults} (optional), a
+ *       {@code cursor} (optional) continuing an earlier page, and
+ *       {@code exactCount} (optional) to count past the page.</li>
  *   <li>Resolve the type via {@link IJdtService#findType(String)}.</li>
- *   <li>Call {@link SearchService#findReferences(IType, SearchService.ReferenceKind, int)}
+ *   <li>Call {@link SearchService#findReferences(IType, SearchService.ReferenceKind, int, String, boolean)}
  *       with the subclass's declared {@link SearchService.ReferenceKind}.</li>
  *   <li>Format each match into a {@code locations} list and report
  *       {@code totalCount} alongside.</li>
@@ -64,6 +66,8 @@ public abstract class AbstractFineGrainReferenceTool extends AbstractTool {
         return SchemaBuilder.object()
             .required("typeName", "string", getTypeNameParamDescription())
             .optional("maxResults", "integer", "Maximum results to return (default 100)")
+            .optional("cursor", "string", CURSOR_PARAM_DESCRIPTION)
+            .optional("exactCount", "boolean", EXACT_COUNT_PARAM_DESCRIPTION)
             .build();
     }
 
@@ -71,6 +75,8 @@ public abstract class AbstractFineGrainReferenceTool extends AbstractTool {
     protected ToolResponse executeWithService(IJdtService service, JsonNode arguments) {
         String typeName = getStringParam(arguments, "typeName");
         int maxResults = getIntParam(arguments, "maxResults", 100);
+        String cursor = getCursorParam(arguments);
+        boolean exactCount = getBooleanParam(arguments, "exactCount", false);
 
         if (typeName == null || typeName.isBlank()) {
             return ToolResponse.invalidParameter("typeName", "Type name is required");
@@ -87,7 +93,10 @@ public abstract class AbstractFineGrainReferenceTool extends AbstractTool {
             }
 
             SearchResult result = service.getSearchService()
-                .findReferences(type, getReferenceKind(), maxResults);
+                .findReferences(type, getReferenceKind(), maxResults, cursor, exactCount);
+            if (result == null) {
+                return unknownCursor();
+            }
             List<Map<String, Object>> locations = formatMatches(result.matches(), service);
 
             Map<String, Object> data = new LinkedHashMap<>();
@@ -104,6 +113,8 @@ public abstract class AbstractFineGrainReferenceTool extends AbstractTool {
                 .totalCount(result.totalEncountered())
                 .returnedCount(locations.size())
                 .truncated(result.truncated())
+                .totalEstimated(result.estimated())
+                .nextCursor(result.nextCursor())
                 .suggestedNextTools(getSuggestedNextTools())
                 .build());
 
@@ -3,6 +3,7 @@ package org.javalens.mcp.tools;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.search.SearchMatch;
 import org.javalens.core.IJdtService;
 import org.javalens.core.exceptions.ProjectNotLoadedException;
@@ -106,7 +107,15 @@ public abstract class AbstractTool implements Tool {
             return ToolResponse.verificationFailed(e.getMessage());
         }
 
-        return executeWithService(service, arguments);
+        // The epoch (and its age as the tool starts answering) keeps the
+        // freshness contract explicit when a freshness window is configured.
+        org.javalens.core.sync.VerificationEpoch epoch = service.getVerificationEpoch();
+        long ageMs = epoch != null ? epoch.ageMillis() : 0;
+        ToolResponse response = executeWithService(service, arguments);
+        if (epoch != null && response != null) {
+            response.withVerification(epoch.id(), ageMs);
+        }
+        return response;
     }
 
     /**
@@ -178,6 +187,48 @@ public abstract class AbstractTool implements Tool {
         return null; // No error
     }
 
+    // ========== Pagination ==========
+
+    /** Schema text for the {@code cursor} parameter of paginated search tools. */
+    protected static final String CURSOR_PARAM_DESCRIPTION =
+        "nextCursor from a previous page of the same query; returns the next maxResults matches without searching again";
+
+    protected static final String EXACT_COUNT_PARAM_DESCRIPTION =
+        "Count every match (default false: stop after maxResults and estimate totalCount, flagged by meta.totalEstimated)";
+
+    /** The {@code cursor} parameter, or null when absent or blank. */
+    protected String getCursorParam(JsonNode arguments) {
+        String cursor = getStringParam(arguments, "cursor");
+        return cursor == null || cursor.isBlank() ? null : cursor;
+    }
+
+    /** The answer to a cursor the search service no longer (or never) held for this query. */
+    protected static ToolResponse unknownCursor() {
+        return ToolResponse.invalidParameter("cursor",
+            "Unknown or expired cursor (result sets are dropped after a file change or 10 idle minutes,"
+                + " and only continue the query that produced them); repeat the query without a cursor");
+    }
+
+    // ========== Type lookup ==========
+
+    /**
+     * The other source types sharing a simple {@code typeName}, best first,
+     * after {@link IJdtService#findType} answered it with {@code chosen}; empty
+     * for a qualified name or an unambiguous one.
+     */
+    protected static List<String> otherTypeCandidates(IJdtService service, String typeName, IType chosen) {
+        if (typeName.indexOf('.') >= 0) {
+            return List.of();
+        }
+        List<String> others = new ArrayList<>();
+        for (IType candidate : service.findTypeCandidates(typeName, false)) {
+            if (!candidate.equals(chosen)) {
+                others.add(candidate.getFullyQualifiedName('.'));
+            }
+        }
+        return others;
+    }
+
     // ========== SearchMatch formatting helpers ==========
 
     /**
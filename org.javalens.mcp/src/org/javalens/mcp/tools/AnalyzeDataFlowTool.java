@@ -2,9 +2,7 @@ package org.javalens.mcp.tools;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import org.eclipse.jdt.core.ICompilationUnit;
-import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.Assignment;
 import org.eclipse.jdt.core.dom.CompilationUnit;
@@ -22,6 +20,7 @@ import org.eclipse.jdt.core.dom.SuperFieldAccess;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
+import org.javalens.core.AstProvider;
 import org.javalens.core.IJdtService;
 import org.javalens.mcp.models.ResponseMeta;
 import org.javalens.mcp.models.ToolResponse;
@@ -113,10 +112,7 @@ public class AnalyzeDataFlowTool extends AbstractTool {
                 return ToolResponse.fileNotFound(filePathStr);
             }
 
-            ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-            parser.setSource(cu);
-            parser.setResolveBindings(true);
-            CompilationUnit ast = (CompilationUnit) parser.createAST(null);
+            CompilationUnit ast = service.getAstProvider().ast(cu, AstProvider.Parse.BINDINGS);
 
             int offset = service.getOffset(cu, line, column);
 
@@ -161,7 +157,7 @@ public class AnalyzeDataFlowTool extends AbstractTool {
                 }
                 data.put("followCalls", true);
                 data.put("interproceduralFlows",
-                    new InterproceduralFlowAnalyzer(maxCallDepth).analyze(method, ast));
+                    new InterproceduralFlowAnalyzer(maxCallDepth, service.getAstProvider()).analyze(method, ast));
             }
 
             return ToolResponse.success(data, ResponseMeta.builder()
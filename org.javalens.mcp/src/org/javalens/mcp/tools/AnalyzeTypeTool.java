@@ -70,7 +70,7 @@ public class AnalyzeTypeTool extends AbstractTool {
     @Override
     public Map<String, Object> getInputSchema() {
         return SchemaBuilder.object()
-            .required("typeName", "string", "Fully qualified or simple type name")
+            .required("typeName", "string", "Fully qualified or simple type name; an ambiguous simple name lists the other matches in otherCandidates")
             .optional("includeUsages", "boolean", "Include usage analysis (default true)")
             .optional("maxUsages", "integer", "Max usages per category (default 10)")
             .build();
@@ -97,6 +97,10 @@ public class AnalyzeTypeTool extends AbstractTool {
 
             // Type info
             data.put("type", createTypeInfo(type, service, cu));
+            List<String> otherCandidates = otherTypeCandidates(service, typeName, type);
+            if (!otherCandidates.isEmpty()) {
+                data.put("otherCandidates", otherCandidates);
+            }
 
             // Members
             data.put("members", createMembersInfo(type, service, cu));
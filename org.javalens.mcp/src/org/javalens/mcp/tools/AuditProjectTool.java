@@ -0,0 +1,213 @@
+package org.javalens.mcp.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.javalens.core.AstProvider;
+import org.javalens.core.IJdtService;
+import org.javalens.mcp.models.ResponseMeta;
+import org.javalens.mcp.models.ToolResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Project health audit in one pass per parse flavor.
+ * Runs any subset of find_unused_code, find_possible_bugs, find_tests,
+ * find_naming_violations, and find_large_classes over batch parses of the
+ * project, instead of one full parse per tool. Each analysis reads the parse
+ * flavor its tool uses - recovered bindings for unused_code and
+ * possible_bugs, strict bindings for the rest - so results match the tools
+ * on code that does not compile too.
+ */
+public class AuditProjectTool extends AbstractTool {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditProjectTool.class);
+
+    static final String UNUSED_CODE = "unused_code";
+    static final String POSSIBLE_BUGS = "possible_bugs";
+    static final String TESTS = "tests";
+    static final String NAMING_VIOLATIONS = "naming_violations";
+    static final String LARGE_CLASSES = "large_classes";
+    static final List<String> ANALYSES = List.of(UNUSED_CODE, POSSIBLE_BUGS, TESTS, NAMING_VIOLATIONS, LARGE_CLASSES);
+
+    public AuditProjectTool(Supplier<IJdtService> serviceSupplier) {
+        super(serviceSupplier);
+    }
+
+    @Override
+    public String getName() {
+        return "audit_project";
+    }
+
+    @Override
+    public String getDescription() {
+        return """
+            Run several project-wide analyses over one parse of the project.
+
+            USAGE: audit_project()
+            USAGE: audit_project(analyses=["possible_bugs", "unused_code"], filePath="path/to/File.java")
+            OUTPUT: One result per analysis, each the response data of the
+            tool it stands for
+
+            Analyses (default all):
+            - unused_code: find_unused_code
+            - possible_bugs: find_possible_bugs
+            - tests: find_tests
+            - naming_violations: find_naming_violations
+            - large_classes: find_large_classes
+
+            Every file is parsed with bindings and each AST is handed to all
+            requested analyses that read it: unused_code and possible_bugs
+            share a parse that recovers bindings in code that does not
+            compile, the others share a strict one, as their tools do. A
+            full audit costs two scans rather than five. Options are passed
+            on to the analysis that takes them: includeFields/includeMethods (unused_code),
+            severity (possible_bugs), pattern/includeDisabled (tests),
+            maxMethods/maxFields/maxLines (large_classes).
+
+            Use this instead of calling the individual tools one after another.
+
+            Requires load_project to be called first.
+            """;
+    }
+
+    @Override
+    public Map<String, Object> getInputSchema() {
+        return SchemaBuilder.object()
+            .optionalCustom("analyses", Map.of(
+                "type", "array",
+                "items", Map.of("type", "string", "enum", ANALYSES),
+                "description", "Analyses to run (default all)"
+            ))
+            .optional("filePath", "string", "Optional: audit one file instead of the whole project")
+            .optional("includeFields", "boolean", "unused_code: include unused fields (default true)")
+            .optional("includeMethods", "boolean", "unused_code: include unused methods (default true)")
+            .optional("severity", "string", "possible_bugs: high, medium, low, all (default: all)")
+            .optional("pattern", "string", "tests: filter test classes by name pattern (glob)")
+            .optional("includeDisabled", "boolean", "tests: include disabled/ignored tests (default false)")
+            .optional("maxMethods", "integer", "large_classes: maximum methods before flagging (default 20)")
+            .optional("maxFields", "integer", "large_classes: maximum fields before flagging (default 10)")
+            .optional("maxLines", "integer", "large_classes: maximum lines before flagging (default 300)")
+            .build();
+    }
+
+    @Override
+    protected ToolResponse executeWithService(IJdtService service, JsonNode arguments) {
+        Set<String> requested = new LinkedHashSet<>();
+        JsonNode analysesNode = arguments.get("analyses");
+        if (analysesNode != null && !analysesNode.isNull()) {
+            if (!analysesNode.isArray()) {
+                return ToolResponse.invalidParameter("analyses", "must be an array");
+            }
+            for (JsonNode name : analysesNode) {
+                if (!ANALYSES.contains(name.asText())) {
+                    return ToolResponse.invalidParameter("analyses",
+                        "unknown analysis '" + name.asText() + "', expected one of " + ANALYSES);
+                }
+                requested.add(name.asText());
+            }
+        }
+        if (requested.isEmpty()) {
+            requested.addAll(ANALYSES);
+        }
+        String filePath = getStringParam(arguments, "filePath", null);
+
+        try {
+            List<Path> files = filePath != null && !filePath.isBlank()
+                ? List.of(service.getPathUtils().resolve(filePath))
+                : service.getAllJavaFiles();
+
+            FindUnusedCodeTool.Analysis unusedCode = null;
+            FindPossibleBugsTool.Analysis possibleBugs = null;
+            FindTestsTool.Analysis tests = null;
+            FindNamingViolationsTool.Analysis namingViolations = null;
+            FindLargeClassesTool.Analysis largeClasses = null;
+            // unused_code and possible_bugs recover bindings in code that does not compile; the
+            // other tools resolve strictly, and each analysis reads the tree its tool reads.
+            List<ProjectScan.FileAnalysis> recovered = new ArrayList<>();
+            List<ProjectScan.FileAnalysis> strict = new ArrayList<>();
+            for (String name : requested) {
+                switch (name) {
+                    case UNUSED_CODE -> recovered.add(unusedCode = new FindUnusedCodeTool.Analysis(service,
+                        getBooleanParam(arguments, "includeFields", true),
+                        getBooleanParam(arguments, "includeMethods", true)));
+                    case POSSIBLE_BUGS -> recovered.add(possibleBugs = new FindPossibleBugsTool.Analysis(service,
+                        getStringParam(arguments, "severity", "all")));
+                    case TESTS -> strict.add(tests = new FindTestsTool.Analysis(service,
+                        getStringParam(arguments, "pattern", null),
+                        getBooleanParam(arguments, "includeDisabled", false)));
+                    case NAMING_VIOLATIONS -> strict.add(namingViolations = new FindNamingViolationsTool.Analysis(service));
+                    case LARGE_CLASSES -> strict.add(largeClasses = new FindLargeClassesTool.Analysis(service,
+                        getIntParam(arguments, "maxMethods", 20),
+                        getIntParam(arguments, "maxFields", 10),
+                        getIntParam(arguments, "maxLines", 300)));
+                    default -> throw new IllegalStateException(name);
+                }
+            }
+
+            long start = System.nanoTime();
+            int parsed = 0;
+            int scans = 0;
+            if (!recovered.isEmpty()) {
+                parsed = ProjectScan.run(service, files, AstProvider.Parse.RECOVERED_BINDINGS, recovered);
+                scans++;
+            }
+            if (!strict.isEmpty()) {
+                parsed = Math.max(parsed, ProjectScan.run(service, files, AstProvider.Parse.BINDINGS, strict));
+                scans++;
+            }
+            long scanMs = (System.nanoTime() - start) / 1_000_000;
+
+            Map<String, Object> results = new LinkedHashMap<>();
+            int findings = 0;
+            if (unusedCode != null) {
+                results.put(UNUSED_CODE, unusedCode.data());
+                findings += unusedCode.unusedItems.size();
+            }
+            if (possibleBugs != null) {
+                results.put(POSSIBLE_BUGS, possibleBugs.data());
+                findings += possibleBugs.issues.size();
+            }
+            if (tests != null) {
+                results.put(TESTS, tests.data());
+            }
+            if (namingViolations != null) {
+                results.put(NAMING_VIOLATIONS, namingViolations.data(files.size()));
+                findings += namingViolations.violations.size();
+            }
+            if (largeClasses != null) {
+                results.put(LARGE_CLASSES, largeClasses.data());
+                findings += largeClasses.largeClasses.size();
+            }
+
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("analyses", List.copyOf(requested));
+            data.put("filesParsed", parsed);
+            data.put("scans", scans);
+            data.put("scanMs", scanMs);
+            data.put("totalFindings", findings);
+            data.put("results", results);
+
+            return ToolResponse.success(data, ResponseMeta.builder()
+                .totalCount(findings)
+                .returnedCount(findings)
+                .suggestedNextTools(List.of(
+                    "rename_symbol to fix a naming violation",
+                    "analyze_type for a flagged class",
+                    "find_affected_tests before changing flagged code"
+                ))
+                .build());
+
+        } catch (Exception e) {
+            log.error("Error auditing project: {}", e.getMessage(), e);
+            return ToolResponse.internalError(e);
+        }
+    }
+}
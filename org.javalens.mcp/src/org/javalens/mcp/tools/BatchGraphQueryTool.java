@@ -0,0 +1,326 @@
+package org.javalens.mcp.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.eclipse.jdt.core.IJavaElement;
+import org.javalens.core.IJdtService;
+import org.javalens.core.graph.ProjectGraph;
+import org.javalens.core.graph.ProjectGraph.GraphNode;
+import org.javalens.core.graph.ProjectGraph.NodeKind;
+import org.javalens.mcp.models.ResponseMeta;
+import org.javalens.mcp.models.ToolResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Answer {@code find_affected_tests} / transitive {@code analyze_change_impact}
+ * for many inputs in one call: symbols and whole files, each resolved against
+ * one project graph, with the per-input breakdown and their union. Built for
+ * CI, where a diff touches dozens of files and one round-trip per symbol
+ * dominates.
+ */
+public class BatchGraphQueryTool extends AbstractTool {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchGraphQueryTool.class);
+
+    private static final String MODE_TESTS = "tests";
+    private static final String MODE_CALLERS = "callers";
+
+    public BatchGraphQueryTool(Supplier<IJdtService> serviceSupplier) {
+        super(serviceSupplier);
+    }
+
+    @Override
+    public String getName() {
+        return "batch_graph_query";
+    }
+
+    @Override
+    public String getDescription() {
+        return """
+            Affected tests or transitive callers for many symbols and files in
+            one call - e.g. every file in a diff.
+
+            USAGE: batch_graph_query(filePaths=["src/main/java/com/x/A.java", ...])
+            USAGE: batch_graph_query(symbols=["com.x.A#run()", {"filePath": "...", "line": 10, "column": 5}])
+            OUTPUT: The union over all inputs, plus a per-input breakdown
+            listing the keys each input contributes
+
+            Inputs (at least one entry across both):
+            - symbols: graph keys (com.x.A, com.x.A#run(int), com.x.A#count -
+              the "key" field other graph tools return) or positions
+              {filePath, line, column}
+            - filePaths: files; an input stands for every type, method, and
+              field the file declares
+
+            All inputs are answered from the same graph snapshot. The walk is
+            the one find_affected_tests and transitive analyze_change_impact
+            use: calls, instantiations, field accesses, and override
+            declarations; a type covers its members. An input that resolves
+            to nothing is reported with resolved=false rather than failing
+            the batch.
+
+            Options:
+            - mode: "tests" (default) - test methods reaching any input (a
+              test in an input covers itself); "callers" - methods reaching
+              an input from outside it
+            - maxResults: cap on the union list and on each input's keys
+              (default 500)
+
+            Requires load_project to be called first.
+            """;
+    }
+
+    @Override
+    public Map<String, Object> getInputSchema() {
+        return SchemaBuilder.object()
+            .optionalCustom("symbols", Map.of(
+                "type", "array",
+                "items", Map.of("oneOf", List.of(
+                    Map.of("type", "string"),
+                    Map.of("type", "object", "properties", Map.of(
+                        "filePath", Map.of("type", "string"),
+                        "line", Map.of("type", "integer"),
+                        "column", Map.of("type", "integer"))))),
+                "description", "Graph keys or {filePath, line, column} positions (zero-based)"
+            ))
+            .optionalCustom("filePaths", Map.of(
+                "type", "array",
+                "items", Map.of("type", "string"),
+                "description", "Files standing for every declaration they contain"
+            ))
+            .optionalEnum("mode", "What to return for the inputs (default tests)",
+                List.of(MODE_TESTS, MODE_CALLERS))
+            .optional("maxResults", "integer", "Cap on the union list and on each input's keys (default 500)")
+            .build();
+    }
+
+    /** One input, resolved to the graph keys it stands for. */
+    private record Input(String label, String kind, Set<String> keys, String reason) {
+    }
+
+    @Override
+    protected ToolResponse executeWithService(IJdtService service, JsonNode arguments) {
+        String mode = getStringParam(arguments, "mode", MODE_TESTS);
+        if (!MODE_TESTS.equals(mode) && !MODE_CALLERS.equals(mode)) {
+            return ToolResponse.invalidParameter("mode", "must be '" + MODE_TESTS + "' or '" + MODE_CALLERS + "'");
+        }
+        int maxResults = getIntParam(arguments, "maxResults", 500);
+        if (maxResults < 0) {
+            return ToolResponse.invalidParameter("maxResults", "must be >= 0");
+        }
+        JsonNode symbols = arguments.get("symbols");
+        JsonNode filePaths = arguments.get("filePaths");
+        if (symbols != null && !symbols.isArray()) {
+            return ToolResponse.invalidParameter("symbols", "must be an array");
+        }
+        if (filePaths != null && !filePaths.isArray()) {
+            return ToolResponse.invalidParameter("filePaths", "must be an array");
+        }
+        if ((symbols == null || symbols.isEmpty()) && (filePaths == null || filePaths.isEmpty())) {
+            return ToolResponse.invalidParameter("symbols", "provide at least one entry in symbols or filePaths");
+        }
+
+        try {
+            ProjectGraph graph = service.getProjectGraphService().getGraph();
+
+            List<Input> inputs = new ArrayList<>();
+            if (symbols != null) {
+                for (JsonNode symbol : symbols) {
+                    inputs.add(resolveSymbol(service, graph, symbol));
+                }
+            }
+            if (filePaths != null) {
+                inputs.addAll(resolveFiles(service, graph, filePaths));
+            }
+
+            boolean tests = MODE_TESTS.equals(mode);
+            Map<String, TestMethodDetector.TestMethod> testsByKey = new HashMap<>();
+            if (tests) {
+                for (TestMethodDetector.TestMethod test : TestMethodDetector.collectTestMethods(service)) {
+                    String testKey = test.element() == null ? null : graph.keyOf(test.element());
+                    if (testKey != null) {
+                        testsByKey.putIfAbsent(testKey, test);
+                    }
+                }
+            }
+
+            // Per input: one closure over all the keys it stands for.
+            List<Set<String>> perInput = new ArrayList<>();
+            Set<String> union = new HashSet<>();
+            for (Input input : inputs) {
+                Set<String> found = new HashSet<>();
+                if (!input.keys().isEmpty()) {
+                    Set<String> callers = graph.transitiveCallersOfSymbols(input.keys());
+                    if (tests) {
+                        for (String key : callers) {
+                            if (testsByKey.containsKey(key)) {
+                                found.add(key);
+                            }
+                        }
+                        for (String key : input.keys()) {
+                            if (testsByKey.containsKey(key)) {
+                                found.add(key); // a test method covers itself
+                            }
+                        }
+                    } else {
+                        found = callers;
+                    }
+                }
+                perInput.add(found);
+                union.addAll(found);
+            }
+
+            List<Map<String, Object>> entries = new ArrayList<>();
+            for (String key : union) {
+                entries.add(tests ? testEntry(service, key, testsByKey.get(key)) : callerEntry(service, key, graph.node(key)));
+            }
+            entries.sort(Comparator
+                .comparing((Map<String, Object> e) -> (String) e.get("filePath"))
+                .thenComparing(e -> (Integer) e.get("line"))
+                .thenComparing(e -> (String) e.get("key")));
+            Map<String, Integer> rank = new HashMap<>();
+            for (Map<String, Object> entry : entries) {
+                rank.put((String) entry.get("key"), rank.size());
+            }
+
+            List<Map<String, Object>> breakdown = new ArrayList<>();
+            int unresolved = 0;
+            for (int i = 0; i < inputs.size(); i++) {
+                Input input = inputs.get(i);
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("input", input.label());
+                row.put("inputType", input.kind());
+                if (input.reason() != null) {
+                    unresolved++;
+                    row.put("resolved", false);
+                    row.put("reason", input.reason());
+                    breakdown.add(row);
+                    continue;
+                }
+                List<String> keys = new ArrayList<>(perInput.get(i));
+                keys.sort(Comparator.comparing(rank::get));
+                row.put("resolved", true);
+                row.put("declarationCount", input.keys().size());
+                row.put("count", keys.size());
+                row.put("keys", keys.size() > maxResults ? keys.subList(0, maxResults) : keys);
+                if (keys.size() > maxResults) {
+                    row.put("truncated", true);
+                }
+                breakdown.add(row);
+            }
+
+            int total = entries.size();
+            boolean truncated = total > maxResults;
+            List<Map<String, Object>> returned = truncated ? entries.subList(0, maxResults) : entries;
+
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("mode", mode);
+            data.put("inputCount", inputs.size());
+            data.put("unresolvedInputCount", unresolved);
+            data.put(tests ? "testMethodCount" : "callerCount", total);
+            data.put(tests ? "testMethods" : "callers", returned);
+            data.put("inputs", breakdown);
+
+            return ToolResponse.success(data, ResponseMeta.builder()
+                .totalCount(total)
+                .returnedCount(returned.size())
+                .truncated(truncated)
+                .suggestedNextTools(List.of(
+                    "find_affected_tests or analyze_change_impact for one symbol with more detail",
+                    "find_tests for the project's whole test inventory"))
+                .build());
+
+        } catch (Exception e) {
+            log.error("Error running batch graph query: {}", e.getMessage(), e);
+            return ToolResponse.internalError(e);
+        }
+    }
+
+    private Input resolveSymbol(IJdtService service, ProjectGraph graph, JsonNode symbol) throws Exception {
+        if (symbol.isTextual()) {
+            String key = symbol.asText();
+            return graph.node(key) == null
+                ? new Input(key, "symbol", Set.of(), "no graph node for this key")
+                : new Input(key, "symbol", Set.of(key), null);
+        }
+        String filePathStr = getStringParam(symbol, "filePath");
+        int line = getIntParam(symbol, "line", 0);
+        int column = getIntParam(symbol, "column", 0);
+        String label = filePathStr + ":" + line + ":" + column;
+        if (filePathStr == null || filePathStr.isBlank()) {
+            return new Input(symbol.toString(), "symbol", Set.of(), "expected a key string or {filePath, line, column}");
+        }
+        IJavaElement element = service.getElementAtPosition(service.getPathUtils().resolve(filePathStr), line, column);
+        if (element == null) {
+            return new Input(label, "symbol", Set.of(), "no symbol at this position");
+        }
+        String key = graph.keyOf(element);
+        if (key == null || graph.node(key) == null) {
+            return new Input(label, "symbol", Set.of(),
+                "no graph node for '" + element.getElementName() + "' (supports project methods, fields, and types)");
+        }
+        return new Input(label, "symbol", Set.of(key), null);
+    }
+
+    /** Every requested file's declarations, found in one pass over the graph's nodes. */
+    private List<Input> resolveFiles(IJdtService service, ProjectGraph graph, JsonNode filePaths) {
+        Map<String, String> labels = new LinkedHashMap<>();
+        for (JsonNode filePath : filePaths) {
+            String label = filePath.asText();
+            labels.put(service.getPathUtils().resolve(label).toAbsolutePath().normalize().toString(), label);
+        }
+        Map<String, Set<String>> declarations = new HashMap<>();
+        for (NodeKind kind : NodeKind.values()) {
+            for (GraphNode node : graph.nodes(kind)) {
+                String file = Path.of(node.filePath()).toAbsolutePath().normalize().toString();
+                if (labels.containsKey(file)) {
+                    declarations.computeIfAbsent(file, f -> new HashSet<>()).add(node.key());
+                }
+            }
+        }
+        List<Input> inputs = new ArrayList<>();
+        for (Map.Entry<String, String> file : labels.entrySet()) {
+            Set<String> keys = declarations.get(file.getKey());
+            inputs.add(keys == null
+                ? new Input(file.getValue(), "file", Set.of(), "no declarations in the project graph for this file")
+                : new Input(file.getValue(), "file", keys, null));
+        }
+        return inputs;
+    }
+
+    private static Map<String, Object> testEntry(IJdtService service, String key, TestMethodDetector.TestMethod test) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("className", test.className());
+        entry.put("methodName", test.methodName());
+        entry.put("key", key);
+        entry.put("filePath", service.getPathUtils().formatPath(test.file()));
+        entry.put("line", test.line());
+        if (test.framework() != null) {
+            entry.put("framework", test.framework());
+        }
+        if (test.disabled()) {
+            entry.put("disabled", true);
+        }
+        return entry;
+    }
+
+    private static Map<String, Object> callerEntry(IJdtService service, String key, GraphNode node) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("key", key);
+        entry.put("name", node.simpleName());
+        entry.put("filePath", service.getPathUtils().formatPath(node.filePath()));
+        entry.put("line", node.line());
+        return entry;
+    }
+}
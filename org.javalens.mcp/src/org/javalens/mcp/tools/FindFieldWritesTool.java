@@ -66,6 +66,8 @@ public class FindFieldWritesTool extends AbstractTool {
             .required("line", "integer", "Zero-based line number")
             .required("column", "integer", "Zero-based column number")
             .optional("maxResults", "integer", "Max write locations to return (default 100)")
+            .optional("cursor", "string", CURSOR_PARAM_DESCRIPTION)
+            .optional("exactCount", "boolean", EXACT_COUNT_PARAM_DESCRIPTION)
             .build();
     }
 
@@ -79,6 +81,8 @@ public class FindFieldWritesTool extends AbstractTool {
         int line = getIntParam(arguments, "line", -1);
         int column = getIntParam(arguments, "column", -1);
         int maxResults = getIntParam(arguments, "maxResults", 100);
+        String cursor = getCursorParam(arguments);
+        boolean exactCount = getBooleanParam(arguments, "exactCount", false);
 
         if (line < 0) {
             return ToolResponse.invalidParameter("line", "Must be >= 0 (zero-based)");
@@ -111,7 +115,10 @@ public class FindFieldWritesTool extends AbstractTool {
 
             // Use SearchService for indexed write access search
             SearchResult result = service.getSearchService()
-                .findWriteAccesses(field, maxResults);
+                .findWriteAccesses(field, maxResults, cursor, exactCount);
+            if (result == null) {
+                return unknownCursor();
+            }
 
             // Convert matches to write location info
             List<Map<String, Object>> writeLocations = new ArrayList<>();
@@ -142,6 +149,8 @@ public class FindFieldWritesTool extends AbstractTool {
                 .totalCount(result.totalEncountered())
                 .returnedCount(writeLocations.size())
                 .truncated(result.truncated())
+                .totalEstimated(result.estimated())
+                .nextCursor(result.nextCursor())
                 .suggestedNextTools(List.of(
                     "find_references to see all usages (reads and writes)",
                     "get_call_hierarchy_incoming to find callers of methods that modify this field"
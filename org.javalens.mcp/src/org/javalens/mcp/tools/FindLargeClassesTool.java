@@ -1,15 +1,13 @@
 package org.javalens.mcp.tools;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import org.eclipse.jdt.core.ICompilationUnit;
-import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.FieldDeclaration;
 import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
+import org.javalens.core.AstProvider;
 import org.javalens.core.IJdtService;
 import org.javalens.mcp.models.ResponseMeta;
 import org.javalens.mcp.models.ToolResponse;
@@ -73,102 +71,118 @@ public class FindLargeClassesTool extends AbstractTool {
         int lineThreshold = getIntParam(arguments, "maxLines", 300);
 
         try {
-            List<Path> allFiles = service.getAllJavaFiles();
-            List<Map<String, Object>> largeClasses = new ArrayList<>();
-            int totalClassesScanned = 0;
+            Analysis analysis = new Analysis(service, methodThreshold, fieldThreshold, lineThreshold);
+            ProjectScan.run(service, service.getAllJavaFiles(), AstProvider.Parse.BINDINGS, List.of(analysis));
 
-            for (Path filePath : allFiles) {
-                ICompilationUnit cu = service.getCompilationUnit(filePath);
-                if (cu == null) continue;
+            List<Map<String, Object>> largeClasses = analysis.largeClasses;
+            Map<String, Object> data = analysis.data();
 
-                ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-                parser.setSource(cu);
-                parser.setResolveBindings(true);
-                CompilationUnit ast = (CompilationUnit) parser.createAST(null);
+            return ToolResponse.success(data, ResponseMeta.builder()
+                .totalCount(largeClasses.size())
+                .returnedCount(largeClasses.size())
+                .suggestedNextTools(List.of(
+                    "get_complexity_metrics for detailed method-level metrics",
+                    "analyze_type for full type analysis"
+                ))
+                .build());
 
-                for (Object type : ast.types()) {
-                    if (type instanceof AbstractTypeDeclaration typeDecl) {
-                        totalClassesScanned++;
+        } catch (Exception e) {
+            return ToolResponse.internalError(e);
+        }
+    }
 
-                        int methodCount = 0;
-                        int fieldCount = 0;
-                        for (Object decl : typeDecl.bodyDeclarations()) {
-                            if (decl instanceof MethodDeclaration) {
-                                methodCount++;
-                            } else if (decl instanceof FieldDeclaration) {
-                                fieldCount++;
-                            }
-                        }
-                        if (typeDecl instanceof RecordDeclaration record) {
-                            fieldCount += record.recordComponents().size();
+    /** Size thresholds per type, run by {@link ProjectScan} for this tool and for audit_project. */
+    static final class Analysis implements ProjectScan.FileAnalysis {
+
+        private final IJdtService service;
+        private final int methodThreshold;
+        private final int fieldThreshold;
+        private final int lineThreshold;
+        final List<Map<String, Object>> largeClasses = new ArrayList<>();
+        private int totalClassesScanned;
+
+        Analysis(IJdtService service, int methodThreshold, int fieldThreshold, int lineThreshold) {
+            this.service = service;
+            this.methodThreshold = methodThreshold;
+            this.fieldThreshold = fieldThreshold;
+            this.lineThreshold = lineThreshold;
+        }
+
+        @Override
+        public void visit(CompilationUnit ast, Path file) {
+            for (Object type : ast.types()) {
+                if (type instanceof AbstractTypeDeclaration typeDecl) {
+                    totalClassesScanned++;
+
+                    int methodCount = 0;
+                    int fieldCount = 0;
+                    for (Object decl : typeDecl.bodyDeclarations()) {
+                        if (decl instanceof MethodDeclaration) {
+                            methodCount++;
+                        } else if (decl instanceof FieldDeclaration) {
+                            fieldCount++;
                         }
+                    }
+                    if (typeDecl instanceof RecordDeclaration record) {
+                        fieldCount += record.recordComponents().size();
+                    }
 
-                        int startLine = ast.getLineNumber(typeDecl.getStartPosition());
-                        int endLine = ast.getLineNumber(typeDecl.getStartPosition() + typeDecl.getLength());
-                        if (startLine < 1 || endLine < 1) {
-                            // A JEP 512 implicit class (ImplicitTypeDeclaration) is synthetic:
-                            // its own source range does not map to real lines, so the span
-                            // above is invalid. Fall back to the range of its body
-                            // declarations so the line threshold still applies.
-                            int minStart = Integer.MAX_VALUE;
-                            int maxEnd = -1;
-                            for (Object decl : typeDecl.bodyDeclarations()) {
-                                if (decl instanceof ASTNode node) {
-                                    minStart = Math.min(minStart, node.getStartPosition());
-                                    maxEnd = Math.max(maxEnd, node.getStartPosition() + node.getLength());
-                                }
-                            }
-                            if (maxEnd >= 0) {
-                                startLine = ast.getLineNumber(minStart);
-                                endLine = ast.getLineNumber(maxEnd);
+                    int startLine = ast.getLineNumber(typeDecl.getStartPosition());
+                    int endLine = ast.getLineNumber(typeDecl.getStartPosition() + typeDecl.getLength());
+                    if (startLine < 1 || endLine < 1) {
+                        // A JEP 512 implicit class (ImplicitTypeDeclaration) is synthetic:
+                        // its own source range does not map to real lines, so the span
+                        // above is invalid. Fall back to the range of its body
+                        // declarations so the line threshold still applies.
+                        int minStart = Integer.MAX_VALUE;
+                        int maxEnd = -1;
+                        for (Object decl : typeDecl.bodyDeclarations()) {
+                            if (decl instanceof ASTNode node) {
+                                minStart = Math.min(minStart, node.getStartPosition());
+                                maxEnd = Math.max(maxEnd, node.getStartPosition() + node.getLength());
                             }
                         }
-                        int lineCount = (startLine >= 1 && endLine >= 1) ? endLine - startLine + 1 : 0;
-
-                        // Implicit classes have no source-level name; the JDT model names
-                        // them after the file, so match that for a stable, non-empty name.
-                        String typeName = typeDecl.getName().getIdentifier();
-                        if (typeName.isEmpty()) {
-                            String fn = filePath.getFileName().toString();
-                            typeName = fn.endsWith(".java") ? fn.substring(0, fn.length() - 5) : fn;
+                        if (maxEnd >= 0) {
+                            startLine = ast.getLineNumber(minStart);
+                            endLine = ast.getLineNumber(maxEnd);
                         }
+                    }
+                    int lineCount = (startLine >= 1 && endLine >= 1) ? endLine - startLine + 1 : 0;
+
+                    // Implicit classes have no source-level name; the JDT model names
+                    // them after the file, so match that for a stable, non-empty name.
+                    String typeName = typeDecl.getName().getIdentifier();
+                    if (typeName.isEmpty()) {
+                        String fn = file.getFileName().toString();
+                        typeName = fn.endsWith(".java") ? fn.substring(0, fn.length() - 5) : fn;
+                    }
 
-                        List<String> violations = new ArrayList<>();
-                        if (methodCount > methodThreshold) violations.add("methods: " + methodCount + " > " + methodThreshold);
-                        if (fieldCount > fieldThreshold) violations.add("fields: " + fieldCount + " > " + fieldThreshold);
-                        if (lineCount > lineThreshold) violations.add("lines: " + lineCount + " > " + lineThreshold);
-
-                        if (!violations.isEmpty()) {
-                            Map<String, Object> entry = new LinkedHashMap<>();
-                            entry.put("file", service.getPathUtils().formatPath(filePath));
-                            entry.put("typeName", typeName);
-                            entry.put("methodCount", methodCount);
-                            entry.put("fieldCount", fieldCount);
-                            entry.put("lineCount", lineCount);
-                            entry.put("violations", violations);
-                            largeClasses.add(entry);
-                        }
+                    List<String> violations = new ArrayList<>();
+                    if (methodCount > methodThreshold) violations.add("methods: " + methodCount + " > " + methodThreshold);
+                    if (fieldCount > fieldThreshold) violations.add("fields: " + fieldCount + " > " + fieldThreshold);
+                    if (lineCount > lineThreshold) violations.add("lines: " + lineCount + " > " + lineThreshold);
+
+                    if (!violations.isEmpty()) {
+                        Map<String, Object> entry = new LinkedHashMap<>();
+                        entry.put("file", service.getPathUtils().formatPath(file));
+                        entry.put("typeName", typeName);
+                        entry.put("methodCount", methodCount);
+                        entry.put("fieldCount", fieldCount);
+                        entry.put("lineCount", lineCount);
+                        entry.put("violations", violations);
+                        largeClasses.add(entry);
                     }
                 }
             }
+        }
 
+        Map<String, Object> data() {
             Map<String, Object> data = new LinkedHashMap<>();
             data.put("totalClassesScanned", totalClassesScanned);
             data.put("totalViolations", largeClasses.size());
             data.put("thresholds", Map.of("maxMethods", methodThreshold, "maxFields", fieldThreshold, "maxLines", lineThreshold));
             data.put("largeClasses", largeClasses);
-
-            return ToolResponse.success(data, ResponseMeta.builder()
-                .totalCount(largeClasses.size())
-                .returnedCount(largeClasses.size())
-                .suggestedNextTools(List.of(
-                    "get_complexity_metrics for detailed method-level metrics",
-                    "analyze_type for full type analysis"
-                ))
-                .build());
-
-        } catch (Exception e) {
-            return ToolResponse.internalError(e);
+            return data;
         }
     }
 }
@@ -60,6 +60,8 @@ public class FindMethodReferencesTool extends AbstractTool {
             .required("line", "integer", "Zero-based line number of the method")
             .required("column", "integer", "Zero-based column number")
             .optional("maxResults", "integer", "Maximum results to return (default 100)")
+            .optional("cursor", "string", CURSOR_PARAM_DESCRIPTION)
+            .optional("exactCount", "boolean", EXACT_COUNT_PARAM_DESCRIPTION)
             .build();
     }
 
@@ -69,6 +71,8 @@ public class FindMethodReferencesTool extends AbstractTool {
         int line = getIntParam(arguments, "line", -1);
         int column = getIntParam(arguments, "column", -1);
         int maxResults = getIntParam(arguments, "maxResults", 100);
+        String cursor = getCursorParam(arguments);
+        boolean exactCount = getBooleanParam(arguments, "exactCount", false);
 
         if (filePath == null || filePath.isBlank()) {
             return ToolResponse.invalidParameter("filePath", "File path is required");
@@ -93,7 +97,10 @@ public class FindMethodReferencesTool extends AbstractTool {
                 return ToolResponse.invalidParameter("position", "Element at position is not a method");
             }
 
-            SearchResult result = service.getSearchService().findMethodReferences(method, maxResults);
+            SearchResult result = service.getSearchService().findMethodReferences(method, maxResults, cursor, exactCount);
+            if (result == null) {
+                return unknownCursor();
+            }
             List<Map<String, Object>> methodRefs = formatMatches(result.matches(), service);
 
             Map<String, Object> data = new LinkedHashMap<>();
@@ -106,6 +113,8 @@ public class FindMethodReferencesTool extends AbstractTool {
                 .totalCount(result.totalEncountered())
                 .returnedCount(methodRefs.size())
                 .truncated(result.truncated())
+                .totalEstimated(result.estimated())
+                .nextCursor(result.nextCursor())
                 .suggestedNextTools(List.of(
                     "find_references for all references including regular calls",
                     "get_call_hierarchy_incoming to see all callers"
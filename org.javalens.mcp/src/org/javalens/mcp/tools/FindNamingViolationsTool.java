@@ -1,9 +1,6 @@
 package org.javalens.mcp.tools;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import org.eclipse.jdt.core.ICompilationUnit;
-import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.AnnotationTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
@@ -15,6 +12,7 @@ import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+import org.javalens.core.AstProvider;
 import org.javalens.core.IJdtService;
 import org.javalens.mcp.models.ResponseMeta;
 import org.javalens.mcp.models.ToolResponse;
@@ -91,105 +89,116 @@ public class FindNamingViolationsTool extends AbstractTool {
                 files = service.getAllJavaFiles();
             }
 
-            List<Map<String, Object>> violations = new ArrayList<>();
+            Analysis analysis = new Analysis(service);
+            ProjectScan.run(service, files, AstProvider.Parse.BINDINGS, List.of(analysis));
 
-            for (Path file : files) {
-                ICompilationUnit cu = service.getCompilationUnit(file);
-                if (cu == null) continue;
+            List<Map<String, Object>> violations = analysis.violations;
+            Map<String, Object> data = analysis.data(files.size());
 
-                ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-                parser.setSource(cu);
-                parser.setResolveBindings(true);
-                CompilationUnit ast = (CompilationUnit) parser.createAST(null);
+            return ToolResponse.success(data, ResponseMeta.builder()
+                .totalCount(violations.size())
+                .returnedCount(violations.size())
+                .suggestedNextTools(List.of(
+                    "rename_symbol to fix a naming violation"
+                ))
+                .build());
 
-                String formattedPath = service.getPathUtils().formatPath(file);
+        } catch (Exception e) {
+            return ToolResponse.internalError(e);
+        }
+    }
 
-                ast.accept(new ASTVisitor() {
-                    @Override
-                    public boolean visit(TypeDeclaration node) {
-                        checkName(node.getName().getIdentifier(), "class", PASCAL_CASE, "PascalCase",
-                            ast.getLineNumber(node.getStartPosition()) - 1, formattedPath, violations);
-                        return true;
-                    }
+    /** Naming convention checks per file, run by {@link ProjectScan} for this tool and for audit_project. */
+    static final class Analysis implements ProjectScan.FileAnalysis {
 
-                    @Override
-                    public boolean visit(EnumDeclaration node) {
-                        checkName(node.getName().getIdentifier(), "enum", PASCAL_CASE, "PascalCase",
-                            ast.getLineNumber(node.getStartPosition()) - 1, formattedPath, violations);
-                        return true;
-                    }
+        private final IJdtService service;
+        final List<Map<String, Object>> violations = new ArrayList<>();
 
-                    @Override
-                    public boolean visit(RecordDeclaration node) {
-                        checkName(node.getName().getIdentifier(), "record", PASCAL_CASE, "PascalCase",
-                            ast.getLineNumber(node.getStartPosition()) - 1, formattedPath, violations);
-                        return true;
-                    }
+        Analysis(IJdtService service) {
+            this.service = service;
+        }
 
-                    @Override
-                    public boolean visit(AnnotationTypeDeclaration node) {
-                        checkName(node.getName().getIdentifier(), "annotation", PASCAL_CASE, "PascalCase",
+        @Override
+        public void visit(CompilationUnit ast, Path file) {
+            String formattedPath = service.getPathUtils().formatPath(file);
+
+            ast.accept(new ASTVisitor() {
+                @Override
+                public boolean visit(TypeDeclaration node) {
+                    checkName(node.getName().getIdentifier(), "class", PASCAL_CASE, "PascalCase",
+                        ast.getLineNumber(node.getStartPosition()) - 1, formattedPath, violations);
+                    return true;
+                }
+
+                @Override
+                public boolean visit(EnumDeclaration node) {
+                    checkName(node.getName().getIdentifier(), "enum", PASCAL_CASE, "PascalCase",
+                        ast.getLineNumber(node.getStartPosition()) - 1, formattedPath, violations);
+                    return true;
+                }
+
+                @Override
+                public boolean visit(RecordDeclaration node) {
+                    checkName(node.getName().getIdentifier(), "record", PASCAL_CASE, "PascalCase",
+                        ast.getLineNumber(node.getStartPosition()) - 1, formattedPath, violations);
+                    return true;
+                }
+
+                @Override
+                public boolean visit(AnnotationTypeDeclaration node) {
+                    checkName(node.getName().getIdentifier(), "annotation", PASCAL_CASE, "PascalCase",
+                        ast.getLineNumber(node.getStartPosition()) - 1, formattedPath, violations);
+                    return true;
+                }
+
+                @Override
+                public boolean visit(MethodDeclaration node) {
+                    if (!node.isConstructor()) {
+                        checkName(node.getName().getIdentifier(), "method", CAMEL_CASE, "camelCase",
                             ast.getLineNumber(node.getStartPosition()) - 1, formattedPath, violations);
-                        return true;
-                    }
-
-                    @Override
-                    public boolean visit(MethodDeclaration node) {
-                        if (!node.isConstructor()) {
-                            checkName(node.getName().getIdentifier(), "method", CAMEL_CASE, "camelCase",
-                                ast.getLineNumber(node.getStartPosition()) - 1, formattedPath, violations);
-                        }
-                        return true;
                     }
-
-                    @Override
-                    public boolean visit(FieldDeclaration node) {
-                        int modifiers = node.getModifiers();
-                        boolean isConstant = Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers);
-
-                        for (Object fragment : node.fragments()) {
-                            if (fragment instanceof VariableDeclarationFragment varFrag) {
-                                String name = varFrag.getName().getIdentifier();
-                                if (isConstant) {
-                                    checkName(name, "constant", UPPER_SNAKE_CASE, "UPPER_SNAKE_CASE",
-                                        ast.getLineNumber(varFrag.getStartPosition()) - 1, formattedPath, violations);
-                                } else {
-                                    checkName(name, "field", CAMEL_CASE, "camelCase",
-                                        ast.getLineNumber(varFrag.getStartPosition()) - 1, formattedPath, violations);
-                                }
+                    return true;
+                }
+
+                @Override
+                public boolean visit(FieldDeclaration node) {
+                    int modifiers = node.getModifiers();
+                    boolean isConstant = Modifier.isStatic(modifiers) && Modifier.isFinal(modifiers);
+
+                    for (Object fragment : node.fragments()) {
+                        if (fragment instanceof VariableDeclarationFragment varFrag) {
+                            String name = varFrag.getName().getIdentifier();
+                            if (isConstant) {
+                                checkName(name, "constant", UPPER_SNAKE_CASE, "UPPER_SNAKE_CASE",
+                                    ast.getLineNumber(varFrag.getStartPosition()) - 1, formattedPath, violations);
+                            } else {
+                                checkName(name, "field", CAMEL_CASE, "camelCase",
+                                    ast.getLineNumber(varFrag.getStartPosition()) - 1, formattedPath, violations);
                             }
                         }
-                        return false;
-                    }
-
-                    @Override
-                    public boolean visit(SingleVariableDeclaration node) {
-                        checkName(node.getName().getIdentifier(), "parameter", CAMEL_CASE, "camelCase",
-                            ast.getLineNumber(node.getStartPosition()) - 1, formattedPath, violations);
-                        return false;
                     }
-                });
-            }
+                    return false;
+                }
+
+                @Override
+                public boolean visit(SingleVariableDeclaration node) {
+                    checkName(node.getName().getIdentifier(), "parameter", CAMEL_CASE, "camelCase",
+                        ast.getLineNumber(node.getStartPosition()) - 1, formattedPath, violations);
+                    return false;
+                }
+            });
+        }
 
+        Map<String, Object> data(int filesScanned) {
             Map<String, Object> data = new LinkedHashMap<>();
-            data.put("filesScanned", files.size());
+            data.put("filesScanned", filesScanned);
             data.put("totalViolations", violations.size());
             data.put("violations", violations);
-
-            return ToolResponse.success(data, ResponseMeta.builder()
-                .totalCount(violations.size())
-                .returnedCount(violations.size())
-                .suggestedNextTools(List.of(
-                    "rename_symbol to fix a naming violation"
-                ))
-                .build());
-
-        } catch (Exception e) {
-            return ToolResponse.internalError(e);
+            return data;
         }
     }
 
-    private void checkName(String name, String elementType, Pattern convention, String conventionName,
+    private static void checkName(String name, String elementType, Pattern convention, String conventionName,
                           int line, String filePath, List<Map<String, Object>> violations) {
         if (!convention.matcher(name).matches()) {
             Map<String, Object> violation = new LinkedHashMap<>();
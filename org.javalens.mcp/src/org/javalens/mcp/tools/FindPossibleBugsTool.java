@@ -1,10 +1,7 @@
 package org.javalens.mcp.tools;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import org.eclipse.jdt.core.ICompilationUnit;
-import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.Assignment;
 import org.eclipse.jdt.core.dom.Block;
@@ -24,6 +21,7 @@ import org.eclipse.jdt.core.dom.ThisExpression;
 import org.eclipse.jdt.core.dom.TryStatement;
 import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
+import org.javalens.core.AstProvider;
 import org.javalens.core.IJdtService;
 import org.javalens.mcp.models.ResponseMeta;
 import org.javalens.mcp.models.ToolResponse;
@@ -90,8 +88,6 @@ public class FindPossibleBugsTool extends AbstractTool {
         String severity = getStringParam(arguments, "severity", "all");
 
         try {
-            List<Map<String, Object>> issues = new ArrayList<>();
-
             List<Path> files;
             if (filePath != null) {
                 Path file = service.getProjectRoot().resolve(filePath).normalize();
@@ -100,26 +96,44 @@ public class FindPossibleBugsTool extends AbstractTool {
                 files = service.getAllJavaFiles();
             }
 
-            for (Path file : files) {
-                try {
-                    ICompilationUnit cu = service.getCompilationUnit(file);
-                    if (cu == null) continue;
+            Analysis analysis = new Analysis(service, severity);
+            ProjectScan.run(service, files, AstProvider.Parse.RECOVERED_BINDINGS, List.of(analysis));
 
-                    // Parse to AST with bindings
-                    ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-                    parser.setSource(cu);
-                    parser.setResolveBindings(true);
-                    parser.setBindingsRecovery(true);
+            List<Map<String, Object>> issues = analysis.issues;
+            Map<String, Object> data = analysis.data();
 
-                    CompilationUnit ast = (CompilationUnit) parser.createAST(null);
-                    if (ast == null) continue;
+            return ToolResponse.success(data, ResponseMeta.builder()
+                .totalCount(issues.size())
+                .returnedCount(issues.size())
+                .suggestedNextTools(issues.isEmpty()
+                    ? List.of("No potential bugs found")
+                    : List.of("Review and fix the identified issues"))
+                .build());
 
-                    findIssuesInFile(ast, file, service, issues, severity);
-                } catch (Exception e) {
-                    log.debug("Error analyzing file for bugs {}: {}", file, e.getMessage());
-                }
-            }
+        } catch (Exception e) {
+            log.error("Error finding possible bugs: {}", e.getMessage(), e);
+            return ToolResponse.internalError(e);
+        }
+    }
+
+    /** Bug-pattern detection per file, run by {@link ProjectScan} for this tool and for audit_project. */
+    static final class Analysis implements ProjectScan.FileAnalysis {
+
+        private final IJdtService service;
+        private final String severity;
+        final List<Map<String, Object>> issues = new ArrayList<>();
 
+        Analysis(IJdtService service, String severity) {
+            this.service = service;
+            this.severity = severity;
+        }
+
+        @Override
+        public void visit(CompilationUnit ast, Path file) {
+            findIssuesInFile(ast, file, service, issues, severity);
+        }
+
+        Map<String, Object> data() {
             Map<String, Object> data = new LinkedHashMap<>();
             data.put("totalIssues", issues.size());
 
@@ -131,22 +145,11 @@ public class FindPossibleBugsTool extends AbstractTool {
             data.put("mediumCount", mediumCount);
             data.put("lowCount", lowCount);
             data.put("issues", issues);
-
-            return ToolResponse.success(data, ResponseMeta.builder()
-                .totalCount(issues.size())
-                .returnedCount(issues.size())
-                .suggestedNextTools(issues.isEmpty()
-                    ? List.of("No potential bugs found")
-                    : List.of("Review and fix the identified issues"))
-                .build());
-
-        } catch (Exception e) {
-            log.error("Error finding possible bugs: {}", e.getMessage(), e);
-            return ToolResponse.internalError(e);
+            return data;
         }
     }
 
-    private void findIssuesInFile(CompilationUnit ast, Path file, IJdtService service,
+    private static void findIssuesInFile(CompilationUnit ast, Path file, IJdtService service,
                                    List<Map<String, Object>> issues, String severityFilter) {
 
         ast.accept(new ASTVisitor() {
@@ -248,7 +251,7 @@ public class FindPossibleBugsTool extends AbstractTool {
      * analysis we can't tell whether the reassignment dominates the deref,
      * and the conservative choice is to skip those (avoid false positives).
      */
-    private void checkNullInitDereferenceInMethod(MethodDeclaration method, CompilationUnit ast,
+    private static void checkNullInitDereferenceInMethod(MethodDeclaration method, CompilationUnit ast,
                                                    Path file, IJdtService service,
                                                    List<Map<String, Object>> issues, String severityFilter) {
         java.util.Set<String> nullOnly = new java.util.HashSet<>();
@@ -298,7 +301,7 @@ public class FindPossibleBugsTool extends AbstractTool {
         });
     }
 
-    private boolean isCloseable(ITypeBinding type) {
+    private static boolean isCloseable(ITypeBinding type) {
         if (type == null) return false;
 
         // Check if implements Closeable or AutoCloseable
@@ -318,7 +321,7 @@ public class FindPossibleBugsTool extends AbstractTool {
         return false;
     }
 
-    private void addIssue(String code, String message, String severity,
+    private static void addIssue(String code, String message, String severity,
                           ASTNode node, CompilationUnit ast, Path file, IJdtService service,
                           List<Map<String, Object>> issues, String severityFilter) {
 
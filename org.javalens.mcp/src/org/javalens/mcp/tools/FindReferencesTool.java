@@ -47,6 +47,9 @@ public class FindReferencesTool extends AbstractTool {
 
             USAGE: Position on symbol, find all usages
             OUTPUT: List of reference locations with context
+            PAGING: When truncated, pass meta.nextCursor as cursor for the next page
+            COUNT: A truncated search stops early and estimates totalCount
+                   (meta.totalEstimated); pass exactCount=true for an exact count
 
             IMPORTANT: Uses ZERO-BASED coordinates.
 
@@ -61,6 +64,8 @@ public class FindReferencesTool extends AbstractTool {
             .required("line", "integer", "Zero-based line number")
             .required("column", "integer", "Zero-based column number")
             .optional("maxResults", "integer", "Max references to return (default 100)")
+            .optional("cursor", "string", CURSOR_PARAM_DESCRIPTION)
+            .optional("exactCount", "boolean", EXACT_COUNT_PARAM_DESCRIPTION)
             .build();
     }
 
@@ -74,6 +79,8 @@ public class FindReferencesTool extends AbstractTool {
         int line = getIntParam(arguments, "line", -1);
         int column = getIntParam(arguments, "column", -1);
         int maxResults = getIntParam(arguments, "maxResults", 100);
+        String cursor = getCursorParam(arguments);
+        boolean exactCount = getBooleanParam(arguments, "exactCount", false);
 
         if (line < 0) {
             return ToolResponse.invalidParameter("line", "Must be >= 0 (zero-based)");
@@ -101,7 +108,10 @@ public class FindReferencesTool extends AbstractTool {
 
             // Use SearchService for indexed reference search
             SearchResult result = service.getSearchService()
-                .findAllReferences(element, maxResults);
+                .findAllReferences(element, maxResults, cursor, exactCount);
+            if (result == null) {
+                return unknownCursor();
+            }
 
             // Convert matches to reference info
             List<Map<String, Object>> references = new ArrayList<>();
@@ -130,6 +140,8 @@ public class FindReferencesTool extends AbstractTool {
                 .totalCount(result.totalEncountered())
                 .returnedCount(references.size())
                 .truncated(result.truncated())
+                .totalEstimated(result.estimated())
+                .nextCursor(result.nextCursor())
                 .suggestedNextTools(List.of(
                     "go_to_definition to see the symbol definition",
                     "get_type_hierarchy for type symbols"
@@ -1,13 +1,11 @@
 package org.javalens.mcp.tools;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import org.eclipse.jdt.core.ICompilationUnit;
-import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.javalens.core.AstProvider;
 import org.javalens.core.IJdtService;
 import org.javalens.mcp.models.ResponseMeta;
 import org.javalens.mcp.models.ToolResponse;
@@ -71,42 +69,61 @@ public class FindTestsTool extends AbstractTool {
         boolean includeDisabled = getBooleanParam(arguments, "includeDisabled", false);
 
         try {
-            List<Map<String, Object>> testClasses = new ArrayList<>();
-            int totalTestMethods = 0;
+            Analysis analysis = new Analysis(service, pattern, includeDisabled);
+            ProjectScan.run(service, service.getAllJavaFiles(), AstProvider.Parse.BINDINGS, List.of(analysis));
 
-            for (Path file : service.getAllJavaFiles()) {
-                try {
-                    ICompilationUnit cu = service.getCompilationUnit(file);
-                    if (cu == null) continue;
+            List<Map<String, Object>> testClasses = analysis.testClasses;
+            Map<String, Object> data = analysis.data();
 
-                    // Parse to AST
-                    ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-                    parser.setSource(cu);
-                    parser.setResolveBindings(true);
+            return ToolResponse.success(data, ResponseMeta.builder()
+                .totalCount(testClasses.size())
+                .returnedCount(testClasses.size())
+                .suggestedNextTools(List.of(
+                    "get_document_symbols to explore a test class",
+                    "find_references to find what a test covers"
+                ))
+                .build());
 
-                    CompilationUnit ast = (CompilationUnit) parser.createAST(null);
-                    if (ast == null) continue;
+        } catch (Exception e) {
+            log.error("Error finding tests: {}", e.getMessage(), e);
+            return ToolResponse.internalError(e);
+        }
+    }
 
-                    List<Map<String, Object>> testsInFile = findTestsInFile(ast, file, service, includeDisabled);
+    /** Test class detection per file, run by {@link ProjectScan} for this tool and for audit_project. */
+    static final class Analysis implements ProjectScan.FileAnalysis {
 
-                    for (Map<String, Object> testClass : testsInFile) {
-                        String className = (String) testClass.get("className");
+        private final IJdtService service;
+        private final String pattern;
+        private final boolean includeDisabled;
+        final List<Map<String, Object>> testClasses = new ArrayList<>();
+        private int totalTestMethods;
 
-                        // Apply pattern filter
-                        if (pattern != null && !matchesGlob(className, pattern)) {
-                            continue;
-                        }
+        Analysis(IJdtService service, String pattern, boolean includeDisabled) {
+            this.service = service;
+            this.pattern = pattern;
+            this.includeDisabled = includeDisabled;
+        }
 
-                        testClasses.add(testClass);
-                        @SuppressWarnings("unchecked")
-                        List<?> methods = (List<?>) testClass.get("testMethods");
-                        totalTestMethods += methods.size();
-                    }
-                } catch (Exception e) {
-                    log.debug("Error finding tests in file {}: {}", file, e.getMessage());
+        @Override
+        public void visit(CompilationUnit ast, Path file) {
+            List<Map<String, Object>> testsInFile = findTestsInFile(ast, file, service, includeDisabled);
+
+            for (Map<String, Object> testClass : testsInFile) {
+                String className = (String) testClass.get("className");
+
+                // Apply pattern filter
+                if (pattern != null && !matchesGlob(className, pattern)) {
+                    continue;
                 }
+
+                testClasses.add(testClass);
+                List<?> methods = (List<?>) testClass.get("testMethods");
+                totalTestMethods += methods.size();
             }
+        }
 
+        Map<String, Object> data() {
             Map<String, Object> data = new LinkedHashMap<>();
             data.put("testClassCount", testClasses.size());
             data.put("testMethodCount", totalTestMethods);
@@ -115,23 +132,11 @@ public class FindTestsTool extends AbstractTool {
             if (testClasses.isEmpty()) {
                 data.put("note", "No test classes found. Ensure test source paths are included in project.");
             }
-
-            return ToolResponse.success(data, ResponseMeta.builder()
-                .totalCount(testClasses.size())
-                .returnedCount(testClasses.size())
-                .suggestedNextTools(List.of(
-                    "get_document_symbols to explore a test class",
-                    "find_references to find what a test covers"
-                ))
-                .build());
-
-        } catch (Exception e) {
-            log.error("Error finding tests: {}", e.getMessage(), e);
-            return ToolResponse.internalError(e);
+            return data;
         }
     }
 
-    private List<Map<String, Object>> findTestsInFile(CompilationUnit ast, Path file,
+    private static List<Map<String, Object>> findTestsInFile(CompilationUnit ast, Path file,
                                                        IJdtService service, boolean includeDisabled) {
         List<Map<String, Object>> testClasses = new ArrayList<>();
 
@@ -190,7 +195,7 @@ public class FindTestsTool extends AbstractTool {
         return testClasses;
     }
 
-    private Map<String, Object> checkTestMethod(MethodDeclaration method, CompilationUnit ast,
+    private static Map<String, Object> checkTestMethod(MethodDeclaration method, CompilationUnit ast,
                                                  Path file, IJdtService service) {
         if (!TestMethodDetector.isTestMethod(method)) {
             return null;
@@ -213,7 +218,7 @@ public class FindTestsTool extends AbstractTool {
         return testInfo;
     }
 
-    private boolean matchesGlob(String name, String pattern) {
+    private static boolean matchesGlob(String name, String pattern) {
         String regex = pattern.replace("*", ".*").replace("?", ".");
         return name.matches("(?i)" + regex);
     }
@@ -1,10 +1,7 @@
 package org.javalens.mcp.tools;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import org.eclipse.jdt.core.ICompilationUnit;
-import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.FieldDeclaration;
@@ -17,6 +14,7 @@ import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
 import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+import org.javalens.core.AstProvider;
 import org.javalens.core.IJdtService;
 import org.javalens.mcp.models.ResponseMeta;
 import org.javalens.mcp.models.ToolResponse;
@@ -86,8 +84,6 @@ public class FindUnusedCodeTool extends AbstractTool {
         boolean includeMethods = getBooleanParam(arguments, "includeMethods", true);
 
         try {
-            List<Map<String, Object>> unusedItems = new ArrayList<>();
-
             List<Path> files;
             if (filePath != null) {
                 Path file = service.getProjectRoot().resolve(filePath).normalize();
@@ -96,26 +92,46 @@ public class FindUnusedCodeTool extends AbstractTool {
                 files = service.getAllJavaFiles();
             }
 
-            for (Path file : files) {
-                try {
-                    ICompilationUnit cu = service.getCompilationUnit(file);
-                    if (cu == null) continue;
+            Analysis analysis = new Analysis(service, includeFields, includeMethods);
+            ProjectScan.run(service, files, AstProvider.Parse.RECOVERED_BINDINGS, List.of(analysis));
 
-                    // Parse to AST with bindings
-                    ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-                    parser.setSource(cu);
-                    parser.setResolveBindings(true);
-                    parser.setBindingsRecovery(true);
+            List<Map<String, Object>> unusedItems = analysis.unusedItems;
+            Map<String, Object> data = analysis.data();
 
-                    CompilationUnit ast = (CompilationUnit) parser.createAST(null);
-                    if (ast == null) continue;
+            return ToolResponse.success(data, ResponseMeta.builder()
+                .totalCount(unusedItems.size())
+                .returnedCount(unusedItems.size())
+                .suggestedNextTools(unusedItems.isEmpty()
+                    ? List.of("No unused code found")
+                    : List.of("Consider removing unused code to improve maintainability"))
+                .build());
 
-                    findUnusedInFile(ast, file, service, unusedItems, includeFields, includeMethods);
-                } catch (Exception e) {
-                    log.debug("Error finding unused code in file {}: {}", file, e.getMessage());
-                }
-            }
+        } catch (Exception e) {
+            log.error("Error finding unused code: {}", e.getMessage(), e);
+            return ToolResponse.internalError(e);
+        }
+    }
+
+    /** Unused private member detection per file, run by {@link ProjectScan} for this tool and for audit_project. */
+    static final class Analysis implements ProjectScan.FileAnalysis {
+
+        private final IJdtService service;
+        private final boolean includeFields;
+        private final boolean includeMethods;
+        final List<Map<String, Object>> unusedItems = new ArrayList<>();
 
+        Analysis(IJdtService service, boolean includeFields, boolean includeMethods) {
+            this.service = service;
+            this.includeFields = includeFields;
+            this.includeMethods = includeMethods;
+        }
+
+        @Override
+        public void visit(CompilationUnit ast, Path file) {
+            findUnusedInFile(ast, file, service, unusedItems, includeFields, includeMethods);
+        }
+
+        Map<String, Object> data() {
             Map<String, Object> data = new LinkedHashMap<>();
             data.put("totalUnused", unusedItems.size());
 
@@ -129,22 +145,11 @@ public class FindUnusedCodeTool extends AbstractTool {
             data.put("unusedFieldCount", unusedFields);
             data.put("unusedMethodCount", unusedMethods);
             data.put("unusedItems", unusedItems);
-
-            return ToolResponse.success(data, ResponseMeta.builder()
-                .totalCount(unusedItems.size())
-                .returnedCount(unusedItems.size())
-                .suggestedNextTools(unusedItems.isEmpty()
-                    ? List.of("No unused code found")
-                    : List.of("Consider removing unused code to improve maintainability"))
-                .build());
-
-        } catch (Exception e) {
-            log.error("Error finding unused code: {}", e.getMessage(), e);
-            return ToolResponse.internalError(e);
+            return data;
         }
     }
 
-    private void findUnusedInFile(CompilationUnit ast, Path file, IJdtService service,
+    private static void findUnusedInFile(CompilationUnit ast, Path file, IJdtService service,
                                    List<Map<String, Object>> unusedItems,
                                    boolean includeFields, boolean includeMethods) {
 
@@ -255,11 +260,11 @@ public class FindUnusedCodeTool extends AbstractTool {
         }
     }
 
-    private boolean isPrivate(int modifiers) {
+    private static boolean isPrivate(int modifiers) {
         return (modifiers & Modifier.PRIVATE) != 0;
     }
 
-    private String getMethodSignature(MethodDeclaration md) {
+    private static String getMethodSignature(MethodDeclaration md) {
         StringBuilder sig = new StringBuilder();
         sig.append(md.getName().getIdentifier()).append("(");
         List<?> params = md.parameters();
@@ -6,9 +6,7 @@ import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.Signature;
-import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.ClassInstanceCreation;
 import org.eclipse.jdt.core.dom.CompilationUnit;
@@ -25,6 +23,7 @@ import org.eclipse.jdt.core.dom.SuperConstructorInvocation;
 import org.eclipse.jdt.core.dom.SuperMethodInvocation;
 import org.eclipse.jdt.core.dom.SuperMethodReference;
 import org.eclipse.jdt.core.dom.TypeMethodReference;
+import org.javalens.core.AstProvider;
 import org.javalens.core.IJdtService;
 import org.javalens.mcp.models.ResponseMeta;
 import org.javalens.mcp.models.ToolResponse;
@@ -123,14 +122,8 @@ public class GetCallHierarchyOutgoingTool extends AbstractTool {
                 return ToolResponse.fileNotFound(filePath);
             }
 
-            // Parse to get AST with bindings using ASTParser
-            ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-            parser.setSource(cu);
-            parser.setResolveBindings(true);
-            parser.setBindingsRecovery(true);
-            parser.setStatementsRecovery(true);
-
-            CompilationUnit ast = (CompilationUnit) parser.createAST(null);
+            // Parse to get AST with bindings, recovering what does not compile
+            CompilationUnit ast = service.getAstProvider().ast(cu, AstProvider.Parse.RECOVERED_BINDINGS);
             if (ast == null) {
                 return ToolResponse.internalError("Failed to get AST for file");
             }
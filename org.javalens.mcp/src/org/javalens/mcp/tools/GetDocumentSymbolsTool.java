@@ -9,11 +9,10 @@ import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.Signature;
-import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.RecordDeclaration;
 import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
+import org.javalens.core.AstProvider;
 import org.javalens.core.ElementKindResolver;
 import org.javalens.core.IJdtService;
 import org.javalens.core.MethodFormatter;
@@ -99,7 +98,7 @@ public class GetDocumentSymbolsTool extends AbstractTool {
             // pre-clip total. The capped build loop below would otherwise stop walking
             // once it hits maxResults, leaving totalCount equal to returnedCount and
             // truncated misreporting the exact-equal case.
-            int totalEligible = countAllEligibleSymbols(cu, includePrivate);
+            int totalEligible = countAllEligibleSymbols(service, cu, includePrivate);
 
             List<Map<String, Object>> symbols = new ArrayList<>();
             int[] symbolCount = {0};
@@ -142,20 +141,20 @@ public class GetDocumentSymbolsTool extends AbstractTool {
      * totalCount field of the response envelope. Visibility filtering matches the
      * builder: private-element filtering is gated by {@code includePrivate}.
      */
-    private int countAllEligibleSymbols(ICompilationUnit cu, boolean includePrivate) throws JavaModelException {
+    private int countAllEligibleSymbols(IJdtService service, ICompilationUnit cu, boolean includePrivate) throws JavaModelException {
         int total = 0;
         for (IType type : cu.getTypes()) {
-            total += countTypeRecursive(type, includePrivate);
+            total += countTypeRecursive(service, type, includePrivate);
         }
         return total;
     }
 
-    private int countTypeRecursive(IType type, boolean includePrivate) throws JavaModelException {
+    private int countTypeRecursive(IJdtService service, IType type, boolean includePrivate) throws JavaModelException {
         int flags = type.getFlags();
         if (!includePrivate && Flags.isPrivate(flags)) return 0;
         int count = 1;
         if (type.isRecord()) {
-            count += countRecordComponentsViaAST(type);
+            count += countRecordComponentsViaAST(service, type);
         }
         for (IField field : type.getFields()) {
             if (includePrivate || !Flags.isPrivate(field.getFlags())) count++;
@@ -164,7 +163,7 @@ public class GetDocumentSymbolsTool extends AbstractTool {
             if (includePrivate || !Flags.isPrivate(method.getFlags())) count++;
         }
         for (IType nested : type.getTypes()) {
-            count += countTypeRecursive(nested, includePrivate);
+            count += countTypeRecursive(service, nested, includePrivate);
         }
         return count;
     }
@@ -277,10 +276,7 @@ public class GetDocumentSymbolsTool extends AbstractTool {
                                                                      int[] symbolCount) {
         List<Map<String, Object>> result = new ArrayList<>();
         try {
-            ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-            parser.setSource(cu);
-            parser.setResolveBindings(false);
-            CompilationUnit ast = (CompilationUnit) parser.createAST(null);
+            CompilationUnit ast = service.getAstProvider().ast(cu, AstProvider.Parse.SYNTAX);
             RecordDeclaration record = findRecordDeclaration(ast, type.getElementName());
             if (record == null) return result;
             for (Object component : record.recordComponents()) {
@@ -301,14 +297,11 @@ public class GetDocumentSymbolsTool extends AbstractTool {
         return result;
     }
 
-    private int countRecordComponentsViaAST(IType type) {
+    private int countRecordComponentsViaAST(IJdtService service, IType type) {
         try {
             ICompilationUnit cu = type.getCompilationUnit();
             if (cu == null) return 0;
-            ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-            parser.setSource(cu);
-            parser.setResolveBindings(false);
-            CompilationUnit ast = (CompilationUnit) parser.createAST(null);
+            CompilationUnit ast = service.getAstProvider().ast(cu, AstProvider.Parse.SYNTAX);
             RecordDeclaration record = findRecordDeclaration(ast, type.getElementName());
             return record == null ? 0 : record.recordComponents().size();
         } catch (Exception e) {
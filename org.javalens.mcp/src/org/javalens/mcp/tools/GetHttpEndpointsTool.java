@@ -4,8 +4,6 @@ import com.fasterxml.jackson.databind.JsonNode;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.Annotation;
 import org.eclipse.jdt.core.dom.ArrayInitializer;
@@ -20,6 +18,7 @@ import org.eclipse.jdt.core.dom.SingleMemberAnnotation;
 import org.eclipse.jdt.core.dom.StringLiteral;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.core.search.SearchMatch;
+import org.javalens.core.AstProvider;
 import org.javalens.core.IJdtService;
 import org.javalens.core.search.SearchService;
 import org.javalens.mcp.models.ResponseMeta;
@@ -197,7 +196,7 @@ public class GetHttpEndpointsTool extends AbstractTool {
         if (cu == null) {
             return null;
         }
-        CompilationUnit ast = astCache.computeIfAbsent(cu.getHandleIdentifier(), k -> parse(cu));
+        CompilationUnit ast = astCache.computeIfAbsent(cu.getHandleIdentifier(), k -> parse(service, cu));
         if (ast == null) {
             return null;
         }
@@ -319,12 +318,9 @@ public class GetHttpEndpointsTool extends AbstractTool {
             + "(" + params + ")";
     }
 
-    private static CompilationUnit parse(ICompilationUnit cu) {
+    private static CompilationUnit parse(IJdtService service, ICompilationUnit cu) {
         try {
-            ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-            parser.setSource(cu);
-            parser.setResolveBindings(true);
-            return (CompilationUnit) parser.createAST(null);
+            return service.getAstProvider().ast(cu, AstProvider.Parse.BINDINGS);
         } catch (Exception e) {
             return null;
         }
@@ -3,8 +3,6 @@ package org.javalens.mcp.tools;
 import com.fasterxml.jackson.databind.JsonNode;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.Annotation;
 import org.eclipse.jdt.core.dom.CompilationUnit;
@@ -18,6 +16,7 @@ import org.eclipse.jdt.core.dom.StringLiteral;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
 import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
 import org.eclipse.jdt.core.search.SearchMatch;
+import org.javalens.core.AstProvider;
 import org.javalens.core.IJdtService;
 import org.javalens.core.search.SearchService;
 import org.javalens.mcp.models.ResponseMeta;
@@ -163,10 +162,7 @@ public class GetJpaModelTool extends AbstractTool {
         if (cu == null) {
             return null;
         }
-        ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-        parser.setSource(cu);
-        parser.setResolveBindings(true);
-        CompilationUnit ast = (CompilationUnit) parser.createAST(null);
+        CompilationUnit ast = service.getAstProvider().ast(cu, AstProvider.Parse.BINDINGS);
 
         String qualifiedName = type.getFullyQualifiedName('.');
         TypeDeclaration[] declaration = {null};
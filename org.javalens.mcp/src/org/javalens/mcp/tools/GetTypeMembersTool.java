@@ -62,7 +62,7 @@ public class GetTypeMembersTool extends AbstractTool {
     @Override
     public Map<String, Object> getInputSchema() {
         return SchemaBuilder.object()
-            .required("typeName", "string", "Fully qualified or simple type name")
+            .required("typeName", "string", "Fully qualified or simple type name; an ambiguous simple name lists the other matches in otherCandidates")
             .optional("includeInherited", "boolean", "Include inherited members (default false)")
             .optional("memberKind", "string", "Filter: 'method', 'field', 'type', or null for all")
             .build();
@@ -86,6 +86,10 @@ public class GetTypeMembersTool extends AbstractTool {
 
             Map<String, Object> data = new LinkedHashMap<>();
             data.put("type", createTypeInfo(type, service));
+            List<String> otherCandidates = otherTypeCandidates(service, typeName, type);
+            if (!otherCandidates.isEmpty()) {
+                data.put("otherCandidates", otherCandidates);
+            }
 
             List<Map<String, Object>> methods = new ArrayList<>();
             List<Map<String, Object>> fields = new ArrayList<>();
@@ -122,6 +122,14 @@ public class HealthCheckTool implements Tool {
         }
         status.put("project", projectStatus);
 
+        // Subsystem counters for the loaded project (disk-sync verification tiers, ...).
+        if (service != null) {
+            Map<String, Object> metrics = service.getMetrics();
+            if (!metrics.isEmpty()) {
+                status.put("metrics", metrics);
+            }
+        }
+
         // Java/OS info
         status.put("java", Map.of(
             "version", System.getProperty("java.version"),
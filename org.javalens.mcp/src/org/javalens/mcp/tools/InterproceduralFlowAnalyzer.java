@@ -2,9 +2,7 @@ package org.javalens.mcp.tools;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IMethod;
-import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTNode;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.Assignment;
 import org.eclipse.jdt.core.dom.ClassInstanceCreation;
@@ -21,6 +19,7 @@ import org.eclipse.jdt.core.dom.QualifiedName;
 import org.eclipse.jdt.core.dom.SimpleName;
 import org.eclipse.jdt.core.dom.SingleVariableDeclaration;
 import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+import org.javalens.core.AstProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,13 +55,15 @@ final class InterproceduralFlowAnalyzer {
     private static final Logger log = LoggerFactory.getLogger(InterproceduralFlowAnalyzer.class);
 
     private final int maxCallDepth;
+    private final AstProvider asts;
     private final Map<String, CompilationUnit> astCache = new HashMap<>();
     private final Set<String> visitedFrames = new HashSet<>();
     private final Set<String> emitted = new HashSet<>();
     private final List<Map<String, Object>> flows = new ArrayList<>();
 
-    InterproceduralFlowAnalyzer(int maxCallDepth) {
+    InterproceduralFlowAnalyzer(int maxCallDepth, AstProvider asts) {
         this.maxCallDepth = maxCallDepth;
+        this.asts = asts;
     }
 
     /** Source metadata carried by every flow a fact produces. */
@@ -335,12 +336,9 @@ final class InterproceduralFlowAnalyzer {
         return sink;
     }
 
-    private static CompilationUnit parse(ICompilationUnit cu) {
+    private CompilationUnit parse(ICompilationUnit cu) {
         try {
-            ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-            parser.setSource(cu);
-            parser.setResolveBindings(true);
-            return (CompilationUnit) parser.createAST(null);
+            return asts.ast(cu, AstProvider.Parse.BINDINGS);
         } catch (Exception e) {
             return null;
         }
@@ -0,0 +1,104 @@
+package org.javalens.mcp.tools;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.javalens.core.AstProvider;
+import org.javalens.core.IJdtService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One parse of a set of files, fanned out to every analysis that asked for it.
+ *
+ * <p>Several files are batch-parsed with {@code ASTParser.createASTs}, so
+ * bindings are resolved in one shared environment per batch rather than one
+ * per file, and each AST is handed to every analysis as it arrives, in file
+ * order. Batches hold at most {@link #BATCH_SIZE} units: a parser keeps what
+ * it resolved for a batch until the batch ends, so the batch size, not the
+ * project size, bounds what a scan retains. A single file comes from the
+ * service's {@link AstProvider} cache instead. An analysis that fails on a
+ * file loses only that file, as the per-tool loops this replaces did.
+ */
+final class ProjectScan {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectScan.class);
+
+    /** Units per {@code createASTs} call. */
+    static final int BATCH_SIZE = 200;
+
+    /** One analysis over the scanned files; it accumulates its own results. */
+    interface FileAnalysis {
+        void visit(CompilationUnit ast, Path file);
+    }
+
+    private ProjectScan() {
+    }
+
+    /**
+     * Parse {@code files} once as {@code parse} asks and visit each with every
+     * analysis. Files without a compilation unit are skipped.
+     *
+     * @return the number of compilation units parsed
+     */
+    static int run(IJdtService service, List<Path> files, AstProvider.Parse parse,
+                   List<? extends FileAnalysis> analyses) {
+        return run(service, files, parse, analyses, BATCH_SIZE);
+    }
+
+    /** As {@link #run(IJdtService, List, AstProvider.Parse, List)}, with at most {@code batchSize} units per parse. */
+    static int run(IJdtService service, List<Path> files, AstProvider.Parse parse,
+                   List<? extends FileAnalysis> analyses, int batchSize) {
+        Map<ICompilationUnit, Path> units = new LinkedHashMap<>();
+        for (Path file : files) {
+            ICompilationUnit cu = service.getCompilationUnit(file);
+            if (cu != null) {
+                units.putIfAbsent(cu, file);
+            }
+        }
+        if (units.size() == 1) {
+            Map.Entry<ICompilationUnit, Path> only = units.entrySet().iterator().next();
+            try {
+                CompilationUnit ast = service.getAstProvider().ast(only.getKey(), parse);
+                if (ast != null) {
+                    dispatch(analyses, ast, only.getValue());
+                }
+            } catch (JavaModelException e) {
+                log.debug("Error parsing file {}: {}", only.getValue(), e.getMessage());
+            }
+        } else if (!units.isEmpty()) {
+            ICompilationUnit[] all = units.keySet().toArray(new ICompilationUnit[0]);
+            int size = Math.max(1, batchSize);
+            for (int from = 0; from < all.length; from += size) {
+                ASTParser parser = AstProvider.newParser(parse);
+                parser.setProject(service.getJavaProject());
+                parser.createASTs(Arrays.copyOfRange(all, from, Math.min(all.length, from + size)), new String[0],
+                    new ASTRequestor() {
+                        @Override
+                        public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+                            dispatch(analyses, ast, units.get(source));
+                        }
+                    }, null);
+            }
+        }
+        return units.size();
+    }
+
+    private static void dispatch(List<? extends FileAnalysis> analyses, CompilationUnit ast, Path file) {
+        for (FileAnalysis analysis : analyses) {
+            try {
+                analysis.visit(ast, file);
+            } catch (RuntimeException e) {
+                log.debug("Error in {} for file {}: {}", analysis.getClass().getName(), file, e.getMessage());
+            }
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.javalens.core.ElementKindResolver;
 import org.javalens.core.IJdtService;
 import org.javalens.core.JdtServiceImpl;
 import org.javalens.core.search.SearchResult;
+import org.javalens.core.search.SearchService;
 import org.javalens.mcp.models.ResponseMeta;
 import org.javalens.mcp.models.ToolResponse;
 import org.slf4j.Logger;
@@ -56,6 +57,14 @@ public class SearchSymbolsTool extends AbstractTool {
             - search_symbols(query="*Repository", kind="interface")
             - search_symbols(query="get*", kind="method")
 
+            MATCH MODES (matchMode):
+            - glob (default): * and ? wildcards against the JDT index
+            - camelCase: humps, e.g. "NPE" or "NuPoEx" finds NullPointerException
+            - fuzzy: ranked, case-insensitive subsequence, e.g. "UsrSvcImpl" finds
+              UserServiceImpl; exact, prefix, and camelCase matches rank first
+            camelCase and fuzzy ignore wildcards, return results best first, and
+            can include library types with includeClasspath=true.
+
             PAGINATION: Use offset parameter for large result sets
 
             IMPORTANT: Requires load_project to be called first.
@@ -69,6 +78,9 @@ public class SearchSymbolsTool extends AbstractTool {
             .optional("kind", "string", "Filter by kind: class, interface, enum, method, field")
             .optional("maxResults", "integer", "Max results to return (default 50)")
             .optional("offset", "integer", "Skip first N results for pagination")
+            .optional("matchMode", "string", "glob (default), camelCase, or fuzzy")
+            .optional("includeClasspath", "boolean",
+                "camelCase/fuzzy only: also match library types (default false)")
             .build();
     }
 
@@ -91,6 +103,12 @@ public class SearchSymbolsTool extends AbstractTool {
             return ToolResponse.invalidParameter("offset",
                 "Must be >= 0; got: " + offset);
         }
+        SearchService.SymbolMatchMode mode = getMatchMode(getStringParam(arguments, "matchMode"));
+        if (mode == null) {
+            return ToolResponse.invalidParameter("matchMode",
+                "Must be glob, camelCase, or fuzzy; got: " + getStringParam(arguments, "matchMode"));
+        }
+        boolean includeClasspath = getBooleanParam(arguments, "includeClasspath", false);
         // Honor maxResults=0 literally; upper bound is a safety cap.
         maxResults = Math.min(maxResults, 1000);
 
@@ -101,7 +119,7 @@ public class SearchSymbolsTool extends AbstractTool {
             // Use SearchService for indexed search. Fetch offset + maxResults extra
             // headroom so the kind filter has candidates to draw from.
             SearchResult searchResult = service.getSearchService()
-                .searchSymbols(query, searchFor, offset + maxResults + 10);
+                .searchSymbols(query, searchFor, offset + maxResults + 10, mode, includeClasspath);
             List<SearchMatch> matches = searchResult.matches();
 
             // Count post-offset, post-kind-filter passing candidates separately from
@@ -134,6 +152,7 @@ public class SearchSymbolsTool extends AbstractTool {
             Map<String, Object> data = new LinkedHashMap<>();
             data.put("query", query);
             if (kind != null) data.put("kind", kind);
+            if (mode != SearchService.SymbolMatchMode.GLOB) data.put("matchMode", getStringParam(arguments, "matchMode"));
             data.put("results", results);
             data.put("pagination", Map.of(
                 "offset", offset,
@@ -171,6 +190,17 @@ public class SearchSymbolsTool extends AbstractTool {
         };
     }
 
+    private SearchService.SymbolMatchMode getMatchMode(String matchMode) {
+        if (matchMode == null || matchMode.isBlank()) return SearchService.SymbolMatchMode.GLOB;
+
+        return switch (matchMode.toLowerCase()) {
+            case "glob" -> SearchService.SymbolMatchMode.GLOB;
+            case "camelcase" -> SearchService.SymbolMatchMode.CAMEL_CASE;
+            case "fuzzy" -> SearchService.SymbolMatchMode.FUZZY;
+            default -> null;
+        };
+    }
+
     private boolean matchesKind(Map<String, Object> symbolInfo, String kind) {
         String symbolKind = (String) symbolInfo.get("kind");
         if (symbolKind == null) return true;